@@ -0,0 +1,722 @@
+package cl.demo.polizas.app.columnar;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import cl.demo.polizas.seedwork.domain.Specification;
+
+/**
+ * {@link PolicyRepository} that keeps the whole portfolio in memory, one primitive array per column: dates as epoch
+ * days, timestamps as epoch nanos (UTC), money as hundredths, status, currencies and insurance type as dictionary
+ * ordinals, and free text in a {@link StringHeap}. A policy is a row number.
+ * <p>
+ * Secondary structures, all kept up to date on every write:
+ * <ul>
+ * <li>hash indexes from ID and from policy number to row;</li>
+ * <li>one bitset of rows per status, plus its count;</li>
+ * <li>a postings list per client RUT, linked through the rows themselves;</li>
+ * <li>the live rows sorted by creation time and ID, the page order of {@link #findAll}.</li>
+ * </ul>
+ * Deleted rows are left as holes and not reused. Reads run concurrently under a read lock; writes take the write lock
+ * and each call is atomic. The pending domain events of saved policies are dropped: there is no outbox or event bus.
+ */
+public final class ColumnarPolicyRepository implements PolicyRepository {
+
+    private static final PolicyStatus[] STATUSES = PolicyStatus.values();
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final StringHeap strings = new StringHeap();
+    private final Dictionary<Currency> currencies = new Dictionary<>(Byte.MAX_VALUE);
+    private final Dictionary<String> insuranceTypes = new Dictionary<>(Short.MAX_VALUE);
+
+    // Columnas
+    private long[] idHigh = new long[INITIAL_CAPACITY];
+    private long[] idLow = new long[INITIAL_CAPACITY];
+    private long[] policyNumber = new long[INITIAL_CAPACITY];
+    private int[] clientRutBody = new int[INITIAL_CAPACITY];
+    private byte[] clientRutDigit = new byte[INITIAL_CAPACITY];
+    private long[] clientName = new long[INITIAL_CAPACITY];
+    private long[] clientEmail = new long[INITIAL_CAPACITY];
+    private long[] premium = new long[INITIAL_CAPACITY];
+    private byte[] premiumCurrency = new byte[INITIAL_CAPACITY];
+    private long[] coverage = new long[INITIAL_CAPACITY];
+    private byte[] coverageCurrency = new byte[INITIAL_CAPACITY];
+    private byte[] status = new byte[INITIAL_CAPACITY];
+    private int[] startDate = new int[INITIAL_CAPACITY];
+    private int[] endDate = new int[INITIAL_CAPACITY];
+    private long[] description = new long[INITIAL_CAPACITY];
+    private short[] insuranceType = new short[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private long[] updatedAt = new long[INITIAL_CAPACITY];
+    private long[] version = new long[INITIAL_CAPACITY];
+
+    // Índices
+    private final RowHashIndex byId = new RowHashIndex(row -> hashId(idHigh[row], idLow[row]));
+    private final RowHashIndex byPolicyNumber = new RowHashIndex(row -> strings.hash(policyNumber[row]));
+    private final RowHashIndex clientRutHeads = new RowHashIndex(row -> clientRutBody[row]);
+    private int[] clientRutNext = new int[INITIAL_CAPACITY];
+    private int[] clientRutPrevious = new int[INITIAL_CAPACITY];
+    private long[][] statusBits = new long[STATUSES.length][INITIAL_CAPACITY / Long.SIZE];
+    private final int[] statusCounts = new int[STATUSES.length];
+    private int[] creationOrder = new int[INITIAL_CAPACITY];
+
+    private int rows;
+    private int live;
+
+    @Override
+    public void save(Policy policy) {
+        write(() -> {
+            int row = findRow(policy.id());
+            requireFreeNumber(policy.getPolicyNumber(), row);
+            if (row < 0) {
+                insert(policy);
+            } else {
+                // Igual que el upsert de JPA: la fila conserva created_at y sube su versión
+                overwrite(row, policy);
+            }
+            policy.pullEvents();
+            return null;
+        });
+    }
+
+    @Override
+    public void saveAll(List<Policy> policies) {
+        write(() -> {
+            // Validar el lote completo antes de escribir: o se guardan todas o ninguna
+            Set<PolicyId> ids = new HashSet<>();
+            Set<String> numbers = new HashSet<>();
+            for (Policy policy : policies) {
+                if (!ids.add(policy.id()) || findRow(policy.id()) >= 0) {
+                    throw new IllegalStateException("Policy already exists: " + policy.id());
+                }
+                requireFreeNumber(policy.getPolicyNumber(), -1);
+                if (!numbers.add(policy.getPolicyNumber())) {
+                    throw new IllegalStateException("Duplicate policy number in batch: " + policy.getPolicyNumber());
+                }
+            }
+            for (Policy policy : policies) {
+                insert(policy);
+                policy.pullEvents();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<StatusChange> updateStatusFrom(PolicyId policyId, Set<PolicyStatus> fromStatuses,
+            PolicyStatus newStatus, LocalDateTime updatedAt) {
+        return write(() -> {
+            int row = findRow(policyId);
+            if (row < 0 || !fromStatuses.contains(STATUSES[status[row]])) {
+                return Optional.<StatusChange>empty();
+            }
+            StatusChange change = new StatusChange(policyId, strings.get(policyNumber[row]), STATUSES[status[row]]);
+            setStatus(row, newStatus, updatedAt);
+            return Optional.of(change);
+        });
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<PolicyId> policyIds, Set<PolicyStatus> fromStatuses,
+            PolicyStatus newStatus, LocalDateTime updatedAt) {
+        return write(() -> {
+            int updated = 0;
+            for (PolicyId policyId : new HashSet<>(policyIds)) {
+                int row = findRow(policyId);
+                if (row >= 0 && fromStatuses.contains(STATUSES[status[row]])) {
+                    setStatus(row, newStatus, updatedAt);
+                    updated++;
+                }
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public int updateStatusByFilter(String clientRut, String insuranceType, Set<PolicyStatus> fromStatuses,
+            PolicyStatus newStatus, LocalDateTime updatedAt, int limit) {
+        return write(() -> {
+            IntPredicate filter = row -> fromStatuses.contains(STATUSES[status[row]]);
+            if (hasText(insuranceType)) {
+                int ordinal = insuranceTypes.find(insuranceType);
+                filter = filter.and(row -> ordinal != Dictionary.NULL && this.insuranceType[row] == ordinal);
+            }
+            int[] candidates = hasText(clientRut) ? clientRutRows(clientRut) : statusRows(fromStatuses);
+
+            int[] chunk = Arrays.stream(candidates).filter(filter).boxed().sorted(this::compareIds).limit(limit)
+                    .mapToInt(Integer::intValue).toArray();
+            for (int row : chunk) {
+                setStatus(row, newStatus, updatedAt);
+            }
+            return chunk.length;
+        });
+    }
+
+    @Override
+    public List<PolicyId> updateStatuses(List<Policy> policies, PolicyStatus expectedStatus) {
+        return write(() -> {
+            List<PolicyId> updated = new ArrayList<>(policies.size());
+            for (Policy policy : policies) {
+                int row = findRow(policy.id());
+                if (row >= 0 && STATUSES[status[row]] == expectedStatus && version[row] == policy.getVersion()) {
+                    setStatus(row, policy.getStatus(), policy.getUpdatedAt());
+                    policy.pullEvents();
+                    updated.add(policy.id());
+                }
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public List<ExpiredPolicy> expireDue(LocalDate today, int limit, LocalDateTime updatedAt) {
+        return write(() -> {
+            int todayDay = (int) today.toEpochDay();
+            Comparator<Integer> dueOrder = Comparator.<Integer>comparingInt(row -> endDate[row])
+                    .thenComparing(this::compareIds);
+            int[] due = Arrays.stream(statusRows(Policy.expirableStatuses())).filter(row -> endDate[row] < todayDay)
+                    .boxed().sorted(dueOrder).limit(limit).mapToInt(Integer::intValue).toArray();
+
+            List<ExpiredPolicy> expired = new ArrayList<>(due.length);
+            for (int row : due) {
+                expired.add(new ExpiredPolicy(policyId(row), strings.get(policyNumber[row]), STATUSES[status[row]]));
+                setStatus(row, PolicyStatus.EXPIRED, updatedAt);
+            }
+            return expired;
+        });
+    }
+
+    @Override
+    public Optional<Policy> findById(PolicyId policyId) {
+        return read(() -> {
+            int row = findRow(policyId);
+            return row < 0 ? Optional.empty() : Optional.of(toPolicy(row));
+        });
+    }
+
+    @Override
+    public List<Policy> findAllById(Collection<PolicyId> policyIds) {
+        return read(() -> {
+            List<Policy> policies = new ArrayList<>(policyIds.size());
+            for (PolicyId policyId : policyIds) {
+                int row = findRow(policyId);
+                if (row >= 0) {
+                    policies.add(toPolicy(row));
+                }
+            }
+            return policies;
+        });
+    }
+
+    @Override
+    public List<PendingActivation> findPendingActivations() {
+        return read(() -> Arrays.stream(statusRows(Set.of(PolicyStatus.PENDING)))
+                .mapToObj(row -> new PendingActivation(policyId(row), LocalDate.ofEpochDay(startDate[row]))).toList());
+    }
+
+    @Override
+    public List<Policy> findAll(int page, int size, PolicyStatus status, String clientRut, DateFilter dates) {
+        return read(() -> {
+            long offset = (long) page * size;
+            List<Policy> policies = new ArrayList<>(size);
+            IntPredicate filter = rowFilter(status, dates);
+
+            if (hasText(clientRut)) {
+                // Pocas filas por cliente: se ordenan al vuelo
+                Arrays.stream(clientRutRows(clientRut)).filter(filter).boxed()
+                        .sorted(this::compareCreation).skip(offset).limit(size).forEach(row -> policies.add(toPolicy(row)));
+                return policies;
+            }
+
+            if (status == null && dates.isEmpty()) {
+                // Sin filtro, la página es un tramo contiguo del orden de creación
+                for (long i = offset; i < Math.min(offset + size, live); i++) {
+                    policies.add(toPolicy(creationOrder[(int) i]));
+                }
+                return policies;
+            }
+
+            long skipped = 0;
+            for (int i = 0; i < live && policies.size() < size; i++) {
+                int row = creationOrder[i];
+                if (filter.test(row) && skipped++ >= offset) {
+                    policies.add(toPolicy(row));
+                }
+            }
+            return policies;
+        });
+    }
+
+    @Override
+    public List<Policy> findAll(Specification<Policy> specification, int page, int size) {
+        return read(() -> {
+            // Todo está en memoria: se arma cada póliza en orden de creación y se evalúa la especificación
+            long offset = (long) page * size;
+            List<Policy> policies = new ArrayList<>(size);
+            long skipped = 0;
+            for (int i = 0; i < live && policies.size() < size; i++) {
+                Policy policy = toPolicy(creationOrder[i]);
+                if (specification.isSatisfiedBy(policy) && skipped++ >= offset) {
+                    policies.add(policy);
+                }
+            }
+            return policies;
+        });
+    }
+
+    @Override
+    public long count(PolicyStatus status, String clientRut, DateFilter dates) {
+        return read(() -> {
+            IntPredicate filter = rowFilter(status, dates);
+            if (hasText(clientRut)) {
+                return Arrays.stream(clientRutRows(clientRut)).filter(filter).count();
+            }
+            if (!dates.isEmpty()) {
+                return Arrays.stream(creationOrder, 0, live).filter(filter).count();
+            }
+            return status == null ? (long) live : (long) statusCounts[status.ordinal()];
+        });
+    }
+
+    /**
+     * Status and date filters over the columns, with the dates compared as epoch days.
+     */
+    private IntPredicate rowFilter(PolicyStatus status, DateFilter dates) {
+        IntPredicate filter = row -> status == null || this.status[row] == status.ordinal();
+        if (dates.activeOn() != null) {
+            int day = (int) dates.activeOn().toEpochDay();
+            filter = filter.and(row -> startDate[row] <= day && endDate[row] >= day);
+        }
+        if (dates.endFrom() != null) {
+            int day = (int) dates.endFrom().toEpochDay();
+            filter = filter.and(row -> endDate[row] >= day);
+        }
+        if (dates.endTo() != null) {
+            int day = (int) dates.endTo().toEpochDay();
+            filter = filter.and(row -> endDate[row] <= day);
+        }
+        return filter;
+    }
+
+    @Override
+    public boolean existsByPolicyNumber(String policyNumber) {
+        return read(() -> findRowByNumber(policyNumber) >= 0);
+    }
+
+    @Override
+    public Set<String> findExistingPolicyNumbers(Collection<String> policyNumbers) {
+        return read(() -> {
+            Set<String> existing = new HashSet<>();
+            for (String number : policyNumbers) {
+                if (findRowByNumber(number) >= 0) {
+                    existing.add(number);
+                }
+            }
+            return existing;
+        });
+    }
+
+    @Override
+    public Optional<Policy> findByPolicyNumber(String policyNumber) {
+        return read(() -> {
+            int row = findRowByNumber(policyNumber);
+            return row < 0 ? Optional.empty() : Optional.of(toPolicy(row));
+        });
+    }
+
+    @Override
+    public List<Policy> findByStatus(PolicyStatus status) {
+        return read(() -> Arrays.stream(statusRows(Set.of(status))).mapToObj(this::toPolicy).toList());
+    }
+
+    /**
+     * Any formatting of a valid RUT matches; input that is not a valid RUT matches nothing.
+     */
+    @Override
+    public List<Policy> findByClientRut(String clientRut) {
+        return read(() -> Arrays.stream(clientRutRows(clientRut)).mapToObj(this::toPolicy).toList());
+    }
+
+    @Override
+    public long countByStatus(PolicyStatus status) {
+        return read(() -> (long) statusCounts[status.ordinal()]);
+    }
+
+    @Override
+    public long countByClientRut(String clientRut) {
+        return read(() -> (long) clientRutRows(clientRut).length);
+    }
+
+    @Override
+    public void deleteById(PolicyId policyId) {
+        write(() -> {
+            int row = findRow(policyId);
+            if (row >= 0) {
+                delete(row);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteByPolicyNumber(String policyNumber) {
+        write(() -> {
+            int row = findRowByNumber(policyNumber);
+            if (row >= 0) {
+                delete(row);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public boolean existsById(PolicyId policyId) {
+        return read(() -> findRow(policyId) >= 0);
+    }
+
+    /**
+     * Returns the number of stored policies.
+     */
+    public int size() {
+        return read(() -> live);
+    }
+
+    /**
+     * Estimates the heap bytes held by the columns, indexes and string pages, including deleted rows and replaced
+     * strings.
+     */
+    public long footprintBytes() {
+        return read(() -> {
+            long capacity = idHigh.length;
+            // Por fila: 11 long, 6 int, 4 byte y 1 short entre columnas, postings por RUT y orden de creación
+            long columns = capacity * (11L * Long.BYTES + 6L * Integer.BYTES + 4L + Short.BYTES);
+            long bitsets = (long) STATUSES.length * statusBits[0].length * Long.BYTES;
+            return columns + bitsets + strings.footprintBytes() + byId.footprintBytes()
+                    + byPolicyNumber.footprintBytes() + clientRutHeads.footprintBytes();
+        });
+    }
+
+    private void insert(Policy policy) {
+        ensureCapacity(rows + 1);
+        int row = rows++;
+        live++;
+
+        UUID id = policy.id().value();
+        idHigh[row] = id.getMostSignificantBits();
+        idLow[row] = id.getLeastSignificantBits();
+        createdAt[row] = epochNanos(policy.getCreatedAt());
+        version[row] = policy.getVersion();
+        writeColumns(row, policy);
+
+        byId.add(row);
+        byPolicyNumber.add(row);
+        linkClientRut(row);
+        setStatusBit(row, policy.getStatus());
+        addToCreationOrder(row);
+    }
+
+    private void overwrite(int row, Policy policy) {
+        byPolicyNumber.remove(row);
+        unlinkClientRut(row);
+        clearStatusBit(row);
+
+        version[row]++;
+        writeColumns(row, policy);
+
+        byPolicyNumber.add(row);
+        linkClientRut(row);
+        setStatusBit(row, policy.getStatus());
+    }
+
+    private void writeColumns(int row, Policy policy) {
+        policyNumber[row] = strings.add(policy.getPolicyNumber());
+        clientRutBody[row] = policy.getClientRut().getBody();
+        clientRutDigit[row] = (byte) policy.getClientRut().getVerificationChar();
+        clientName[row] = strings.add(policy.getClientName());
+        clientEmail[row] = strings.add(policy.getClientEmail());
+        premium[row] = policy.getPremium().minorUnits();
+        premiumCurrency[row] = (byte) currencies.encode(policy.getPremium().currency());
+        coverage[row] = policy.getCoverage().minorUnits();
+        coverageCurrency[row] = (byte) currencies.encode(policy.getCoverage().currency());
+        status[row] = (byte) policy.getStatus().ordinal();
+        startDate[row] = (int) policy.getStartDate().toEpochDay();
+        endDate[row] = (int) policy.getEndDate().toEpochDay();
+        description[row] = strings.add(policy.getDescription());
+        insuranceType[row] = (short) insuranceTypes.encode(policy.getInsuranceType());
+        updatedAt[row] = epochNanos(policy.getUpdatedAt());
+    }
+
+    private void setStatus(int row, PolicyStatus newStatus, LocalDateTime newUpdatedAt) {
+        clearStatusBit(row);
+        setStatusBit(row, newStatus);
+        status[row] = (byte) newStatus.ordinal();
+        updatedAt[row] = epochNanos(newUpdatedAt);
+        version[row]++;
+    }
+
+    private void delete(int row) {
+        byId.remove(row);
+        byPolicyNumber.remove(row);
+        unlinkClientRut(row);
+        clearStatusBit(row);
+        removeFromCreationOrder(row);
+        live--;
+    }
+
+    private Policy toPolicy(int row) {
+        return Policy.reconstitute(policyId(row), strings.get(policyNumber[row]),
+                Rut.of(clientRutBody[row], (char) clientRutDigit[row]), strings.get(clientName[row]),
+                strings.get(clientEmail[row]), Money.ofMinor(premium[row], currencies.decode(premiumCurrency[row])),
+                Money.ofMinor(coverage[row], currencies.decode(coverageCurrency[row])), STATUSES[status[row]],
+                LocalDate.ofEpochDay(startDate[row]), LocalDate.ofEpochDay(endDate[row]),
+                strings.get(description[row]), insuranceTypes.decode(insuranceType[row]),
+                localDateTime(createdAt[row]), localDateTime(updatedAt[row]), version[row]);
+    }
+
+    private PolicyId policyId(int row) {
+        return PolicyId.from(new UUID(idHigh[row], idLow[row]));
+    }
+
+    private int findRow(PolicyId policyId) {
+        long high = policyId.value().getMostSignificantBits();
+        long low = policyId.value().getLeastSignificantBits();
+        return byId.find(hashId(high, low), row -> idHigh[row] == high && idLow[row] == low);
+    }
+
+    private int findRowByNumber(String number) {
+        if (number == null) {
+            return -1;
+        }
+        byte[] utf8 = number.getBytes(StandardCharsets.UTF_8);
+        return byPolicyNumber.find(StringHeap.hash(utf8), row -> strings.equals(policyNumber[row], utf8));
+    }
+
+    private void requireFreeNumber(String number, int row) {
+        int owner = findRowByNumber(number);
+        if (owner >= 0 && owner != row) {
+            throw new IllegalStateException("Policy number already exists: " + number);
+        }
+    }
+
+    // Postings por RUT: lista doblemente enlazada a través de las filas, con la cabeza en clientRutHeads
+
+    private void linkClientRut(int row) {
+        int body = clientRutBody[row];
+        int head = clientRutHeads.find(body, candidate -> clientRutBody[candidate] == body);
+        clientRutPrevious[row] = -1;
+        clientRutNext[row] = head;
+        if (head >= 0) {
+            clientRutPrevious[head] = row;
+            clientRutHeads.remove(head);
+        }
+        clientRutHeads.add(row);
+    }
+
+    private void unlinkClientRut(int row) {
+        int previous = clientRutPrevious[row];
+        int next = clientRutNext[row];
+        if (previous < 0) {
+            clientRutHeads.remove(row);
+            if (next >= 0) {
+                clientRutPrevious[next] = -1;
+                clientRutHeads.add(next);
+            }
+        } else {
+            clientRutNext[previous] = next;
+            if (next >= 0) {
+                clientRutPrevious[next] = previous;
+            }
+        }
+    }
+
+    /**
+     * Rows of the client, matching by RUT body like the numeric filter of the JPA implementation. Stored RUTs are
+     * always valid, so input that is not a valid RUT matches nothing.
+     */
+    private int[] clientRutRows(String clientRut) {
+        int body;
+        try {
+            body = Rut.from(clientRut.trim()).getBody();
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return new int[0];
+        }
+
+        int[] result = new int[8];
+        int count = 0;
+        for (int row = clientRutHeads.find(body, candidate -> clientRutBody[candidate] == body); row >= 0;
+                row = clientRutNext[row]) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, count * 2);
+            }
+            result[count++] = row;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // Postings por estado: un bitset de filas por estado
+
+    private void setStatusBit(int row, PolicyStatus newStatus) {
+        statusBits[newStatus.ordinal()][row >>> 6] |= 1L << row;
+        statusCounts[newStatus.ordinal()]++;
+    }
+
+    private void clearStatusBit(int row) {
+        statusBits[status[row]][row >>> 6] &= ~(1L << row);
+        statusCounts[status[row]]--;
+    }
+
+    private int[] statusRows(Set<PolicyStatus> statuses) {
+        int[] result = new int[statuses.stream().mapToInt(s -> statusCounts[s.ordinal()]).sum()];
+        int count = 0;
+        for (PolicyStatus candidate : statuses) {
+            long[] bits = statusBits[candidate.ordinal()];
+            for (int word = 0; word < bits.length; word++) {
+                for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                    result[count++] = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Orden de creación: filas vivas ordenadas por (created_at, id)
+
+    private void addToCreationOrder(int row) {
+        int position = live - 1;
+        if (position > 0 && compareCreation(creationOrder[position - 1], row) > 0) {
+            // Fuera de orden (p. ej. un lote con fechas antiguas): insertar en su posición
+            position = searchCreationOrder(row, live - 1);
+            System.arraycopy(creationOrder, position, creationOrder, position + 1, live - 1 - position);
+        }
+        creationOrder[position] = row;
+    }
+
+    private void removeFromCreationOrder(int row) {
+        int position = searchCreationOrder(row, live);
+        System.arraycopy(creationOrder, position + 1, creationOrder, position, live - 1 - position);
+    }
+
+    /**
+     * Binary search over the first {@code length} entries of the creation order: the position of {@code row}, or
+     * where it would be inserted.
+     */
+    private int searchCreationOrder(int row, int length) {
+        int low = 0;
+        int high = length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareCreation(creationOrder[middle], row);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return low;
+    }
+
+    private int compareCreation(int left, int right) {
+        int comparison = Long.compare(createdAt[left], createdAt[right]);
+        return comparison != 0 ? comparison : compareIds(left, right);
+    }
+
+    private int compareIds(int left, int right) {
+        // Mismo orden que UUID.compareTo
+        int comparison = Long.compare(idHigh[left], idHigh[right]);
+        return comparison != 0 ? comparison : Long.compare(idLow[left], idLow[right]);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= idHigh.length) {
+            return;
+        }
+        int capacity = Math.max(required, idHigh.length + (idHigh.length >> 1));
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        policyNumber = Arrays.copyOf(policyNumber, capacity);
+        clientRutBody = Arrays.copyOf(clientRutBody, capacity);
+        clientRutDigit = Arrays.copyOf(clientRutDigit, capacity);
+        clientName = Arrays.copyOf(clientName, capacity);
+        clientEmail = Arrays.copyOf(clientEmail, capacity);
+        premium = Arrays.copyOf(premium, capacity);
+        premiumCurrency = Arrays.copyOf(premiumCurrency, capacity);
+        coverage = Arrays.copyOf(coverage, capacity);
+        coverageCurrency = Arrays.copyOf(coverageCurrency, capacity);
+        status = Arrays.copyOf(status, capacity);
+        startDate = Arrays.copyOf(startDate, capacity);
+        endDate = Arrays.copyOf(endDate, capacity);
+        description = Arrays.copyOf(description, capacity);
+        insuranceType = Arrays.copyOf(insuranceType, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        updatedAt = Arrays.copyOf(updatedAt, capacity);
+        version = Arrays.copyOf(version, capacity);
+        clientRutNext = Arrays.copyOf(clientRutNext, capacity);
+        clientRutPrevious = Arrays.copyOf(clientRutPrevious, capacity);
+        creationOrder = Arrays.copyOf(creationOrder, capacity);
+        for (int i = 0; i < statusBits.length; i++) {
+            statusBits[i] = Arrays.copyOf(statusBits[i], (capacity + Long.SIZE - 1) / Long.SIZE);
+        }
+    }
+
+    private <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> command) {
+        lock.writeLock().lock();
+        try {
+            return command.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int hashId(long high, long low) {
+        return Long.hashCode(high ^ low);
+    }
+
+    private static long epochNanos(LocalDateTime value) {
+        return Math.addExact(Math.multiplyExact(value.toEpochSecond(ZoneOffset.UTC), 1_000_000_000L),
+                value.getNano());
+    }
+
+    private static LocalDateTime localDateTime(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L),
+                (int) Math.floorMod(epochNanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,54 @@
+package cl.demo.polizas.app.columnar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of a low-cardinality column: each distinct value gets a small ordinal, assigned in order of
+ * first appearance, and rows store the ordinal. Null is {@link #NULL}. Not thread-safe.
+ */
+final class Dictionary<T> {
+
+    static final int NULL = -1;
+
+    private final int maxSize;
+    private final Map<T, Integer> ordinals = new HashMap<>();
+    private final List<T> values = new ArrayList<>();
+
+    Dictionary(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the ordinal of {@code value}, adding it if it is new.
+     */
+    int encode(T value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer ordinal = ordinals.get(value);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        if (values.size() == maxSize) {
+            throw new IllegalStateException("Dictionary is full: " + maxSize + " distinct values");
+        }
+        values.add(value);
+        ordinals.put(value, values.size() - 1);
+        return values.size() - 1;
+    }
+
+    /**
+     * Returns the ordinal of {@code value} without adding it, or {@link #NULL} when it was never encoded.
+     */
+    int find(T value) {
+        Integer ordinal = value == null ? null : ordinals.get(value);
+        return ordinal == null ? NULL : ordinal;
+    }
+
+    T decode(int ordinal) {
+        return ordinal == NULL ? null : values.get(ordinal);
+    }
+}
@@ -0,0 +1,109 @@
+package cl.demo.polizas.app.columnar;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Open-addressing hash index of row numbers. The key lives in the columns, not in the index: the index only stores
+ * rows and asks {@code hashOfRow} for their hash, so it costs one {@code int} slot per row at a load factor of at most
+ * 1/2. Linear probing, with backward-shift deletion so lookups never see tombstones. Not thread-safe.
+ */
+final class RowHashIndex {
+
+    private static final int EMPTY = -1;
+
+    private final IntUnaryOperator hashOfRow;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    RowHashIndex(IntUnaryOperator hashOfRow) {
+        this.hashOfRow = hashOfRow;
+        this.slots = emptySlots(16);
+        this.mask = 15;
+    }
+
+    /**
+     * Returns the first row with the given hash that {@code matches} accepts, or -1.
+     */
+    int find(int hash, IntPredicate matches) {
+        for (int slot = spread(hash) & mask; slots[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (matches.test(slots[slot])) {
+                return slots[slot];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds {@code row}, whose key must not be in the index yet.
+     */
+    void add(int row) {
+        if (2 * (size + 1) > slots.length) {
+            resize(slots.length * 2);
+        }
+        insert(row);
+        size++;
+    }
+
+    /**
+     * Removes {@code row}. Its key columns must still hold the values it was added with.
+     */
+    void remove(int row) {
+        int slot = spread(hashOfRow.applyAsInt(row)) & mask;
+        while (slots[slot] != row) {
+            if (slots[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Desplazar hacia atrás los elementos siguientes del mismo grupo para no dejar huecos en sus sondeos
+        int hole = slot;
+        for (int next = (hole + 1) & mask; slots[next] != EMPTY; next = (next + 1) & mask) {
+            int home = spread(hashOfRow.applyAsInt(slots[next])) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                slots[hole] = slots[next];
+                hole = next;
+            }
+        }
+        slots[hole] = EMPTY;
+        size--;
+    }
+
+    long footprintBytes() {
+        return (long) slots.length * Integer.BYTES;
+    }
+
+    private void insert(int row) {
+        int slot = spread(hashOfRow.applyAsInt(row)) & mask;
+        while (slots[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = row;
+    }
+
+    private void resize(int capacity) {
+        int[] old = slots;
+        slots = emptySlots(capacity);
+        mask = capacity - 1;
+        for (int row : old) {
+            if (row != EMPTY) {
+                insert(row);
+            }
+        }
+    }
+
+    private static int[] emptySlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    private static int spread(int hash) {
+        // Mezclar los bits altos: los hash de strings y RUT consecutivos difieren casi solo en los bajos
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
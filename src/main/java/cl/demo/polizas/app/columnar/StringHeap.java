@@ -0,0 +1,107 @@
+package cl.demo.polizas.app.columnar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only store of UTF-8 strings in fixed-size pages, so a string column costs one {@code long} address per row
+ * plus its bytes instead of a {@link String} object. Each entry is a 16-bit length followed by the bytes and never
+ * spans two pages. Replaced values are not reclaimed. Not thread-safe.
+ */
+final class StringHeap {
+
+    static final long NULL = -1;
+
+    private static final int PAGE_BITS = 20;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int MAX_BYTES = 0xFFFF;
+
+    private byte[][] pages = new byte[0][];
+    private int pageCount;
+    private int offset = PAGE_SIZE;
+
+    /**
+     * Stores {@code value} and returns its address, or {@link #NULL} for null.
+     */
+    long add(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_BYTES) {
+            throw new IllegalArgumentException("String too long to store: " + bytes.length + " bytes");
+        }
+
+        if (offset + 2 + bytes.length > PAGE_SIZE) {
+            if (pageCount == pages.length) {
+                pages = Arrays.copyOf(pages, Math.max(4, pageCount * 2));
+            }
+            pages[pageCount++] = new byte[PAGE_SIZE];
+            offset = 0;
+        }
+
+        byte[] page = pages[pageCount - 1];
+        page[offset] = (byte) (bytes.length >>> 8);
+        page[offset + 1] = (byte) bytes.length;
+        System.arraycopy(bytes, 0, page, offset + 2, bytes.length);
+        long address = ((long) (pageCount - 1) << PAGE_BITS) | offset;
+        offset += 2 + bytes.length;
+        return address;
+    }
+
+    String get(long address) {
+        if (address == NULL) {
+            return null;
+        }
+        byte[] page = pages[(int) (address >>> PAGE_BITS)];
+        int start = (int) address & PAGE_MASK;
+        return new String(page, start + 2, length(page, start), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns whether the string at {@code address} has exactly the given UTF-8 bytes.
+     */
+    boolean equals(long address, byte[] utf8) {
+        if (address == NULL) {
+            return false;
+        }
+        byte[] page = pages[(int) (address >>> PAGE_BITS)];
+        int start = (int) address & PAGE_MASK;
+        int length = length(page, start);
+        return length == utf8.length
+                && Arrays.equals(page, start + 2, start + 2 + length, utf8, 0, utf8.length);
+    }
+
+    /**
+     * Hash of the string at {@code address}; equal to {@link #hash(byte[])} of its UTF-8 bytes.
+     */
+    int hash(long address) {
+        byte[] page = pages[(int) (address >>> PAGE_BITS)];
+        int start = (int) address & PAGE_MASK;
+        return hash(page, start + 2, length(page, start));
+    }
+
+    static int hash(byte[] utf8) {
+        return hash(utf8, 0, utf8.length);
+    }
+
+    /**
+     * Bytes held by the pages, including replaced values.
+     */
+    long footprintBytes() {
+        return (long) pageCount * PAGE_SIZE + (long) pages.length * Long.BYTES;
+    }
+
+    private static int hash(byte[] bytes, int from, int length) {
+        int hash = 1;
+        for (int i = from; i < from + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash;
+    }
+
+    private static int length(byte[] page, int start) {
+        return ((page[start] & 0xFF) << 8) | (page[start + 1] & 0xFF);
+    }
+}
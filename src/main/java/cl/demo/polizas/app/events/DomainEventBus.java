@@ -0,0 +1,111 @@
+package cl.demo.polizas.app.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import cl.demo.polizas.seedwork.domain.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Asynchronous in-process bus for domain events, fed with the events of every committed policy write. Publishing only
+ * copies references into a preallocated ring ({@code policies.event-bus.capacity} slots); each subscription consumes
+ * on its own thread, in batches, and only sees the event types it asked for. The wait strategy and what happens when
+ * the ring is full are set with {@code policies.event-bus.wait-strategy} and {@code policies.event-bus.backpressure}.
+ */
+@ApplicationScoped
+public class DomainEventBus {
+
+    /**
+     * How a consumer waits for events when it has caught up with the producers.
+     */
+    public enum WaitStrategy {
+        /** Parks on a lock until a producer signals. Lowest CPU use, highest wake-up latency. */
+        BLOCKING,
+        /** Spins, then yields, then parks for short periods. */
+        SLEEPING,
+        /** Spins, then yields the CPU. */
+        YIELDING,
+        /** Spins on the cursor. Lowest latency; keeps one core busy per consumer. */
+        BUSY_SPIN
+    }
+
+    /**
+     * What a producer does when the slowest consumer is a full ring behind.
+     */
+    public enum Backpressure {
+        /** Wait until the slowest consumer frees enough slots. */
+        BLOCK,
+        /** Reject the events and return immediately. */
+        DROP
+    }
+
+    private final EventRing ring;
+    private final List<EventSubscription> subscriptions = new ArrayList<>();
+    private final Counter published;
+    private final Counter dropped;
+
+    @Inject
+    public DomainEventBus(
+            @ConfigProperty(name = "policies.event-bus.capacity", defaultValue = "8192") int capacity,
+            @ConfigProperty(name = "policies.event-bus.wait-strategy", defaultValue = "BLOCKING")
+            WaitStrategy waitStrategy,
+            @ConfigProperty(name = "policies.event-bus.backpressure", defaultValue = "BLOCK")
+            Backpressure backpressure,
+            MeterRegistry registry) {
+        this.ring = new EventRing(capacity, waitStrategy, backpressure);
+
+        this.published = Counter.builder("policies.event.bus.published")
+                .description("Domain events published to the in-process bus").register(registry);
+        this.dropped = Counter.builder("policies.event.bus.dropped")
+                .description("Domain events dropped because the bus was full").register(registry);
+        Gauge.builder("policies.event.bus.backlog", ring, EventRing::backlog)
+                .description("Events the slowest subscription has not processed yet").register(registry);
+    }
+
+    /**
+     * Publishes the events in order. Returns how many were accepted; fewer than given only when the ring is full and
+     * the backpressure policy is DROP.
+     */
+    public int publish(List<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        int accepted = ring.publish(events);
+        published.increment(accepted);
+        if (accepted < events.size()) {
+            dropped.increment(events.size() - accepted);
+            Log.warnf("Domain event bus full, dropped %d events", events.size() - accepted);
+        }
+        return accepted;
+    }
+
+    /**
+     * Subscribes {@code handler} to the events whose {@link DomainEvent#type()} is in {@code types}. Subscribe at
+     * startup, before events flow, so the new subscription starts from a consistent point.
+     */
+    public EventSubscription subscribe(String name, Set<String> types, DomainEventHandler handler) {
+        EventSubscription subscription = ring.subscribe(name, types, handler);
+        synchronized (subscriptions) {
+            subscriptions.add(subscription);
+        }
+        return subscription;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        synchronized (subscriptions) {
+            subscriptions.forEach(EventSubscription::close);
+            subscriptions.clear();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package cl.demo.polizas.app.events;
+
+import cl.demo.polizas.seedwork.domain.DomainEvent;
+
+/**
+ * Receives domain events from the {@link DomainEventBus} on the subscription's own thread, one batch at a time.
+ */
+@FunctionalInterface
+public interface DomainEventHandler {
+
+    /**
+     * Handles one event. {@code endOfBatch} is true for the last event of the current batch, the point to flush any
+     * work accumulated over the batch.
+     */
+    void onEvent(DomainEvent event, boolean endOfBatch);
+}
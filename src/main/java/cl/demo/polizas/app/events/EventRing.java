@@ -0,0 +1,323 @@
+package cl.demo.polizas.app.events;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import cl.demo.polizas.app.events.DomainEventBus.Backpressure;
+import cl.demo.polizas.app.events.DomainEventBus.WaitStrategy;
+import cl.demo.polizas.seedwork.domain.DomainEvent;
+import io.quarkus.logging.Log;
+
+/**
+ * Bounded multi-producer, multi-consumer ring of domain events. The slots are allocated once; producers claim a range
+ * of sequences with a single CAS and mark each slot published with a release write, and every consumer runs on its own
+ * thread, reads all events published since its last pass as one batch and then advances its own sequence. Producers
+ * never overtake the slowest consumer: when the ring is full they wait or drop, according to {@link Backpressure}.
+ * Every consumer sees every event; its type filter only decides which ones reach its handler.
+ */
+final class EventRing {
+
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int SPIN_TRIES = 100;
+    private static final long SLEEP_NANOS = 100_000;
+
+    private final int capacity;
+    private final int mask;
+    private final int indexShift;
+    private final DomainEvent[] entries;
+    private final int[] available;
+
+    private final WaitStrategy waitStrategy;
+    private final Backpressure backpressure;
+
+    private final Sequence cursor = new Sequence(-1);
+    private final Sequence gatingCache = new Sequence(-1);
+    private volatile Consumer[] consumers = new Consumer[0];
+
+    // Solo para BLOCKING: los productores despiertan a los consumidores únicamente si alguno está esperando
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final AtomicBoolean signalNeeded = new AtomicBoolean();
+
+    EventRing(int capacity, WaitStrategy waitStrategy, Backpressure backpressure) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of 2: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.entries = new DomainEvent[capacity];
+        this.available = new int[capacity];
+        Arrays.fill(available, -1);
+        this.waitStrategy = waitStrategy;
+        this.backpressure = backpressure;
+    }
+
+    /**
+     * Publishes the events in order. Returns how many were accepted: all of them, or with
+     * {@link Backpressure#DROP} only those that fitted, in whole claims of at most {@code capacity} events.
+     */
+    int publish(List<? extends DomainEvent> events) {
+        int accepted = 0;
+        while (accepted < events.size()) {
+            int count = Math.min(events.size() - accepted, capacity);
+            long high = claim(count);
+            if (high < 0) {
+                return accepted;
+            }
+
+            long low = high - count + 1;
+            for (long sequence = low; sequence <= high; sequence++) {
+                entries[index(sequence)] = events.get(accepted++);
+            }
+            for (long sequence = low; sequence <= high; sequence++) {
+                AVAILABLE.setRelease(available, index(sequence), round(sequence));
+            }
+            signalConsumers();
+        }
+        return accepted;
+    }
+
+    /**
+     * Starts a consumer thread that receives, from the next published event on, the events whose type is in
+     * {@code types} ({@code null} for every type). Meant to be called before producers start publishing.
+     */
+    Consumer subscribe(String name, Set<String> types, DomainEventHandler handler) {
+        Consumer consumer = new Consumer(name, types, handler);
+        synchronized (this) {
+            consumer.sequence.set(cursor.get());
+            Consumer[] current = consumers;
+            Consumer[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = consumer;
+            consumers = updated;
+            // Releer el cursor una vez que los productores ya ven al nuevo consumidor
+            consumer.sequence.set(cursor.get());
+        }
+        consumer.thread.start();
+        return consumer;
+    }
+
+    /**
+     * Returns how many published events the slowest consumer has not processed yet.
+     */
+    long backlog() {
+        long current = cursor.get();
+        return current - minimumSequence(current);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private long claim(int count) {
+        while (true) {
+            long current = cursor.get();
+            long next = current + count;
+            long wrapPoint = next - capacity;
+            long cachedGating = gatingCache.get();
+
+            if (wrapPoint > cachedGating || cachedGating > current) {
+                long gating = minimumSequence(current);
+                if (wrapPoint > gating) {
+                    if (backpressure == Backpressure.DROP) {
+                        return -1;
+                    }
+                    LockSupport.parkNanos(1_000);
+                    continue;
+                }
+                gatingCache.set(gating);
+            } else if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long minimumSequence(long minimum) {
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    private void signalConsumers() {
+        if (waitStrategy == WaitStrategy.BLOCKING && signalNeeded.getAndSet(false)) {
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void remove(Consumer consumer) {
+        synchronized (this) {
+            consumers = Arrays.stream(consumers).filter(c -> c != consumer).toArray(Consumer[]::new);
+        }
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isAvailable(long sequence) {
+        return (int) AVAILABLE.getAcquire(available, index(sequence)) == round(sequence);
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+
+    private int round(long sequence) {
+        return (int) (sequence >>> indexShift);
+    }
+
+    /**
+     * Waits until {@code sequence} has been claimed and returns the highest sequence from it on that is published
+     * without gaps, or {@code sequence - 1} if nothing is ready or the consumer is stopping.
+     */
+    private long waitFor(long sequence, Consumer consumer) throws InterruptedException {
+        int tries = 0;
+        while (cursor.get() < sequence) {
+            if (!consumer.running) {
+                return sequence - 1;
+            }
+            switch (waitStrategy) {
+                case BUSY_SPIN -> Thread.onSpinWait();
+                case YIELDING -> {
+                    if (++tries < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+                case SLEEPING -> {
+                    if (++tries < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else if (tries < 2 * SPIN_TRIES) {
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(SLEEP_NANOS);
+                    }
+                }
+                case BLOCKING -> {
+                    lock.lock();
+                    try {
+                        signalNeeded.set(true);
+                        if (cursor.get() < sequence && consumer.running) {
+                            published.await(10, TimeUnit.MILLISECONDS);
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+        }
+
+        // El cursor cuenta secuencias reservadas; solo se entregan las ya publicadas, sin huecos
+        long high = cursor.get();
+        for (long next = sequence; next <= high; next++) {
+            if (!isAvailable(next)) {
+                return next - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * A consumer thread with its own sequence. Stopping it lets it finish the batch in progress.
+     */
+    final class Consumer implements EventSubscription {
+
+        private final Sequence sequence = new Sequence(-1);
+        private final Set<String> types;
+        private final DomainEventHandler handler;
+        private final Thread thread;
+        private final List<DomainEvent> batch = new ArrayList<>();
+        private volatile boolean running = true;
+
+        private Consumer(String name, Set<String> types, DomainEventHandler handler) {
+            this.types = types == null ? null : Set.copyOf(types);
+            this.handler = handler;
+            this.thread = new Thread(this::run, "event-bus-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public long processed() {
+            return sequence.get() + 1;
+        }
+
+        @Override
+        public void close() {
+            running = false;
+            remove(this);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void run() {
+            long next = sequence.get() + 1;
+            while (running) {
+                long high;
+                try {
+                    high = waitFor(next, this);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (high < next) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                // Todo lo publicado desde la última pasada es un lote; el filtro por tipo no detiene la secuencia
+                for (long s = next; s <= high; s++) {
+                    DomainEvent event = entries[index(s)];
+                    if (types == null || types.contains(event.type())) {
+                        batch.add(event);
+                    }
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    try {
+                        handler.onEvent(batch.get(i), i == batch.size() - 1);
+                    } catch (RuntimeException e) {
+                        Log.errorf(e, "Event handler %s failed on %s", thread.getName(), batch.get(i).type());
+                    }
+                }
+                batch.clear();
+
+                sequence.set(high);
+                next = high + 1;
+            }
+        }
+    }
+
+    /**
+     * Sequence counter padded to its own cache line, so producers and consumers updating neighbouring counters do not
+     * invalidate each other's caches.
+     */
+    @SuppressWarnings("unused")
+    static final class Sequence extends AtomicLong {
+
+        private long p1, p2, p3, p4, p5, p6, p7;
+
+        Sequence(long initial) {
+            super(initial);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package cl.demo.polizas.app.events;
+
+/**
+ * Handle of a {@link DomainEventBus} subscription.
+ */
+public interface EventSubscription extends AutoCloseable {
+
+    /**
+     * Returns how many events, of any type, this subscription has gone past since the bus started.
+     */
+    long processed();
+
+    /**
+     * Stops the subscription thread after the batch in progress.
+     */
+    @Override
+    void close();
+}
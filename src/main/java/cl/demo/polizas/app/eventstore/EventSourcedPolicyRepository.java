@@ -0,0 +1,444 @@
+package cl.demo.polizas.app.eventstore;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import cl.demo.polizas.seedwork.domain.Specification;
+
+/**
+ * {@link PolicyRepository} that keeps every policy as an append-only stream of events in a {@link SegmentedLog}: a
+ * full-state event when it is saved, a small status event for each status change and a tombstone when it is deleted.
+ * Writes only append; nothing is rewritten in place.
+ * <p>
+ * An in-memory index maps each policy ID to the address of its last full state plus the fields later status events
+ * changed, so {@link #findById} is one record read, and filters and counts never touch the log. Every
+ * {@code snapshotEvery} appended events the index is written to a {@link PolicySnapshot}; opening the repository
+ * loads the snapshot and replays only the events after it.
+ * <p>
+ * Writes are serialized and each call is atomic: batch operations validate everything before appending. There are no
+ * transactions spanning calls, no outbox and no event bus: the pending domain events of saved policies are dropped,
+ * since the stream itself records what happened.
+ */
+public final class EventSourcedPolicyRepository implements PolicyRepository, AutoCloseable {
+
+    private static final Comparator<PolicyIndexEntry> CREATION_ORDER = Comparator
+            .comparing(PolicyIndexEntry::createdAt).thenComparing(PolicyIndexEntry::id);
+
+    private final SegmentedLog log;
+    private final Path snapshotFile;
+    private final int snapshotEvery;
+    private final Map<UUID, PolicyIndexEntry> index = new ConcurrentHashMap<>();
+    private final Map<String, UUID> policyNumbers = new ConcurrentHashMap<>();
+    private final ByteBuffer encoder = ByteBuffer.allocate(PolicyEventCodec.MAX_RECORD_BYTES);
+    private final Object snapshotLock = new Object();
+    private int appendedSinceSnapshot;
+
+    /**
+     * Opens the event log in {@code directory}, creating it if needed, and rebuilds the index from its latest snapshot
+     * and the events after it.
+     *
+     * @param segmentSize   size in bytes of each memory-mapped segment file
+     * @param snapshotEvery number of appended events between snapshots, or 0 to snapshot only on {@link #close}
+     * @param sync          whether every append is forced to disk before returning
+     */
+    public EventSourcedPolicyRepository(Path directory, int segmentSize, int snapshotEvery, boolean sync) {
+        this.log = new SegmentedLog(directory, segmentSize, sync);
+        this.snapshotFile = directory.resolve("snapshot.bin");
+        this.snapshotEvery = snapshotEvery;
+
+        long from = 0;
+        Optional<PolicySnapshot.Loaded> snapshot = PolicySnapshot.read(snapshotFile);
+        if (snapshot.isPresent()) {
+            snapshot.get().entries().forEach(this::put);
+            from = snapshot.get().position();
+        }
+        log.recover(from, this::replay);
+    }
+
+    @Override
+    public synchronized void save(Policy policy) {
+        UUID id = policy.id().value();
+        requireFreeNumber(policy.getPolicyNumber(), id);
+
+        // Igual que el upsert de JPA: una póliza existente conserva created_at y sube su versión
+        PolicyIndexEntry existing = index.get(id);
+        LocalDateTime createdAt = existing == null ? policy.getCreatedAt() : existing.createdAt();
+        long version = existing == null ? policy.getVersion() : existing.version() + 1;
+        appendSaved(policy, createdAt, version, existing);
+        policy.pullEvents();
+        afterAppend(1);
+    }
+
+    @Override
+    public synchronized void saveAll(List<Policy> policies) {
+        // Validar el lote completo antes de escribir: o se guardan todas o ninguna
+        Set<UUID> ids = new HashSet<>();
+        Map<String, UUID> numbers = new HashMap<>();
+        for (Policy policy : policies) {
+            UUID id = policy.id().value();
+            if (!ids.add(id) || index.containsKey(id)) {
+                throw new IllegalStateException("Policy already exists: " + id);
+            }
+            requireFreeNumber(policy.getPolicyNumber(), id);
+            if (numbers.putIfAbsent(policy.getPolicyNumber(), id) != null) {
+                throw new IllegalStateException("Duplicate policy number in batch: " + policy.getPolicyNumber());
+            }
+        }
+
+        for (Policy policy : policies) {
+            appendSaved(policy, policy.getCreatedAt(), policy.getVersion(), null);
+            policy.pullEvents();
+        }
+        afterAppend(policies.size());
+    }
+
+    @Override
+    public synchronized Optional<StatusChange> updateStatusFrom(PolicyId policyId, Set<PolicyStatus> fromStatuses,
+            PolicyStatus newStatus, LocalDateTime updatedAt) {
+        PolicyIndexEntry entry = index.get(policyId.value());
+        if (entry == null || !fromStatuses.contains(entry.status())) {
+            return Optional.empty();
+        }
+        appendStatusChanged(entry, newStatus, updatedAt);
+        afterAppend(1);
+        return Optional.of(new StatusChange(policyId, entry.policyNumber(), entry.status()));
+    }
+
+    @Override
+    public synchronized int updateStatusByIds(Collection<PolicyId> policyIds, Set<PolicyStatus> fromStatuses,
+            PolicyStatus newStatus, LocalDateTime updatedAt) {
+        int updated = 0;
+        for (PolicyId policyId : new HashSet<>(policyIds)) {
+            PolicyIndexEntry entry = index.get(policyId.value());
+            if (entry != null && fromStatuses.contains(entry.status())) {
+                appendStatusChanged(entry, newStatus, updatedAt);
+                updated++;
+            }
+        }
+        afterAppend(updated);
+        return updated;
+    }
+
+    @Override
+    public synchronized int updateStatusByFilter(String clientRut, String insuranceType,
+            Set<PolicyStatus> fromStatuses, PolicyStatus newStatus, LocalDateTime updatedAt, int limit) {
+        Predicate<PolicyIndexEntry> filter = entry -> fromStatuses.contains(entry.status());
+        if (hasText(clientRut)) {
+            filter = filter.and(clientRutFilter(clientRut));
+        }
+        if (hasText(insuranceType)) {
+            filter = filter.and(entry -> insuranceType.equals(entry.insuranceType()));
+        }
+
+        List<PolicyIndexEntry> chunk = entries().filter(filter).sorted(Comparator.comparing(PolicyIndexEntry::id))
+                .limit(limit).toList();
+        chunk.forEach(entry -> appendStatusChanged(entry, newStatus, updatedAt));
+        afterAppend(chunk.size());
+        return chunk.size();
+    }
+
+    @Override
+    public synchronized List<PolicyId> updateStatuses(List<Policy> policies, PolicyStatus expectedStatus) {
+        List<PolicyId> updated = new ArrayList<>(policies.size());
+        for (Policy policy : policies) {
+            PolicyIndexEntry entry = index.get(policy.id().value());
+            if (entry != null && entry.status() == expectedStatus && entry.version() == policy.getVersion()) {
+                appendStatusChanged(entry, policy.getStatus(), policy.getUpdatedAt());
+                policy.pullEvents();
+                updated.add(policy.id());
+            }
+        }
+        afterAppend(updated.size());
+        return updated;
+    }
+
+    @Override
+    public synchronized List<ExpiredPolicy> expireDue(LocalDate today, int limit, LocalDateTime updatedAt) {
+        Set<PolicyStatus> expirable = Policy.expirableStatuses();
+        List<PolicyIndexEntry> due = entries()
+                .filter(entry -> entry.endDate().isBefore(today) && expirable.contains(entry.status()))
+                .sorted(Comparator.comparing(PolicyIndexEntry::endDate).thenComparing(PolicyIndexEntry::id))
+                .limit(limit).toList();
+
+        List<ExpiredPolicy> expired = new ArrayList<>(due.size());
+        for (PolicyIndexEntry entry : due) {
+            appendStatusChanged(entry, PolicyStatus.EXPIRED, updatedAt);
+            expired.add(new ExpiredPolicy(PolicyId.from(entry.id()), entry.policyNumber(), entry.status()));
+        }
+        afterAppend(expired.size());
+        return expired;
+    }
+
+    @Override
+    public Optional<Policy> findById(PolicyId policyId) {
+        return Optional.ofNullable(index.get(policyId.value())).map(this::load);
+    }
+
+    @Override
+    public List<Policy> findAllById(Collection<PolicyId> policyIds) {
+        return policyIds.stream().map(policyId -> index.get(policyId.value())).filter(entry -> entry != null)
+                .map(this::load).toList();
+    }
+
+    @Override
+    public List<PendingActivation> findPendingActivations() {
+        return entries().filter(entry -> entry.status() == PolicyStatus.PENDING)
+                .map(entry -> new PendingActivation(PolicyId.from(entry.id()), entry.startDate())).toList();
+    }
+
+    @Override
+    public List<Policy> findAll(int page, int size, PolicyStatus status, String clientRut, DateFilter dates) {
+        // Mismo orden estable que la implementación JPA
+        return entries().filter(filters(status, clientRut, dates)).sorted(CREATION_ORDER).skip((long) page * size)
+                .limit(size).map(this::load).toList();
+    }
+
+    @Override
+    public List<Policy> findAll(Specification<Policy> specification, int page, int size) {
+        // La especificación mira el agregado completo: se reconstruye cada póliza en orden de creación
+        return entries().sorted(CREATION_ORDER).map(this::load).filter(specification::isSatisfiedBy)
+                .skip((long) page * size).limit(size).toList();
+    }
+
+    @Override
+    public long count(PolicyStatus status, String clientRut, DateFilter dates) {
+        return entries().filter(filters(status, clientRut, dates)).count();
+    }
+
+    @Override
+    public boolean existsByPolicyNumber(String policyNumber) {
+        return policyNumbers.containsKey(policyNumber);
+    }
+
+    @Override
+    public Set<String> findExistingPolicyNumbers(Collection<String> policyNumbers) {
+        Set<String> existing = new HashSet<>();
+        for (String policyNumber : policyNumbers) {
+            if (this.policyNumbers.containsKey(policyNumber)) {
+                existing.add(policyNumber);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public Optional<Policy> findByPolicyNumber(String policyNumber) {
+        return Optional.ofNullable(policyNumbers.get(policyNumber)).map(index::get).map(this::load);
+    }
+
+    @Override
+    public List<Policy> findByStatus(PolicyStatus status) {
+        return entries().filter(entry -> entry.status() == status).map(this::load).toList();
+    }
+
+    /**
+     * Any formatting of a valid RUT matches; input that is not a valid RUT matches nothing.
+     */
+    @Override
+    public List<Policy> findByClientRut(String clientRut) {
+        return entries().filter(clientRutFilter(clientRut)).map(this::load).toList();
+    }
+
+    @Override
+    public long countByStatus(PolicyStatus status) {
+        return entries().filter(entry -> entry.status() == status).count();
+    }
+
+    @Override
+    public long countByClientRut(String clientRut) {
+        return entries().filter(clientRutFilter(clientRut)).count();
+    }
+
+    @Override
+    public synchronized void deleteById(PolicyId policyId) {
+        PolicyIndexEntry entry = index.get(policyId.value());
+        if (entry != null) {
+            appendDeleted(entry);
+            afterAppend(1);
+        }
+    }
+
+    @Override
+    public synchronized void deleteByPolicyNumber(String policyNumber) {
+        UUID id = policyNumbers.get(policyNumber);
+        if (id != null) {
+            appendDeleted(index.get(id));
+            afterAppend(1);
+        }
+    }
+
+    @Override
+    public boolean existsById(PolicyId policyId) {
+        return index.containsKey(policyId.value());
+    }
+
+    /**
+     * Writes a snapshot of the index at the current log position. The log is forced to disk first, so the snapshot
+     * never refers to events that a crash could lose.
+     */
+    public void snapshot() {
+        long position;
+        List<PolicyIndexEntry> entries;
+        synchronized (this) {
+            log.force();
+            position = log.position();
+            entries = List.copyOf(index.values());
+            appendedSinceSnapshot = 0;
+        }
+        // Llamado desde fuera de una escritura, el archivo se escribe sin bloquear a los escritores
+        synchronized (snapshotLock) {
+            PolicySnapshot.write(snapshotFile, position, entries);
+        }
+    }
+
+    /**
+     * Snapshots the index and releases the log. The repository cannot be used afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        snapshot();
+        log.close();
+    }
+
+    private void appendSaved(Policy policy, LocalDateTime createdAt, long version, PolicyIndexEntry existing) {
+        encoder.clear();
+        PolicyEventCodec.encodeSaved(encoder, policy, createdAt, version);
+        long address = log.append(encoder.flip());
+
+        if (existing != null && !existing.policyNumber().equals(policy.getPolicyNumber())) {
+            policyNumbers.remove(existing.policyNumber());
+        }
+        put(new PolicyIndexEntry(policy.id().value(), address, policy.getPolicyNumber(),
+                policy.getClientRut().getBody(), policy.getInsuranceType(), policy.getStatus(),
+                policy.getStartDate(), policy.getEndDate(), createdAt, policy.getUpdatedAt(), version));
+    }
+
+    private void appendStatusChanged(PolicyIndexEntry entry, PolicyStatus newStatus, LocalDateTime updatedAt) {
+        encoder.clear();
+        PolicyEventCodec.encodeStatusChanged(encoder, entry.id(), newStatus, updatedAt, entry.version() + 1);
+        log.append(encoder.flip());
+        index.put(entry.id(), entry.withStatus(newStatus, updatedAt, entry.version() + 1));
+    }
+
+    private void appendDeleted(PolicyIndexEntry entry) {
+        encoder.clear();
+        PolicyEventCodec.encodeDeleted(encoder, entry.id());
+        log.append(encoder.flip());
+        remove(entry);
+    }
+
+    /**
+     * Applies an event found while recovering the log; the same changes the append methods make to the index.
+     */
+    private void replay(long address, ByteBuffer record) {
+        UUID id = PolicyEventCodec.id(record);
+        PolicyIndexEntry existing = index.get(id);
+        switch (PolicyEventCodec.type(record)) {
+            case PolicyEventCodec.POLICY_SAVED -> {
+                if (existing != null) {
+                    remove(existing);
+                }
+                put(PolicyEventCodec.decodeEntry(address, record));
+            }
+            case PolicyEventCodec.STATUS_CHANGED -> {
+                if (existing != null) {
+                    index.put(id, PolicyEventCodec.applyStatusChanged(record, existing));
+                }
+            }
+            case PolicyEventCodec.POLICY_DELETED -> {
+                if (existing != null) {
+                    remove(existing);
+                }
+            }
+            default -> throw new IllegalStateException("Unknown event type " + PolicyEventCodec.type(record)
+                    + " at log address " + address);
+        }
+    }
+
+    private void afterAppend(int appended) {
+        appendedSinceSnapshot += appended;
+        if (snapshotEvery > 0 && appendedSinceSnapshot >= snapshotEvery) {
+            snapshot();
+        }
+    }
+
+    private void put(PolicyIndexEntry entry) {
+        index.put(entry.id(), entry);
+        policyNumbers.put(entry.policyNumber(), entry.id());
+    }
+
+    private void remove(PolicyIndexEntry entry) {
+        index.remove(entry.id());
+        policyNumbers.remove(entry.policyNumber(), entry.id());
+    }
+
+    private void requireFreeNumber(String policyNumber, UUID id) {
+        UUID owner = policyNumbers.get(policyNumber);
+        if (owner != null && !owner.equals(id)) {
+            throw new IllegalStateException("Policy number already exists: " + policyNumber);
+        }
+    }
+
+    private Policy load(PolicyIndexEntry entry) {
+        return PolicyEventCodec.decodePolicy(log.read(entry.address()), entry);
+    }
+
+    private Stream<PolicyIndexEntry> entries() {
+        return index.values().stream();
+    }
+
+    private static Predicate<PolicyIndexEntry> filters(PolicyStatus status, String clientRut, DateFilter dates) {
+        Predicate<PolicyIndexEntry> filter = entry -> true;
+        if (status != null) {
+            filter = filter.and(entry -> entry.status() == status);
+        }
+        if (hasText(clientRut)) {
+            filter = filter.and(clientRutFilter(clientRut));
+        }
+        if (!dates.isEmpty()) {
+            filter = filter.and(entry -> dates.matches(entry.startDate(), entry.endDate()));
+        }
+        return filter;
+    }
+
+    /**
+     * Matches by RUT body, like the numeric filter of the JPA implementation. Stored RUTs are always valid, so input
+     * that is not a valid RUT matches nothing.
+     */
+    private static Predicate<PolicyIndexEntry> clientRutFilter(String clientRut) {
+        if (clientRut == null) {
+            return entry -> false;
+        }
+        int body;
+        try {
+            body = Rut.from(clientRut.trim()).getBody();
+        } catch (IllegalArgumentException e) {
+            return entry -> false;
+        }
+        return entry -> entry.clientRutBody() == body;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
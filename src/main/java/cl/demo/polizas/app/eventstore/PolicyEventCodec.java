@@ -0,0 +1,200 @@
+package cl.demo.polizas.app.eventstore;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.UUID;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+
+/**
+ * Binary encoding of the events stored in a policy stream. Every record starts with its type and the policy ID;
+ * numbers are fixed-width, dates are epoch days, timestamps are epoch seconds plus nanos (UTC, since
+ * {@link LocalDateTime} has no zone), money is a count of hundredths plus its 3-letter currency code, and strings are
+ * UTF-8 with an unsigned 16-bit length ({@code 0xFFFF} for null).
+ */
+final class PolicyEventCodec {
+
+    /** Full state of the policy: written when it is created and on every save. */
+    static final byte POLICY_SAVED = 1;
+    /** New status, update time and version. */
+    static final byte STATUS_CHANGED = 2;
+    /** The policy was deleted; its stream ends here. */
+    static final byte POLICY_DELETED = 3;
+
+    static final int MAX_RECORD_BYTES = 16 * 1024;
+
+    private static final int NULL_STRING = 0xFFFF;
+    private static final PolicyStatus[] STATUSES = PolicyStatus.values();
+
+    private PolicyEventCodec() {
+        // Utility class, prevent instantiation
+    }
+
+    static void encodeSaved(ByteBuffer out, Policy policy, LocalDateTime createdAt, long version) {
+        header(out, POLICY_SAVED, policy.id().value());
+        putString(out, policy.getPolicyNumber());
+        out.putInt(policy.getClientRut().getBody());
+        out.putChar(policy.getClientRut().getVerificationChar());
+        putString(out, policy.getClientName());
+        putString(out, policy.getClientEmail());
+        putMoney(out, policy.getPremium());
+        putMoney(out, policy.getCoverage());
+        out.put((byte) policy.getStatus().ordinal());
+        out.putInt((int) policy.getStartDate().toEpochDay());
+        out.putInt((int) policy.getEndDate().toEpochDay());
+        putString(out, policy.getDescription());
+        putString(out, policy.getInsuranceType());
+        putTimestamp(out, createdAt);
+        putTimestamp(out, policy.getUpdatedAt());
+        out.putLong(version);
+    }
+
+    static void encodeStatusChanged(ByteBuffer out, UUID id, PolicyStatus status, LocalDateTime updatedAt,
+            long version) {
+        header(out, STATUS_CHANGED, id);
+        out.put((byte) status.ordinal());
+        putTimestamp(out, updatedAt);
+        out.putLong(version);
+    }
+
+    static void encodeDeleted(ByteBuffer out, UUID id) {
+        header(out, POLICY_DELETED, id);
+    }
+
+    static byte type(ByteBuffer record) {
+        return record.get(0);
+    }
+
+    static UUID id(ByteBuffer record) {
+        return new UUID(record.getLong(1), record.getLong(9));
+    }
+
+    /**
+     * Builds the index entry of a {@link #POLICY_SAVED} record, skipping the fields the index does not keep.
+     */
+    static PolicyIndexEntry decodeEntry(long address, ByteBuffer record) {
+        ByteBuffer in = body(record);
+        String policyNumber = getString(in);
+        int clientRutBody = in.getInt();
+        in.getChar();
+        skipString(in);
+        skipString(in);
+        in.position(in.position() + 2 * (Long.BYTES + 3));
+        PolicyStatus status = STATUSES[in.get()];
+        LocalDate startDate = LocalDate.ofEpochDay(in.getInt());
+        LocalDate endDate = LocalDate.ofEpochDay(in.getInt());
+        skipString(in);
+        String insuranceType = getString(in);
+        LocalDateTime createdAt = getTimestamp(in);
+        LocalDateTime updatedAt = getTimestamp(in);
+        long version = in.getLong();
+        return new PolicyIndexEntry(id(record), address, policyNumber, clientRutBody,
+                insuranceType == null ? null : insuranceType.intern(), status, startDate, endDate, createdAt,
+                updatedAt, version);
+    }
+
+    /**
+     * Rebuilds the policy from a {@link #POLICY_SAVED} record, with the status, update time and version of
+     * {@code entry}, which include any later status events.
+     */
+    static Policy decodePolicy(ByteBuffer record, PolicyIndexEntry entry) {
+        ByteBuffer in = body(record);
+        String policyNumber = getString(in);
+        Rut clientRut = Rut.of(in.getInt(), in.getChar());
+        String clientName = getString(in);
+        String clientEmail = getString(in);
+        Money premium = getMoney(in);
+        Money coverage = getMoney(in);
+        in.get();
+        LocalDate startDate = LocalDate.ofEpochDay(in.getInt());
+        LocalDate endDate = LocalDate.ofEpochDay(in.getInt());
+        String description = getString(in);
+        String insuranceType = getString(in);
+        LocalDateTime createdAt = getTimestamp(in);
+        return Policy.reconstitute(PolicyId.from(entry.id()), policyNumber, clientRut, clientName, clientEmail,
+                premium, coverage, entry.status(), startDate, endDate, description, insuranceType, createdAt,
+                entry.updatedAt(), entry.version());
+    }
+
+    /**
+     * Applies a {@link #STATUS_CHANGED} record to the entry of its policy.
+     */
+    static PolicyIndexEntry applyStatusChanged(ByteBuffer record, PolicyIndexEntry entry) {
+        ByteBuffer in = body(record);
+        PolicyStatus status = STATUSES[in.get()];
+        LocalDateTime updatedAt = getTimestamp(in);
+        return entry.withStatus(status, updatedAt, in.getLong());
+    }
+
+    private static void header(ByteBuffer out, byte type, UUID id) {
+        out.put(type);
+        out.putLong(id.getMostSignificantBits());
+        out.putLong(id.getLeastSignificantBits());
+    }
+
+    private static ByteBuffer body(ByteBuffer record) {
+        return record.duplicate().position(1 + 2 * Long.BYTES);
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putShort((short) NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_STRING) {
+            throw new IllegalArgumentException("String too long to store: " + bytes.length + " bytes");
+        }
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        if (length != NULL_STRING) {
+            in.position(in.position() + length);
+        }
+    }
+
+    private static void putMoney(ByteBuffer out, Money money) {
+        out.putLong(money.minorUnits());
+        String code = money.currency().getCurrencyCode();
+        for (int i = 0; i < 3; i++) {
+            out.put((byte) code.charAt(i));
+        }
+    }
+
+    private static Money getMoney(ByteBuffer in) {
+        long minorUnits = in.getLong();
+        byte[] code = new byte[3];
+        in.get(code);
+        return Money.ofMinor(minorUnits, Currency.getInstance(new String(code, StandardCharsets.US_ASCII)));
+    }
+
+    private static void putTimestamp(ByteBuffer out, LocalDateTime value) {
+        out.putLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.putInt(value.getNano());
+    }
+
+    private static LocalDateTime getTimestamp(ByteBuffer in) {
+        return LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,21 @@
+package cl.demo.polizas.app.eventstore;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+
+/**
+ * In-memory index entry of a stored policy: the address of its last full state in the log, the fields the repository
+ * filters and sorts by, and the status written by later status events. Reading the policy takes one record read.
+ */
+record PolicyIndexEntry(UUID id, long address, String policyNumber, int clientRutBody, String insuranceType,
+        PolicyStatus status, LocalDate startDate, LocalDate endDate, LocalDateTime createdAt, LocalDateTime updatedAt,
+        long version) {
+
+    PolicyIndexEntry withStatus(PolicyStatus newStatus, LocalDateTime newUpdatedAt, long newVersion) {
+        return new PolicyIndexEntry(id, address, policyNumber, clientRutBody, insuranceType, newStatus, startDate,
+                endDate, createdAt, newUpdatedAt, newVersion);
+    }
+}
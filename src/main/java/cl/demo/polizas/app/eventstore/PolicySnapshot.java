@@ -0,0 +1,143 @@
+package cl.demo.polizas.app.eventstore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+
+/**
+ * Snapshot of the in-memory index at a log position: every live {@link PolicyIndexEntry} plus the address of the
+ * first record not covered by it. Restarting loads the snapshot and replays only the log tail after that position.
+ * The file is written to a temporary name and moved into place, and ends with a CRC32 of its contents, so a crash
+ * while writing leaves the previous snapshot intact.
+ */
+final class PolicySnapshot {
+
+    private static final int MAGIC = 0x504F4C53;
+    private static final int FORMAT_VERSION = 1;
+    private static final PolicyStatus[] STATUSES = PolicyStatus.values();
+
+    private PolicySnapshot() {
+        // Utility class, prevent instantiation
+    }
+
+    static void write(Path file, long position, Collection<PolicyIndexEntry> entries) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (OutputStream stream = Files.newOutputStream(temporary)) {
+            DataOutputStream out = new DataOutputStream(
+                    new CheckedOutputStream(new BufferedOutputStream(stream, 64 * 1024), crc));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(position);
+            out.writeInt(entries.size());
+            for (PolicyIndexEntry entry : entries) {
+                out.writeLong(entry.id().getMostSignificantBits());
+                out.writeLong(entry.id().getLeastSignificantBits());
+                out.writeLong(entry.address());
+                out.writeUTF(entry.policyNumber());
+                out.writeInt(entry.clientRutBody());
+                out.writeBoolean(entry.insuranceType() != null);
+                if (entry.insuranceType() != null) {
+                    out.writeUTF(entry.insuranceType());
+                }
+                out.writeByte(entry.status().ordinal());
+                out.writeInt((int) entry.startDate().toEpochDay());
+                out.writeInt((int) entry.endDate().toEpochDay());
+                writeTimestamp(out, entry.createdAt());
+                writeTimestamp(out, entry.updatedAt());
+                out.writeLong(entry.version());
+            }
+            // El CRC cubre todo lo anterior; se escribe fuera del stream que lo calcula
+            out.flush();
+            new DataOutputStream(stream).writeLong(crc.getValue());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write snapshot " + temporary, e);
+        }
+
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not install snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Reads the snapshot, or returns empty when there is none or it is unreadable, in which case the whole log has to
+     * be replayed.
+     */
+    static Optional<Loaded> read(Path file) {
+        CRC32 crc = new CRC32();
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(stream, crc));
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            long position = in.readLong();
+            int count = in.readInt();
+            List<PolicyIndexEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = new UUID(in.readLong(), in.readLong());
+                long address = in.readLong();
+                String policyNumber = in.readUTF();
+                int clientRutBody = in.readInt();
+                String insuranceType = in.readBoolean() ? in.readUTF().intern() : null;
+                PolicyStatus status = STATUSES[in.readByte()];
+                LocalDate startDate = LocalDate.ofEpochDay(in.readInt());
+                LocalDate endDate = LocalDate.ofEpochDay(in.readInt());
+                LocalDateTime createdAt = readTimestamp(in);
+                LocalDateTime updatedAt = readTimestamp(in);
+                entries.add(new PolicyIndexEntry(id, address, policyNumber, clientRutBody, insuranceType, status,
+                        startDate, endDate, createdAt, updatedAt, in.readLong()));
+            }
+            long expected = crc.getValue();
+            if (new DataInputStream(stream).readLong() != expected) {
+                return Optional.empty();
+            }
+            return Optional.of(new Loaded(position, entries));
+        } catch (IOException | RuntimeException e) {
+            // Sin snapshot, truncado o corrupto: se reconstruye desde el log completo
+            return Optional.empty();
+        }
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * A snapshot read back: the entries and the log position to resume replaying from.
+     */
+    record Loaded(long position, List<PolicyIndexEntry> entries) {
+    }
+}
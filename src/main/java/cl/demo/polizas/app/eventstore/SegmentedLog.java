@@ -0,0 +1,198 @@
+package cl.demo.polizas.app.eventstore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log split into fixed-size segment files, each one memory-mapped whole. A record is
+ * {@code [int length][int crc32][length bytes]} and never spans two segments: when it does not fit, the rest of the
+ * segment is marked as skipped and the record goes at the start of the next one. A record is addressed by its global
+ * position, {@code segment * segmentSize + offset}, so reading it is one lookup into a mapped buffer.
+ * <p>
+ * Appends are not thread-safe and must be serialized by the caller; reads may run concurrently with them, as long as
+ * the reader learned the address after the append returned.
+ */
+final class SegmentedLog implements AutoCloseable {
+
+    static final int HEADER_BYTES = 8;
+
+    // Longitud 0: fin del log (un segmento nuevo está lleno de ceros); -1: resto del segmento sin usar
+    private static final int END_OF_SEGMENT = -1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final CRC32 crc = new CRC32();
+
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private long position;
+
+    SegmentedLog(Path directory, int segmentSize, boolean sync) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1024 bytes: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        try {
+            Files.createDirectories(directory);
+            for (int index = 0; Files.exists(segmentPath(index)); index++) {
+                map(index);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open event log in " + directory, e);
+        }
+    }
+
+    /**
+     * Reads every valid record from {@code from} on, in order, and leaves the log positioned right after the last one.
+     * A torn or corrupt record (a crash in the middle of an append) ends the log: it and anything after it in its
+     * segment is discarded.
+     */
+    void recover(long from, RecordVisitor visitor) {
+        long current = from;
+        while (segmentOf(current) < segments.length) {
+            MappedByteBuffer segment = segments[segmentOf(current)];
+            int offset = offsetOf(current);
+            int length = segmentSize - offset < HEADER_BYTES ? END_OF_SEGMENT : segment.getInt(offset);
+            if (length == END_OF_SEGMENT) {
+                current = (long) (segmentOf(current) + 1) * segmentSize;
+                continue;
+            }
+            if (length <= 0 || length > segmentSize - offset - HEADER_BYTES
+                    || segment.getInt(offset + 4) != checksum(segment, offset + HEADER_BYTES, length)) {
+                break;
+            }
+            visitor.visit(current, segment.slice(offset + HEADER_BYTES, length));
+            current += HEADER_BYTES + length;
+        }
+
+        position = current;
+        if (segmentOf(position) < segments.length) {
+            // Borrar la cola inválida para que un append posterior no deje restos legibles detrás
+            MappedByteBuffer segment = segments[segmentOf(position)];
+            for (int offset = offsetOf(position); offset < segmentSize; offset++) {
+                segment.put(offset, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Appends the remaining bytes of {@code record} and returns its address.
+     */
+    long append(ByteBuffer record) {
+        int length = record.remaining();
+        if (length == 0 || length > segmentSize - HEADER_BYTES) {
+            throw new IllegalArgumentException("Record of " + length + " bytes does not fit in a segment");
+        }
+
+        if (offsetOf(position) + HEADER_BYTES + length > segmentSize) {
+            if (segmentSize - offsetOf(position) >= HEADER_BYTES) {
+                segment(segmentOf(position)).putInt(offsetOf(position), END_OF_SEGMENT);
+            }
+            position = (long) (segmentOf(position) + 1) * segmentSize;
+        }
+
+        long address = position;
+        MappedByteBuffer segment = segment(segmentOf(address));
+        int offset = offsetOf(address);
+        segment.put(offset + HEADER_BYTES, record, record.position(), length);
+        segment.putInt(offset + 4, checksum(segment, offset + HEADER_BYTES, length));
+        // La longitud se escribe al final: un registro sin longitud es el fin del log
+        segment.putInt(offset, length);
+        if (sync) {
+            segment.force(offset, HEADER_BYTES + length);
+        }
+
+        position += HEADER_BYTES + length;
+        return address;
+    }
+
+    /**
+     * Returns a read-only view of the record at {@code address}.
+     */
+    ByteBuffer read(long address) {
+        MappedByteBuffer segment = segments[segmentOf(address)];
+        int offset = offsetOf(address);
+        return segment.slice(offset + HEADER_BYTES, segment.getInt(offset)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the address the next record will be written at, or past the end of the log.
+     */
+    long position() {
+        return position;
+    }
+
+    /**
+     * Forces every mapped segment to disk.
+     */
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        force();
+        // Los buffers mapeados se liberan cuando el GC los recolecta; Java no ofrece un unmap explícito
+        segments = new MappedByteBuffer[0];
+    }
+
+    private MappedByteBuffer segment(int index) {
+        while (index >= segments.length) {
+            try {
+                map(segments.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not create event log segment " + index, e);
+            }
+        }
+        return segments[index];
+    }
+
+    private void map(int index) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(index), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            MappedByteBuffer[] updated = Arrays.copyOf(segments, index + 1);
+            updated[index] = mapped;
+            segments = updated;
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%010d.log", index));
+    }
+
+    private int checksum(ByteBuffer segment, int offset, int length) {
+        crc.reset();
+        crc.update(segment.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private int segmentOf(long address) {
+        return (int) (address / segmentSize);
+    }
+
+    private int offsetOf(long address) {
+        return (int) (address % segmentSize);
+    }
+
+    /**
+     * Receives each record found while recovering, with its address.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+
+        void visit(long address, ByteBuffer record);
+    }
+}
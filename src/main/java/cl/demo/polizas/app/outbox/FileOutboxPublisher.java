@@ -0,0 +1,68 @@
+package cl.demo.polizas.app.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+/**
+ * Publisher that appends one JSON line per message to {@code policies.outbox.file.path}. The batch is written and
+ * forced to disk before the relay deletes it from the outbox.
+ */
+@ApplicationScoped @Named("file")
+public class FileOutboxPublisher implements OutboxPublisher {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    @Inject
+    public FileOutboxPublisher(
+            @ConfigProperty(name = "policies.outbox.file.path", defaultValue = "policy-events.jsonl") Path path,
+            ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        StringBuilder lines = new StringBuilder(messages.size() * 256);
+        for (OutboxMessage message : messages) {
+            lines.append(toJson(message)).append('\n');
+        }
+
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND, StandardOpenOption.DSYNC)) {
+            writer.write(lines.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append policy events to " + path, e);
+        }
+    }
+
+    private String toJson(OutboxMessage message) {
+        try {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("id", message.id());
+            node.put("type", message.type());
+            node.put("aggregateId", message.aggregateId());
+            node.put("occurredOn", message.occurredOn().toString());
+            node.set("payload", objectMapper.readTree(message.payload()));
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid payload in outbox message " + message.id(), e);
+        }
+    }
+}
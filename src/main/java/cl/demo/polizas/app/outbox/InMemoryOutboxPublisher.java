@@ -0,0 +1,46 @@
+package cl.demo.polizas.app.outbox;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+/**
+ * Publisher that keeps the last {@code policies.outbox.memory.capacity} messages in memory. Meant for tests and local
+ * runs.
+ */
+@ApplicationScoped @Named("memory")
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final int capacity;
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+
+    @Inject
+    public InMemoryOutboxPublisher(
+            @ConfigProperty(name = "policies.outbox.memory.capacity", defaultValue = "10000") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    /**
+     * Returns the retained messages, oldest first.
+     */
+    public synchronized List<OutboxMessage> messages() {
+        return new ArrayList<>(messages);
+    }
+}
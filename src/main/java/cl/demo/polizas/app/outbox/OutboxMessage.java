@@ -0,0 +1,9 @@
+package cl.demo.polizas.app.outbox;
+
+import java.time.Instant;
+
+/**
+ * A domain event read from the outbox, with its payload already serialized as JSON.
+ */
+public record OutboxMessage(long id, String aggregateId, String type, String payload, Instant occurredOn) {
+}
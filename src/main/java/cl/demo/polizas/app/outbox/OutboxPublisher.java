@@ -0,0 +1,16 @@
+package cl.demo.polizas.app.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay. Implementations are {@code @Named} beans chosen with
+ * {@code policies.outbox.publisher}. Delivery is at-least-once: if {@link #publish} throws, the whole batch stays in
+ * the outbox and is offered again on the next run.
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Publishes a batch of messages in outbox order.
+     */
+    void publish(List<OutboxMessage> messages);
+}
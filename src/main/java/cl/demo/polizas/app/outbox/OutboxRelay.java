@@ -0,0 +1,91 @@
+package cl.demo.polizas.app.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import cl.demo.polizas.app.persistence.PolicyOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.literal.NamedLiteral;
+import jakarta.inject.Inject;
+
+/**
+ * Drains the policy event outbox every {@code policies.outbox.relay-every} to the publisher named by
+ * {@code policies.outbox.publisher}, in batches of {@code policies.outbox.batch-size}, until it is empty.
+ */
+@ApplicationScoped
+public class OutboxRelay {
+
+    private final PolicyOutbox outbox;
+    private final OutboxPublisher publisher;
+    private final int batchSize;
+
+    private final Counter published;
+    private final Timer lag;
+    private final Timer drainDuration;
+    private volatile double oldestAgeSeconds;
+
+    @Inject
+    public OutboxRelay(PolicyOutbox outbox, @Any Instance<OutboxPublisher> publishers,
+            @ConfigProperty(name = "policies.outbox.publisher", defaultValue = "file") String publisherName,
+            @ConfigProperty(name = "policies.outbox.batch-size", defaultValue = "500") int batchSize,
+            MeterRegistry registry) {
+        this.outbox = outbox;
+        this.publisher = publishers.select(NamedLiteral.of(publisherName)).get();
+        this.batchSize = batchSize;
+
+        this.published = Counter.builder("policies.outbox.published")
+                .description("Domain events published from the outbox").register(registry);
+        this.lag = Timer.builder("policies.outbox.lag")
+                .description("Time from an event occurring to its publication").register(registry);
+        this.drainDuration = Timer.builder("policies.outbox.drain.duration")
+                .description("Duration of each outbox drain").register(registry);
+        Gauge.builder("policies.outbox.oldest.age", this, r -> r.oldestAgeSeconds).baseUnit("seconds")
+                .description("Age of the oldest unpublished event at the end of the last drain").register(registry);
+    }
+
+    @Scheduled(identity = "policy-outbox-relay", every = "{policies.outbox.relay-every}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void relay() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            Log.errorf(e, "Outbox relay failed, pending events will be retried");
+        }
+    }
+
+    /**
+     * Publishes every event currently in the outbox and returns how many were published.
+     */
+    public long drain() {
+        long start = System.nanoTime();
+        long total = 0;
+        try {
+            // Un lote incompleto significa que la bandeja quedó vacía
+            List<OutboxMessage> batch;
+            do {
+                batch = outbox.drain(batchSize, publisher);
+                Instant now = Instant.now();
+                batch.forEach(message -> lag.record(Duration.between(message.occurredOn(), now)));
+                published.increment(batch.size());
+                total += batch.size();
+            } while (batch.size() == batchSize);
+        } finally {
+            drainDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            oldestAgeSeconds = outbox.oldestPending()
+                    .map(oldest -> Duration.between(oldest, Instant.now()).toMillis() / 1000.0).orElse(0.0);
+        }
+        return total;
+    }
+}
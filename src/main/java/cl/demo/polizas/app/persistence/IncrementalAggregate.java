@@ -0,0 +1,212 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * A fixed number of {@code long} columns per key, plus their totals over all keys, moved by the deltas of committed
+ * writes so reads never go to the table. {@link #reconcile} compares them with the table and repairs the keys no write
+ * touched while the table was being read; the others are left for the next pass. Reads answer only after a pass that
+ * checked every key.
+ */
+final class IncrementalAggregate<K> {
+
+    private final int width;
+    private final AtomicLongArray totals;
+    private final ConcurrentHashMap<K, AtomicLongArray> rows = new ConcurrentHashMap<>();
+
+    // Claves con deltas registrados en transacciones aún no terminadas
+    private final ConcurrentHashMap<K, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    // Claves tocadas mientras se lee la tabla; null fuera de una reconciliación
+    private volatile Set<K> touched;
+    private volatile boolean ready;
+
+    IncrementalAggregate(int width) {
+        this.width = width;
+        this.totals = new AtomicLongArray(width);
+    }
+
+    /**
+     * Returns the columns of {@code key} (zeros if it has none), or empty while the aggregate has not been checked
+     * against the table yet.
+     */
+    Optional<long[]> row(K key) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        AtomicLongArray values = rows.get(key);
+        return Optional.of(values != null ? toArray(values) : new long[width]);
+    }
+
+    /**
+     * Returns the sum of each column over all keys, or empty while the aggregate has not been checked yet.
+     */
+    Optional<long[]> totals() {
+        return ready ? Optional.of(toArray(totals)) : Optional.empty();
+    }
+
+    /**
+     * Returns the keys with some non-zero column, or empty while the aggregate has not been checked yet.
+     */
+    Optional<Map<K, long[]>> rows() {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Map<K, long[]> copy = new HashMap<>();
+        rows.forEach((key, values) -> {
+            long[] row = toArray(values);
+            for (long value : row) {
+                if (value != 0) {
+                    copy.put(key, row);
+                    break;
+                }
+            }
+        });
+        return Optional.of(copy);
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    /**
+     * Marks the keys of a delta as in flight. Must be called inside the writing transaction, before it commits.
+     */
+    void begin(Delta<K> delta) {
+        for (K key : delta.changes.keySet()) {
+            inFlight.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            markTouched(key);
+        }
+    }
+
+    /**
+     * Ends a delta registered with {@link #begin}, applying it only if its transaction committed.
+     */
+    void complete(Delta<K> delta, boolean committed) {
+        delta.changes.forEach((key, changes) -> {
+            AtomicLongArray values = rows.computeIfAbsent(key, k -> new AtomicLongArray(width));
+            synchronized (values) {
+                if (committed) {
+                    for (int column = 0; column < width; column++) {
+                        if (changes[column] != 0) {
+                            values.addAndGet(column, changes[column]);
+                            totals.addAndGet(column, changes[column]);
+                        }
+                    }
+                }
+                markTouched(key);
+            }
+            inFlight.computeIfPresent(key, (k, pending) -> pending.decrementAndGet() == 0 ? null : pending);
+        });
+    }
+
+    /**
+     * Compares the aggregate with {@code table}, a snapshot of the table read while this method waits, and repairs
+     * every key that no transaction touched in the meantime.
+     *
+     * @param table the columns of every key present in the table
+     */
+    synchronized Reconciliation reconcile(Supplier<Map<K, long[]>> table) {
+        // La ventana queda abierta hasta terminar de reparar: una clave que no aparece en ella no tuvo escrituras
+        // desde antes de leer la tabla, así que sus valores corresponden a la lectura
+        Set<K> window = ConcurrentHashMap.newKeySet();
+        touched = window;
+        try {
+            window.addAll(inFlight.keySet());
+            Map<K, long[]> snapshot = table.get();
+
+            Set<K> keys = new HashSet<>(snapshot.keySet());
+            keys.addAll(rows.keySet());
+            keys.addAll(window);
+            int skipped = 0;
+            int drifted = 0;
+            long drift = 0;
+            for (K key : keys) {
+                long[] expected = snapshot.getOrDefault(key, new long[width]);
+                AtomicLongArray values = rows.computeIfAbsent(key, k -> new AtomicLongArray(width));
+                synchronized (values) {
+                    if (window.contains(key)) {
+                        skipped++;
+                        continue;
+                    }
+                    long keyDrift = 0;
+                    for (int column = 0; column < width; column++) {
+                        // Sumar la diferencia en lugar de asignar: el total de la columna se corrige en la misma medida
+                        long difference = expected[column] - values.get(column);
+                        if (difference != 0) {
+                            values.addAndGet(column, difference);
+                            totals.addAndGet(column, difference);
+                            keyDrift += Math.abs(difference);
+                        }
+                    }
+                    if (keyDrift > 0) {
+                        drifted++;
+                        drift += keyDrift;
+                    }
+                }
+            }
+
+            if (skipped == 0) {
+                ready = true;
+            }
+            return new Reconciliation(keys.size() - skipped, skipped, drifted, drift);
+        } finally {
+            touched = null;
+        }
+    }
+
+    private void markTouched(K key) {
+        Set<K> window = touched;
+        if (window != null) {
+            window.add(key);
+        }
+    }
+
+    private static long[] toArray(AtomicLongArray values) {
+        long[] array = new long[values.length()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Result of a reconciliation pass.
+     *
+     * @param checked keys compared with the table
+     * @param skipped keys left for the next pass because a write touched them meanwhile
+     * @param drifted checked keys whose values were wrong
+     * @param drift sum of the absolute differences that were repaired
+     */
+    record Reconciliation(int checked, int skipped, int drifted, long drift) {
+    }
+
+    /**
+     * Column changes made by one write, per key.
+     */
+    static final class Delta<K> {
+
+        private final int width;
+        private final Map<K, long[]> changes = new HashMap<>();
+
+        Delta(int width) {
+            this.width = width;
+        }
+
+        void add(K key, int column, long amount) {
+            changes.computeIfAbsent(key, k -> new long[width])[column] += amount;
+        }
+
+        boolean isEmpty() {
+            return changes.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory interval tree over the validity of each policy, from its start date to its end date in epoch days,
+ * answering "policies with start on or before S and end between E1 and E2": in force on a date, ending within a
+ * range, or both. Matches are counted and a page of them is returned in (creation time, ID) order, the order of the
+ * listings.
+ * <p>
+ * The tree is an array of the policies sorted by start date, read as an implicit balanced binary tree where each node
+ * keeps the latest end date below it, so a stabbing query skips the subtrees that ended earlier; a second array sorted
+ * by end date answers end ranges by binary search. Each build also renumbers the policies in creation order, so
+ * ranking the matches compares numbers instead of timestamps and IDs. Policies added since the last build are scanned
+ * one by one and removed ones are skipped; everything is rebuilt once the additions reach 1/16 of the built policies,
+ * or the removals 1/4. Searches share a read lock; writes, and the rebuilds they trigger, take the write lock.
+ */
+final class IntervalIndex {
+
+    private static final int MIN_PENDING = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> documents = new HashMap<>();
+
+    // Por número de documento; los números menores que built siguen el orden de creación
+    private UUID[] ids = new UUID[1024];
+    private int[] starts = new int[1024];
+    private int[] ends = new int[1024];
+    private long[] created = new long[1024];
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+    private int documentCount;
+
+    // Árbol implícito: documentos ordenados por inicio; el nodo del tramo [lo, hi) es (lo + hi) / 2
+    private int[] byStart = new int[0];
+    private int[] treeStarts = new int[0];
+    private int[] treeEnds = new int[0];
+    private int[] latestEnds = new int[0];
+
+    // Documentos ordenados por término, para los rangos de término
+    private int[] byEnd = new int[0];
+    private int[] endDays = new int[0];
+
+    // Documentos incluidos en los arreglos; los siguientes se agregaron después de construirlos
+    private int built;
+
+    /**
+     * Indexes a policy, replacing its previous dates. Rebuilds the arrays once enough policies were added since the
+     * last build.
+     */
+    void put(UUID id, int start, int end, long createdAt) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = documents.get(id);
+            if (previous != null) {
+                if (starts[previous] == start && ends[previous] == end && created[previous] == createdAt) {
+                    return;
+                }
+                markRemoved(previous);
+            }
+            append(id, start, end, createdAt);
+            if (documentCount - built >= Math.max(MIN_PENDING, built / 16)) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a policy unless it is already indexed, without rebuilding the arrays: for bulk loads, followed by
+     * {@link #rebuild()}.
+     *
+     * @return whether the policy was added
+     */
+    boolean putIfAbsent(UUID id, int start, int end, long createdAt) {
+        lock.writeLock().lock();
+        try {
+            if (documents.containsKey(id)) {
+                return false;
+            }
+            append(id, start, end, createdAt);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer document = documents.remove(id);
+            if (document != null) {
+                markRemoved(document);
+                // Compactar cuando los eliminados ya pesan un cuarto de los vivos
+                if (removedCount >= Math.max(MIN_PENDING, size() / 4)) {
+                    rebuild();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the policies with start on or before {@code maxStart} and end between {@code minEnd} and {@code maxEnd},
+     * both inclusive: the page from {@code offset} to {@code offset + limit - 1} of those following {@code after} in
+     * (creation time, ID) order, or from the first one if it is null, and how many policies match in total.
+     */
+    Matches find(int maxStart, int minEnd, int maxEnd, Position after, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Collector collector = new Collector(after, (int) Math.min((long) offset + limit, Integer.MAX_VALUE));
+            if (maxEnd == Integer.MAX_VALUE) {
+                stab(0, built, maxStart, minEnd, collector);
+            } else {
+                // Rango de término acotado: tramo del arreglo por término, verificando el inicio
+                for (int i = lowerBound(endDays, built, minEnd); i < built && endDays[i] <= maxEnd; i++) {
+                    if (starts[byEnd[i]] <= maxStart) {
+                        collector.offer(byEnd[i]);
+                    }
+                }
+            }
+            for (int document = built; document < documentCount; document++) {
+                if (starts[document] <= maxStart && ends[document] >= minEnd && ends[document] <= maxEnd) {
+                    collector.offer(document);
+                }
+            }
+            return collector.matches(offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed policies.
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops replaced and removed policies, renumbers the rest in creation order and rebuilds both arrays over them.
+     */
+    void rebuild() {
+        lock.writeLock().lock();
+        try {
+            renumber();
+
+            // Inicio o término en los 32 bits altos y documento en los bajos: un solo sort primitivo por arreglo
+            long[] keys = new long[documentCount];
+            for (int document = 0; document < documentCount; document++) {
+                keys[document] = (long) starts[document] << 32 | document;
+            }
+            Arrays.sort(keys);
+            byStart = new int[documentCount];
+            treeStarts = new int[documentCount];
+            treeEnds = new int[documentCount];
+            for (int i = 0; i < documentCount; i++) {
+                byStart[i] = (int) keys[i];
+                treeStarts[i] = starts[byStart[i]];
+                treeEnds[i] = ends[byStart[i]];
+            }
+            latestEnds = new int[documentCount];
+            latestEnd(0, documentCount);
+
+            for (int document = 0; document < documentCount; document++) {
+                keys[document] = (long) ends[document] << 32 | document;
+            }
+            Arrays.sort(keys);
+            byEnd = new int[documentCount];
+            endDays = new int[documentCount];
+            for (int i = 0; i < documentCount; i++) {
+                byEnd[i] = (int) keys[i];
+                endDays[i] = ends[byEnd[i]];
+            }
+            built = documentCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(UUID id, int start, int end, long createdAt) {
+        int document = documentCount++;
+        if (document == ids.length) {
+            ids = Arrays.copyOf(ids, document * 2);
+            starts = Arrays.copyOf(starts, document * 2);
+            ends = Arrays.copyOf(ends, document * 2);
+            created = Arrays.copyOf(created, document * 2);
+        }
+        ids[document] = id;
+        starts[document] = start;
+        ends[document] = end;
+        created[document] = createdAt;
+        documents.put(id, document);
+    }
+
+    private void markRemoved(int document) {
+        removed.set(document);
+        removedCount++;
+    }
+
+    /**
+     * Numbers the live policies from 0 in creation order: the built ones already are, so only the ones added since
+     * are sorted and merged in.
+     */
+    private void renumber() {
+        List<Integer> added = new ArrayList<>(documentCount - built);
+        for (int document = built; document < documentCount; document++) {
+            if (!removed.get(document)) {
+                added.add(document);
+            }
+        }
+        added.sort((a, b) -> compare(a, created[b], ids[b]));
+        if (removedCount == 0 && (added.isEmpty() || built == 0 || compare(added.get(0), created[built - 1],
+                ids[built - 1]) > 0) && isSequence(added, built)) {
+            return;
+        }
+
+        int live = documentCount - removedCount;
+        UUID[] newIds = new UUID[Math.max(ids.length, live)];
+        int[] newStarts = new int[newIds.length];
+        int[] newEnds = new int[newIds.length];
+        long[] newCreated = new long[newIds.length];
+        int next = 0;
+        int old = 0;
+        int pending = 0;
+        while (old < built || pending < added.size()) {
+            if (old < built && removed.get(old)) {
+                old++;
+                continue;
+            }
+            int document = pending == added.size()
+                    || old < built && compare(old, created[added.get(pending)], ids[added.get(pending)]) < 0
+                    ? old++ : added.get(pending++);
+            newIds[next] = ids[document];
+            newStarts[next] = starts[document];
+            newEnds[next] = ends[document];
+            newCreated[next] = created[document];
+            if (document != next) {
+                documents.put(newIds[next], next);
+            }
+            next++;
+        }
+        ids = newIds;
+        starts = newStarts;
+        ends = newEnds;
+        created = newCreated;
+        documentCount = next;
+        removed.clear();
+        removedCount = 0;
+    }
+
+    private static boolean isSequence(List<Integer> documents, int first) {
+        for (int i = 0; i < documents.size(); i++) {
+            if (documents.get(i) != first + i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int latestEnd(int lo, int hi) {
+        if (lo >= hi) {
+            return Integer.MIN_VALUE;
+        }
+        int node = (lo + hi) >>> 1;
+        latestEnds[node] = Math.max(treeEnds[node], Math.max(latestEnd(lo, node), latestEnd(node + 1, hi)));
+        return latestEnds[node];
+    }
+
+    /**
+     * Visits the tree nodes of [lo, hi) with start on or before {@code maxStart} and end on or after {@code minEnd}.
+     */
+    private void stab(int lo, int hi, int maxStart, int minEnd, Collector collector) {
+        while (lo < hi) {
+            int node = (lo + hi) >>> 1;
+            if (latestEnds[node] < minEnd) {
+                return;
+            }
+            stab(lo, node, maxStart, minEnd, collector);
+            // A la derecha todos empiezan en o después de este nodo
+            if (treeStarts[node] > maxStart) {
+                return;
+            }
+            if (treeEnds[node] >= minEnd) {
+                collector.offer(byStart[node]);
+            }
+            lo = node + 1;
+        }
+    }
+
+    private static int lowerBound(int[] days, int size, int day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (days[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compare(int document, long createdAt, UUID id) {
+        int comparison = Long.compare(created[document], createdAt);
+        if (comparison == 0) {
+            // Sin signo, como compara los UUID la base de datos
+            comparison = Long.compareUnsigned(ids[document].getMostSignificantBits(), id.getMostSignificantBits());
+        }
+        if (comparison == 0) {
+            comparison = Long.compareUnsigned(ids[document].getLeastSignificantBits(), id.getLeastSignificantBits());
+        }
+        return comparison;
+    }
+
+    /**
+     * Whether a document comes before another in (creation time, ID) order. Built documents are numbered in that
+     * order.
+     */
+    private boolean before(int document, int other) {
+        return document < built && other < built ? document < other : compare(document, created[other], ids[other]) < 0;
+    }
+
+    /**
+     * A page of matching policy IDs in (creation time, ID) order and the number of policies matching.
+     */
+    record Matches(List<UUID> ids, int total) {
+    }
+
+    /**
+     * A (creation time, ID) position in the listing order.
+     */
+    record Position(long createdAt, UUID id) {
+    }
+
+    /**
+     * Counts the live matches and keeps the first {@code wanted} of those after the position, in a max-heap of
+     * document numbers.
+     */
+    private final class Collector {
+
+        private final Position after;
+        // Primer documento construido después de la posición
+        private final int firstAfter;
+        private final int wanted;
+        private int[] heap;
+        private int heapSize;
+        private int total;
+
+        Collector(Position after, int wanted) {
+            this.after = after;
+            this.wanted = wanted;
+            this.heap = new int[Math.max(1, Math.min(wanted, 1024))];
+            int low = 0;
+            if (after != null) {
+                int high = built;
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    if (compare(middle, after.createdAt(), after.id()) <= 0) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+            }
+            this.firstAfter = low;
+        }
+
+        void offer(int document) {
+            if (removedCount > 0 && removed.get(document)) {
+                return;
+            }
+            total++;
+            if (wanted == 0) {
+                return;
+            }
+            if (document < built ? document < firstAfter
+                    : after != null && compare(document, after.createdAt(), after.id()) <= 0) {
+                return;
+            }
+            if (heapSize < wanted) {
+                if (heapSize == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min((long) heapSize * 2, wanted));
+                }
+                heap[heapSize] = document;
+                siftUp(heapSize++);
+            } else if (before(document, heap[0])) {
+                heap[0] = document;
+                siftDown(0);
+            }
+        }
+
+        Matches matches(int offset) {
+            Integer[] ordered = new Integer[heapSize];
+            for (int i = 0; i < heapSize; i++) {
+                ordered[i] = heap[i];
+            }
+            Arrays.sort(ordered, (a, b) -> a.equals(b) ? 0 : before(a, b) ? -1 : 1);
+            List<UUID> page = new ArrayList<>(Math.max(0, ordered.length - offset));
+            for (int i = offset; i < ordered.length; i++) {
+                page.add(ids[ordered[i]]);
+            }
+            return new Matches(page, total);
+        }
+
+        private void siftUp(int position) {
+            int document = heap[position];
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!before(heap[parent], document)) {
+                    break;
+                }
+                heap[position] = heap[parent];
+                position = parent;
+            }
+            heap[position] = document;
+        }
+
+        private void siftDown(int position) {
+            int document = heap[position];
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && before(heap[child], heap[child + 1])) {
+                    child++;
+                }
+                if (!before(document, heap[child])) {
+                    break;
+                }
+                heap[position] = heap[child];
+                position = child;
+            }
+            heap[position] = document;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package cl.demo.polizas.app.persistence;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the client name and description of each policy. Text is folded to lower case without
+ * accents and split into words, dropping one-letter words and common Spanish particles. Every word of a query must
+ * match a word of either field, whole or as its prefix; results are ranked by how rare the matched words are, with
+ * name matches weighing more than description matches and whole words more than prefixes. Replaced and removed
+ * policies leave their postings behind, skipped at query time, until the index is rebuilt. Searches share a read lock;
+ * writes take the write lock.
+ */
+final class InvertedIndex {
+
+    private static final float NAME_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_WEIGHT = 0.5f;
+
+    private static final Set<String> STOP_WORDS = Set.of("al", "con", "de", "del", "el", "en", "la", "las", "lo", "los",
+            "para", "por", "se", "su", "sus", "un", "una", "unas", "unos");
+
+    // Peor resultado primero: menor puntaje y, a igual puntaje, el documento más antiguo
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparingInt(Hit::document);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> nameWords = new TreeMap<>();
+    private final NavigableMap<String, Postings> descriptionWords = new TreeMap<>();
+    private final Map<UUID, Integer> documents = new HashMap<>();
+
+    // Por número de documento; el ID queda en null cuando la póliza se reemplaza o se elimina
+    private UUID[] ids = new UUID[1024];
+    private long[] fingerprints = new long[1024];
+    private int documentCount;
+    private int live;
+
+    /**
+     * Indexes a policy, replacing its previous text. Does nothing if the text did not change.
+     */
+    void put(UUID id, String clientName, String description) {
+        put(id, clientName, description, true);
+    }
+
+    /**
+     * Indexes a policy unless it is already indexed.
+     *
+     * @return whether the policy was added
+     */
+    boolean putIfAbsent(UUID id, String clientName, String description) {
+        return put(id, clientName, description, false);
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer document = documents.remove(id);
+            if (document != null) {
+                ids[document] = null;
+                live--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of the policies ranked {@code offset} to {@code offset + limit - 1} for the query, best first,
+     * and how many policies match it.
+     *
+     * @throws IllegalArgumentException if the query has no searchable words
+     */
+    Matches search(String query, int offset, int limit) {
+        Set<String> queryWords = new LinkedHashSet<>(words(query));
+        if (queryWords.isEmpty()) {
+            throw new IllegalArgumentException("The search query has no searchable words: " + query);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Term>> perWord = new ArrayList<>(queryWords.size());
+            for (String word : queryWords) {
+                List<Term> terms = expand(word);
+                if (terms.isEmpty()) {
+                    return new Matches(List.of(), 0);
+                }
+                perWord.add(terms);
+            }
+
+            // Los candidatos salen de la palabra con menos postings; las demás solo confirman y suman puntaje
+            perWord.sort(Comparator.comparingLong(InvertedIndex::postingCount));
+            Candidates candidates = new Candidates(postingCount(perWord.get(0)));
+            for (Term term : perWord.get(0)) {
+                for (int i = 0; i < term.postings().size; i++) {
+                    candidates.add(term.postings().documents[i], term.weight());
+                }
+            }
+            for (int word = 1; word < perWord.size(); word++) {
+                for (Term term : perWord.get(word)) {
+                    for (int i = 0; i < term.postings().size; i++) {
+                        candidates.confirm(term.postings().documents[i], word, term.weight());
+                    }
+                }
+            }
+
+            int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            PriorityQueue<Hit> best = new PriorityQueue<>(WORST_FIRST);
+            int total = 0;
+            for (int slot = 0; slot < candidates.documents.length; slot++) {
+                int document = candidates.documents[slot];
+                if (document < 0 || candidates.matched[slot] < perWord.size() || ids[document] == null) {
+                    continue;
+                }
+                total++;
+                float score = candidates.scores[slot];
+                // Crear el Hit solo si entra entre los mejores
+                if (best.size() < wanted) {
+                    best.add(new Hit(document, score));
+                } else if (score > best.peek().score()
+                        || score == best.peek().score() && document > best.peek().document()) {
+                    best.poll();
+                    best.add(new Hit(document, score));
+                }
+            }
+
+            Hit[] ranked = best.toArray(new Hit[0]);
+            Arrays.sort(ranked, WORST_FIRST.reversed());
+            List<UUID> page = new ArrayList<>(Math.max(0, ranked.length - offset));
+            for (int i = offset; i < ranked.length; i++) {
+                page.add(ids[ranked[i].document()]);
+            }
+            return new Matches(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed policies.
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct words in both fields.
+     */
+    int wordCount() {
+        lock.readLock().lock();
+        try {
+            return nameWords.size() + descriptionWords.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into its searchable words: lower case, without accents, at least two characters and not a common
+     * Spanish particle.
+     */
+    static List<String> words(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+
+        // NFD separa "á" en "a" más la tilde, que se descarta; lo mismo para "ñ" y "ü"
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else {
+                addWord(word, words);
+            }
+        }
+        addWord(word, words);
+        return words;
+    }
+
+    private static void addWord(StringBuilder word, List<String> words) {
+        if (word.length() >= 2) {
+            String value = word.toString();
+            if (!STOP_WORDS.contains(value)) {
+                words.add(value);
+            }
+        }
+        word.setLength(0);
+    }
+
+    private boolean put(UUID id, String clientName, String description, boolean replace) {
+        long fingerprint = ((long) Objects.hashCode(clientName) << 32) | (Objects.hashCode(description) & 0xFFFFFFFFL);
+        // Separar en palabras fuera del lock
+        Set<String> names = new LinkedHashSet<>(words(clientName));
+        Set<String> descriptions = new LinkedHashSet<>(words(description));
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = documents.get(id);
+            if (previous != null) {
+                if (!replace || fingerprints[previous] == fingerprint) {
+                    return false;
+                }
+                ids[previous] = null;
+                live--;
+            }
+
+            int document = documentCount++;
+            if (document == ids.length) {
+                ids = Arrays.copyOf(ids, document * 2);
+                fingerprints = Arrays.copyOf(fingerprints, document * 2);
+            }
+            ids[document] = id;
+            fingerprints[document] = fingerprint;
+            documents.put(id, document);
+            live++;
+            names.forEach(word -> nameWords.computeIfAbsent(word, w -> new Postings()).add(document));
+            descriptions.forEach(word -> descriptionWords.computeIfAbsent(word, w -> new Postings()).add(document));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The words of either field equal to or starting with {@code word}, with the weight of a match on each, heaviest
+     * first: the first time a document shows up is with its best weight.
+     */
+    private List<Term> expand(String word) {
+        List<Term> terms = new ArrayList<>();
+        expand(nameWords, word, NAME_WEIGHT, terms);
+        expand(descriptionWords, word, DESCRIPTION_WEIGHT, terms);
+        terms.sort(Comparator.comparingDouble(Term::weight).reversed());
+        return terms;
+    }
+
+    private void expand(NavigableMap<String, Postings> field, String word, float weight, List<Term> terms) {
+        for (var entry : field.subMap(word, true, word + Character.MAX_VALUE, true).entrySet()) {
+            Postings postings = entry.getValue();
+            // Peso inverso a la frecuencia: una palabra rara distingue más que una común
+            float rarity = (float) Math.log(1 + (double) Math.max(live, 1) / postings.size);
+            float whole = entry.getKey().length() == word.length() ? 1 : PREFIX_WEIGHT;
+            terms.add(new Term(postings, weight * rarity * whole));
+        }
+    }
+
+    private static long postingCount(List<Term> terms) {
+        long count = 0;
+        for (Term term : terms) {
+            count += term.postings().size;
+        }
+        return count;
+    }
+
+    /**
+     * A page of matching policy IDs, best first, and the number of policies matching the query.
+     */
+    record Matches(List<UUID> ids, int total) {
+    }
+
+    private record Term(Postings postings, float weight) {
+    }
+
+    private record Hit(int document, float score) {
+    }
+
+    /**
+     * Documents containing a word, in ascending order.
+     */
+    private static final class Postings {
+
+        private int[] documents = new int[2];
+        private int size;
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+    }
+
+    /**
+     * Open-addressing table of the documents matching the first query word, with their score and how many query words
+     * they matched so far. Sized up front from the postings of that word, so it never grows.
+     */
+    private static final class Candidates {
+
+        private final int[] documents;
+        private final float[] scores;
+        private final int[] matched;
+
+        Candidates(long expected) {
+            int capacity = Integer.highestOneBit((int) Math.min(Math.max(expected, 8), 1 << 29) * 2 - 1) << 1;
+            documents = new int[capacity];
+            Arrays.fill(documents, -1);
+            scores = new float[capacity];
+            matched = new int[capacity];
+        }
+
+        /**
+         * Adds a document of the first word, keeping the weight of its first (heaviest) match.
+         */
+        void add(int document, float weight) {
+            int slot = slot(document);
+            if (documents[slot] < 0) {
+                documents[slot] = document;
+                scores[slot] = weight;
+                matched[slot] = 1;
+            }
+        }
+
+        /**
+         * Adds the weight of word number {@code word} to a candidate that matched every previous word, once.
+         */
+        void confirm(int document, int word, float weight) {
+            int slot = slot(document);
+            if (documents[slot] >= 0 && matched[slot] == word) {
+                scores[slot] += weight;
+                matched[slot] = word + 1;
+            }
+        }
+
+        private int slot(int document) {
+            int mask = documents.length - 1;
+            int hash = document * 0x9E3779B9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (documents[slot] >= 0 && documents[slot] != document) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package cl.demo.polizas.app.persistence;
+
+import java.time.Instant;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+/**
+ * JPA Entity for the policy event outbox. A row is written in the same transaction as the policy change that raised
+ * the event and deleted once the relay has published it; the identity column gives the publishing order.
+ */
+@Entity @Table(name = "policy_outbox")
+public class OutboxEntity extends PanacheEntityBase {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "aggregate_id", nullable = false, length = 36)
+    private String aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Lob @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "occurred_on", nullable = false)
+    private Instant occurredOn;
+
+    public OutboxEntity() {
+    }
+
+    public OutboxEntity(String aggregateId, String eventType, String payload, Instant occurredOn) {
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.occurredOn = occurredOn;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getOccurredOn() {
+        return occurredOn;
+    }
+}
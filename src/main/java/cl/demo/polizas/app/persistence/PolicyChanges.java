@@ -0,0 +1,44 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+
+/**
+ * The policy rows one write adds and removes, as seen by the incremental aggregates. A status change removes the row
+ * with its old status and adds it back with the new one.
+ */
+final class PolicyChanges {
+
+    private final List<PolicyFigures> added = new ArrayList<>();
+    private final List<PolicyFigures> removed = new ArrayList<>();
+
+    void add(PolicyFigures row) {
+        added.add(row);
+    }
+
+    void remove(PolicyFigures row) {
+        removed.add(row);
+    }
+
+    void move(PolicyFigures row, PolicyStatus newStatus) {
+        if (row.status() != newStatus) {
+            remove(row);
+            add(row.withStatus(newStatus));
+        }
+    }
+
+    boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * Visits every row with +1 if it was added or -1 if it was removed.
+     */
+    void forEach(ObjIntConsumer<PolicyFigures> action) {
+        added.forEach(row -> action.accept(row, 1));
+        removed.forEach(row -> action.accept(row, -1));
+    }
+}
@@ -0,0 +1,164 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Incrementally maintained policy counts by status, client RUT body and both, so the totals of the policy list do not
+ * need a {@code COUNT(*)}. The repository registers the rows each write adds and removes, which are counted once its
+ * transaction commits. Counts are loaded at startup and checked against the table by {@link #reconcile()}; until a
+ * check covers every client, and when disabled, {@link #count} answers empty and callers fall back to the table.
+ * Writes made by other instances or outside the repository only show up at the next reconciliation.
+ */
+@ApplicationScoped
+public class PolicyCounts {
+
+    /** Client key of rows without {@code client_rut_body}. */
+    static final int UNKNOWN_CLIENT = -1;
+
+    private static final PolicyStatus[] STATUSES = PolicyStatus.values();
+
+    private final boolean enabled;
+    private final EntityManager entityManager;
+    private final TransactionSynchronizationRegistry transactionRegistry;
+    private final IncrementalAggregate<Integer> byClient = new IncrementalAggregate<>(STATUSES.length);
+
+    private final Counter driftedClients;
+    private final Counter drift;
+
+    @Inject
+    public PolicyCounts(@ConfigProperty(name = "policies.counts.enabled", defaultValue = "true") boolean enabled,
+            EntityManager entityManager, TransactionSynchronizationRegistry transactionRegistry,
+            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.entityManager = entityManager;
+        this.transactionRegistry = transactionRegistry;
+
+        this.driftedClients = Counter.builder("policies.counts.drifted.clients")
+                .description("Clients whose counts differed from the table at reconciliation").register(registry);
+        this.drift = Counter.builder("policies.counts.drift")
+                .description("Sum of the count differences repaired by reconciliation").register(registry);
+        Gauge.builder("policies.counts.clients", byClient, IncrementalAggregate::size)
+                .description("Clients with incrementally maintained policy counts").register(registry);
+    }
+
+    @Transactional
+    void load(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        IncrementalAggregate.Reconciliation loaded = byClient.reconcile(this::countTable);
+        Log.infof("Policy counts loaded for %d clients (%d left for the next reconciliation)", loaded.checked(),
+                loaded.skipped());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the number of policies with the given status and client RUT body (either may be null for "any"), or
+     * empty when the counts cannot answer and the table must be counted.
+     */
+    public OptionalLong count(PolicyStatus status, Integer clientRutBody) {
+        if (!enabled) {
+            return OptionalLong.empty();
+        }
+
+        // Por estado: una columna del total; por cliente: su fila
+        var counts = clientRutBody == null ? byClient.totals() : byClient.row(clientRutBody);
+        if (counts.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        if (status != null) {
+            return OptionalLong.of(counts.get()[status.ordinal()]);
+        }
+        long total = 0;
+        for (long count : counts.get()) {
+            total += count;
+        }
+        return OptionalLong.of(total);
+    }
+
+    /**
+     * Compares the counts with a {@code GROUP BY} of the table and repairs the clients that differ, except those with
+     * writes in progress, which are checked at the next pass.
+     *
+     * @return the sum of the differences found
+     */
+    @Transactional
+    public long reconcile() {
+        if (!enabled) {
+            return 0;
+        }
+
+        IncrementalAggregate.Reconciliation result = byClient.reconcile(this::countTable);
+        if (result.drift() > 0) {
+            driftedClients.increment(result.drifted());
+            drift.increment(result.drift());
+            Log.warnf("Policy counts drifted for %d of %d clients (%d policies); repaired from the table",
+                    result.drifted(), result.checked(), result.drift());
+        }
+        return result.drift();
+    }
+
+    /**
+     * Registers the rows a write adds and removes in the current transaction; they are counted if it commits.
+     */
+    void track(PolicyChanges changes) {
+        if (!enabled || changes.isEmpty()) {
+            return;
+        }
+
+        IncrementalAggregate.Delta<Integer> delta = new IncrementalAggregate.Delta<>(STATUSES.length);
+        changes.forEach((row, sign) -> delta.add(clientKey(row.clientRutBody()), row.status().ordinal(), sign));
+        byClient.begin(delta);
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nada que hacer antes del commit
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                byClient.complete(delta, status == Status.STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private Map<Integer, long[]> countTable() {
+        Map<Integer, long[]> counts = new HashMap<>();
+        entityManager
+                .createQuery("select p.clientRutBody, p.status, count(p) from PolicyEntity p "
+                        + "group by p.clientRutBody, p.status", Object[].class)
+                .getResultList().forEach(row -> {
+                    long[] clientCounts = counts.computeIfAbsent(clientKey((Integer) row[0]),
+                            client -> new long[STATUSES.length]);
+                    clientCounts[((PolicyStatus) row[1]).ordinal()] += (Long) row[2];
+                });
+        return counts;
+    }
+
+    private static int clientKey(Integer clientRutBody) {
+        return clientRutBody != null ? clientRutBody : UNKNOWN_CLIENT;
+    }
+}
@@ -0,0 +1,171 @@
+package cl.demo.polizas.app.persistence;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyReadRepository.Keyset;
+import cl.demo.polizas.domain.repository.PolicyRepository.DateFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Start and end dates of the stored policies in an in-memory {@link IntervalIndex}, answering the listings filtered
+ * only by dates (in force on a date, ending within a range) without querying the table. Loaded from the table at
+ * startup; the repository hands over every saved and deleted policy, applied once its transaction commits. Writes
+ * made by other instances or outside the repository only show up after a restart.
+ */
+@ApplicationScoped
+public class PolicyDateIndex {
+
+    private final boolean enabled;
+    private final EntityManager entityManager;
+    private final TransactionSynchronizationRegistry transactionRegistry;
+    private final IntervalIndex index = new IntervalIndex();
+
+    private final Timer queries;
+
+    @Inject
+    public PolicyDateIndex(@ConfigProperty(name = "policies.date-index.enabled", defaultValue = "true") boolean enabled,
+            EntityManager entityManager, TransactionSynchronizationRegistry transactionRegistry,
+            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.entityManager = entityManager;
+        this.transactionRegistry = transactionRegistry;
+
+        this.queries = Timer.builder("policies.dates.query.duration")
+                .description("Time spent finding the policies matching a date filter in the index").register(registry);
+        Gauge.builder("policies.dates.policies", index, IntervalIndex::size)
+                .description("Policies in the date index").register(registry);
+    }
+
+    /**
+     * Indexes every stored policy and builds the tree once. Policies saved while loading are indexed by their commit
+     * and are not overwritten with the dates read here.
+     */
+    @Transactional
+    void load(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        try (var rows = entityManager.createQuery("select p.id, p.startDate, p.endDate, p.createdAt "
+                + "from PolicyEntity p order by p.createdAt, p.id", Object[].class).getResultStream()) {
+            rows.forEach(row -> index.putIfAbsent((UUID) row[0], epochDay(row[1]), epochDay(row[2]),
+                    micros((LocalDateTime) row[3])));
+        }
+        index.rebuild();
+
+        Log.infof("Policy date index loaded: %d policies", index.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the policies matching the date filter: the page from {@code offset} to {@code offset + limit - 1} of
+     * those following {@code after} in (createdAt, id) order, or from the first one if it is null, and how many match.
+     */
+    IntervalIndex.Matches find(DateFilter dates, Keyset after, int offset, int limit) {
+        int maxStart = dates.activeOn() != null ? (int) dates.activeOn().toEpochDay() : Integer.MAX_VALUE;
+        int minEnd = Integer.MIN_VALUE;
+        if (dates.activeOn() != null) {
+            minEnd = (int) dates.activeOn().toEpochDay();
+        }
+        if (dates.endFrom() != null) {
+            minEnd = Math.max(minEnd, (int) dates.endFrom().toEpochDay());
+        }
+        int maxEnd = dates.endTo() != null ? (int) dates.endTo().toEpochDay() : Integer.MAX_VALUE;
+        IntervalIndex.Position position = after != null
+                ? new IntervalIndex.Position(micros(after.createdAt()), after.id().value()) : null;
+
+        long start = System.nanoTime();
+        try {
+            return index.find(maxStart, minEnd, maxEnd, position, offset, limit);
+        } finally {
+            queries.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Number of policies matching the date filter.
+     */
+    long count(DateFilter dates) {
+        return find(dates, null, 0, 0).total();
+    }
+
+    /**
+     * Indexes the dates of saved policies once the current transaction commits.
+     */
+    void index(Collection<Policy> policies) {
+        if (!enabled || policies.isEmpty()) {
+            return;
+        }
+
+        // Copiar las fechas ahora: el agregado puede cambiar antes del commit
+        List<Dates> dates = policies.stream().map(policy -> new Dates(policy.id().value(),
+                (int) policy.getStartDate().toEpochDay(), (int) policy.getEndDate().toEpochDay(),
+                micros(policy.getCreatedAt()))).toList();
+        afterCommit(() -> dates.forEach(d -> index.put(d.id(), d.start(), d.end(), d.createdAt())));
+    }
+
+    /**
+     * Removes deleted policies once the current transaction commits.
+     */
+    void remove(Collection<UUID> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> ids.forEach(index::remove));
+    }
+
+    private void afterCommit(Runnable action) {
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nada que hacer antes del commit
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static int epochDay(Object date) {
+        return (int) ((LocalDate) date).toEpochDay();
+    }
+
+    /**
+     * Creation time in microseconds, the precision of the {@code created_at} column, so positions taken from the table
+     * compare equal to the indexed ones.
+     */
+    static long micros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private record Dates(UUID id, int start, int end, long createdAt) {
+    }
+}
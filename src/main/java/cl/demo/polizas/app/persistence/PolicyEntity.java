@@ -3,9 +3,11 @@ package cl.demo.polizas.app.persistence;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 import cl.demo.polizas.domain.model.Policy;
 import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyId;
 import cl.demo.polizas.domain.valueobject.PolicyStatus;
 import cl.demo.polizas.domain.valueobject.Rut;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
@@ -16,6 +18,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
@@ -28,12 +31,17 @@ import jakarta.validation.constraints.Size;
  */
 @Entity @Table(name = "policies", indexes = {
         @Index(name = "idx_policy_number", columnList = "policy_number", unique = true),
-        @Index(name = "idx_client_rut", columnList = "client_rut"), @Index(name = "idx_status", columnList = "status"),
-        @Index(name = "idx_created_at", columnList = "created_at") })
+        @Index(name = "idx_client_rut", columnList = "client_rut"),
+        @Index(name = "idx_client_rut_body", columnList = "client_rut_body"),
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_end_date", columnList = "end_date"),
+        @Index(name = "idx_start_end_date", columnList = "start_date, end_date"),
+        @Index(name = "idx_created_at_id", columnList = "created_at, id") })
 public class PolicyEntity extends PanacheEntityBase {
 
-    @Id @Column(name = "id", nullable = false, length = 36)
-    private String id;
+    // UUID nativo (16 bytes) en H2 y binario de 16 bytes en bases sin tipo UUID
+    @Id @Column(name = "id", nullable = false)
+    private UUID id;
 
     @Column(name = "policy_number", nullable = false, length = 50, unique = true) @NotBlank(message = "Policy number is required") @Size(max = 50, message = "Policy number cannot exceed 50 characters")
     private String policyNumber;
@@ -41,6 +49,10 @@ public class PolicyEntity extends PanacheEntityBase {
     @Column(name = "client_rut", nullable = false, length = 12) @NotBlank(message = "Client RUT is required") @Size(max = 12, message = "Client RUT cannot exceed 12 characters")
     private String clientRut;
 
+    // Cuerpo numérico del RUT: los filtros por cliente comparan enteros sin depender del formato
+    @Column(name = "client_rut_body")
+    private Integer clientRutBody;
+
     @Column(name = "client_name", nullable = false, length = 100) @NotBlank(message = "Client name is required") @Size(max = 100, message = "Client name cannot exceed 100 characters")
     private String clientName;
 
@@ -80,6 +92,10 @@ public class PolicyEntity extends PanacheEntityBase {
     @Column(name = "updated_at", nullable = false) @NotNull(message = "Updated at timestamp is required")
     private LocalDateTime updatedAt;
 
+    // Se incrementa en cada escritura; las transiciones de estado la comparan para no pisar cambios concurrentes
+    @Version @Column(name = "version", nullable = false)
+    private long version;
+
     // Constructor por defecto para JPA
     public PolicyEntity() {
     }
@@ -87,9 +103,10 @@ public class PolicyEntity extends PanacheEntityBase {
     // Constructor para crear desde el dominio
     public static PolicyEntity fromDomain(Policy policy) {
         PolicyEntity entity = new PolicyEntity();
-        entity.id = policy.id().toString();
+        entity.id = policy.id().value();
         entity.policyNumber = policy.getPolicyNumber();
         entity.clientRut = policy.getClientRut().getFullRut();
+        entity.clientRutBody = policy.getClientRut().getBody();
         entity.clientName = policy.getClientName();
         entity.clientEmail = policy.getClientEmail();
         entity.premiumAmount = policy.getPremium().amount();
@@ -108,16 +125,22 @@ public class PolicyEntity extends PanacheEntityBase {
 
     // Método para convertir a dominio
     public Policy toDomain() {
-        return Policy.create(policyNumber, Rut.from(clientRut), clientName, clientEmail,
-                Money.of(premiumAmount, java.util.Currency.getInstance(premiumCurrency)),
-                Money.of(coverageAmount, java.util.Currency.getInstance(coverageCurrency)), startDate, endDate,
-                description, insuranceType);
+        return Policy.reconstitute(PolicyId.from(id), policyNumber, toRut(), clientName, clientEmail,
+                Money.of(premiumAmount, premiumCurrency), Money.of(coverageAmount, coverageCurrency), status,
+                startDate, endDate, description, insuranceType, createdAt, updatedAt, version);
+    }
+
+    // Filas anteriores a client_rut_body (sin migrar) se parsean desde el texto
+    private Rut toRut() {
+        return clientRutBody != null ? Rut.of(clientRutBody, clientRut.charAt(clientRut.length() - 1))
+                : Rut.from(clientRut);
     }
 
     // Método para actualizar desde el dominio
     public void updateFromDomain(Policy policy) {
         this.policyNumber = policy.getPolicyNumber();
         this.clientRut = policy.getClientRut().getFullRut();
+        this.clientRutBody = policy.getClientRut().getBody();
         this.clientName = policy.getClientName();
         this.clientEmail = policy.getClientEmail();
         this.premiumAmount = policy.getPremium().amount();
@@ -133,11 +156,11 @@ public class PolicyEntity extends PanacheEntityBase {
     }
 
     // Getters y Setters
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(UUID id) {
         this.id = id;
     }
 
@@ -157,6 +180,14 @@ public class PolicyEntity extends PanacheEntityBase {
         this.clientRut = clientRut;
     }
 
+    public Integer getClientRutBody() {
+        return clientRutBody;
+    }
+
+    public void setClientRutBody(Integer clientRutBody) {
+        this.clientRutBody = clientRutBody;
+    }
+
     public String getClientName() {
         return clientName;
     }
@@ -260,4 +291,12 @@ public class PolicyEntity extends PanacheEntityBase {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
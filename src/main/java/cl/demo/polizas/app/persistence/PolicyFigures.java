@@ -0,0 +1,40 @@
+package cl.demo.polizas.app.persistence;
+
+import java.math.BigDecimal;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+
+/**
+ * The columns of a policy row that the incremental aggregates group and sum by. Amounts are in hundredths.
+ */
+record PolicyFigures(PolicyStatus status, Integer clientRutBody, String insuranceType, String premiumCurrency,
+        long premium, String coverageCurrency, long coverage) {
+
+    /** Select list, in {@link PolicyEntity} field names, read back by {@link #fromColumns}. */
+    static final String COLUMNS =
+            "status, clientRutBody, insuranceType, premiumAmount, premiumCurrency, coverageAmount, coverageCurrency";
+
+    static PolicyFigures of(Policy policy) {
+        return new PolicyFigures(policy.getStatus(), policy.getClientRut().getBody(), policy.getInsuranceType(),
+                policy.getPremium().currency().getCurrencyCode(), policy.getPremium().minorUnits(),
+                policy.getCoverage().currency().getCurrencyCode(), policy.getCoverage().minorUnits());
+    }
+
+    /**
+     * Reads the columns of {@link #COLUMNS} from a result row, starting at {@code offset}.
+     */
+    static PolicyFigures fromColumns(Object[] row, int offset) {
+        String premiumCurrency = (String) row[offset + 4];
+        String coverageCurrency = (String) row[offset + 6];
+        return new PolicyFigures((PolicyStatus) row[offset], (Integer) row[offset + 1], (String) row[offset + 2],
+                premiumCurrency, Money.of((BigDecimal) row[offset + 3], premiumCurrency).minorUnits(),
+                coverageCurrency, Money.of((BigDecimal) row[offset + 5], coverageCurrency).minorUnits());
+    }
+
+    PolicyFigures withStatus(PolicyStatus newStatus) {
+        return new PolicyFigures(newStatus, clientRutBody, insuranceType, premiumCurrency, premium, coverageCurrency,
+                coverage);
+    }
+}
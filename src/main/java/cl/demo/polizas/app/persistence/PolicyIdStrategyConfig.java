@@ -0,0 +1,25 @@
+package cl.demo.polizas.app.persistence;
+
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Applies {@code policies.id.strategy} to {@link PolicyId#generate()} at startup. {@code TIME_ORDERED} keeps new
+ * primary keys at the right edge of the index; {@code RANDOM} keeps the original version 4 UUIDs.
+ */
+@ApplicationScoped
+public class PolicyIdStrategyConfig {
+
+    @ConfigProperty(name = "policies.id.strategy", defaultValue = "TIME_ORDERED")
+    PolicyId.Strategy strategy;
+
+    void apply(@Observes StartupEvent event) {
+        PolicyId.useStrategy(strategy);
+        Log.infof("Policy IDs generated with strategy %s", strategy);
+    }
+}
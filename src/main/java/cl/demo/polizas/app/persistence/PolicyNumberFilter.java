@@ -0,0 +1,103 @@
+package cl.demo.polizas.app.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * In-memory Bloom filter over the stored policy numbers. Loaded from the table at startup and fed by every save, it
+ * answers "certainly absent" without a query. Deleted numbers stay in the filter until the next restart, which only
+ * costs an extra query for them.
+ */
+@ApplicationScoped
+public class PolicyNumberFilter {
+
+    private final boolean enabled;
+    private final EntityManager entityManager;
+    private final BloomFilter filter;
+
+    private final Counter absent;
+    private final Counter maybePresent;
+    private final Counter falsePositives;
+
+    @Inject
+    public PolicyNumberFilter(
+            @ConfigProperty(name = "policies.number-filter.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "policies.number-filter.expected-insertions", defaultValue = "1000000")
+            long expectedInsertions,
+            @ConfigProperty(name = "policies.number-filter.false-positive-rate", defaultValue = "0.01")
+            double falsePositiveRate,
+            EntityManager entityManager, MeterRegistry registry) {
+        this.enabled = enabled;
+        this.entityManager = entityManager;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        this.absent = Counter.builder("policies.number.filter.checks").tag("result", "absent")
+                .description("Policy number checks answered by the filter without a query").register(registry);
+        this.maybePresent = Counter.builder("policies.number.filter.checks").tag("result", "maybe")
+                .description("Policy number checks that had to query the database").register(registry);
+        this.falsePositives = Counter.builder("policies.number.filter.false.positives")
+                .description("Checks the filter passed on but the database did not find").register(registry);
+        Gauge.builder("policies.number.filter.size", this, f -> f.filter.sizeInBytes()).baseUnit("bytes")
+                .description("Memory used by the policy number filter").register(registry);
+        Gauge.builder("policies.number.filter.fpp", this, f -> f.filter.expectedFalsePositiveRate())
+                .description("Estimated false-positive rate at the current fill").register(registry);
+    }
+
+    /**
+     * Loads every stored policy number into the filter. Saves running at the same time add to the same filter, so
+     * none of them is lost.
+     */
+    @Transactional
+    void load(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        try (var numbers = entityManager.createQuery("select p.policyNumber from PolicyEntity p", String.class)
+                .getResultStream()) {
+            numbers.forEach(filter::put);
+        }
+
+        Log.infof("Policy number filter loaded: %d bytes, %d hash functions, estimated false-positive rate %.4f",
+                filter.sizeInBytes(), filter.hashCount(), filter.expectedFalsePositiveRate());
+    }
+
+    /**
+     * Records a policy number that was just saved.
+     */
+    public void add(String policyNumber) {
+        filter.put(policyNumber);
+    }
+
+    /**
+     * Returns false only when the policy number is certainly not stored.
+     */
+    public boolean mightContain(String policyNumber) {
+        if (!enabled) {
+            return true;
+        }
+
+        boolean maybe = filter.mightContain(policyNumber);
+        (maybe ? maybePresent : absent).increment();
+        return maybe;
+    }
+
+    /**
+     * Records that a number the filter passed on was not found in the database.
+     */
+    public void recordFalsePositive() {
+        if (enabled) {
+            falsePositives.increment();
+        }
+    }
+}
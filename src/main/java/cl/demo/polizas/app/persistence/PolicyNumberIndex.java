@@ -0,0 +1,124 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Prefix autocomplete over the stored policy numbers, answered by an in-memory {@link PrefixIndex} instead of a
+ * {@code LIKE 'prefix%'} query. Loaded from the table at startup; the repository hands over every saved and deleted
+ * policy number, applied once its transaction commits. Writes made by other instances or outside the repository only
+ * show up after a restart.
+ */
+@ApplicationScoped
+public class PolicyNumberIndex {
+
+    private final boolean enabled;
+    private final EntityManager entityManager;
+    private final TransactionSynchronizationRegistry transactionRegistry;
+    private final PrefixIndex index = new PrefixIndex();
+
+    private final Timer suggestions;
+
+    @Inject
+    public PolicyNumberIndex(
+            @ConfigProperty(name = "policies.number-suggest.enabled", defaultValue = "true") boolean enabled,
+            EntityManager entityManager, TransactionSynchronizationRegistry transactionRegistry,
+            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.entityManager = entityManager;
+        this.transactionRegistry = transactionRegistry;
+
+        this.suggestions = Timer.builder("policies.number.suggest.duration").publishPercentiles(0.5, 0.99)
+                .description("Time spent finding the policy numbers starting with a prefix").register(registry);
+        Gauge.builder("policies.number.suggest.keys", index, PrefixIndex::size)
+                .description("Policy numbers in the suggestion index").register(registry);
+        Gauge.builder("policies.number.suggest.size", index, PrefixIndex::runSizeInBytes).baseUnit("bytes")
+                .description("Memory used by the sorted policy numbers").register(registry);
+    }
+
+    /**
+     * Loads every stored policy number in one sorted merge. Numbers saved while loading are added by their commit and
+     * end up in the index once.
+     */
+    @Transactional
+    void load(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> numbers = entityManager.createQuery("select p.policyNumber from PolicyEntity p", String.class)
+                .getResultList();
+        index.addAll(numbers);
+
+        Log.infof("Policy number suggestions loaded: %d numbers, %d bytes", index.size(), index.runSizeInBytes());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns up to {@code limit} stored policy numbers starting with {@code prefix}, in ascending order.
+     */
+    List<String> startingWith(String prefix, int limit) {
+        long start = System.nanoTime();
+        try {
+            return index.startingWith(prefix, limit);
+        } finally {
+            suggestions.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Adds saved policy numbers once the current transaction commits.
+     */
+    void add(Collection<String> policyNumbers) {
+        if (!enabled || policyNumbers.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> policyNumbers.forEach(index::add));
+    }
+
+    /**
+     * Removes deleted policy numbers once the current transaction commits.
+     */
+    void remove(Collection<String> policyNumbers) {
+        if (!enabled || policyNumbers.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> policyNumbers.forEach(index::remove));
+    }
+
+    private void afterCommit(Runnable action) {
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nada que hacer antes del commit
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
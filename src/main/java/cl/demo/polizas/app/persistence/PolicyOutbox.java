@@ -0,0 +1,108 @@
+package cl.demo.polizas.app.persistence;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.query.NativeQuery;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cl.demo.polizas.app.outbox.OutboxMessage;
+import cl.demo.polizas.app.outbox.OutboxPublisher;
+import cl.demo.polizas.seedwork.domain.DomainEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+
+/**
+ * Outbox table for policy domain events. {@link #append} joins the transaction of the policy write, so an event is
+ * stored if and only if its change commits; {@link #drain} hands the oldest rows to a publisher and deletes them in
+ * one transaction.
+ */
+@ApplicationScoped
+public class PolicyOutbox {
+
+    // Cuatro parámetros por fila: 250 filas quedan muy por debajo del límite de variables de SQLite
+    private static final int ROWS_PER_INSERT = 250;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Stores the events in the current transaction, in order, with one multi-row insert per
+     * {@value #ROWS_PER_INSERT} events.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void append(List<DomainEvent> events) {
+        // Con id IDENTITY Hibernate no agrupa los persist en lotes JDBC: se arma un INSERT de varias filas por tramo
+        for (int from = 0; from < events.size(); from += ROWS_PER_INSERT) {
+            insert(events.subList(from, Math.min(from + ROWS_PER_INSERT, events.size())));
+        }
+    }
+
+    /**
+     * Publishes up to {@code limit} of the oldest events and removes them. The rows stay locked until the publisher
+     * returns; if it throws, the transaction rolls back and the same events are offered again later.
+     */
+    @Transactional
+    public List<OutboxMessage> drain(int limit, OutboxPublisher publisher) {
+        List<OutboxMessage> messages = entityManager
+                .createQuery("from OutboxEntity o order by o.id", OutboxEntity.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE).setMaxResults(limit).getResultList().stream()
+                .map(o -> new OutboxMessage(o.getId(), o.getAggregateId(), o.getEventType(), o.getPayload(),
+                        o.getOccurredOn()))
+                .toList();
+        if (messages.isEmpty()) {
+            return messages;
+        }
+
+        publisher.publish(messages);
+
+        entityManager.createQuery("delete from OutboxEntity o where o.id in :ids")
+                .setParameter("ids", messages.stream().map(OutboxMessage::id).toList()).executeUpdate();
+        return messages;
+    }
+
+    /**
+     * Returns when the oldest event still waiting in the outbox occurred.
+     */
+    @Transactional
+    public Optional<Instant> oldestPending() {
+        return entityManager.createQuery("select o.occurredOn from OutboxEntity o order by o.id", Instant.class)
+                .setMaxResults(1).getResultList().stream().findFirst();
+    }
+
+    private void insert(List<DomainEvent> events) {
+        StringBuilder sql = new StringBuilder(
+                "insert into policy_outbox (aggregate_id, event_type, payload, occurred_on) values (?, ?, ?, ?)");
+        for (int i = 1; i < events.size(); i++) {
+            sql.append(", (?, ?, ?, ?)");
+        }
+
+        NativeQuery<?> insert = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        insert.addSynchronizedEntityClass(OutboxEntity.class);
+        int position = 1;
+        for (DomainEvent event : events) {
+            insert.setParameter(position++, event.aggregateId());
+            insert.setParameter(position++, event.type());
+            insert.setParameter(position++, toJson(event));
+            insert.setParameter(position++, event.occurredOn());
+        }
+        insert.executeUpdate();
+    }
+
+    private String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize domain event " + event.type(), e);
+        }
+    }
+}
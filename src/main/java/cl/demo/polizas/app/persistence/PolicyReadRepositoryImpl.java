@@ -0,0 +1,190 @@
+package cl.demo.polizas.app.persistence;
+
+import cl.demo.polizas.domain.repository.PolicyReadRepository;
+import cl.demo.polizas.domain.repository.PolicyRepository.DateFilter;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import io.quarkus.cache.CacheResult;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-side implementation of the Policy queries using Panache projections. Rows are selected column by column into
+ * immutable views, so no managed entities, dirty-checking snapshots or aggregates are created. Detail views are kept
+ * in the bounded {@value #DETAILS_CACHE} cache, which {@link PolicyRepositoryImpl} invalidates after every write and
+ * whose expire-after-write bounds how stale a view loaded concurrently with a write can be. Portfolio figures come
+ * from the incrementally maintained {@link PolicyStats}. Text searches are ranked by {@link PolicySearchIndex}, policy
+ * number suggestions come from {@link PolicyNumberIndex} and listings filtered only by dates from
+ * {@link PolicyDateIndex}.
+ */
+@ApplicationScoped
+public class PolicyReadRepositoryImpl implements PolicyReadRepository, PanacheRepositoryBase<PolicyEntity, UUID> {
+
+    static final String DETAILS_CACHE = "policy-details";
+
+    @ConfigProperty(name = "policies.client-rut.numeric-filter", defaultValue = "true")
+    boolean numericRutFilter;
+
+    @Inject
+    PolicyStats policyStats;
+
+    @Inject
+    PolicySearchIndex policySearchIndex;
+
+    @Inject
+    PolicyNumberIndex policyNumberIndex;
+
+    @Inject
+    PolicyDateIndex policyDateIndex;
+
+    @Override
+    public List<PolicySummaryView> findSummaries(int page, int size, PolicyStatus status, String clientRut,
+            DateFilter dates) {
+        if (byDatesOnly(status, clientRut, dates)) {
+            int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+            return summariesInOrder(policyDateIndex.find(dates, null, offset, size).ids());
+        }
+        return filtered(null, status, clientRut, dates).project(PolicySummaryView.class).page(page, size).list();
+    }
+
+    @Override
+    public SummaryPage findSummariesAfter(Keyset after, int size, PolicyStatus status, String clientRut,
+            DateFilter dates) {
+        // Pedir una fila extra para saber si existe una página siguiente
+        List<PolicySummaryView> rows = byDatesOnly(status, clientRut, dates)
+                ? summariesInOrder(policyDateIndex.find(dates, after, 0, size + 1).ids())
+                : filtered(after, status, clientRut, dates).project(PolicySummaryView.class).range(0, size).list();
+
+        Keyset next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            PolicySummaryView last = rows.get(size - 1);
+            next = new Keyset(last.createdAt(), PolicyId.from(last.id()));
+        }
+
+        return new SummaryPage(rows, next);
+    }
+
+    @Override
+    public SearchResults searchSummaries(String query, int page, int size) {
+        if (!policySearchIndex.isEnabled()) {
+            return searchTable(query, page, size);
+        }
+
+        // El índice decide qué pólizas y en qué orden; sus columnas se leen de la tabla
+        var matches = policySearchIndex.search(query, (int) Math.min((long) page * size, Integer.MAX_VALUE), size);
+        return new SearchResults(summariesInOrder(matches.ids()), matches.total());
+    }
+
+    @Override
+    public List<String> suggestPolicyNumbers(String prefix, int limit) {
+        if (policyNumberIndex.isEnabled()) {
+            return policyNumberIndex.startingWith(prefix, limit);
+        }
+
+        // Sin índice: LIKE con el prefijo escapado, que puede usar el índice único de policy_number
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return getEntityManager().createQuery("select p.policyNumber from PolicyEntity p "
+                + "where p.policyNumber like :pattern escape '\\' order by p.policyNumber", String.class)
+                .setParameter("pattern", pattern).setMaxResults(limit).getResultList();
+    }
+
+    @Override @CacheResult(cacheName = DETAILS_CACHE)
+    public Optional<PolicyDetailView> findDetailById(PolicyId policyId) {
+        return find("id", policyId.value()).project(PolicyDetailView.class).firstResultOptional();
+    }
+
+    @Override
+    public List<PolicyStatsView> findStats() {
+        // Mientras las cifras mantenidas no estén verificadas, o si están desactivadas, se agrupa la tabla
+        return policyStats.stats().orElseGet(policyStats::tableStats);
+    }
+
+    @Override
+    public RecomputedStats recomputeStats() {
+        return policyStats.recompute();
+    }
+
+    /**
+     * Search without the index: every word must appear in the client name or description, newest first. Scans the
+     * table and does not fold accents.
+     */
+    private SearchResults searchTable(String query, int page, int size) {
+        List<String> words = InvertedIndex.words(query);
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("The search query has no searchable words: " + query);
+        }
+
+        StringBuilder where = new StringBuilder();
+        Parameters parameters = new Parameters();
+        for (int i = 0; i < words.size(); i++) {
+            if (i > 0) {
+                where.append(" and ");
+            }
+            where.append("(lower(clientName) like :word").append(i).append(" or lower(description) like :word")
+                    .append(i).append(")");
+            parameters.and("word" + i, "%" + words.get(i) + "%");
+        }
+
+        PanacheQuery<PolicyEntity> matching = find(where.toString(),
+                Sort.by("createdAt", Sort.Direction.Descending).and("id", Sort.Direction.Descending), parameters);
+        return new SearchResults(matching.project(PolicySummaryView.class).page(page, size).list(), matching.count());
+    }
+
+    /**
+     * Whether the listing filters only by dates, so the date index can pick its rows.
+     */
+    private boolean byDatesOnly(PolicyStatus status, String clientRut, DateFilter dates) {
+        return !dates.isEmpty() && status == null && (clientRut == null || clientRut.trim().isEmpty())
+                && policyDateIndex.isEnabled();
+    }
+
+    /**
+     * Reads the summaries of the given policies by ID, in the same order. Policies deleted in the meantime are
+     * skipped.
+     */
+    private List<PolicySummaryView> summariesInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, PolicySummaryView> rows = find("id in ?1", ids).project(PolicySummaryView.class).list().stream()
+                .collect(Collectors.toMap(PolicySummaryView::id, Function.identity()));
+        return ids.stream().map(rows::get).filter(Objects::nonNull).toList();
+    }
+
+    private PanacheQuery<PolicyEntity> filtered(Keyset after, PolicyStatus status, String clientRut,
+            DateFilter dates) {
+        StringBuilder query = new StringBuilder();
+        Parameters parameters = new Parameters();
+
+        PolicyRepositoryImpl.appendFilters(query, parameters, status, clientRut, dates, numericRutFilter);
+
+        // Continuar después de la última fila vista, usando el índice (created_at, id) en vez de OFFSET.
+        // El rango "createdAt >=" va primero para que el motor pueda recorrer el índice desde esa posición.
+        if (after != null) {
+            if (query.length() > 0) {
+                query.append(" and ");
+            }
+            query.append("createdAt >= :afterCreatedAt and (createdAt > :afterCreatedAt or id > :afterId)");
+            parameters.and("afterCreatedAt", after.createdAt());
+            parameters.and("afterId", after.id().value());
+        }
+
+        return query.length() > 0 ? find(query.toString(), PolicyRepositoryImpl.KEYSET_ORDER, parameters)
+                : findAll(PolicyRepositoryImpl.KEYSET_ORDER);
+    }
+}
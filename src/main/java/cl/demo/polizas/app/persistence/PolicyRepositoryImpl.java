@@ -1,16 +1,45 @@
 package cl.demo.polizas.app.persistence;
 
+import cl.demo.polizas.app.events.DomainEventBus;
 import cl.demo.polizas.domain.model.Policy;
 import cl.demo.polizas.domain.valueobject.PolicyId;
 import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
 import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.seedwork.domain.DomainEvent;
+import cl.demo.polizas.seedwork.domain.Specification;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.logging.Log;
 import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.query.NativeQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Implementation of Policy repository using Panache. Provides database operations for Policy entities.
@@ -18,72 +47,498 @@ import java.util.Optional;
 @ApplicationScoped @Transactional
 public class PolicyRepositoryImpl implements PolicyRepository, PanacheRepository<PolicyEntity> {
 
+    static final Sort KEYSET_ORDER = Sort.by("createdAt").and("id");
+
+    @ConfigProperty(name = "quarkus.hibernate-orm.jdbc.statement-batch-size", defaultValue = "50")
+    int batchSize;
+
+    @ConfigProperty(name = "policies.client-rut.numeric-filter", defaultValue = "true")
+    boolean numericRutFilter;
+
+    @ConfigProperty(name = "quarkus.datasource.jdbc.url")
+    Optional<String> jdbcUrl;
+
+    @Inject @CacheName(PolicyReadRepositoryImpl.DETAILS_CACHE)
+    Cache detailsCache;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    PolicyNumberFilter policyNumberFilter;
+
+    @Inject
+    PolicyOutbox outbox;
+
+    @Inject
+    DomainEventBus eventBus;
+
+    @Inject
+    PolicyCounts policyCounts;
+
+    @Inject
+    PolicyStats policyStats;
+
+    @Inject
+    PolicySearchIndex policySearchIndex;
+
+    @Inject
+    PolicyNumberIndex policyNumberIndex;
+
+    @Inject
+    PolicyDateIndex policyDateIndex;
+
+    private String upsertStatement;
+    private boolean deltaTables;
+
+    @PostConstruct
+    void selectUpsertStatement() {
+        upsertStatement = jdbcUrl.flatMap(PolicyUpsertStatements::forJdbcUrl).orElse(null);
+        deltaTables = jdbcUrl.filter(url -> url.startsWith("jdbc:h2:")).isPresent();
+    }
+
     @Override
     public void save(Policy policy) {
+        evictDetailsAfterCompletion(List.of(policy.id()));
+        policyNumberFilter.add(policy.getPolicyNumber());
+
+        long storedVersion = upsertStatement == null ? saveWithLookup(policy) : upsert(policy);
+
+        // Los eventos se sacan con la fila ya escrita: si choca la versión, la póliza los conserva
+        List<DomainEvent> events = policy.pullEvents();
+        aggregateSave(policy, storedVersion);
+        policySearchIndex.index(List.of(policy));
+        policyNumberIndex.add(List.of(policy.getPolicyNumber()));
+        policyDateIndex.index(List.of(policy));
+        recordEvents(events);
+        policy.markSaved(storedVersion);
+    }
+
+    /**
+     * Writes the policy with the single-statement upsert and returns the version the row was left at.
+     */
+    private long upsert(Policy policy) {
+        // Una sola sentencia: inserta la póliza o actualiza la fila existente, si sigue en la versión del agregado
+        NativeQuery<?> upsert = getEntityManager().createNativeQuery(upsertStatement).unwrap(NativeQuery.class);
+        upsert.addSynchronizedEntityClass(PolicyEntity.class);
+        upsert.setParameter(1, policy.id().value());
+        upsert.setParameter(2, policy.getPolicyNumber());
+        upsert.setParameter(3, policy.getClientRut().getFullRut());
+        upsert.setParameter(4, policy.getClientName());
+        upsert.setParameter(5, policy.getClientEmail());
+        upsert.setParameter(6, policy.getPremium().amount());
+        upsert.setParameter(7, policy.getPremium().currency().getCurrencyCode());
+        upsert.setParameter(8, policy.getCoverage().amount());
+        upsert.setParameter(9, policy.getCoverage().currency().getCurrencyCode());
+        upsert.setParameter(10, policy.getStatus().name());
+        upsert.setParameter(11, policy.getStartDate());
+        upsert.setParameter(12, policy.getEndDate());
+        upsert.setParameter(13, policy.getDescription());
+        upsert.setParameter(14, policy.getInsuranceType());
+        upsert.setParameter(15, policy.getCreatedAt());
+        upsert.setParameter(16, policy.getUpdatedAt());
+        upsert.setParameter(17, policy.getClientRut().getBody());
+        upsert.setParameter(18, policy.getVersion());
+        List<?> written = upsert.getResultList();
+        if (written.isEmpty()) {
+            throw concurrentModification(policy);
+        }
+        return ((Number) written.get(0)).longValue();
+    }
+
+    private static IllegalStateException concurrentModification(Policy policy) {
+        return new IllegalStateException("Policy " + policy.id() + " was modified concurrently, please retry");
+    }
+
+    /**
+     * Adds a saved policy to the counts and stats, without reading the row. The version the write left tells an insert
+     * (the version of the policy) from an update (one more). An update replaced the row at the version the policy was
+     * read with, which differs from the policy only in its status, so its figures are the policy's with the stored
+     * status.
+     */
+    private void aggregateSave(Policy policy, long storedVersion) {
+        if (!aggregated()) {
+            return;
+        }
+
+        PolicyChanges changes = new PolicyChanges();
+        if (storedVersion == policy.getVersion()) {
+            changes.add(PolicyFigures.of(policy));
+        } else {
+            changes.move(PolicyFigures.of(policy).withStatus(policy.getStoredStatus()), policy.getStatus());
+        }
+        track(changes);
+    }
+
+    /**
+     * Portable save for databases without a supported upsert: looks the row up and then inserts or updates it. Returns
+     * the version the row is left at.
+     */
+    private long saveWithLookup(Policy policy) {
         // Verificar si ya existe
-        Optional<PolicyEntity> existingEntity = find("id", policy.id().toString()).firstResultOptional();
+        Optional<PolicyEntity> existingEntity = find("id", policy.id().value()).firstResultOptional();
 
         if (existingEntity.isPresent()) {
             // Actualizar entidad existente
             PolicyEntity entity = existingEntity.get();
+            if (entity.getVersion() != policy.getVersion()) {
+                throw concurrentModification(policy);
+            }
             entity.updateFromDomain(policy);
             persist(entity);
+            return policy.getVersion() + 1;
         } else {
             // Crear nueva entidad
             PolicyEntity entity = PolicyEntity.fromDomain(policy);
             persist(entity);
+            return policy.getVersion();
+        }
+    }
+
+    @Override
+    public void saveAll(List<Policy> policies) {
+        EntityManager entityManager = getEntityManager();
+        int pending = 0;
+
+        // Las pólizas son nuevas, pero un GET previo pudo dejar su ID en caché como no encontrado
+        evictDetailsAfterCompletion(policies.stream().map(Policy::id).toList());
+
+        // Insertar sin consulta previa; Hibernate agrupa los INSERT en lotes JDBC
+        for (Policy policy : policies) {
+            entityManager.persist(PolicyEntity.fromDomain(policy));
+            policyNumberFilter.add(policy.getPolicyNumber());
+            if (++pending == batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+
+        // Forzar el último lote para que los errores de constraint aparezcan dentro de la transacción
+        entityManager.flush();
+        entityManager.clear();
+
+        // Los eventos se sacan solo con el lote ya escrito: si falla, el reintento póliza a póliza aún los tiene
+        List<DomainEvent> events = new ArrayList<>(policies.size());
+        policies.forEach(policy -> events.addAll(policy.pullEvents()));
+        recordEvents(events);
+
+        PolicyChanges changes = new PolicyChanges();
+        policies.forEach(policy -> changes.add(PolicyFigures.of(policy)));
+        track(changes);
+        policySearchIndex.index(policies);
+        policyNumberIndex.add(policies.stream().map(Policy::getPolicyNumber).toList());
+        policyDateIndex.index(policies);
+    }
+
+    @Override
+    public Optional<StatusChange> updateStatusFrom(PolicyId policyId, Set<PolicyStatus> fromStatuses,
+            PolicyStatus newStatus, LocalDateTime updatedAt) {
+        if (fromStatuses.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Object[]> rows = deltaTables ? updateStatusReturningOld(policyId, fromStatuses, newStatus, updatedAt)
+                : lockThenUpdateStatus(policyId, fromStatuses, newStatus, updatedAt);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        evictDetailsAfterCompletion(List.of(policyId));
+        recordStatusChanges(rows, newStatus);
+        return Optional.of(new StatusChange(policyId, (String) rows.get(0)[1], (PolicyStatus) rows.get(0)[2]));
+    }
+
+    /**
+     * Updates the row and reads its previous figures in the same statement, through H2's {@code OLD TABLE}. Returns
+     * the row in the shape of {@link #selectRows}, or nothing when it did not match.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> updateStatusReturningOld(PolicyId policyId, Set<PolicyStatus> fromStatuses,
+            PolicyStatus newStatus, LocalDateTime updatedAt) {
+        NativeQuery<?> update = getEntityManager().createNativeQuery("select id, policy_number, status, "
+                + "client_rut_body, insurance_type, premium_amount, premium_currency, coverage_amount, "
+                + "coverage_currency from old table (update policies set status = :newStatus, "
+                + "version = version + 1, updated_at = :updatedAt where id = :id and status in (:fromStatuses))")
+                .unwrap(NativeQuery.class);
+        update.addSynchronizedEntityClass(PolicyEntity.class);
+        update.addScalar("id", UUID.class).addScalar("policy_number", String.class).addScalar("status", String.class)
+                .addScalar("client_rut_body", Integer.class).addScalar("insurance_type", String.class)
+                .addScalar("premium_amount", BigDecimal.class).addScalar("premium_currency", String.class)
+                .addScalar("coverage_amount", BigDecimal.class).addScalar("coverage_currency", String.class);
+        update.setParameter("newStatus", newStatus.name());
+        update.setParameter("updatedAt", updatedAt);
+        update.setParameter("id", policyId.value());
+        update.setParameterList("fromStatuses", fromStatuses.stream().map(PolicyStatus::name).toList());
+
+        // El estado nativo llega como texto: se deja como en las filas JPQL
+        List<Object[]> rows = (List<Object[]>) update.getResultList();
+        rows.forEach(row -> row[2] = PolicyStatus.valueOf((String) row[2]));
+        return rows;
+    }
+
+    /**
+     * Portable path without delta tables: locks the row and updates it only if it still has the status just read.
+     */
+    private List<Object[]> lockThenUpdateStatus(PolicyId policyId, Set<PolicyStatus> fromStatuses,
+            PolicyStatus newStatus, LocalDateTime updatedAt) {
+        List<Object[]> rows = selectForUpdate("id = :id and status in :fromStatuses",
+                Parameters.with("id", policyId.value()).and("fromStatuses", fromStatuses), 0);
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        return updateStatusWhere(List.of(policyId.value()), Set.of((PolicyStatus) rows.get(0)[2]), newStatus,
+                updatedAt) > 0 ? rows : List.of();
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<PolicyId> policyIds, Set<PolicyStatus> fromStatuses,
+            PolicyStatus newStatus, LocalDateTime updatedAt) {
+        if (policyIds.isEmpty() || fromStatuses.isEmpty()) {
+            return 0;
+        }
+
+        evictDetailsAfterCompletion(policyIds);
+
+        // Eventos y cifras agregadas necesitan el estado previo de cada fila: se bloquean antes de actualizarlas
+        List<UUID> ids = policyIds.stream().map(PolicyId::value).toList();
+        List<Object[]> rows = selectForUpdate("id in :ids and status in :fromStatuses",
+                Parameters.with("ids", ids).and("fromStatuses", fromStatuses), 0);
+        if (rows.isEmpty()) {
+            return 0;
         }
+        recordStatusChanges(rows, newStatus);
+        return updateStatusWhere(rows.stream().map(row -> (UUID) row[0]).toList(), fromStatuses, newStatus, updatedAt);
+    }
+
+    @Override
+    public int updateStatusByFilter(String clientRut, String insuranceType, Set<PolicyStatus> fromStatuses,
+            PolicyStatus newStatus, LocalDateTime updatedAt, int limit) {
+        if (fromStatuses.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder query = new StringBuilder("status in :fromStatuses");
+        Parameters parameters = Parameters.with("fromStatuses", fromStatuses);
+        if (clientRut != null && !clientRut.trim().isEmpty()) {
+            query.append(" and ");
+            appendClientRutFilter(query, parameters, clientRut, numericRutFilter);
+        }
+        if (insuranceType != null && !insuranceType.trim().isEmpty()) {
+            query.append(" and insuranceType = :insuranceType");
+            parameters.and("insuranceType", insuranceType);
+        }
+
+        // Un chunk: tomar los IDs por índice y actualizarlos en la misma transacción; las filas que cambian de estado
+        // dejan de coincidir, así que la siguiente llamada sigue con las restantes
+        List<Object[]> rows = selectForUpdate(query.toString(), parameters, limit);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> ids = rows.stream().map(row -> (UUID) row[0]).toList();
+        evictDetailsAfterCompletion(ids.stream().map(PolicyId::from).toList());
+        recordStatusChanges(rows, newStatus);
+        return updateStatusWhere(ids, fromStatuses, newStatus, updatedAt);
+    }
+
+    @Override
+    public List<PolicyId> updateStatuses(List<Policy> policies, PolicyStatus expectedStatus) {
+        // Una transacción para todo el lote; cada fila conserva su propio compare-and-set por versión
+        List<PolicyId> updated = new ArrayList<>(policies.size());
+        List<DomainEvent> events = new ArrayList<>(policies.size());
+        PolicyChanges changes = new PolicyChanges();
+        for (Policy policy : policies) {
+            int rows = update("status = :newStatus, version = version + 1, updatedAt = :updatedAt "
+                    + "where id = :id and status = :expectedStatus and version = :expectedVersion",
+                    Parameters.with("newStatus", policy.getStatus()).and("updatedAt", policy.getUpdatedAt())
+                            .and("id", policy.id().value()).and("expectedStatus", expectedStatus)
+                            .and("expectedVersion", policy.getVersion()));
+            if (rows > 0) {
+                updated.add(policy.id());
+                events.addAll(policy.pullEvents());
+                changes.move(PolicyFigures.of(policy).withStatus(expectedStatus), policy.getStatus());
+                policy.markSaved(policy.getVersion() + 1);
+            }
+        }
+        evictDetailsAfterCompletion(updated);
+        recordEvents(events);
+        track(changes);
+        return updated;
+    }
+
+    @Override
+    public List<ExpiredPolicy> expireDue(LocalDate today, int limit, LocalDateTime updatedAt) {
+        Set<PolicyStatus> expirable = Policy.expirableStatuses();
+
+        // Un chunk por transacción: los vencidos se recorren por idx_end_date y solo se bloquean las filas del chunk
+        List<Object[]> due = getEntityManager()
+                .createQuery("select id, policyNumber, " + PolicyFigures.COLUMNS + " from PolicyEntity "
+                        + "where endDate < :today and status in :expirable order by endDate, id", Object[].class)
+                .setParameter("today", today).setParameter("expirable", expirable)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE).setMaxResults(limit).getResultList();
+        if (due.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> ids = due.stream().map(row -> (UUID) row[0]).toList();
+        evictDetailsAfterCompletion(ids.stream().map(PolicyId::from).toList());
+        updateStatusWhere(ids, expirable, PolicyStatus.EXPIRED, updatedAt);
+
+        trackStatusChanges(due, PolicyStatus.EXPIRED);
+
+        List<ExpiredPolicy> expired = due.stream()
+                .map(row -> new ExpiredPolicy(PolicyId.from((UUID) row[0]), (String) row[1], (PolicyStatus) row[2]))
+                .toList();
+        recordEvents(expired.stream().<DomainEvent>map(policy -> new Policy.PolicyExpiredEvent(
+                policy.policyId().toString(), policy.policyNumber(), policy.previousStatus().name())).toList());
+        return expired;
+    }
+
+    /**
+     * Returns the ID, policy number and {@link PolicyFigures#COLUMNS} of the rows matching {@code where}, in ID order
+     * and at most {@code limit} of them (0 for all). With counts or stats enabled the rows are locked, so the statement
+     * that follows changes exactly these rows.
+     */
+    private List<Object[]> selectForAggregates(String where, Parameters parameters, int limit) {
+        return selectRows(where, parameters, limit, aggregated() ? LockModeType.PESSIMISTIC_WRITE : LockModeType.NONE);
+    }
+
+    /**
+     * Like {@link #selectForAggregates}, but always locks the rows: the set-based status updates record one event per
+     * row they change.
+     */
+    private List<Object[]> selectForUpdate(String where, Parameters parameters, int limit) {
+        return selectRows(where, parameters, limit, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    private List<Object[]> selectRows(String where, Parameters parameters, int limit, LockModeType lockMode) {
+        var select = getEntityManager().createQuery("select id, policyNumber, " + PolicyFigures.COLUMNS
+                + " from PolicyEntity where " + where + " order by id", Object[].class);
+        parameters.map().forEach(select::setParameter);
+        if (limit > 0) {
+            select.setMaxResults(limit);
+        }
+        return select.setLockMode(lockMode).getResultList();
+    }
+
+    private boolean aggregated() {
+        return policyCounts.isEnabled() || policyStats.isEnabled();
+    }
+
+    /**
+     * Hands the rows a write adds and removes to the counts and stats, which apply them once the transaction commits.
+     */
+    private void track(PolicyChanges changes) {
+        policyCounts.track(changes);
+        policyStats.track(changes);
+    }
+
+    private void trackStatusChanges(List<Object[]> rows, PolicyStatus newStatus) {
+        PolicyChanges changes = new PolicyChanges();
+        rows.forEach(row -> changes.move(PolicyFigures.fromColumns(row, 2), newStatus));
+        track(changes);
+    }
+
+    /**
+     * Records a {@link Policy.PolicyStatusUpdatedEvent} for each locked row a set-based update moves to
+     * {@code newStatus}, and hands the moves to the counts and stats.
+     */
+    private void recordStatusChanges(List<Object[]> rows, PolicyStatus newStatus) {
+        recordEvents(rows.stream().<DomainEvent>map(row -> new Policy.PolicyStatusUpdatedEvent(row[0].toString(),
+                (String) row[1], ((PolicyStatus) row[2]).name(), newStatus.name())).toList());
+        trackStatusChanges(rows, newStatus);
+    }
+
+    private int updateStatusWhere(List<UUID> ids, Set<PolicyStatus> fromStatuses, PolicyStatus newStatus,
+            LocalDateTime updatedAt) {
+        return update("status = :newStatus, version = version + 1, updatedAt = :updatedAt "
+                + "where id in :ids and status in :fromStatuses",
+                Parameters.with("newStatus", newStatus).and("updatedAt", updatedAt).and("ids", ids)
+                        .and("fromStatuses", fromStatuses));
     }
 
     @Override
     public Optional<Policy> findById(PolicyId policyId) {
-        return find("id", policyId.toString()).firstResultOptional().map(PolicyEntity::toDomain);
+        return find("id", policyId.value()).firstResultOptional().map(PolicyEntity::toDomain);
     }
 
     @Override
-    public List<Policy> findAll(int page, int size, PolicyStatus status, String clientRut) {
+    public List<Policy> findAllById(Collection<PolicyId> policyIds) {
+        if (policyIds.isEmpty()) {
+            return List.of();
+        }
+        return list("id in ?1", policyIds.stream().map(PolicyId::value).toList()).stream()
+                .map(PolicyEntity::toDomain).toList();
+    }
+
+    @Override
+    public List<PendingActivation> findPendingActivations() {
+        return getEntityManager()
+                .createQuery("select p.id, p.startDate from PolicyEntity p where p.status = :status", Object[].class)
+                .setParameter("status", PolicyStatus.PENDING).getResultList().stream()
+                .map(row -> new PendingActivation(PolicyId.from((UUID) row[0]), (LocalDate) row[1])).toList();
+    }
+
+    @Override
+    public List<Policy> findAll(int page, int size, PolicyStatus status, String clientRut, DateFilter dates) {
         StringBuilder query = new StringBuilder();
         Parameters parameters = new Parameters();
 
         // Construir query dinámica
-        if (status != null && clientRut != null && !clientRut.trim().isEmpty()) {
-            query.append("status = :status and clientRut = :clientRut");
-            parameters.and("status", status);
-            parameters.and("clientRut", clientRut);
-        } else if (status != null) {
-            query.append("status = :status");
-            parameters.and("status", status);
-        } else if (clientRut != null && !clientRut.trim().isEmpty()) {
-            query.append("clientRut = :clientRut");
-            parameters.and("clientRut", clientRut);
-        }
+        appendFilters(query, parameters, status, clientRut, dates, numericRutFilter);
 
-        // Aplicar paginación
+        // Aplicar paginación con un orden estable, el mismo que usa la paginación por cursor de lectura
         if (query.length() > 0) {
-            return find(query.toString(), parameters).page(page, size).list().stream().map(PolicyEntity::toDomain)
-                    .toList();
+            return find(query.toString(), KEYSET_ORDER, parameters).page(page, size).list().stream()
+                    .map(PolicyEntity::toDomain).toList();
         } else {
-            return findAll().page(page, size).list().stream().map(PolicyEntity::toDomain).toList();
+            return findAll(KEYSET_ORDER).page(page, size).list().stream().map(PolicyEntity::toDomain).toList();
+        }
+    }
+
+    @Override
+    public List<Policy> findAll(Specification<Policy> specification, int page, int size) {
+        PolicySpecificationQuery.Translation translation = PolicySpecificationQuery.translate(specification,
+                numericRutFilter);
+        PanacheQuery<PolicyEntity> query = translation.where().isEmpty() ? findAll(KEYSET_ORDER)
+                : find(translation.where(), KEYSET_ORDER, translation.parameters());
+        if (translation.isComplete()) {
+            return query.page(page, size).list().stream().map(PolicyEntity::toDomain).toList();
+        }
+
+        // Lo no traducible se evalúa sobre las filas que devuelve la parte traducida, hasta completar la página
+        Log.warnf("Specification %s cannot be translated to SQL, evaluating it in memory over %s",
+                translation.residual().getClass().getName(),
+                translation.where().isEmpty() ? "every policy" : "the policies matching " + translation.where());
+        try (Stream<PolicyEntity> rows = query.stream()) {
+            return rows.map(PolicyEntity::toDomain).filter(translation.residual()::isSatisfiedBy)
+                    .skip((long) page * size).limit(size).toList();
         }
     }
 
     @Override
-    public long count(PolicyStatus status, String clientRut) {
+    public long count(PolicyStatus status, String clientRut, DateFilter dates) {
+        // Los contadores van por cuerpo de RUT: responden sin filtro de cliente o cuando el filtro compara el cuerpo
+        boolean byClient = clientRut != null && !clientRut.trim().isEmpty();
+        Integer clientRutBody = byClient && numericRutFilter ? parseRutBody(clientRut.trim()) : null;
+        if (!dates.isEmpty()) {
+            // El índice de fechas solo conoce fechas: con otros filtros se cuenta en la base
+            if (status == null && !byClient && policyDateIndex.isEnabled()) {
+                return policyDateIndex.count(dates);
+            }
+        } else if (!byClient || clientRutBody != null) {
+            OptionalLong counted = policyCounts.count(status, clientRutBody);
+            if (counted.isPresent()) {
+                return counted.getAsLong();
+            }
+        }
+
         StringBuilder query = new StringBuilder();
         Parameters parameters = new Parameters();
 
         // Construir query dinámica para contar
-        if (status != null && clientRut != null && !clientRut.trim().isEmpty()) {
-            query.append("status = :status and clientRut = :clientRut");
-            parameters.and("status", status);
-            parameters.and("clientRut", clientRut);
-        } else if (status != null) {
-            query.append("status = :status");
-            parameters.and("status", status);
-        } else if (clientRut != null && !clientRut.trim().isEmpty()) {
-            query.append("clientRut = :clientRut");
-            parameters.and("clientRut", clientRut);
-        }
+        appendFilters(query, parameters, status, clientRut, dates, numericRutFilter);
 
         // Contar registros
         if (query.length() > 0) {
@@ -93,9 +548,104 @@ public class PolicyRepositoryImpl implements PolicyRepository, PanacheRepository
         }
     }
 
+    private static Integer parseRutBody(String clientRut) {
+        try {
+            return Rut.from(clientRut).getBody();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static void appendFilters(StringBuilder query, Parameters parameters, PolicyStatus status, String clientRut,
+            DateFilter dates, boolean numericRutFilter) {
+        if (status != null) {
+            query.append("status = :status");
+            parameters.and("status", status);
+        }
+        if (clientRut != null && !clientRut.trim().isEmpty()) {
+            if (query.length() > 0) {
+                query.append(" and ");
+            }
+            appendClientRutFilter(query, parameters, clientRut, numericRutFilter);
+        }
+        if (dates.activeOn() != null) {
+            // Rango sobre start_date y filtro sobre end_date, ambos dentro del índice (start_date, end_date)
+            appendCondition(query, "startDate <= :activeOn and endDate >= :activeOn");
+            parameters.and("activeOn", dates.activeOn());
+        }
+        if (dates.endFrom() != null) {
+            appendCondition(query, "endDate >= :endFrom");
+            parameters.and("endFrom", dates.endFrom());
+        }
+        if (dates.endTo() != null) {
+            appendCondition(query, "endDate <= :endTo");
+            parameters.and("endTo", dates.endTo());
+        }
+    }
+
+    private static void appendCondition(StringBuilder query, String condition) {
+        if (query.length() > 0) {
+            query.append(" and ");
+        }
+        query.append(condition);
+    }
+
+    /**
+     * Filters by client. With the numeric filter, any formatting of the RUT ("12.345.678-5", "123456785") matches the
+     * indexed {@code client_rut_body}; input that is not a valid RUT falls back to comparing the stored text.
+     */
+    private static void appendClientRutFilter(StringBuilder query, Parameters parameters, String clientRut,
+            boolean numericRutFilter) {
+        if (numericRutFilter) {
+            try {
+                int body = Rut.from(clientRut.trim()).getBody();
+                query.append("clientRutBody = :clientRutBody");
+                parameters.and("clientRutBody", body);
+                return;
+            } catch (IllegalArgumentException e) {
+                // No es un RUT válido: se compara el texto tal cual, como antes
+            }
+        }
+        query.append("clientRut = :clientRut");
+        parameters.and("clientRut", clientRut);
+    }
+
     @Override
     public boolean existsByPolicyNumber(String policyNumber) {
-        return count("policyNumber", policyNumber) > 0;
+        // Un número que el filtro no conoce no está guardado: no hace falta consultar
+        if (!policyNumberFilter.mightContain(policyNumber)) {
+            return false;
+        }
+
+        boolean exists = count("policyNumber", policyNumber) > 0;
+        if (!exists) {
+            policyNumberFilter.recordFalsePositive();
+        }
+        return exists;
+    }
+
+    @Override
+    public Set<String> findExistingPolicyNumbers(Collection<String> policyNumbers) {
+        // Consultar solo los números que el filtro no descarta, sin repetidos para no inflar los falsos positivos
+        Set<String> candidates = new HashSet<>();
+        for (String policyNumber : policyNumbers) {
+            if (policyNumberFilter.mightContain(policyNumber)) {
+                candidates.add(policyNumber);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> existing = new HashSet<>(getEntityManager()
+                .createQuery("select p.policyNumber from PolicyEntity p where p.policyNumber in :numbers", String.class)
+                .setParameter("numbers", candidates).getResultList());
+        for (String candidate : candidates) {
+            if (!existing.contains(candidate)) {
+                policyNumberFilter.recordFalsePositive();
+            }
+        }
+        return existing;
     }
 
     // Métodos adicionales de utilidad
@@ -112,22 +662,95 @@ public class PolicyRepositoryImpl implements PolicyRepository, PanacheRepository
     }
 
     public long countByStatus(PolicyStatus status) {
-        return count("status", status);
+        OptionalLong counted = status != null ? policyCounts.count(status, null) : OptionalLong.empty();
+        return counted.isPresent() ? counted.getAsLong() : count("status", status);
     }
 
     public long countByClientRut(String clientRut) {
-        return count("clientRut", clientRut);
+        // Compara el texto guardado: el contador por cuerpo solo sirve si el texto viene en ese mismo formato
+        Integer clientRutBody = clientRut != null ? parseRutBody(clientRut) : null;
+        OptionalLong counted = clientRutBody != null && Rut.from(clientRut).getFullRut().equals(clientRut)
+                ? policyCounts.count(null, clientRutBody) : OptionalLong.empty();
+        return counted.isPresent() ? counted.getAsLong() : count("clientRut", clientRut);
     }
 
     public void deleteById(PolicyId policyId) {
-        delete("id", policyId.toString());
+        evictDetailsAfterCompletion(List.of(policyId));
+        // El índice de sugerencias necesita el número de póliza, así que la fila se lee siempre
+        List<Object[]> rows = selectForAggregates("id = :id", Parameters.with("id", policyId.value()), 0);
+        trackDeletes(rows);
+        policySearchIndex.remove(List.of(policyId.value()));
+        policyDateIndex.remove(List.of(policyId.value()));
+        policyNumberIndex.remove(rows.stream().map(row -> (String) row[1]).toList());
+        delete("id", policyId.value());
     }
 
     public void deleteByPolicyNumber(String policyNumber) {
+        // La caché de detalle está indexada por ID, así que primero se resuelven los IDs afectados
+        List<Object[]> rows = selectForAggregates("policyNumber = :policyNumber",
+                Parameters.with("policyNumber", policyNumber), 0);
+        evictDetailsAfterCompletion(rows.stream().map(row -> PolicyId.from((UUID) row[0])).toList());
+        trackDeletes(rows);
+        policySearchIndex.remove(rows.stream().map(row -> (UUID) row[0]).toList());
+        policyDateIndex.remove(rows.stream().map(row -> (UUID) row[0]).toList());
+        policyNumberIndex.remove(rows.isEmpty() ? List.of() : List.of(policyNumber));
         delete("policyNumber", policyNumber);
     }
 
+    private void trackDeletes(List<Object[]> rows) {
+        PolicyChanges changes = new PolicyChanges();
+        rows.forEach(row -> changes.remove(PolicyFigures.fromColumns(row, 2)));
+        track(changes);
+    }
+
     public boolean existsById(PolicyId policyId) {
-        return count("id", policyId.toString()) > 0;
+        return count("id", policyId.value()) > 0;
+    }
+
+    /**
+     * Writes the events to the outbox in the current transaction and hands them to the in-process event bus once the
+     * transaction commits.
+     */
+    private void recordEvents(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outbox.append(events);
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nada que hacer antes del commit
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    eventBus.publish(events);
+                }
+            }
+        });
+    }
+
+    /**
+     * Evicts the cached detail views of the given policies once the current transaction ends, so reads that start after
+     * the commit load the new row. This does not stop a read that loaded the row before the commit from storing it
+     * after the eviction; such an entry is stale until the {@code expire-after-write} of
+     * {@value PolicyReadRepositoryImpl#DETAILS_CACHE} removes it, which bounds how long a detail view can lag a write.
+     */
+    private void evictDetailsAfterCompletion(Collection<PolicyId> policyIds) {
+        if (policyIds.isEmpty()) {
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nada que hacer antes del commit
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                policyIds.forEach(policyId -> detailsCache.invalidate(policyId).await().indefinitely());
+            }
+        });
     }
 }
@@ -0,0 +1,133 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import cl.demo.polizas.domain.model.Policy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Full-text search over the client name and description of the stored policies, answered by an in-memory
+ * {@link InvertedIndex} instead of a {@code LIKE '%...%'} scan. Loaded from the table at startup; the repository hands
+ * over every saved and deleted policy, applied once its transaction commits. Writes made by other instances or outside
+ * the repository only show up after a restart.
+ */
+@ApplicationScoped
+public class PolicySearchIndex {
+
+    private final boolean enabled;
+    private final EntityManager entityManager;
+    private final TransactionSynchronizationRegistry transactionRegistry;
+    private final InvertedIndex index = new InvertedIndex();
+
+    private final Timer searches;
+
+    @Inject
+    public PolicySearchIndex(@ConfigProperty(name = "policies.search.enabled", defaultValue = "true") boolean enabled,
+            EntityManager entityManager, TransactionSynchronizationRegistry transactionRegistry,
+            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.entityManager = entityManager;
+        this.transactionRegistry = transactionRegistry;
+
+        this.searches = Timer.builder("policies.search.duration")
+                .description("Time spent ranking the matches of a search in the index").register(registry);
+        Gauge.builder("policies.search.documents", index, InvertedIndex::size)
+                .description("Policies in the search index").register(registry);
+    }
+
+    /**
+     * Indexes every stored policy, oldest first. Policies saved while loading are indexed by their commit and are not
+     * overwritten with the text read here.
+     */
+    @Transactional
+    void load(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        try (var rows = entityManager.createQuery("select p.id, p.clientName, p.description from PolicyEntity p "
+                + "order by p.createdAt, p.id", Object[].class).getResultStream()) {
+            rows.forEach(row -> index.putIfAbsent((UUID) row[0], (String) row[1], (String) row[2]));
+        }
+
+        Log.infof("Policy search index loaded: %d policies, %d distinct words", index.size(), index.wordCount());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a page of the policies matching the query, best first, and the number of matches.
+     *
+     * @throws IllegalArgumentException if the query has no searchable words
+     */
+    InvertedIndex.Matches search(String query, int offset, int limit) {
+        long start = System.nanoTime();
+        try {
+            return index.search(query, offset, limit);
+        } finally {
+            searches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Indexes the text of saved policies once the current transaction commits.
+     */
+    void index(Collection<Policy> policies) {
+        if (!enabled || policies.isEmpty()) {
+            return;
+        }
+
+        // Copiar el texto ahora: el agregado puede cambiar antes del commit
+        List<Text> texts = policies.stream()
+                .map(policy -> new Text(policy.id().value(), policy.getClientName(), policy.getDescription())).toList();
+        afterCommit(() -> texts.forEach(text -> index.put(text.id(), text.clientName(), text.description())));
+    }
+
+    /**
+     * Removes deleted policies once the current transaction commits.
+     */
+    void remove(Collection<UUID> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> ids.forEach(index::remove));
+    }
+
+    private void afterCommit(Runnable action) {
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nada que hacer antes del commit
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private record Text(UUID id, String clientName, String description) {
+    }
+}
@@ -0,0 +1,140 @@
+package cl.demo.polizas.app.persistence;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.specification.PolicySpecifications.ActiveOn;
+import cl.demo.polizas.domain.specification.PolicySpecifications.ClientIs;
+import cl.demo.polizas.domain.specification.PolicySpecifications.EndsBetween;
+import cl.demo.polizas.domain.specification.PolicySpecifications.InsuranceTypeIs;
+import cl.demo.polizas.domain.specification.PolicySpecifications.PremiumAtLeast;
+import cl.demo.polizas.domain.specification.PolicySpecifications.StatusIn;
+import cl.demo.polizas.seedwork.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translates a {@link Specification} over policies into a JPQL condition on {@link PolicyEntity} with named
+ * parameters. The {@link cl.demo.polizas.domain.specification.PolicySpecifications} records and their {@code and},
+ * {@code or} and {@code not} combinations are translated; of a top-level conjunction, the conjuncts that cannot be
+ * translated are left as a residual specification to evaluate in memory over the rows the condition returns. An
+ * {@code or} or {@code not} with an untranslatable operand is left whole in the residual.
+ */
+final class PolicySpecificationQuery {
+
+    private final boolean numericRutFilter;
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+    private int nextParameter;
+
+    private PolicySpecificationQuery(boolean numericRutFilter) {
+        this.numericRutFilter = numericRutFilter;
+    }
+
+    /**
+     * Translates a specification. With {@code numericRutFilter}, clients are compared by the indexed RUT body, as in
+     * the listings.
+     */
+    static Translation translate(Specification<Policy> specification, boolean numericRutFilter) {
+        PolicySpecificationQuery query = new PolicySpecificationQuery(numericRutFilter);
+        List<Specification<Policy>> conjuncts = new ArrayList<>();
+        flatten(specification, conjuncts);
+
+        StringBuilder where = new StringBuilder();
+        Specification<Policy> residual = null;
+        for (Specification<Policy> conjunct : conjuncts) {
+            String condition = query.condition(conjunct);
+            if (condition != null) {
+                if (where.length() > 0) {
+                    where.append(" and ");
+                }
+                where.append(condition);
+            } else {
+                residual = residual == null ? conjunct : residual.and(conjunct);
+            }
+        }
+        return new Translation(where.toString(), query.parameters, residual);
+    }
+
+    private static void flatten(Specification<Policy> specification, List<Specification<Policy>> conjuncts) {
+        if (specification instanceof Specification.AndSpecification<Policy> and) {
+            flatten(and.left(), conjuncts);
+            flatten(and.right(), conjuncts);
+        } else {
+            conjuncts.add(specification);
+        }
+    }
+
+    /**
+     * Returns the JPQL condition equivalent to the specification, or null if some part of it cannot be translated.
+     * Parameters are only kept when the whole specification is translated.
+     */
+    private String condition(Specification<Policy> specification) {
+        Map<String, Object> before = new LinkedHashMap<>(parameters);
+        String condition = translate(specification);
+        if (condition == null) {
+            parameters.clear();
+            parameters.putAll(before);
+        }
+        return condition;
+    }
+
+    private String translate(Specification<Policy> specification) {
+        if (specification instanceof Specification.AndSpecification<Policy> and) {
+            return combine(translate(and.left()), "and", translate(and.right()));
+        }
+        if (specification instanceof Specification.OrSpecification<Policy> or) {
+            return combine(translate(or.left()), "or", translate(or.right()));
+        }
+        if (specification instanceof Specification.NotSpecification<Policy> not) {
+            String operand = translate(not.specification());
+            return operand != null ? "not (" + operand + ")" : null;
+        }
+        if (specification instanceof StatusIn status) {
+            return "status in " + parameter(status.statuses());
+        }
+        if (specification instanceof ClientIs client) {
+            // Igual que el filtro de cliente del listado; sin el cuerpo guardado la fila no cumple, también al negarla
+            return numericRutFilter
+                    ? "(clientRutBody is not null and clientRutBody = " + parameter(client.clientRut().getBody()) + ")"
+                    : "clientRut = " + parameter(client.clientRut().getFullRut());
+        }
+        if (specification instanceof InsuranceTypeIs type) {
+            // La columna admite null: sin el "is not null" un not (...) descartaría las pólizas sin tipo
+            return "(insuranceType is not null and insuranceType = " + parameter(type.insuranceType()) + ")";
+        }
+        if (specification instanceof ActiveOn active) {
+            String date = parameter(active.date());
+            return "(startDate <= " + date + " and endDate >= " + date + ")";
+        }
+        if (specification instanceof EndsBetween range) {
+            return "(endDate >= " + parameter(range.from()) + " and endDate <= " + parameter(range.to()) + ")";
+        }
+        if (specification instanceof PremiumAtLeast premium) {
+            return "(premiumCurrency = " + parameter(premium.amount().currency().getCurrencyCode())
+                    + " and premiumAmount >= " + parameter(premium.amount().amount()) + ")";
+        }
+        return null;
+    }
+
+    private static String combine(String left, String operator, String right) {
+        return left != null && right != null ? "(" + left + " " + operator + " " + right + ")" : null;
+    }
+
+    private String parameter(Object value) {
+        String name = "spec" + nextParameter++;
+        parameters.put(name, value);
+        return ":" + name;
+    }
+
+    /**
+     * A JPQL condition, empty when nothing could be translated, its named parameters and the part of the
+     * specification left to evaluate in memory, null when everything was translated.
+     */
+    record Translation(String where, Map<String, Object> parameters, Specification<Policy> residual) {
+
+        boolean isComplete() {
+            return residual == null;
+        }
+    }
+}
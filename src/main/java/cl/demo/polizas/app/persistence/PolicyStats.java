@@ -0,0 +1,196 @@
+package cl.demo.polizas.app.persistence;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import cl.demo.polizas.domain.repository.PolicyReadRepository.PolicyStatsView;
+import cl.demo.polizas.domain.repository.PolicyReadRepository.RecomputedStats;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Incrementally maintained portfolio figures: policy count, premium total and coverage total per status, insurance
+ * type and currency, kept in hundredths. Fed and checked like {@link PolicyCounts}: the repository registers the rows
+ * each write adds and removes, applied once its transaction commits, and {@link #reconcile()} compares them with a
+ * single {@code GROUP BY} of the table. {@link #stats()} answers empty until a check covers every group, and when
+ * disabled.
+ */
+@ApplicationScoped
+public class PolicyStats {
+
+    private static final int POLICIES = 0;
+    private static final int PREMIUM = 1;
+    private static final int COVERAGE = 2;
+
+    private static final Comparator<PolicyStatsView> ORDER = Comparator.comparing(PolicyStatsView::status)
+            .thenComparing(PolicyStatsView::insuranceType, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(PolicyStatsView::currency);
+
+    private final boolean enabled;
+    private final EntityManager entityManager;
+    private final TransactionSynchronizationRegistry transactionRegistry;
+    private final IncrementalAggregate<Group> byGroup = new IncrementalAggregate<>(3);
+
+    private final Counter drift;
+
+    @Inject
+    public PolicyStats(@ConfigProperty(name = "policies.stats.enabled", defaultValue = "true") boolean enabled,
+            EntityManager entityManager, TransactionSynchronizationRegistry transactionRegistry,
+            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.entityManager = entityManager;
+        this.transactionRegistry = transactionRegistry;
+
+        this.drift = Counter.builder("policies.stats.drift")
+                .description("Sum of the count and amount differences (in hundredths) repaired by reconciliation")
+                .register(registry);
+    }
+
+    @Transactional
+    void load(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        IncrementalAggregate.Reconciliation loaded = byGroup.reconcile(this::sumTable);
+        Log.infof("Policy stats loaded for %d groups (%d left for the next reconciliation)", loaded.checked(),
+                loaded.skipped());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the maintained figures of every group, or empty when they cannot answer and the table must be read.
+     */
+    public Optional<List<PolicyStatsView>> stats() {
+        return enabled ? byGroup.rows().map(PolicyStats::toViews) : Optional.empty();
+    }
+
+    /**
+     * Computes the figures with a {@code GROUP BY} of the table, leaving the maintained ones untouched.
+     */
+    public List<PolicyStatsView> tableStats() {
+        return toViews(sumTable());
+    }
+
+    /**
+     * Computes the figures with a {@code GROUP BY} of the table and repairs the maintained groups that differ, except
+     * those with writes in progress, which are checked at the next pass.
+     */
+    @Transactional
+    public RecomputedStats recompute() {
+        if (!enabled) {
+            return new RecomputedStats(tableStats(), 0);
+        }
+
+        AtomicReference<Map<Group, long[]>> table = new AtomicReference<>();
+        IncrementalAggregate.Reconciliation result = byGroup.reconcile(() -> {
+            table.set(sumTable());
+            return table.get();
+        });
+        if (result.drift() > 0) {
+            drift.increment(result.drift());
+            Log.warnf("Policy stats drifted for %d of %d groups (%d); repaired from the table", result.drifted(),
+                    result.checked(), result.drift());
+        }
+        return new RecomputedStats(toViews(table.get()), result.drift());
+    }
+
+    /**
+     * Same check as {@link #recompute()}, for the scheduled reconciliation.
+     *
+     * @return the sum of the differences found
+     */
+    @Transactional
+    public long reconcile() {
+        return enabled ? recompute().drift() : 0;
+    }
+
+    /**
+     * Registers the rows a write adds and removes in the current transaction; they are added up if it commits.
+     */
+    void track(PolicyChanges changes) {
+        if (!enabled || changes.isEmpty()) {
+            return;
+        }
+
+        IncrementalAggregate.Delta<Group> delta = new IncrementalAggregate.Delta<>(3);
+        changes.forEach((row, sign) -> {
+            Group premiumGroup = new Group(row.status(), row.insuranceType(), row.premiumCurrency());
+            delta.add(premiumGroup, POLICIES, sign);
+            delta.add(premiumGroup, PREMIUM, sign * row.premium());
+            delta.add(new Group(row.status(), row.insuranceType(), row.coverageCurrency()), COVERAGE,
+                    sign * row.coverage());
+        });
+        byGroup.begin(delta);
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nada que hacer antes del commit
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                byGroup.complete(delta, status == Status.STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private Map<Group, long[]> sumTable() {
+        Map<Group, long[]> groups = new HashMap<>();
+        entityManager
+                .createQuery("select p.status, p.insuranceType, p.premiumCurrency, p.coverageCurrency, count(p), "
+                        + "sum(p.premiumAmount), sum(p.coverageAmount) from PolicyEntity p "
+                        + "group by p.status, p.insuranceType, p.premiumCurrency, p.coverageCurrency", Object[].class)
+                .getResultList().forEach(row -> {
+                    PolicyStatus status = (PolicyStatus) row[0];
+                    String insuranceType = (String) row[1];
+                    long[] premiumGroup = groups.computeIfAbsent(new Group(status, insuranceType, (String) row[2]),
+                            group -> new long[3]);
+                    premiumGroup[POLICIES] += (Long) row[4];
+                    premiumGroup[PREMIUM] += hundredths((BigDecimal) row[5]);
+                    long[] coverageGroup = groups.computeIfAbsent(new Group(status, insuranceType, (String) row[3]),
+                            group -> new long[3]);
+                    coverageGroup[COVERAGE] += hundredths((BigDecimal) row[6]);
+                });
+        return groups;
+    }
+
+    private static long hundredths(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static List<PolicyStatsView> toViews(Map<Group, long[]> groups) {
+        List<PolicyStatsView> views = new ArrayList<>(groups.size());
+        groups.forEach((group, values) -> views.add(new PolicyStatsView(group.status(), group.insuranceType(),
+                group.currency(), values[POLICIES], BigDecimal.valueOf(values[PREMIUM], 2),
+                BigDecimal.valueOf(values[COVERAGE], 2))));
+        views.sort(ORDER);
+        return views;
+    }
+
+    private record Group(PolicyStatus status, String insuranceType, String currency) {
+    }
+}
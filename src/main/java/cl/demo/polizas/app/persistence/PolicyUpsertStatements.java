@@ -0,0 +1,62 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.Optional;
+
+/**
+ * Native single-statement upserts for the {@code policies} table, one per supported database. Parameters follow the
+ * column order of {@link #COLUMNS}; an existing row keeps its {@code created_at} and gets its {@code version} bumped.
+ * An existing row is only updated while its {@code version} is still the bound one, so the statement changes no row
+ * when another write got there first.
+ */
+final class PolicyUpsertStatements {
+
+    static final String COLUMNS = "id, policy_number, client_rut, client_name, client_email, premium_amount, "
+            + "premium_currency, coverage_amount, coverage_currency, status, start_date, end_date, description, "
+            + "insurance_type, created_at, updated_at, client_rut_body, version";
+
+    private static final String UPDATED_COLUMNS = "policy_number = v.policy_number, client_rut = v.client_rut, "
+            + "client_name = v.client_name, client_email = v.client_email, premium_amount = v.premium_amount, "
+            + "premium_currency = v.premium_currency, coverage_amount = v.coverage_amount, "
+            + "coverage_currency = v.coverage_currency, status = v.status, start_date = v.start_date, "
+            + "end_date = v.end_date, description = v.description, insurance_type = v.insurance_type, "
+            + "updated_at = v.updated_at, client_rut_body = v.client_rut_body";
+
+    private static final String PARAMETERS = "?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?";
+
+    static final String H2 = "merge into policies p using (values (" + PARAMETERS + ")) v (" + COLUMNS + ") "
+            + "on p.id = v.id when matched and p.version = v.version then update set " + UPDATED_COLUMNS
+            + ", version = p.version + 1 when not matched then insert (" + COLUMNS + ") values ("
+            + COLUMNS.replaceAll("(\\w+)", "v.$1") + ")";
+
+    static final String SQLITE = "insert into policies (" + COLUMNS + ") values (" + PARAMETERS + ") "
+            + "on conflict (id) do update set " + UPDATED_COLUMNS.replace("= v.", "= excluded.")
+            + ", version = policies.version + 1 where policies.version = excluded.version";
+
+    /** {@link #H2} returning the {@code version} the row was left at; no row when the version did not match. */
+    static final String H2_RETURNING_VERSION = "select version from final table (" + H2 + ")";
+
+    /** {@link #SQLITE} returning the {@code version} the row was left at; no row when the version did not match. */
+    static final String SQLITE_RETURNING_VERSION = SQLITE + " returning version";
+
+    private PolicyUpsertStatements() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * Returns the upsert statement, returning the version the row was left at, for the database behind the given JDBC
+     * URL, or empty when the database has no supported single-statement upsert. The version tells an insert (the bound
+     * one) from an update (one more) without reading the row.
+     */
+    static Optional<String> forJdbcUrl(String jdbcUrl) {
+        if (jdbcUrl == null) {
+            return Optional.empty();
+        }
+        if (jdbcUrl.startsWith("jdbc:h2:")) {
+            return Optional.of(H2_RETURNING_VERSION);
+        }
+        if (jdbcUrl.startsWith("jdbc:sqlite:")) {
+            return Optional.of(SQLITE_RETURNING_VERSION);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,227 @@
+package cl.demo.polizas.app.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sorted set of strings answering "the first {@code n} keys starting with a prefix". Most keys live in one sorted run
+ * of UTF-8 bytes with an offset per key, searched by binary search; recent additions and removals are kept in two
+ * small sorted sets and merged into the run once they reach 1/16 of it, so a write costs a tree insertion and the
+ * linear merge is amortized. Keys are compared byte by byte, which for UTF-8 is code point order. Searches share a
+ * read lock; writes take the write lock.
+ */
+final class PrefixIndex {
+
+    private static final int MIN_PENDING = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Run ordenado: la clave i ocupa bytes[offsets[i], offsets[i + 1])
+    private byte[] bytes = new byte[0];
+    private int[] offsets = { 0 };
+    private int count;
+
+    // Cambios aún no mezclados: claves nuevas que no están en el run y claves del run eliminadas
+    private final TreeSet<byte[]> added = new TreeSet<>(Arrays::compareUnsigned);
+    private final TreeSet<byte[]> removed = new TreeSet<>(Arrays::compareUnsigned);
+
+    void add(String key) {
+        byte[] value = key.getBytes(StandardCharsets.UTF_8);
+        lock.writeLock().lock();
+        try {
+            if (!removed.remove(value) && !inRun(value)) {
+                added.add(value);
+            }
+            mergeIfLarge();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds many keys at once, merging them straight into the sorted run.
+     */
+    void addAll(Collection<String> keys) {
+        List<byte[]> values = new ArrayList<>(keys.size());
+        keys.forEach(key -> values.add(key.getBytes(StandardCharsets.UTF_8)));
+
+        lock.writeLock().lock();
+        try {
+            values.forEach(removed::remove);
+            values.addAll(added);
+            added.clear();
+            values.sort(Arrays::compareUnsigned);
+            merge(values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String key) {
+        byte[] value = key.getBytes(StandardCharsets.UTF_8);
+        lock.writeLock().lock();
+        try {
+            if (!added.remove(value) && inRun(value)) {
+                removed.add(value);
+            }
+            mergeIfLarge();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} keys starting with {@code prefix}, in ascending order.
+     */
+    List<String> startingWith(String prefix, int limit) {
+        byte[] start = prefix.getBytes(StandardCharsets.UTF_8);
+        List<String> keys = new ArrayList<>(Math.min(limit, 64));
+
+        lock.readLock().lock();
+        try {
+            // Mezclar el run con las claves nuevas, ambos ya ordenados, saltando las eliminadas
+            int index = lowerBound(start);
+            Iterator<byte[]> pending = added.tailSet(start, true).iterator();
+            byte[] next = pending.hasNext() ? pending.next() : null;
+            while (keys.size() < limit) {
+                boolean inRun = index < count && runStartsWith(index, start);
+                boolean inPending = next != null && startsWith(next, start);
+                if (!inRun && !inPending) {
+                    break;
+                }
+                if (inPending && (!inRun || compareRun(index, next) > 0)) {
+                    keys.add(new String(next, StandardCharsets.UTF_8));
+                    next = pending.hasNext() ? pending.next() : null;
+                } else {
+                    byte[] key = Arrays.copyOfRange(bytes, offsets[index], offsets[index + 1]);
+                    if (!removed.contains(key)) {
+                        keys.add(new String(key, StandardCharsets.UTF_8));
+                    }
+                    index++;
+                }
+            }
+            return keys;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return count - removed.size() + added.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes used by the sorted run; the pending changes are bounded to 1/16 of it.
+     */
+    long runSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return bytes.length + (long) offsets.length * Integer.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void mergeIfLarge() {
+        if (added.size() + removed.size() >= Math.max(MIN_PENDING, count / 16)) {
+            merge(added);
+            added.clear();
+        }
+    }
+
+    /**
+     * Rewrites the run with {@code additions}, sorted and possibly repeating keys of the run or each other, and
+     * without the pending removals.
+     */
+    private void merge(Collection<byte[]> additions) {
+        long capacity = bytes.length;
+        for (byte[] key : additions) {
+            capacity += key.length;
+        }
+        byte[] newBytes = new byte[Math.toIntExact(capacity)];
+        int[] newOffsets = new int[count + additions.size() + 1];
+        int written = 0;
+        int position = 0;
+        int index = 0;
+        Iterator<byte[]> pending = additions.iterator();
+        byte[] next = pending.hasNext() ? pending.next() : null;
+        while (index < count || next != null) {
+            int comparison = next == null ? -1 : index == count ? 1 : compareRun(index, next);
+            if (comparison > 0) {
+                System.arraycopy(next, 0, newBytes, position, next.length);
+                position += next.length;
+                newOffsets[++written] = position;
+                // Saltar las repeticiones de la clave recién copiada
+                byte[] copied = next;
+                do {
+                    next = pending.hasNext() ? pending.next() : null;
+                } while (next != null && Arrays.equals(next, copied));
+                continue;
+            }
+            if (comparison == 0) {
+                next = pending.hasNext() ? pending.next() : null;
+                continue;
+            }
+            int from = offsets[index];
+            int to = offsets[index + 1];
+            if (removed.isEmpty() || !removed.contains(Arrays.copyOfRange(bytes, from, to))) {
+                System.arraycopy(bytes, from, newBytes, position, to - from);
+                position += to - from;
+                newOffsets[++written] = position;
+            }
+            index++;
+        }
+
+        bytes = position == newBytes.length ? newBytes : Arrays.copyOf(newBytes, position);
+        offsets = written + 1 == newOffsets.length ? newOffsets : Arrays.copyOf(newOffsets, written + 1);
+        count = written;
+        removed.clear();
+    }
+
+    /**
+     * Position of the first key of the run that is not less than {@code key}.
+     */
+    private int lowerBound(byte[] key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareRun(middle, key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private boolean inRun(byte[] key) {
+        int index = lowerBound(key);
+        return index < count && compareRun(index, key) == 0;
+    }
+
+    private int compareRun(int index, byte[] key) {
+        return Arrays.compareUnsigned(bytes, offsets[index], offsets[index + 1], key, 0, key.length);
+    }
+
+    private boolean runStartsWith(int index, byte[] prefix) {
+        int from = offsets[index];
+        return offsets[index + 1] - from >= prefix.length
+                && Arrays.equals(bytes, from, from + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        return key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+}
@@ -2,7 +2,11 @@ package cl.demo.polizas.app.rest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -11,22 +15,31 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import cl.demo.polizas.application.usecase.BulkUpdatePolicyStatusUseCase;
+import cl.demo.polizas.application.usecase.CreatePoliciesBatchUseCase;
 import cl.demo.polizas.application.usecase.CreatePolicyUseCase;
+import cl.demo.polizas.application.usecase.GetPolicyStatsUseCase;
 import cl.demo.polizas.application.usecase.GetPolicyUseCase;
 import cl.demo.polizas.application.usecase.ListPoliciesUseCase;
+import cl.demo.polizas.application.usecase.SearchPoliciesUseCase;
+import cl.demo.polizas.application.usecase.SuggestPolicyNumbersUseCase;
 import cl.demo.polizas.application.usecase.UpdatePolicyStatusUseCase;
+import cl.demo.polizas.domain.repository.PolicyRepository;
 import cl.demo.polizas.domain.valueobject.Money;
 import cl.demo.polizas.domain.valueobject.PolicyId;
 import cl.demo.polizas.domain.valueobject.PolicyStatus;
 import cl.demo.polizas.domain.valueobject.Rut;
 import io.quarkus.logging.Log;
 import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DefaultValue;
@@ -49,15 +62,33 @@ public class PolicyResource {
     @Inject
     CreatePolicyUseCase createPolicyUseCase;
 
+    @Inject
+    CreatePoliciesBatchUseCase createPoliciesBatchUseCase;
+
+    @Inject
+    Validator validator;
+
     @Inject
     ListPoliciesUseCase listPoliciesUseCase;
 
     @Inject
     GetPolicyUseCase getPolicyUseCase;
 
+    @Inject
+    SearchPoliciesUseCase searchPoliciesUseCase;
+
+    @Inject
+    SuggestPolicyNumbersUseCase suggestPolicyNumbersUseCase;
+
+    @Inject
+    GetPolicyStatsUseCase getPolicyStatsUseCase;
+
     @Inject
     UpdatePolicyStatusUseCase updatePolicyStatusUseCase;
 
+    @Inject
+    BulkUpdatePolicyStatusUseCase bulkUpdatePolicyStatusUseCase;
+
     @POST @Operation(summary = "Create a new policy", description = "Creates a new insurance policy with the provided data") @APIResponses(value = {
             @APIResponse(responseCode = "201", description = "Policy created successfully", content = @Content(schema = @Schema(implementation = CreatePolicyResponse.class))),
             @APIResponse(responseCode = "400", description = "Invalid input data"),
@@ -67,10 +98,7 @@ public class PolicyResource {
             Log.info("Creating new policy: " + request.policyNumber());
 
             // Crear la póliza usando el caso de uso
-            var response = createPolicyUseCase.handle(new CreatePolicyUseCase.CreatePolicyRequest(
-                    request.policyNumber(), Rut.from(request.clientRut()), request.clientName(), request.clientEmail(),
-                    Money.of(request.premium()), Money.of(request.coverage()), request.startDate(), request.endDate(),
-                    request.description(), request.insuranceType()));
+            var response = createPolicyUseCase.handle(toUseCaseRequest(request));
 
             Log.info("Policy created successfully with ID: " + response.policyId());
 
@@ -85,17 +113,77 @@ public class PolicyResource {
         }
     }
 
-    @GET @Operation(summary = "List policies", description = "Retrieves a paginated list of policies with optional filtering") @APIResponses(value = {
+    @POST @Path("/batch") @Operation(summary = "Create policies in batch", description = "Creates many insurance policies in one call and reports the result of each item") @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Batch processed, see per-item results", content = @Content(schema = @Schema(implementation = CreatePoliciesBatchResponse.class))),
+            @APIResponse(responseCode = "400", description = "Invalid batch"),
+            @APIResponse(responseCode = "500", description = "Internal server error") })
+    public Response createPoliciesBatch(@Valid CreatePoliciesBatchRequest request) {
+        try {
+            Log.info("Creating policy batch with " + request.policies().size() + " items");
+
+            // Convertir cada ítem por separado para que un dato inválido no rechace todo el lote
+            List<CreatePolicyUseCase.CreatePolicyRequest> items = new ArrayList<>(request.policies().size());
+            List<Integer> positions = new ArrayList<>(request.policies().size());
+            List<CreatePoliciesBatchUseCase.ItemResult> results = new ArrayList<>(request.policies().size());
+
+            for (int i = 0; i < request.policies().size(); i++) {
+                CreatePolicyRequest item = request.policies().get(i);
+                try {
+                    if (item == null) {
+                        throw new IllegalArgumentException("Policy data is required");
+                    }
+                    // @Valid sobre el lote no llega a los ítems: se validan aquí para fallar solo el ítem
+                    Set<ConstraintViolation<CreatePolicyRequest>> violations = validator.validate(item);
+                    if (!violations.isEmpty()) {
+                        throw new IllegalArgumentException(violations.stream().map(ConstraintViolation::getMessage)
+                                .sorted().findFirst().orElseThrow());
+                    }
+                    items.add(toUseCaseRequest(item));
+                    positions.add(i);
+                } catch (RuntimeException e) {
+                    results.add(CreatePoliciesBatchUseCase.ItemResult.failed(i,
+                            item == null ? null : item.policyNumber(), e.getMessage()));
+                }
+            }
+
+            int created = 0;
+            if (!items.isEmpty()) {
+                var response = createPoliciesBatchUseCase
+                        .handle(new CreatePoliciesBatchUseCase.CreatePoliciesBatchRequest(items));
+                response.results().forEach(r -> results.add(r.withIndex(positions.get(r.index()))));
+                created = response.created();
+            }
+            results.sort(Comparator.comparingInt(CreatePoliciesBatchUseCase.ItemResult::index));
+
+            Log.info("Policy batch processed: " + created + " created, " + (results.size() - created) + " failed");
+
+            return Response.ok(new CreatePoliciesBatchResponse(results.size(), created, results.size() - created,
+                    results)).build();
+
+        } catch (IllegalArgumentException e) {
+            Log.warn("Invalid request for policy batch: " + e.getMessage());
+            return createErrorResponse(400, "Bad Request", e.getMessage());
+        } catch (Exception e) {
+            Log.error("Error creating policy batch", e);
+            return createErrorResponse(500, "Internal Server Error", "An unexpected error occurred");
+        }
+    }
+
+    @GET @Operation(summary = "List policies", description = "Retrieves a paginated list of policies with optional filtering. Pass the returned 'next' token as 'cursor' to fetch the following page without offset paging. 'activeOn' (yyyy-MM-dd) keeps the policies whose start and end dates include that day; 'endBetween' (yyyy-MM-dd,yyyy-MM-dd) keeps those whose end date falls in that inclusive range") @APIResponses(value = {
             @APIResponse(responseCode = "200", description = "Policies retrieved successfully", content = @Content(schema = @Schema(implementation = ListPoliciesResponse.class))),
             @APIResponse(responseCode = "400", description = "Invalid query parameters"),
             @APIResponse(responseCode = "500", description = "Internal server error") })
     public Response listPolicies(@QueryParam("page") @DefaultValue("0") @Min(0) int page,
             @QueryParam("size") @DefaultValue("10") @Min(1) @Max(100) int size, @QueryParam("status") String status,
-            @QueryParam("clientRut") String clientRut) {
+            @QueryParam("clientRut") String clientRut, @QueryParam("cursor") String cursor,
+            @QueryParam("activeOn") String activeOn, @QueryParam("endBetween") String endBetween) {
 
         try {
             Log.info("Listing policies - page: " + page + ", size: " + size);
 
+            // Parse date filters if provided
+            PolicyRepository.DateFilter dates = parseDateFilter(activeOn, endBetween);
+
             // Parse status if provided
             PolicyStatus policyStatus = null;
             if (status != null && !status.trim().isEmpty()) {
@@ -107,19 +195,93 @@ public class PolicyResource {
             }
 
             // Obtener pólizas usando el caso de uso
-            var request = new ListPoliciesUseCase.ListPoliciesRequest(page, size, policyStatus, clientRut);
+            var request = new ListPoliciesUseCase.ListPoliciesRequest(page, size, policyStatus, clientRut, cursor,
+                    dates);
             var response = listPoliciesUseCase.handle(request);
 
             Log.info("Retrieved " + response.policies().size() + " policies");
 
             return Response.ok(response).build();
 
+        } catch (IllegalArgumentException e) {
+            Log.warn("Invalid list request: " + e.getMessage());
+            return createErrorResponse(400, "Bad Request", e.getMessage());
         } catch (Exception e) {
             Log.error("Error listing policies", e);
             return createErrorResponse(500, "Internal Server Error", "An unexpected error occurred");
         }
     }
 
+    @GET @Path("/search") @Operation(summary = "Search policies", description = "Finds the policies whose client name or description contain every word of 'q', ignoring case and accents; a word also matches as the start of a longer one. Results come best match first, client name matches before description matches") @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Policies found", content = @Content(schema = @Schema(implementation = SearchPoliciesResponse.class))),
+            @APIResponse(responseCode = "400", description = "Missing query or no searchable words in it"),
+            @APIResponse(responseCode = "500", description = "Internal server error") })
+    public Response searchPolicies(@QueryParam("q") String q, @QueryParam("page") @DefaultValue("0") @Min(0) int page,
+            @QueryParam("size") @DefaultValue("10") @Min(1) @Max(100) int size) {
+
+        try {
+            Log.info("Searching policies - q: " + q + ", page: " + page + ", size: " + size);
+
+            var response = searchPoliciesUseCase.handle(new SearchPoliciesUseCase.SearchPoliciesRequest(q, page, size));
+
+            Log.info("Found " + response.total() + " policies");
+
+            return Response.ok(response).build();
+
+        } catch (IllegalArgumentException e) {
+            Log.warn("Invalid search request: " + e.getMessage());
+            return createErrorResponse(400, "Bad Request", e.getMessage());
+        } catch (Exception e) {
+            Log.error("Error searching policies", e);
+            return createErrorResponse(500, "Internal Server Error", "An unexpected error occurred");
+        }
+    }
+
+    @GET @Path("/suggest") @Operation(summary = "Suggest policy numbers", description = "Returns up to 'limit' stored policy numbers starting with 'prefix', in ascending order. The prefix is matched as written, including case") @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Suggestions found", content = @Content(schema = @Schema(implementation = SuggestPolicyNumbersResponse.class))),
+            @APIResponse(responseCode = "400", description = "Missing prefix"),
+            @APIResponse(responseCode = "500", description = "Internal server error") })
+    public Response suggestPolicyNumbers(@QueryParam("prefix") String prefix,
+            @QueryParam("limit") @DefaultValue("10") @Min(1) @Max(50) int limit) {
+
+        try {
+            Log.debug("Suggesting policy numbers - prefix: " + prefix + ", limit: " + limit);
+
+            var response = suggestPolicyNumbersUseCase
+                    .handle(new SuggestPolicyNumbersUseCase.SuggestPolicyNumbersRequest(prefix, limit));
+
+            return Response.ok(response).build();
+
+        } catch (IllegalArgumentException e) {
+            Log.warn("Invalid suggest request: " + e.getMessage());
+            return createErrorResponse(400, "Bad Request", e.getMessage());
+        } catch (Exception e) {
+            Log.error("Error suggesting policy numbers", e);
+            return createErrorResponse(500, "Internal Server Error", "An unexpected error occurred");
+        }
+    }
+
+    @GET @Path("/stats") @Operation(summary = "Get portfolio statistics", description = "Returns the policy count and the premium and coverage totals per status, insurance type and currency. With recompute=true the figures are computed from every stored policy and the maintained ones are checked against them") @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Statistics retrieved successfully", content = @Content(schema = @Schema(implementation = PolicyStatsResponse.class))),
+            @APIResponse(responseCode = "500", description = "Internal server error") })
+    public Response getPolicyStats(@QueryParam("recompute") @DefaultValue("false") boolean recompute) {
+        try {
+            Log.info("Getting policy stats - recompute: " + recompute);
+
+            var response = getPolicyStatsUseCase.handle(new GetPolicyStatsUseCase.GetPolicyStatsRequest(recompute));
+
+            if (response.recomputed()) {
+                Log.info("Policy stats recomputed, drift: " + response.drift());
+            }
+
+            return Response.ok(response).build();
+
+        } catch (Exception e) {
+            Log.error("Error getting policy stats", e);
+            return createErrorResponse(500, "Internal Server Error", "An unexpected error occurred");
+        }
+    }
+
     @GET @Path("/{id}") @Operation(summary = "Get policy by ID", description = "Retrieves a specific policy by its unique identifier") @APIResponses(value = {
             @APIResponse(responseCode = "200", description = "Policy retrieved successfully", content = @Content(schema = @Schema(implementation = GetPolicyResponse.class))),
             @APIResponse(responseCode = "400", description = "Invalid policy ID"),
@@ -158,7 +320,7 @@ public class PolicyResource {
             @APIResponse(responseCode = "200", description = "Policy status updated successfully", content = @Content(schema = @Schema(implementation = UpdatePolicyStatusResponse.class))),
             @APIResponse(responseCode = "400", description = "Invalid request data"),
             @APIResponse(responseCode = "404", description = "Policy not found"),
-            @APIResponse(responseCode = "409", description = "Status transition not allowed"),
+            @APIResponse(responseCode = "409", description = "Status transition not allowed or policy modified concurrently"),
             @APIResponse(responseCode = "500", description = "Internal server error") })
     public Response updatePolicyStatus(@PathParam("id") String id, @Valid UpdatePolicyStatusRequest request) {
 
@@ -201,6 +363,93 @@ public class PolicyResource {
         }
     }
 
+    @PUT @Path("/status") @Operation(summary = "Update the status of many policies", description = "Moves every policy selected by ID or by filter (currentStatus, clientRut, insuranceType) to the given status. Policies whose current status does not allow the transition are left unchanged") @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Bulk update applied, see the number of policies changed", content = @Content(schema = @Schema(implementation = BulkUpdatePolicyStatusUseCase.BulkUpdatePolicyStatusResponse.class))),
+            @APIResponse(responseCode = "400", description = "Invalid request data"),
+            @APIResponse(responseCode = "500", description = "Internal server error") })
+    public Response bulkUpdatePolicyStatus(@Valid BulkUpdatePolicyStatusRequest request) {
+        try {
+            Log.info("Bulk updating policy status to: " + request.status());
+
+            // Validar y parsear los estados
+            PolicyStatus newStatus = parseStatus(request.status());
+            PolicyStatus currentStatus = request.currentStatus() == null || request.currentStatus().trim().isEmpty()
+                    ? null
+                    : parseStatus(request.currentStatus());
+
+            // Validar y parsear los IDs
+            List<PolicyId> policyIds = new ArrayList<>();
+            if (request.policyIds() != null) {
+                for (String id : request.policyIds()) {
+                    try {
+                        policyIds.add(PolicyId.from(id));
+                    } catch (IllegalArgumentException e) {
+                        return createErrorResponse(400, "Bad Request", "Invalid policy ID format: " + id);
+                    }
+                }
+            }
+
+            var response = bulkUpdatePolicyStatusUseCase
+                    .handle(new BulkUpdatePolicyStatusUseCase.BulkUpdatePolicyStatusRequest(newStatus, policyIds,
+                            currentStatus, request.clientRut(), request.insuranceType()));
+
+            Log.info("Bulk status update changed " + response.updated() + " policies");
+
+            return Response.ok(response).build();
+
+        } catch (IllegalArgumentException e) {
+            Log.warn("Invalid bulk status request: " + e.getMessage());
+            return createErrorResponse(400, "Bad Request", e.getMessage());
+        } catch (Exception e) {
+            Log.error("Error bulk updating policy status", e);
+            return createErrorResponse(500, "Internal Server Error", "An unexpected error occurred");
+        }
+    }
+
+    private static PolicyStatus parseStatus(String status) {
+        try {
+            return PolicyStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+    }
+
+    /**
+     * Parses {@code activeOn} ("2025-03-01") and {@code endBetween} ("2025-03-01,2025-03-31"), both optional.
+     */
+    private static PolicyRepository.DateFilter parseDateFilter(String activeOn, String endBetween) {
+        LocalDate activeDate = hasText(activeOn) ? parseDate(activeOn) : null;
+        LocalDate endFrom = null;
+        LocalDate endTo = null;
+        if (hasText(endBetween)) {
+            String[] bounds = endBetween.split(",", -1);
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException("Invalid endBetween, expected from,to: " + endBetween);
+            }
+            endFrom = parseDate(bounds[0]);
+            endTo = parseDate(bounds[1]);
+        }
+        return new PolicyRepository.DateFilter(activeDate, endFrom, endTo);
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + date);
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private CreatePolicyUseCase.CreatePolicyRequest toUseCaseRequest(CreatePolicyRequest request) {
+        return new CreatePolicyUseCase.CreatePolicyRequest(request.policyNumber(), Rut.from(request.clientRut()),
+                request.clientName(), request.clientEmail(), Money.of(request.premium()), Money.of(request.coverage()),
+                request.startDate(), request.endDate(), request.description(), request.insuranceType());
+    }
+
     /**
      * Creates a standardized error response following RFC 7807.
      */
@@ -221,18 +470,37 @@ public class PolicyResource {
             @NotNull(message = "End date is required") LocalDate endDate, String description, String insuranceType) {
     }
 
+    public record CreatePoliciesBatchRequest(
+            @NotEmpty(message = "At least one policy is required") List<CreatePolicyRequest> policies) {
+    }
+
     public record UpdatePolicyStatusRequest(@NotBlank(message = "Status is required") String status) {
     }
 
+    public record BulkUpdatePolicyStatusRequest(@NotBlank(message = "Status is required") String status,
+            List<String> policyIds, String currentStatus, String clientRut, String insuranceType) {
+    }
+
     // Response DTOs
     public record CreatePolicyResponse(String policyId, String policyNumber, String status,
             java.time.LocalDateTime createdAt) {
     }
 
+    public record CreatePoliciesBatchResponse(int total, int created, int failed,
+            List<CreatePoliciesBatchUseCase.ItemResult> results) {
+    }
+
     public record ListPoliciesResponse(List<PolicySummaryDto> policies, int page, int size, long total,
+            int totalPages, String next) {
+    }
+
+    public record SearchPoliciesResponse(List<PolicySummaryDto> policies, int page, int size, long total,
             int totalPages) {
     }
 
+    public record SuggestPolicyNumbersResponse(String prefix, List<String> suggestions) {
+    }
+
     public record PolicySummaryDto(String policyId, String policyNumber, String clientName, String clientRut,
             String premium, String coverage, String status, LocalDate startDate, LocalDate endDate,
             String insuranceType, java.time.LocalDateTime createdAt) {
@@ -244,6 +512,13 @@ public class PolicyResource {
             java.time.LocalDateTime updatedAt) {
     }
 
+    public record PolicyStatsResponse(List<PolicyStatsDto> groups, long policies, boolean recomputed, Long drift) {
+    }
+
+    public record PolicyStatsDto(String status, String insuranceType, String currency, long policies,
+            BigDecimal premium, BigDecimal coverage) {
+    }
+
     public record UpdatePolicyStatusResponse(String policyId, String policyNumber, String oldStatus, String newStatus,
             java.time.LocalDateTime updatedAt) {
     }
@@ -0,0 +1,121 @@
+package cl.demo.polizas.app.scheduler;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import cl.demo.polizas.app.events.DomainEventBus;
+import cl.demo.polizas.application.usecase.ActivatePoliciesUseCase;
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.repository.PolicyRepository.PendingActivation;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.seedwork.domain.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Activates PENDING policies when their start date arrives. Start dates are kept in an in-memory {@link TimingWheel}:
+ * loaded once at startup, added when a policy is created and removed when its status changes by other means, both
+ * from the {@link DomainEventBus} once the change commits. Each tick only advances the wheel; the database is touched
+ * only when some policies are due.
+ */
+@ApplicationScoped
+public class PolicyActivationScheduler {
+
+    private final boolean enabled;
+    private final PolicyRepository policyRepository;
+    private final DomainEventBus eventBus;
+    private final ActivatePoliciesUseCase activatePoliciesUseCase;
+    private final TimingWheel<PolicyId> wheel;
+    private final Counter activated;
+
+    @Inject
+    public PolicyActivationScheduler(
+            @ConfigProperty(name = "policies.activation.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "policies.activation.tick", defaultValue = "60s") Duration tick,
+            PolicyRepository policyRepository, DomainEventBus eventBus,
+            ActivatePoliciesUseCase activatePoliciesUseCase, MeterRegistry registry) {
+        this.enabled = enabled;
+        this.policyRepository = policyRepository;
+        this.eventBus = eventBus;
+        this.activatePoliciesUseCase = activatePoliciesUseCase;
+        this.wheel = new TimingWheel<>(tick.toMillis(), System.currentTimeMillis());
+
+        this.activated = Counter.builder("policies.activation.activated")
+                .description("Policies activated automatically on their start date").register(registry);
+        Gauge.builder("policies.activation.scheduled", this, s -> s.wheel.size())
+                .description("PENDING policies waiting for their start date").register(registry);
+    }
+
+    /**
+     * Subscribes to the policy events and loads the start date of every PENDING policy. Policies created while loading
+     * are also scheduled from their event; scheduling the same policy twice keeps a single timer.
+     */
+    void load(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        eventBus.subscribe("policy-activation", Set.of("PolicyCreated", "PolicyStatusUpdated", "PolicyCancelled",
+                "PolicyActivated", "PolicyExpired"), this::onEvent);
+
+        List<PendingActivation> pending = policyRepository.findPendingActivations();
+        pending.forEach(activation -> schedule(activation.policyId(), activation.startDate()));
+        Log.infof("Policy activation scheduler loaded %d pending policies", pending.size());
+    }
+
+    /**
+     * Schedules new policies and drops the timer of any policy whose status changes before its start date. Runs on the
+     * event bus thread.
+     */
+    private void onEvent(DomainEvent event, boolean endOfBatch) {
+        PolicyId policyId = PolicyId.from(event.aggregateId());
+        if (event instanceof Policy.PolicyCreatedEvent created) {
+            schedule(policyId, created.getStartDate());
+        } else {
+            // Ninguna transición vuelve a PENDING, así que cualquier cambio de estado descarta la activación programada
+            wheel.cancel(policyId);
+        }
+    }
+
+    @Scheduled(identity = "policy-activation", every = "{policies.activation.tick}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void tick() {
+        if (!enabled) {
+            return;
+        }
+
+        List<PolicyId> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        try {
+            long count = activatePoliciesUseCase.handle(new ActivatePoliciesUseCase.ActivatePoliciesRequest(due))
+                    .activated();
+            activated.increment(count);
+            Log.infof("Activated %d of %d policies due", count, due.size());
+        } catch (RuntimeException e) {
+            // Reprogramar para el próximo tick; las que alcanzaron a activarse se descartan al releerlas
+            long now = System.currentTimeMillis();
+            due.forEach(policyId -> wheel.schedule(policyId, now));
+            Log.errorf(e, "Policy activation failed, %d policies will be retried", due.size());
+        }
+    }
+
+    private void schedule(PolicyId policyId, LocalDate startDate) {
+        wheel.schedule(policyId, startDate.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
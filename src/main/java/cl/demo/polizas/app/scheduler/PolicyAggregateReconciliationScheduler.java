@@ -0,0 +1,43 @@
+package cl.demo.polizas.app.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+import cl.demo.polizas.app.persistence.PolicyCounts;
+import cl.demo.polizas.app.persistence.PolicyStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Checks the incrementally maintained policy counts and portfolio stats against the table every
+ * {@code policies.aggregates.reconcile-every}. Differences are repaired and reported by {@link PolicyCounts} and
+ * {@link PolicyStats}; each run is recorded in {@code policies.aggregates.reconcile.duration}.
+ */
+@ApplicationScoped
+public class PolicyAggregateReconciliationScheduler {
+
+    private final PolicyCounts policyCounts;
+    private final PolicyStats policyStats;
+    private final Timer duration;
+
+    @Inject
+    public PolicyAggregateReconciliationScheduler(PolicyCounts policyCounts, PolicyStats policyStats,
+            MeterRegistry registry) {
+        this.policyCounts = policyCounts;
+        this.policyStats = policyStats;
+        this.duration = Timer.builder("policies.aggregates.reconcile.duration")
+                .description("Duration of each reconciliation of the policy counts and stats").register(registry);
+    }
+
+    // SKIP: una reconciliación lenta no se solapa con la siguiente
+    @Scheduled(identity = "policy-aggregate-reconciliation", every = "{policies.aggregates.reconcile-every}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void reconcile() {
+        long start = System.nanoTime();
+        policyCounts.reconcile();
+        policyStats.reconcile();
+        duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,48 @@
+package cl.demo.polizas.app.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+import cl.demo.polizas.application.usecase.ExpirePoliciesUseCase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Runs the policy expiry sweep every {@code policies.expiry.every}. Each run is recorded in
+ * {@code policies.expiry.rows} (policies expired) and {@code policies.expiry.duration}.
+ */
+@ApplicationScoped
+public class PolicyExpiryScheduler {
+
+    private final ExpirePoliciesUseCase expirePoliciesUseCase;
+    private final DistributionSummary rows;
+    private final Timer duration;
+
+    @Inject
+    public PolicyExpiryScheduler(ExpirePoliciesUseCase expirePoliciesUseCase, MeterRegistry registry) {
+        this.expirePoliciesUseCase = expirePoliciesUseCase;
+        this.rows = DistributionSummary.builder("policies.expiry.rows").baseUnit("policies")
+                .description("Policies moved to EXPIRED per sweep").register(registry);
+        this.duration = Timer.builder("policies.expiry.duration").description("Duration of each expiry sweep")
+                .register(registry);
+    }
+
+    // SKIP: si una pasada tarda más que el intervalo, la siguiente no se solapa con ella
+    @Scheduled(identity = "policy-expiry", every = "{policies.expiry.every}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void sweep() {
+        long start = System.nanoTime();
+        long expired = expirePoliciesUseCase.handle(new ExpirePoliciesUseCase.ExpirePoliciesRequest(null)).expired();
+        long elapsed = System.nanoTime() - start;
+
+        rows.record(expired);
+        duration.record(elapsed, TimeUnit.NANOSECONDS);
+        if (expired > 0) {
+            Log.infof("Expired %d policies in %d ms", expired, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+}
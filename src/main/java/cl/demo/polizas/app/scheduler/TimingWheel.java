@@ -0,0 +1,151 @@
+package cl.demo.polizas.app.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: {@value #LEVELS} levels of {@value #SLOTS} slots, each level {@value #SLOTS} times
+ * coarser than the one below. A timer sits in the level given by the highest tick digit in which its deadline differs
+ * from the current tick, and moves down a level when the wheel enters its block, so scheduling and cancelling are O(1)
+ * and advancing touches only the slots that are due. Keys are unique: scheduling a key again replaces its timer.
+ * Thread-safe.
+ */
+final class TimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 7;
+
+    private final long tickMillis;
+    private final Node<K>[][] slots;
+    private final Map<K, Node<K>> timers = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.slots = new Node[LEVELS][SLOTS];
+        for (Node<K>[] level : slots) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = Node.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Schedules {@code key} to be returned by {@link #advance} once the wheel reaches {@code deadlineMillis}. A
+     * deadline that has already passed fires on the next tick.
+     */
+    synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+
+        // Redondear hacia arriba: un timer nunca vence antes de su plazo
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        if ((tick ^ currentTick) >>> (SLOT_BITS * LEVELS) != 0) {
+            throw new IllegalArgumentException("Deadline is beyond the wheel horizon: " + deadlineMillis);
+        }
+
+        Node<K> node = new Node<>(key, tick);
+        timers.put(key, node);
+        place(node);
+    }
+
+    /**
+     * Removes the timer of {@code key}, if any. Returns whether there was one.
+     */
+    synchronized boolean cancel(K key) {
+        Node<K> node = timers.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.unlink();
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns the keys whose deadline was reached, in deadline order.
+     */
+    synchronized List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Al entrar en un bloque nuevo de un nivel, sus timers bajan a niveles más finos
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(slots[level][(int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK]);
+                }
+            }
+
+            Node<K> head = slots[0][(int) currentTick & SLOT_MASK];
+            for (Node<K> node = head.next; node != head; node = head.next) {
+                node.unlink();
+                timers.remove(node.key);
+                due.add(node.key);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Returns the number of scheduled timers.
+     */
+    synchronized int size() {
+        return timers.size();
+    }
+
+    private void cascade(Node<K> head) {
+        for (Node<K> node = head.next; node != head; node = head.next) {
+            node.unlink();
+            place(node);
+        }
+    }
+
+    private void place(Node<K> node) {
+        long differing = node.tick ^ currentTick;
+        int level = differing == 0 ? 0 : (63 - Long.numberOfLeadingZeros(differing)) / SLOT_BITS;
+        node.linkBefore(slots[level][(int) (node.tick >>> (SLOT_BITS * level)) & SLOT_MASK]);
+    }
+
+    /**
+     * Entry of a slot's circular doubly linked list; each slot has a sentinel head.
+     */
+    private static final class Node<K> {
+
+        private final K key;
+        private final long tick;
+        private Node<K> prev = this;
+        private Node<K> next = this;
+
+        private Node(K key, long tick) {
+            this.key = key;
+            this.tick = tick;
+        }
+
+        private static <K> Node<K> sentinel() {
+            return new Node<>(null, -1);
+        }
+
+        private void linkBefore(Node<K> head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = this;
+            next = this;
+        }
+    }
+}
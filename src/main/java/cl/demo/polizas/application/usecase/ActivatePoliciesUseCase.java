@@ -0,0 +1,81 @@
+package cl.demo.polizas.application.usecase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.seedwork.application.Command;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Use Case for activating PENDING policies whose start date has arrived. Policies are loaded and activated through
+ * {@link Policy#activate()} in chunks of {@code policies.activation.chunk-size}; each chunk is written in one
+ * transaction together with the PolicyActivated events, and a policy changed by someone else since it was read is
+ * left as it is.
+ */
+@ApplicationScoped
+public final class ActivatePoliciesUseCase implements
+        Command<ActivatePoliciesUseCase.ActivatePoliciesRequest, ActivatePoliciesUseCase.ActivatePoliciesResponse> {
+
+    private final PolicyRepository policyRepository;
+    private final int chunkSize;
+
+    @Inject
+    public ActivatePoliciesUseCase(PolicyRepository policyRepository,
+            @ConfigProperty(name = "policies.activation.chunk-size", defaultValue = "500") int chunkSize) {
+        this.policyRepository = policyRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public String getName() {
+        return "ActivatePolicies";
+    }
+
+    @Override
+    public ActivatePoliciesResponse handle(ActivatePoliciesRequest request) {
+        // Validar request
+        if (request == null || request.policyIds() == null) {
+            throw new IllegalArgumentException("Policy IDs are required");
+        }
+
+        List<PolicyId> ids = request.policyIds().stream().distinct().toList();
+        long activated = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            activated += activateChunk(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+
+        return new ActivatePoliciesResponse(activated);
+    }
+
+    private int activateChunk(List<PolicyId> ids) {
+        // Activar en el dominio solo las que siguen pendientes; las demás cambiaron desde que se programaron
+        List<Policy> toActivate = new ArrayList<>(ids.size());
+        for (Policy policy : policyRepository.findAllById(ids)) {
+            if (policy.getStatus().canBeActivated()) {
+                policy.activate();
+                toActivate.add(policy);
+            }
+        }
+
+        if (toActivate.isEmpty()) {
+            return 0;
+        }
+
+        return policyRepository.updateStatuses(toActivate, PolicyStatus.PENDING).size();
+    }
+
+    // Request DTO
+    public record ActivatePoliciesRequest(List<PolicyId> policyIds) {
+    }
+
+    // Response DTO
+    public record ActivatePoliciesResponse(long activated) {
+    }
+}
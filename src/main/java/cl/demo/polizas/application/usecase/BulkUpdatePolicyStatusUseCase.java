@@ -0,0 +1,104 @@
+package cl.demo.polizas.application.usecase;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.seedwork.application.Command;
+import cl.demo.polizas.seedwork.domain.Clock;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Use Case for moving many policies to a new status at once, selected either by ID or by filter. Policies are never
+ * loaded: the allowed source statuses come from {@link Policy#allowedSourcesOf}, and every chunk is one set-based
+ * update in its own transaction. Policies whose current status does not allow the transition are left unchanged.
+ */
+@ApplicationScoped
+public final class BulkUpdatePolicyStatusUseCase implements
+        Command<BulkUpdatePolicyStatusUseCase.BulkUpdatePolicyStatusRequest, BulkUpdatePolicyStatusUseCase.BulkUpdatePolicyStatusResponse> {
+
+    private final PolicyRepository policyRepository;
+    private final int chunkSize;
+    private final int maxIds;
+
+    @Inject
+    public BulkUpdatePolicyStatusUseCase(PolicyRepository policyRepository,
+            @ConfigProperty(name = "policies.bulk-status.chunk-size", defaultValue = "500") int chunkSize,
+            @ConfigProperty(name = "policies.bulk-status.max-ids", defaultValue = "10000") int maxIds) {
+        this.policyRepository = policyRepository;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+    }
+
+    @Override
+    public String getName() {
+        return "BulkUpdatePolicyStatus";
+    }
+
+    @Override
+    public BulkUpdatePolicyStatusResponse handle(BulkUpdatePolicyStatusRequest request) {
+        // Validar request
+        if (request == null || request.newStatus() == null) {
+            throw new IllegalArgumentException("New status is required");
+        }
+
+        boolean byIds = request.policyIds() != null && !request.policyIds().isEmpty();
+        boolean byFilter = request.currentStatus() != null || hasText(request.clientRut())
+                || hasText(request.insuranceType());
+        if (byIds == byFilter) {
+            throw new IllegalArgumentException("Provide either a list of policy IDs or at least one filter");
+        }
+
+        if (byIds && request.policyIds().size() > maxIds) {
+            throw new IllegalArgumentException("A bulk update cannot contain more than " + maxIds + " policy IDs");
+        }
+
+        // Estados de origen permitidos, acotados al filtro de estado si viene
+        Set<PolicyStatus> fromStatuses = EnumSet.noneOf(PolicyStatus.class);
+        fromStatuses.addAll(Policy.allowedSourcesOf(request.newStatus()));
+        if (request.currentStatus() != null) {
+            fromStatuses.retainAll(Set.of(request.currentStatus()));
+        }
+
+        LocalDateTime updatedAt = Clock.SYSTEM.nowLocal();
+        long updated = 0;
+
+        if (byIds) {
+            List<PolicyId> ids = request.policyIds().stream().distinct().toList();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                updated += policyRepository.updateStatusByIds(ids.subList(from, Math.min(from + chunkSize, ids.size())),
+                        fromStatuses, request.newStatus(), updatedAt);
+            }
+        } else {
+            int changed;
+            do {
+                changed = policyRepository.updateStatusByFilter(request.clientRut(), request.insuranceType(),
+                        fromStatuses, request.newStatus(), updatedAt, chunkSize);
+                updated += changed;
+            } while (changed > 0);
+        }
+
+        return new BulkUpdatePolicyStatusResponse(request.newStatus().getDisplayName(), updated);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    // Request DTO
+    public record BulkUpdatePolicyStatusRequest(PolicyStatus newStatus, List<PolicyId> policyIds,
+            PolicyStatus currentStatus, String clientRut, String insuranceType) {
+    }
+
+    // Response DTO
+    public record BulkUpdatePolicyStatusResponse(String newStatus, long updated) {
+    }
+}
@@ -0,0 +1,164 @@
+package cl.demo.polizas.application.usecase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.seedwork.application.Command;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Use Case for creating many insurance policies in one call. Every item is validated on its own and valid items are
+ * persisted in chunked transactions, so one bad item never rejects the whole batch.
+ */
+@ApplicationScoped
+public final class CreatePoliciesBatchUseCase implements
+        Command<CreatePoliciesBatchUseCase.CreatePoliciesBatchRequest, CreatePoliciesBatchUseCase.CreatePoliciesBatchResponse> {
+
+    private final PolicyRepository policyRepository;
+    private final int chunkSize;
+    private final int maxItems;
+
+    @Inject
+    public CreatePoliciesBatchUseCase(PolicyRepository policyRepository,
+            @ConfigProperty(name = "policies.batch.chunk-size", defaultValue = "500") int chunkSize,
+            @ConfigProperty(name = "policies.batch.max-items", defaultValue = "10000") int maxItems) {
+        this.policyRepository = policyRepository;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    @Override
+    public String getName() {
+        return "CreatePoliciesBatch";
+    }
+
+    @Override
+    public CreatePoliciesBatchResponse handle(CreatePoliciesBatchRequest request) {
+        // Validar request
+        if (request == null || request.policies() == null || request.policies().isEmpty()) {
+            throw new IllegalArgumentException("At least one policy is required");
+        }
+
+        if (request.policies().size() > maxItems) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + maxItems + " policies");
+        }
+
+        List<CreatePolicyUseCase.CreatePolicyRequest> items = request.policies();
+        ItemResult[] results = new ItemResult[items.size()];
+        Set<String> seenNumbers = new HashSet<>();
+        List<PendingItem> chunk = new ArrayList<>(Math.min(chunkSize, items.size()));
+
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+
+            var validationResult = CreatePolicyUseCase.validateRequest(item);
+            if (validationResult.isFailure()) {
+                results[i] = ItemResult.failed(i, item == null ? null : item.policyNumber(),
+                        validationResult.getFirstError());
+                continue;
+            }
+
+            if (!seenNumbers.add(item.policyNumber())) {
+                results[i] = ItemResult.failed(i, item.policyNumber(), "Duplicate policy number in batch");
+                continue;
+            }
+
+            try {
+                chunk.add(new PendingItem(i, Policy.create(item.policyNumber(), item.clientRut(), item.clientName(),
+                        item.clientEmail(), item.premium(), item.coverage(), item.startDate(), item.endDate(),
+                        item.description(), item.insuranceType())));
+            } catch (RuntimeException e) {
+                results[i] = ItemResult.failed(i, item.policyNumber(), e.getMessage());
+            }
+
+            if (chunk.size() == chunkSize) {
+                persistChunk(chunk, results);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, results);
+        }
+
+        int created = (int) Arrays.stream(results).filter(ItemResult::created).count();
+        return new CreatePoliciesBatchResponse(results.length, created, results.length - created,
+                List.of(results));
+    }
+
+    /**
+     * Persists one chunk in its own transaction. If the chunk is rejected as a whole (for example a concurrent insert
+     * of the same policy number), the items are retried one by one so each one gets an accurate result.
+     */
+    private void persistChunk(List<PendingItem> chunk, ItemResult[] results) {
+        // Descartar números que ya existen con una sola consulta por chunk
+        Set<String> existing = policyRepository
+                .findExistingPolicyNumbers(chunk.stream().map(p -> p.policy().getPolicyNumber()).toList());
+
+        List<PendingItem> toSave = new ArrayList<>(chunk.size());
+        for (PendingItem pending : chunk) {
+            if (existing.contains(pending.policy().getPolicyNumber())) {
+                results[pending.index()] = ItemResult.failed(pending.index(), pending.policy().getPolicyNumber(),
+                        "Policy number already exists");
+            } else {
+                toSave.add(pending);
+            }
+        }
+
+        if (toSave.isEmpty()) {
+            return;
+        }
+
+        try {
+            policyRepository.saveAll(toSave.stream().map(PendingItem::policy).toList());
+            toSave.forEach(pending -> results[pending.index()] = ItemResult.created(pending.index(), pending.policy()));
+        } catch (RuntimeException chunkFailure) {
+            for (PendingItem pending : toSave) {
+                try {
+                    policyRepository.save(pending.policy());
+                    results[pending.index()] = ItemResult.created(pending.index(), pending.policy());
+                } catch (RuntimeException e) {
+                    results[pending.index()] = ItemResult.failed(pending.index(),
+                            pending.policy().getPolicyNumber(), "Policy could not be persisted");
+                }
+            }
+        }
+    }
+
+    private record PendingItem(int index, Policy policy) {
+    }
+
+    // Request DTO
+    public record CreatePoliciesBatchRequest(List<CreatePolicyUseCase.CreatePolicyRequest> policies) {
+    }
+
+    // Response DTO
+    public record CreatePoliciesBatchResponse(int total, int created, int failed, List<ItemResult> results) {
+    }
+
+    // Per-item result DTO
+    public record ItemResult(int index, String policyNumber, boolean created, String policyId, String status,
+            String error) {
+
+        static ItemResult created(int index, Policy policy) {
+            return new ItemResult(index, policy.getPolicyNumber(), true, policy.id().toString(),
+                    policy.getStatus().getDisplayName(), null);
+        }
+
+        public static ItemResult failed(int index, String policyNumber, String error) {
+            return new ItemResult(index, policyNumber, false, null, null, error);
+        }
+
+        public ItemResult withIndex(int newIndex) {
+            return new ItemResult(newIndex, policyNumber, created, policyId, status, error);
+        }
+    }
+}
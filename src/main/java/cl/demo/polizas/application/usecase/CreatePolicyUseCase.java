@@ -40,6 +40,11 @@ public final class CreatePolicyUseCase implements Command<CreatePolicyUseCase.Cr
             throw new IllegalArgumentException(validationResult.getFirstError());
         }
 
+        // Verificar unicidad del número de póliza
+        if (policyRepository.existsByPolicyNumber(request.policyNumber())) {
+            throw new IllegalArgumentException("Policy number already exists");
+        }
+
         // Crear la póliza usando el dominio
         Policy policy = Policy.create(
                 request.policyNumber(),
@@ -54,7 +59,7 @@ public final class CreatePolicyUseCase implements Command<CreatePolicyUseCase.Cr
                 request.insuranceType()
         );
 
-        // Guardar en el repositorio
+        // Guardar en el repositorio junto con sus eventos de dominio
         policyRepository.save(policy);
 
         // Retornar respuesta exitosa
@@ -66,7 +71,10 @@ public final class CreatePolicyUseCase implements Command<CreatePolicyUseCase.Cr
         );
     }
 
-    private Result<Void> validateRequest(CreatePolicyRequest request) {
+    /**
+     * Validates a creation request. Shared with {@link CreatePoliciesBatchUseCase} so both paths apply the same rules.
+     */
+    static Result<Void> validateRequest(CreatePolicyRequest request) {
         if (request == null) {
             return Result.fail("Request cannot be null");
         }
@@ -0,0 +1,62 @@
+package cl.demo.polizas.application.usecase;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.seedwork.application.Command;
+import cl.demo.polizas.seedwork.domain.Clock;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Use Case for moving every policy past its end date to EXPIRED. Due policies are taken in chunks of
+ * {@code policies.expiry.chunk-size}, each one a single set-based update in its own short transaction that also
+ * stores a {@link Policy.PolicyExpiredEvent} for every policy it expires.
+ */
+@ApplicationScoped
+public final class ExpirePoliciesUseCase implements
+        Command<ExpirePoliciesUseCase.ExpirePoliciesRequest, ExpirePoliciesUseCase.ExpirePoliciesResponse> {
+
+    private final PolicyRepository policyRepository;
+    private final int chunkSize;
+
+    @Inject
+    public ExpirePoliciesUseCase(PolicyRepository policyRepository,
+            @ConfigProperty(name = "policies.expiry.chunk-size", defaultValue = "500") int chunkSize) {
+        this.policyRepository = policyRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public String getName() {
+        return "ExpirePolicies";
+    }
+
+    @Override
+    public ExpirePoliciesResponse handle(ExpirePoliciesRequest request) {
+        LocalDate today = request != null && request.today() != null ? request.today() : Clock.SYSTEM.today();
+        LocalDateTime updatedAt = Clock.SYSTEM.nowLocal();
+        long expired = 0;
+
+        // Un chunk incompleto significa que no quedan pólizas vencidas
+        int chunk;
+        do {
+            chunk = policyRepository.expireDue(today, chunkSize, updatedAt).size();
+            expired += chunk;
+        } while (chunk == chunkSize);
+
+        return new ExpirePoliciesResponse(expired);
+    }
+
+    // Request DTO
+    public record ExpirePoliciesRequest(LocalDate today) {
+    }
+
+    // Response DTO
+    public record ExpirePoliciesResponse(long expired) {
+    }
+}
@@ -0,0 +1,62 @@
+package cl.demo.polizas.application.usecase;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import cl.demo.polizas.domain.repository.PolicyReadRepository;
+import cl.demo.polizas.domain.repository.PolicyReadRepository.PolicyStatsView;
+import cl.demo.polizas.seedwork.application.Query;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Use Case for retrieving portfolio figures: policy count, premium total and coverage total per status, insurance type
+ * and currency. Reads the incrementally maintained figures, or recomputes them from every stored policy on request,
+ * reporting how far the maintained ones were.
+ */
+@ApplicationScoped
+public final class GetPolicyStatsUseCase
+        implements Query<GetPolicyStatsUseCase.GetPolicyStatsRequest, GetPolicyStatsUseCase.GetPolicyStatsResponse> {
+
+    private final PolicyReadRepository policyReadRepository;
+
+    @Inject
+    public GetPolicyStatsUseCase(PolicyReadRepository policyReadRepository) {
+        this.policyReadRepository = policyReadRepository;
+    }
+
+    @Override
+    public String getName() {
+        return "GetPolicyStats";
+    }
+
+    @Override
+    public GetPolicyStatsResponse handle(GetPolicyStatsRequest request) {
+        if (request != null && request.recompute()) {
+            var recomputed = policyReadRepository.recomputeStats();
+            return toResponse(recomputed.stats(), true, recomputed.drift());
+        }
+        return toResponse(policyReadRepository.findStats(), false, null);
+    }
+
+    private static GetPolicyStatsResponse toResponse(List<PolicyStatsView> views, boolean recomputed, Long drift) {
+        List<PolicyStatsDto> groups = views.stream()
+                .map(view -> new PolicyStatsDto(view.status().name(), view.insuranceType(), view.currency(),
+                        view.policies(), view.premium(), view.coverage()))
+                .toList();
+        long policies = views.stream().mapToLong(PolicyStatsView::policies).sum();
+        return new GetPolicyStatsResponse(groups, policies, recomputed, drift);
+    }
+
+    // Request DTO
+    public record GetPolicyStatsRequest(boolean recompute) {
+    }
+
+    // Response DTO; drift is only set when the figures were recomputed
+    public record GetPolicyStatsResponse(List<PolicyStatsDto> groups, long policies, boolean recomputed, Long drift) {
+    }
+
+    public record PolicyStatsDto(String status, String insuranceType, String currency, long policies,
+            BigDecimal premium, BigDecimal coverage) {
+    }
+}
@@ -1,24 +1,28 @@
 package cl.demo.polizas.application.usecase;
 
-import cl.demo.polizas.domain.model.Policy;
+import java.math.BigDecimal;
+
+import cl.demo.polizas.domain.repository.PolicyReadRepository;
+import cl.demo.polizas.domain.repository.PolicyReadRepository.PolicyDetailView;
+import cl.demo.polizas.domain.valueobject.Money;
 import cl.demo.polizas.domain.valueobject.PolicyId;
 import cl.demo.polizas.seedwork.application.Query;
-import cl.demo.polizas.domain.repository.PolicyRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 /**
- * Use Case for retrieving a specific insurance policy. Implements the Query pattern for read-only operations.
+ * Use Case for retrieving a specific insurance policy. Implements the Query pattern for read-only operations. Reads a
+ * projection of the policy columns instead of loading the aggregate.
  */
 @ApplicationScoped
 public final class GetPolicyUseCase
         implements Query<GetPolicyUseCase.GetPolicyRequest, GetPolicyUseCase.GetPolicyResponse> {
 
-    private final PolicyRepository policyRepository;
+    private final PolicyReadRepository policyReadRepository;
 
     @Inject
-    public GetPolicyUseCase(PolicyRepository policyRepository) {
-        this.policyRepository = policyRepository;
+    public GetPolicyUseCase(PolicyReadRepository policyReadRepository) {
+        this.policyReadRepository = policyReadRepository;
     }
 
     @Override
@@ -38,19 +42,23 @@ public final class GetPolicyUseCase
         }
 
         // Buscar la póliza en el repositorio
-        Policy policy = policyRepository.findById(request.policyId())
+        PolicyDetailView policy = policyReadRepository.findDetailById(request.policyId())
                 .orElseThrow(() -> new IllegalArgumentException("Policy not found with ID: " + request.policyId()));
 
         // Mapear a DTO de respuesta
         return mapToPolicyResponse(policy);
     }
 
-    private GetPolicyResponse mapToPolicyResponse(Policy policy) {
-        return new GetPolicyResponse(policy.id().toString(), policy.getPolicyNumber(), policy.getClientName(),
-                policy.getClientRut().getFullRut(), policy.getClientEmail(), policy.getPremium().format(),
-                policy.getCoverage().format(), policy.getStatus().getDisplayName(), policy.getStartDate(),
-                policy.getEndDate(), policy.getDescription(), policy.getInsuranceType(), policy.getCreatedAt(),
-                policy.getUpdatedAt());
+    private GetPolicyResponse mapToPolicyResponse(PolicyDetailView view) {
+        return new GetPolicyResponse(view.id().toString(), view.policyNumber(), view.clientName(), view.clientRut(),
+                view.clientEmail(), formatMoney(view.premiumAmount(), view.premiumCurrency()),
+                formatMoney(view.coverageAmount(), view.coverageCurrency()), view.status().getDisplayName(),
+                view.startDate(), view.endDate(), view.description(), view.insuranceType(), view.createdAt(),
+                view.updatedAt());
+    }
+
+    private static String formatMoney(BigDecimal amount, String currencyCode) {
+        return Money.of(amount, currencyCode).format();
     }
 
     // Request DTO
@@ -1,8 +1,17 @@
 package cl.demo.polizas.application.usecase;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 
-import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyReadRepository;
+import cl.demo.polizas.domain.repository.PolicyReadRepository.PolicySummaryView;
+import cl.demo.polizas.domain.repository.PolicyRepository.DateFilter;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyId;
 import cl.demo.polizas.domain.valueobject.PolicyStatus;
 import cl.demo.polizas.seedwork.application.Query;
 import cl.demo.polizas.domain.repository.PolicyRepository;
@@ -10,17 +19,22 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 /**
- * Use Case for listing insurance policies. Implements the Query pattern for read-only operations.
+ * Use Case for listing insurance policies. Implements the Query pattern for read-only operations. Supports both
+ * page-number paging and keyset (cursor) paging; the first page and every cursor request return an opaque {@code next}
+ * token that continues the listing without OFFSET. Rows come from read-side projections, not from aggregates. Besides
+ * status and client, policies can be filtered by the date they are in force on and by a range of end dates.
  */
 @ApplicationScoped
 public final class ListPoliciesUseCase
         implements Query<ListPoliciesUseCase.ListPoliciesRequest, ListPoliciesUseCase.ListPoliciesResponse> {
 
     private final PolicyRepository policyRepository;
+    private final PolicyReadRepository policyReadRepository;
 
     @Inject
-    public ListPoliciesUseCase(PolicyRepository policyRepository) {
+    public ListPoliciesUseCase(PolicyRepository policyRepository, PolicyReadRepository policyReadRepository) {
         this.policyRepository = policyRepository;
+        this.policyReadRepository = policyReadRepository;
     }
 
     @Override
@@ -35,25 +49,70 @@ public final class ListPoliciesUseCase
             throw new IllegalArgumentException("Request cannot be null");
         }
 
-        // Obtener pólizas del repositorio
-        List<Policy> policies = policyRepository.findAll(request.page(), request.size(), request.status(),
-                request.clientRut());
+        // Obtener pólizas del repositorio: por cursor cuando se puede, por número de página en otro caso
+        List<PolicySummaryView> policies;
+        String next = null;
+        if (request.cursor() != null || request.page() == 0) {
+            var summaryPage = policyReadRepository.findSummariesAfter(decodeCursor(request.cursor()),
+                    request.size(), request.status(), request.clientRut(), request.dates());
+            policies = summaryPage.policies();
+            next = encodeCursor(summaryPage.next());
+        } else {
+            policies = policyReadRepository.findSummaries(request.page(), request.size(), request.status(),
+                    request.clientRut(), request.dates());
+        }
 
         // Contar total de pólizas para paginación
-        long total = policyRepository.count(request.status(), request.clientRut());
+        long total = policyRepository.count(request.status(), request.clientRut(), request.dates());
 
         // Mapear a DTOs de respuesta
-        List<PolicySummaryDto> policySummaries = policies.stream().map(this::mapToPolicySummary).toList();
+        List<PolicySummaryDto> policySummaries = policies.stream().map(ListPoliciesUseCase::mapToPolicySummary)
+                .toList();
 
         return new ListPoliciesResponse(policySummaries, request.page(), request.size(), total,
-                calculateTotalPages(total, request.size()));
+                calculateTotalPages(total, request.size()), next);
+    }
+
+    /**
+     * Encodes a keyset as an opaque, URL-safe token.
+     */
+    static String encodeCursor(PolicyReadRepository.Keyset keyset) {
+        if (keyset == null) {
+            return null;
+        }
+        String raw = keyset.createdAt() + "|" + keyset.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encodeCursor}. A null or blank token means the first page.
+     */
+    static PolicyReadRepository.Keyset decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new PolicyReadRepository.Keyset(LocalDateTime.parse(raw.substring(0, separator)),
+                    PolicyId.from(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    static PolicySummaryDto mapToPolicySummary(PolicySummaryView view) {
+        return new PolicySummaryDto(view.id().toString(), view.policyNumber(), view.clientName(), view.clientRut(),
+                formatMoney(view.premiumAmount(), view.premiumCurrency()),
+                formatMoney(view.coverageAmount(), view.coverageCurrency()), view.status().getDisplayName(),
+                view.startDate(), view.endDate(), view.insuranceType(), view.createdAt());
     }
 
-    private PolicySummaryDto mapToPolicySummary(Policy policy) {
-        return new PolicySummaryDto(policy.id().toString(), policy.getPolicyNumber(), policy.getClientName(),
-                policy.getClientRut().getFullRut(), policy.getPremium().format(), policy.getCoverage().format(),
-                policy.getStatus().getDisplayName(), policy.getStartDate(), policy.getEndDate(),
-                policy.getInsuranceType(), policy.getCreatedAt());
+    private static String formatMoney(BigDecimal amount, String currencyCode) {
+        return Money.of(amount, currencyCode).format();
     }
 
     private int calculateTotalPages(long total, int size) {
@@ -63,7 +122,16 @@ public final class ListPoliciesUseCase
     }
 
     // Request DTO
-    public record ListPoliciesRequest(int page, int size, PolicyStatus status, String clientRut) {
+    public record ListPoliciesRequest(int page, int size, PolicyStatus status, String clientRut, String cursor,
+            DateFilter dates) {
+        public ListPoliciesRequest(int page, int size, PolicyStatus status, String clientRut) {
+            this(page, size, status, clientRut, null);
+        }
+
+        public ListPoliciesRequest(int page, int size, PolicyStatus status, String clientRut, String cursor) {
+            this(page, size, status, clientRut, cursor, DateFilter.NONE);
+        }
+
         public ListPoliciesRequest {
             if (page < 0)
                 page = 0;
@@ -71,12 +139,14 @@ public final class ListPoliciesUseCase
                 size = 10;
             if (size > 100)
                 size = 100;
+            if (dates == null)
+                dates = DateFilter.NONE;
         }
     }
 
     // Response DTO
     public record ListPoliciesResponse(List<PolicySummaryDto> policies, int page, int size, long total,
-            int totalPages) {
+            int totalPages, String next) {
     }
 
     // Policy Summary DTO
@@ -0,0 +1,67 @@
+package cl.demo.polizas.application.usecase;
+
+import java.util.List;
+
+import cl.demo.polizas.application.usecase.ListPoliciesUseCase.PolicySummaryDto;
+import cl.demo.polizas.domain.repository.PolicyReadRepository;
+import cl.demo.polizas.seedwork.application.Query;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Use Case for searching policies by words of the client name or description. Implements the Query pattern for
+ * read-only operations. Words match regardless of case and accents, whole or as a prefix; results come best match
+ * first, in pages.
+ */
+@ApplicationScoped
+public final class SearchPoliciesUseCase
+        implements Query<SearchPoliciesUseCase.SearchPoliciesRequest, SearchPoliciesUseCase.SearchPoliciesResponse> {
+
+    private final PolicyReadRepository policyReadRepository;
+
+    @Inject
+    public SearchPoliciesUseCase(PolicyReadRepository policyReadRepository) {
+        this.policyReadRepository = policyReadRepository;
+    }
+
+    @Override
+    public String getName() {
+        return "SearchPolicies";
+    }
+
+    @Override
+    public SearchPoliciesResponse handle(SearchPoliciesRequest request) {
+        // Validar request
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+
+        if (request.query() == null || request.query().isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+
+        var results = policyReadRepository.searchSummaries(request.query(), request.page(), request.size());
+
+        List<PolicySummaryDto> policies = results.policies().stream().map(ListPoliciesUseCase::mapToPolicySummary)
+                .toList();
+        int totalPages = (int) Math.ceil((double) results.total() / request.size());
+        return new SearchPoliciesResponse(policies, request.page(), request.size(), results.total(), totalPages);
+    }
+
+    // Request DTO
+    public record SearchPoliciesRequest(String query, int page, int size) {
+        public SearchPoliciesRequest {
+            if (page < 0)
+                page = 0;
+            if (size <= 0)
+                size = 10;
+            if (size > 100)
+                size = 100;
+        }
+    }
+
+    // Response DTO
+    public record SearchPoliciesResponse(List<PolicySummaryDto> policies, int page, int size, long total,
+            int totalPages) {
+    }
+}
@@ -0,0 +1,59 @@
+package cl.demo.polizas.application.usecase;
+
+import java.util.List;
+
+import cl.demo.polizas.domain.repository.PolicyReadRepository;
+import cl.demo.polizas.seedwork.application.Query;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Use Case for autocompleting policy numbers. Implements the Query pattern for read-only operations. Returns the
+ * stored policy numbers starting with the typed prefix, in ascending order; the prefix is matched as written,
+ * including case.
+ */
+@ApplicationScoped
+public final class SuggestPolicyNumbersUseCase implements Query<SuggestPolicyNumbersUseCase.SuggestPolicyNumbersRequest,
+        SuggestPolicyNumbersUseCase.SuggestPolicyNumbersResponse> {
+
+    private final PolicyReadRepository policyReadRepository;
+
+    @Inject
+    public SuggestPolicyNumbersUseCase(PolicyReadRepository policyReadRepository) {
+        this.policyReadRepository = policyReadRepository;
+    }
+
+    @Override
+    public String getName() {
+        return "SuggestPolicyNumbers";
+    }
+
+    @Override
+    public SuggestPolicyNumbersResponse handle(SuggestPolicyNumbersRequest request) {
+        // Validar request
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+
+        if (request.prefix() == null || request.prefix().isEmpty()) {
+            throw new IllegalArgumentException("Prefix is required");
+        }
+
+        List<String> suggestions = policyReadRepository.suggestPolicyNumbers(request.prefix(), request.limit());
+        return new SuggestPolicyNumbersResponse(request.prefix(), suggestions);
+    }
+
+    // Request DTO
+    public record SuggestPolicyNumbersRequest(String prefix, int limit) {
+        public SuggestPolicyNumbersRequest {
+            if (limit <= 0)
+                limit = 10;
+            if (limit > 50)
+                limit = 50;
+        }
+    }
+
+    // Response DTO
+    public record SuggestPolicyNumbersResponse(String prefix, List<String> suggestions) {
+    }
+}
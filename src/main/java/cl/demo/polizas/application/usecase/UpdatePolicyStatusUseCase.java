@@ -1,26 +1,40 @@
 package cl.demo.polizas.application.usecase;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
 import cl.demo.polizas.domain.model.Policy;
 import cl.demo.polizas.domain.valueobject.PolicyId;
 import cl.demo.polizas.domain.valueobject.PolicyStatus;
 import cl.demo.polizas.seedwork.application.Command;
+import cl.demo.polizas.seedwork.domain.Clock;
 import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.repository.PolicyRepository.StatusChange;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Use Case for updating the status of an insurance policy. Implements the Command pattern for state-changing
- * operations.
+ * operations. The transition is one conditional update on the statuses it is allowed from, so concurrent updates
+ * never overwrite each other and the happy path does not read the policy. Only when nothing changed is the policy read,
+ * to tell a missing policy, an unchanged status and an invalid transition apart; a transition that became valid in
+ * between is tried again, up to a bounded number of attempts.
  */
 @ApplicationScoped
 public final class UpdatePolicyStatusUseCase implements
         Command<UpdatePolicyStatusUseCase.UpdatePolicyStatusRequest, UpdatePolicyStatusUseCase.UpdatePolicyStatusResponse> {
 
     private final PolicyRepository policyRepository;
+    private final int maxAttempts;
 
     @Inject
-    public UpdatePolicyStatusUseCase(PolicyRepository policyRepository) {
+    public UpdatePolicyStatusUseCase(PolicyRepository policyRepository,
+            @ConfigProperty(name = "policies.status-update.max-attempts", defaultValue = "3") int maxAttempts) {
         this.policyRepository = policyRepository;
+        this.maxAttempts = maxAttempts;
     }
 
     @Override
@@ -43,22 +57,36 @@ public final class UpdatePolicyStatusUseCase implements
             throw new IllegalArgumentException("New status cannot be null");
         }
 
-        // Buscar la póliza en el repositorio
-        Policy policy = policyRepository.findById(request.policyId())
-                .orElseThrow(() -> new IllegalArgumentException("Policy not found with ID: " + request.policyId()));
-
-        // Obtener el estado anterior
-        PolicyStatus oldStatus = policy.getStatus();
-
-        // Actualizar el estado usando la lógica del dominio
-        policy.updateStatus(request.newStatus());
-
-        // Guardar los cambios en el repositorio
-        policyRepository.save(policy);
-
-        // Retornar respuesta exitosa
-        return new UpdatePolicyStatusResponse(policy.id().toString(), policy.getPolicyNumber(),
-                oldStatus.getDisplayName(), policy.getStatus().getDisplayName(), policy.getUpdatedAt());
+        Set<PolicyStatus> sources = Policy.allowedSourcesOf(request.newStatus());
+        for (int attempt = 1;; attempt++) {
+            // Una sola sentencia condicional: la fila cambia solo si su estado actual permite la transición
+            LocalDateTime updatedAt = Clock.SYSTEM.nowLocal();
+            Optional<StatusChange> change = policyRepository.updateStatusFrom(request.policyId(), sources,
+                    request.newStatus(), updatedAt);
+            if (change.isPresent()) {
+                return new UpdatePolicyStatusResponse(request.policyId().toString(), change.get().policyNumber(),
+                        change.get().previousStatus().getDisplayName(), request.newStatus().getDisplayName(),
+                        updatedAt);
+            }
+
+            // Sin cambio: solo ahora se lee la póliza, para distinguir 404, estado igual y transición inválida
+            Policy policy = policyRepository.findById(request.policyId()).orElseThrow(
+                    () -> new IllegalArgumentException("Policy not found with ID: " + request.policyId()));
+            if (policy.getStatus() == request.newStatus()) {
+                return new UpdatePolicyStatusResponse(policy.id().toString(), policy.getPolicyNumber(),
+                        policy.getStatus().getDisplayName(), policy.getStatus().getDisplayName(),
+                        policy.getUpdatedAt());
+            }
+
+            // Lanza IllegalStateException con el motivo si la transición no está permitida
+            policy.updateStatus(request.newStatus());
+
+            // La transición sí era válida: otra escritura cambió el estado entre la sentencia y la lectura
+            if (attempt >= maxAttempts) {
+                throw new IllegalStateException(
+                        "Policy " + request.policyId() + " was modified concurrently, please retry");
+            }
+        }
     }
 
     // Request DTO
@@ -67,7 +95,7 @@ public final class UpdatePolicyStatusUseCase implements
 
     // Response DTO
     public record UpdatePolicyStatusResponse(String policyId, String policyNumber, String oldStatus, String newStatus,
-            java.time.LocalDateTime updatedAt) {
+            LocalDateTime updatedAt) {
     }
 
 
@@ -3,6 +3,11 @@ package cl.demo.polizas.domain.model;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
 import cl.demo.polizas.domain.valueobject.Money;
 import cl.demo.polizas.domain.valueobject.PolicyId;
@@ -17,7 +22,13 @@ import cl.demo.polizas.seedwork.domain.DomainEvent;
  */
 public final class Policy extends AggregateRoot<PolicyId> {
 
-    private PolicyId id;
+    // Matriz de transiciones precalculada: estados de origen permitidos para cada estado destino
+    private static final Map<PolicyStatus, Set<PolicyStatus>> ALLOWED_SOURCES = computeAllowedSources();
+
+    // Estados que pasan a EXPIRED cuando la póliza supera su fecha de término
+    private static final Set<PolicyStatus> EXPIRABLE_STATUSES = Collections
+            .unmodifiableSet(EnumSet.of(PolicyStatus.PENDING, PolicyStatus.ACTIVE, PolicyStatus.INACTIVE));
+
     private String policyNumber;
     private Rut clientRut;
     private String clientName;
@@ -31,10 +42,12 @@ public final class Policy extends AggregateRoot<PolicyId> {
     private LocalDateTime updatedAt;
     private String description;
     private String insuranceType;
+    private long version;
+    private PolicyStatus storedStatus;
 
     // Constructor privado para factory methods
-    private Policy() {
-        super(PolicyId.generate());
+    private Policy(PolicyId id) {
+        super(id);
     }
 
     /**
@@ -44,8 +57,7 @@ public final class Policy extends AggregateRoot<PolicyId> {
             Money premium, Money coverage, LocalDate startDate, LocalDate endDate, String description,
             String insuranceType) {
 
-        Policy policy = new Policy();
-        policy.id = PolicyId.generate();
+        Policy policy = new Policy(PolicyId.generate());
         policy.policyNumber = policyNumber;
         policy.clientRut = clientRut;
         policy.clientName = clientName;
@@ -58,14 +70,44 @@ public final class Policy extends AggregateRoot<PolicyId> {
         policy.insuranceType = insuranceType;
         policy.status = PolicyStatus.PENDING;
         policy.createdAt = Clock.SYSTEM.nowLocal();
-        policy.updatedAt = Clock.SYSTEM.nowLocal();
+        policy.updatedAt = policy.createdAt;
 
         // Validar reglas de negocio
         policy.validateBusinessRules();
 
         // Publicar evento de dominio
-        policy.raise(new PolicyCreatedEvent(policy.id.toString(), policy.policyNumber, policy.clientRut.getFullRut()));
+        policy.raise(new PolicyCreatedEvent(policy.id.toString(), policy.policyNumber, policy.clientRut.getFullRut(),
+                policy.startDate));
+
+        return policy;
+    }
 
+    /**
+     * Rebuilds a policy from its persisted state. Skips validation, ID generation and domain events, since the data
+     * was already validated when the policy was created. {@code version} is the stored row version used to detect
+     * concurrent changes.
+     */
+    public static Policy reconstitute(PolicyId id, String policyNumber, Rut clientRut, String clientName,
+            String clientEmail, Money premium, Money coverage, PolicyStatus status, LocalDate startDate,
+            LocalDate endDate, String description, String insuranceType, LocalDateTime createdAt,
+            LocalDateTime updatedAt, long version) {
+
+        Policy policy = new Policy(id);
+        policy.policyNumber = policyNumber;
+        policy.clientRut = clientRut;
+        policy.clientName = clientName;
+        policy.clientEmail = clientEmail;
+        policy.premium = premium;
+        policy.coverage = coverage;
+        policy.status = status;
+        policy.startDate = startDate;
+        policy.endDate = endDate;
+        policy.description = description;
+        policy.insuranceType = insuranceType;
+        policy.createdAt = createdAt;
+        policy.updatedAt = updatedAt;
+        policy.version = version;
+        policy.storedStatus = status;
         return policy;
     }
 
@@ -114,11 +156,12 @@ public final class Policy extends AggregateRoot<PolicyId> {
         // Validar transición de estado
         validateStatusTransition(newStatus);
 
+        PolicyStatus oldStatus = status;
         status = newStatus;
         updatedAt = Clock.SYSTEM.nowLocal();
 
         // Publicar evento de dominio
-        raise(new PolicyStatusUpdatedEvent(id.toString(), policyNumber, status.name(), newStatus.name()));
+        raise(new PolicyStatusUpdatedEvent(id.toString(), policyNumber, oldStatus.name(), newStatus.name()));
     }
 
     /**
@@ -166,27 +209,68 @@ public final class Policy extends AggregateRoot<PolicyId> {
      * Validates status transition.
      */
     private void validateStatusTransition(PolicyStatus newStatus) {
-        switch (status) {
+        String error = transitionError(status, newStatus);
+        if (error != null) {
+            throw new IllegalStateException(error);
+        }
+    }
+
+    /**
+     * Returns why a policy cannot move from one status to another, or null when the transition is allowed.
+     */
+    private static String transitionError(PolicyStatus from, PolicyStatus to) {
+        switch (from) {
             case PENDING:
-                if (newStatus != PolicyStatus.ACTIVE && newStatus != PolicyStatus.CANCELLED) {
-                    throw new IllegalStateException("Pending policy can only be activated or cancelled");
+                if (to != PolicyStatus.ACTIVE && to != PolicyStatus.CANCELLED) {
+                    return "Pending policy can only be activated or cancelled";
                 }
                 break;
             case ACTIVE:
-                if (newStatus != PolicyStatus.INACTIVE && newStatus != PolicyStatus.CANCELLED) {
-                    throw new IllegalStateException("Active policy can only be deactivated or cancelled");
+                if (to != PolicyStatus.INACTIVE && to != PolicyStatus.CANCELLED) {
+                    return "Active policy can only be deactivated or cancelled";
                 }
                 break;
             case INACTIVE:
-                if (newStatus != PolicyStatus.ACTIVE && newStatus != PolicyStatus.CANCELLED) {
-                    throw new IllegalStateException("Inactive policy can only be activated or cancelled");
+                if (to != PolicyStatus.ACTIVE && to != PolicyStatus.CANCELLED) {
+                    return "Inactive policy can only be activated or cancelled";
                 }
                 break;
             case CANCELLED:
-                throw new IllegalStateException("Cancelled policy cannot change status");
+                return "Cancelled policy cannot change status";
             case EXPIRED:
-                throw new IllegalStateException("Expired policy cannot change status");
+                return "Expired policy cannot change status";
+        }
+        return null;
+    }
+
+    /**
+     * Returns the statuses a policy can move to {@code target} from, per the same rules as {@link #updateStatus}.
+     * Lets set-based updates apply a transition with {@code status in (...)} instead of loading every policy.
+     */
+    public static Set<PolicyStatus> allowedSourcesOf(PolicyStatus target) {
+        return ALLOWED_SOURCES.get(target);
+    }
+
+    /**
+     * Returns the statuses that move to {@link PolicyStatus#EXPIRED} once the policy is past its end date. Expiry is
+     * applied by the system, not requested through {@link #updateStatus}.
+     */
+    public static Set<PolicyStatus> expirableStatuses() {
+        return EXPIRABLE_STATUSES;
+    }
+
+    private static Map<PolicyStatus, Set<PolicyStatus>> computeAllowedSources() {
+        Map<PolicyStatus, Set<PolicyStatus>> matrix = new EnumMap<>(PolicyStatus.class);
+        for (PolicyStatus to : PolicyStatus.values()) {
+            Set<PolicyStatus> sources = EnumSet.noneOf(PolicyStatus.class);
+            for (PolicyStatus from : PolicyStatus.values()) {
+                if (from != to && transitionError(from, to) == null) {
+                    sources.add(from);
+                }
+            }
+            matrix.put(to, Collections.unmodifiableSet(sources));
         }
+        return matrix;
     }
 
     // Getters
@@ -247,6 +331,29 @@ public final class Policy extends AggregateRoot<PolicyId> {
         return insuranceType;
     }
 
+    /**
+     * Version of the stored row this policy was loaded from; 0 for a policy that was never saved.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Status of the stored row this policy was loaded from or last saved as; null for a policy that was never saved.
+     * Status is the only field that changes after creation, so with the version it describes the row a save replaces.
+     */
+    public PolicyStatus getStoredStatus() {
+        return storedStatus;
+    }
+
+    /**
+     * Records that the policy was written to storage at {@code version}, so the next save is checked against it.
+     */
+    public void markSaved(long version) {
+        this.version = version;
+        this.storedStatus = status;
+    }
+
     /**
      * Checks if the policy is active.
      */
@@ -266,12 +373,14 @@ public final class Policy extends AggregateRoot<PolicyId> {
         private final String policyId;
         private final String policyNumber;
         private final String clientRut;
+        private final LocalDate startDate;
         private final Instant occurredOn;
 
-        public PolicyCreatedEvent(String policyId, String policyNumber, String clientRut) {
+        public PolicyCreatedEvent(String policyId, String policyNumber, String clientRut, LocalDate startDate) {
             this.policyId = policyId;
             this.policyNumber = policyNumber;
             this.clientRut = clientRut;
+            this.startDate = startDate;
             this.occurredOn = Clock.SYSTEM.now();
         }
 
@@ -297,6 +406,10 @@ public final class Policy extends AggregateRoot<PolicyId> {
         public String getClientRut() {
             return clientRut;
         }
+
+        public LocalDate getStartDate() {
+            return startDate;
+        }
     }
 
     public static final class PolicyActivatedEvent implements DomainEvent {
@@ -415,4 +528,41 @@ public final class Policy extends AggregateRoot<PolicyId> {
             return newStatus;
         }
     }
+
+    public static final class PolicyExpiredEvent implements DomainEvent {
+        private final String policyId;
+        private final String policyNumber;
+        private final String previousStatus;
+        private final Instant occurredOn;
+
+        public PolicyExpiredEvent(String policyId, String policyNumber, String previousStatus) {
+            this.policyId = policyId;
+            this.policyNumber = policyNumber;
+            this.previousStatus = previousStatus;
+            this.occurredOn = Clock.SYSTEM.now();
+        }
+
+        @Override
+        public String type() {
+            return "PolicyExpired";
+        }
+
+        @Override
+        public Instant occurredOn() {
+            return occurredOn;
+        }
+
+        @Override
+        public String aggregateId() {
+            return policyId;
+        }
+
+        public String getPolicyNumber() {
+            return policyNumber;
+        }
+
+        public String getPreviousStatus() {
+            return previousStatus;
+        }
+    }
 }
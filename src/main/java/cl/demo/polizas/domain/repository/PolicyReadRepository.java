@@ -0,0 +1,108 @@
+package cl.demo.polizas.domain.repository;
+
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-side repository for Policy queries.
+ * Returns flat, immutable views selected straight from storage, without loading aggregates.
+ */
+public interface PolicyReadRepository {
+
+    /**
+     * Find policy summaries with page-number pagination and optional filters
+     */
+    List<PolicySummaryView> findSummaries(int page, int size, PolicyStatus status, String clientRut,
+            PolicyRepository.DateFilter dates);
+
+    /**
+     * Find the policy summaries that follow the given keyset in (createdAt, id) order, with optional filters.
+     * A null keyset returns the first page.
+     */
+    SummaryPage findSummariesAfter(Keyset after, int size, PolicyStatus status, String clientRut,
+            PolicyRepository.DateFilter dates);
+
+    /**
+     * Find the policy summaries whose client name or description contain the words of the query, best matches first,
+     * with page-number pagination
+     */
+    SearchResults searchSummaries(String query, int page, int size);
+
+    /**
+     * Find up to {@code limit} stored policy numbers starting with the prefix, in ascending order
+     */
+    List<String> suggestPolicyNumbers(String prefix, int limit);
+
+    /**
+     * Find the full read view of a policy by its ID
+     */
+    Optional<PolicyDetailView> findDetailById(PolicyId policyId);
+
+    /**
+     * Count and premium/coverage totals of the policies per status, insurance type and currency
+     */
+    List<PolicyStatsView> findStats();
+
+    /**
+     * The same figures as {@link #findStats()}, computed from every stored policy, plus how far the figures kept for
+     * {@link #findStats()} were from them
+     */
+    RecomputedStats recomputeStats();
+
+    /**
+     * Position of a row in the (createdAt, id) order used for keyset pagination
+     */
+    record Keyset(LocalDateTime createdAt, PolicyId id) {
+    }
+
+    /**
+     * A page of summaries plus the keyset of its last row, or a null keyset when there are no more rows
+     */
+    record SummaryPage(List<PolicySummaryView> policies, Keyset next) {
+    }
+
+    /**
+     * A page of search results plus the number of policies matching the query
+     */
+    record SearchResults(List<PolicySummaryView> policies, long total) {
+    }
+
+    /**
+     * Columns shown in policy listings
+     */
+    record PolicySummaryView(UUID id, String policyNumber, String clientName, String clientRut,
+            BigDecimal premiumAmount, String premiumCurrency, BigDecimal coverageAmount, String coverageCurrency,
+            PolicyStatus status, LocalDate startDate, LocalDate endDate, String insuranceType,
+            LocalDateTime createdAt) {
+    }
+
+    /**
+     * Columns shown when a single policy is retrieved
+     */
+    record PolicyDetailView(UUID id, String policyNumber, String clientName, String clientRut, String clientEmail,
+            BigDecimal premiumAmount, String premiumCurrency, BigDecimal coverageAmount, String coverageCurrency,
+            PolicyStatus status, LocalDate startDate, LocalDate endDate, String description, String insuranceType,
+            LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    /**
+     * Figures of one (status, insurance type, currency) group. {@code policies} and {@code premium} cover the policies
+     * whose premium is in {@code currency}; {@code coverage} adds up the coverage amounts in {@code currency}
+     */
+    record PolicyStatsView(PolicyStatus status, String insuranceType, String currency, long policies,
+            BigDecimal premium, BigDecimal coverage) {
+    }
+
+    /**
+     * Figures computed from every stored policy, and the sum of the differences found in the maintained ones
+     */
+    record RecomputedStats(List<PolicyStatsView> stats, long drift) {
+    }
+}
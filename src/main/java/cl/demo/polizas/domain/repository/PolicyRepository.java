@@ -3,9 +3,14 @@ package cl.demo.polizas.domain.repository;
 import cl.demo.polizas.domain.model.Policy;
 import cl.demo.polizas.domain.valueobject.PolicyId;
 import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.seedwork.domain.Specification;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for Policy domain entity.
@@ -14,30 +19,111 @@ import java.util.Optional;
 public interface PolicyRepository {
     
     /**
-     * Save a policy (create or update)
+     * Save a policy (create or update). Its pending domain events are pulled and stored in the same transaction. An
+     * existing policy is only written while the stored version is still the one it was read with; otherwise an
+     * IllegalStateException is thrown
      */
     void save(Policy policy);
     
+    /**
+     * Save a batch of newly created policies, and their pending domain events, in a single transaction. If the batch
+     * is rejected the policies keep their pending events
+     */
+    void saveAll(List<Policy> policies);
+    
+    /**
+     * Move one policy to {@code newStatus} with a single conditional update, only if it is in one of
+     * {@code fromStatuses}, storing a status updated event. Returns the status it moved from, or empty when the policy
+     * does not exist or is in another status
+     */
+    Optional<StatusChange> updateStatusFrom(PolicyId policyId, Set<PolicyStatus> fromStatuses, PolicyStatus newStatus,
+            LocalDateTime updatedAt);
+    
+    /**
+     * Move the given policies that are in one of {@code fromStatuses} to {@code newStatus} with one set-based update
+     * in its own transaction, with a status updated event per row. Returns the number of rows changed
+     */
+    int updateStatusByIds(Collection<PolicyId> policyIds, Set<PolicyStatus> fromStatuses, PolicyStatus newStatus,
+            LocalDateTime updatedAt);
+    
+    /**
+     * Move up to {@code limit} policies matching the filters and in one of {@code fromStatuses} to {@code newStatus},
+     * in one transaction, with a status updated event per row. Returns the number of rows changed; call again until
+     * it returns 0
+     */
+    int updateStatusByFilter(String clientRut, String insuranceType, Set<PolicyStatus> fromStatuses,
+            PolicyStatus newStatus, LocalDateTime updatedAt, int limit);
+    
+    /**
+     * Write the status of already loaded policies in one transaction, each one only if the stored row still has
+     * {@code expectedStatus} and the version it was read with. The pending domain events of the policies written are
+     * stored with them. Returns the IDs of the policies written
+     */
+    List<PolicyId> updateStatuses(List<Policy> policies, PolicyStatus expectedStatus);
+    
+    /**
+     * Move up to {@code limit} policies whose end date is before {@code today} and whose status is one of
+     * {@link Policy#expirableStatuses()} to EXPIRED, in one transaction, storing a PolicyExpired event for each one.
+     * Returns the policies changed; call again until
+     * fewer than {@code limit} come back
+     */
+    List<ExpiredPolicy> expireDue(LocalDate today, int limit, LocalDateTime updatedAt);
+    
     /**
      * Find a policy by its ID
      */
     Optional<Policy> findById(PolicyId policyId);
     
+    /**
+     * Find the policies with the given IDs; missing IDs are skipped
+     */
+    List<Policy> findAllById(Collection<PolicyId> policyIds);
+    
+    /**
+     * Find the ID and start date of every PENDING policy
+     */
+    List<PendingActivation> findPendingActivations();
+    
     /**
      * Find all policies with pagination and optional filters
      */
-    List<Policy> findAll(int page, int size, PolicyStatus status, String clientRut);
+    default List<Policy> findAll(int page, int size, PolicyStatus status, String clientRut) {
+        return findAll(page, size, status, clientRut, DateFilter.NONE);
+    }
+    
+    /**
+     * Find all policies with pagination and optional filters, including start and end date filters
+     */
+    List<Policy> findAll(int page, int size, PolicyStatus status, String clientRut, DateFilter dates);
+    
+    /**
+     * Find the policies satisfying a specification with pagination, in creation order. The parts of the
+     * specification the implementation can translate into its query run there; the rest is evaluated in memory
+     */
+    List<Policy> findAll(Specification<Policy> specification, int page, int size);
     
     /**
      * Count policies with optional filters
      */
-    long count(PolicyStatus status, String clientRut);
+    default long count(PolicyStatus status, String clientRut) {
+        return count(status, clientRut, DateFilter.NONE);
+    }
+    
+    /**
+     * Count policies with optional filters, including start and end date filters
+     */
+    long count(PolicyStatus status, String clientRut, DateFilter dates);
     
     /**
      * Check if a policy exists by policy number
      */
     boolean existsByPolicyNumber(String policyNumber);
     
+    /**
+     * Return the subset of the given policy numbers that already exist
+     */
+    Set<String> findExistingPolicyNumbers(Collection<String> policyNumbers);
+    
     /**
      * Find a policy by policy number
      */
@@ -77,4 +163,47 @@ public interface PolicyRepository {
      * Check if a policy exists by ID
      */
     boolean existsById(PolicyId policyId);
+    
+    /**
+     * A policy moved to EXPIRED by {@link #expireDue}, with the status it had before
+     */
+    record ExpiredPolicy(PolicyId policyId, String policyNumber, PolicyStatus previousStatus) {
+    }
+    
+    /**
+     * A policy moved by {@link #updateStatusFrom}, with the status it had before
+     */
+    record StatusChange(PolicyId policyId, String policyNumber, PolicyStatus previousStatus) {
+    }
+    
+    /**
+     * A PENDING policy and the date it becomes active, as returned by {@link #findPendingActivations}
+     */
+    record PendingActivation(PolicyId policyId, LocalDate startDate) {
+    }
+    
+    /**
+     * Date filters of the policy listings, all inclusive: policies in force on {@code activeOn} (start date on or
+     * before it and end date on or after it) and policies whose end date is between {@code endFrom} and
+     * {@code endTo}. A null field does not filter
+     */
+    record DateFilter(LocalDate activeOn, LocalDate endFrom, LocalDate endTo) {
+        
+        public static final DateFilter NONE = new DateFilter(null, null, null);
+        
+        public DateFilter {
+            if (endFrom != null && endTo != null && endFrom.isAfter(endTo)) {
+                throw new IllegalArgumentException("End date range starts after it ends: " + endFrom + " > " + endTo);
+            }
+        }
+        
+        public boolean isEmpty() {
+            return activeOn == null && endFrom == null && endTo == null;
+        }
+        
+        public boolean matches(LocalDate startDate, LocalDate endDate) {
+            return (activeOn == null || !startDate.isAfter(activeOn) && !endDate.isBefore(activeOn))
+                    && (endFrom == null || !endDate.isBefore(endFrom)) && (endTo == null || !endDate.isAfter(endTo));
+        }
+    }
 }
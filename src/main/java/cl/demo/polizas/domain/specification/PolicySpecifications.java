@@ -0,0 +1,143 @@
+package cl.demo.polizas.domain.specification;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import cl.demo.polizas.seedwork.domain.Guard;
+import cl.demo.polizas.seedwork.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Specifications over {@link Policy} that repositories can translate into queries. Each one is a record with the value
+ * it compares, so a repository recognizes it and runs it in the database; combined with {@code and}, {@code or} and
+ * {@code not} they stay translatable. Any other specification is still valid and is evaluated in memory.
+ */
+public final class PolicySpecifications {
+
+    private PolicySpecifications() {
+    }
+
+    /**
+     * Policies in one of the given statuses.
+     */
+    public static Specification<Policy> hasStatus(PolicyStatus first, PolicyStatus... rest) {
+        return new StatusIn(EnumSet.of(first, rest));
+    }
+
+    /**
+     * Policies of the given client.
+     */
+    public static Specification<Policy> ofClient(Rut clientRut) {
+        return new ClientIs(clientRut);
+    }
+
+    /**
+     * Policies of the given insurance type; policies without a type never match.
+     */
+    public static Specification<Policy> ofInsuranceType(String insuranceType) {
+        return new InsuranceTypeIs(insuranceType);
+    }
+
+    /**
+     * Policies in force on the given date: start date on or before it and end date on or after it.
+     */
+    public static Specification<Policy> activeOn(LocalDate date) {
+        return new ActiveOn(date);
+    }
+
+    /**
+     * Policies whose end date is between {@code from} and {@code to}, both inclusive.
+     */
+    public static Specification<Policy> endsBetween(LocalDate from, LocalDate to) {
+        return new EndsBetween(from, to);
+    }
+
+    /**
+     * Policies whose premium is at least the given amount, in its currency.
+     */
+    public static Specification<Policy> premiumAtLeast(Money amount) {
+        return new PremiumAtLeast(amount);
+    }
+
+    public record StatusIn(Set<PolicyStatus> statuses) implements Specification<Policy> {
+
+        public StatusIn {
+            Guard.notNullOrEmpty(statuses, "At least one status is required");
+            statuses = Set.copyOf(statuses);
+        }
+
+        @Override
+        public boolean isSatisfiedBy(Policy policy) {
+            return statuses.contains(policy.getStatus());
+        }
+    }
+
+    public record ClientIs(Rut clientRut) implements Specification<Policy> {
+
+        public ClientIs {
+            Guard.notNull(clientRut, "Client RUT cannot be null");
+        }
+
+        @Override
+        public boolean isSatisfiedBy(Policy policy) {
+            return clientRut.equals(policy.getClientRut());
+        }
+    }
+
+    public record InsuranceTypeIs(String insuranceType) implements Specification<Policy> {
+
+        public InsuranceTypeIs {
+            Guard.notNull(insuranceType, "Insurance type cannot be null");
+        }
+
+        @Override
+        public boolean isSatisfiedBy(Policy policy) {
+            return insuranceType.equals(policy.getInsuranceType());
+        }
+    }
+
+    public record ActiveOn(LocalDate date) implements Specification<Policy> {
+
+        public ActiveOn {
+            Guard.notNull(date, "Date cannot be null");
+        }
+
+        @Override
+        public boolean isSatisfiedBy(Policy policy) {
+            return !policy.getStartDate().isAfter(date) && !policy.getEndDate().isBefore(date);
+        }
+    }
+
+    public record EndsBetween(LocalDate from, LocalDate to) implements Specification<Policy> {
+
+        public EndsBetween {
+            Guard.notNull(from, "Start of the range cannot be null");
+            Guard.notNull(to, "End of the range cannot be null");
+            Guard.isTrue(!from.isAfter(to), "End date range starts after it ends: " + from + " > " + to);
+        }
+
+        @Override
+        public boolean isSatisfiedBy(Policy policy) {
+            return !policy.getEndDate().isBefore(from) && !policy.getEndDate().isAfter(to);
+        }
+    }
+
+    public record PremiumAtLeast(Money amount) implements Specification<Policy> {
+
+        public PremiumAtLeast {
+            Guard.notNull(amount, "Amount cannot be null");
+        }
+
+        @Override
+        public boolean isSatisfiedBy(Policy policy) {
+            // Otra moneda no se compara: la póliza no cumple
+            Money premium = policy.getPremium();
+            return Objects.equals(premium.currency(), amount.currency()) && premium.compareTo(amount) >= 0;
+        }
+    }
+}
@@ -6,20 +6,35 @@ import cl.demo.polizas.seedwork.domain.ValueObject;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Currency;
-import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Value Object representing a monetary amount.
- * Immutable and validated money representation with currency support.
+ * Immutable and validated money representation with currency support. The amount is kept as a {@code long} count of
+ * hundredths (the two decimals stored in the database and shown by {@link #format()}), so arithmetic, comparisons and
+ * formatting never go through {@link BigDecimal}. Amounts with more decimals are rounded half-up.
  */
 public final class Money extends ValueObject {
 
-    private final BigDecimal amount;
-    private final Currency currency;
+    private static final int SCALE = 2;
+    private static final long MINOR_PER_UNIT = 100;
+    private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+            10_000_000L, 100_000_000L, 1_000_000_000L };
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(Long.MAX_VALUE, SCALE);
 
-    private Money(BigDecimal amount, Currency currency) {
-        this.amount = amount;
-        this.currency = currency;
+    private static final Map<String, CurrencyUnit> UNITS = new ConcurrentHashMap<>();
+    private static final CurrencyUnit CLP = unit("CLP");
+
+    private final long minorUnits;
+    private final CurrencyUnit unit;
+
+    // Se calcula al primer format(); como el objeto es inmutable, una carrera solo repite el mismo resultado
+    private String formatted;
+
+    private Money(long minorUnits, CurrencyUnit unit) {
+        this.minorUnits = minorUnits;
+        this.unit = unit;
         validate();
     }
 
@@ -27,14 +42,23 @@ public final class Money extends ValueObject {
      * Creates a Money instance with the specified amount and default currency (CLP).
      */
     public static Money of(BigDecimal amount) {
-        return new Money(amount, Currency.getInstance("CLP"));
+        return new Money(toMinorUnits(amount), CLP);
     }
 
     /**
      * Creates a Money instance with the specified amount and currency.
      */
     public static Money of(BigDecimal amount, Currency currency) {
-        return new Money(amount, currency);
+        Guard.notNull(currency, "Currency cannot be null");
+        return new Money(toMinorUnits(amount), unit(currency.getCurrencyCode()));
+    }
+
+    /**
+     * Creates a Money instance with the specified amount and ISO 4217 currency code.
+     */
+    public static Money of(BigDecimal amount, String currencyCode) {
+        Guard.notNullOrEmpty(currencyCode, "Currency cannot be null");
+        return new Money(toMinorUnits(amount), unit(currencyCode));
     }
 
     /**
@@ -43,31 +67,46 @@ public final class Money extends ValueObject {
     public static Money of(String amount) {
         Guard.notNullOrEmpty(amount, "Amount cannot be null or empty");
         try {
-            return new Money(new BigDecimal(amount), Currency.getInstance("CLP"));
+            return of(new BigDecimal(amount));
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Invalid amount format: " + amount);
         }
     }
 
+    /**
+     * Creates a Money instance from a count of hundredths (e.g. 34990 for 349.90).
+     */
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        Guard.notNull(currency, "Currency cannot be null");
+        return new Money(minorUnits, unit(currency.getCurrencyCode()));
+    }
+
     /**
      * Creates a Money instance with zero amount.
      */
     public static Money zero() {
-        return new Money(BigDecimal.ZERO, Currency.getInstance("CLP"));
+        return new Money(0, CLP);
     }
 
     /**
      * Gets the amount as BigDecimal.
      */
     public BigDecimal amount() {
-        return amount;
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Gets the amount as a count of hundredths.
+     */
+    public long minorUnits() {
+        return minorUnits;
     }
 
     /**
      * Gets the currency.
      */
     public Currency currency() {
-        return currency;
+        return unit.currency;
     }
 
     /**
@@ -75,10 +114,10 @@ public final class Money extends ValueObject {
      */
     public Money add(Money other) {
         Guard.notNull(other, "Money to add cannot be null");
-        Guard.isTrue(this.currency.equals(other.currency), 
+        Guard.isTrue(this.unit == other.unit,
                     "Cannot add money with different currencies");
-        
-        return new Money(this.amount.add(other.amount), this.currency);
+
+        return new Money(Math.addExact(this.minorUnits, other.minorUnits), this.unit);
     }
 
     /**
@@ -86,56 +125,119 @@ public final class Money extends ValueObject {
      */
     public Money subtract(Money other) {
         Guard.notNull(other, "Money to subtract cannot be null");
-        Guard.isTrue(this.currency.equals(other.currency), 
+        Guard.isTrue(this.unit == other.unit,
                     "Cannot subtract money with different currencies");
-        
-        return new Money(this.amount.subtract(other.amount), this.currency);
+
+        return new Money(this.minorUnits - other.minorUnits, this.unit);
+    }
+
+    /**
+     * Multiplies by a whole factor.
+     */
+    public Money multiply(long factor) {
+        return new Money(Math.multiplyExact(this.minorUnits, factor), this.unit);
     }
 
     /**
-     * Multiplies by a factor.
+     * Multiplies by a factor, rounding the result half-up to hundredths.
      */
     public Money multiply(BigDecimal factor) {
         Guard.notNull(factor, "Factor cannot be null");
-        return new Money(this.amount.multiply(factor), this.currency);
+
+        // Factores cortos (p. ej. 1.19 o 0.5) se resuelven con aritmética entera
+        int scale = factor.scale();
+        if (scale >= 0 && scale < POWERS_OF_TEN.length && factor.precision() <= 18) {
+            long unscaled = factor.movePointRight(scale).longValue();
+            long high = Math.multiplyHigh(this.minorUnits, unscaled);
+            long product = this.minorUnits * unscaled;
+            if ((high == 0 && product >= 0) || (high == -1 && product < 0)) {
+                return new Money(divideHalfUp(product, POWERS_OF_TEN[scale]), this.unit);
+            }
+        }
+
+        BigDecimal result = amount().multiply(factor).setScale(SCALE, RoundingMode.HALF_UP);
+        return new Money(result.unscaledValue().longValueExact(), this.unit);
+    }
+
+    /**
+     * Compares amounts of the same currency.
+     */
+    public int compareTo(Money other) {
+        Guard.notNull(other, "Money to compare cannot be null");
+        Guard.isTrue(this.unit == other.unit,
+                    "Cannot compare money with different currencies");
+        return Long.compare(this.minorUnits, other.minorUnits);
     }
 
     /**
      * Checks if the amount is positive.
      */
     public boolean isPositive() {
-        return amount.compareTo(BigDecimal.ZERO) > 0;
+        return minorUnits > 0;
     }
 
     /**
      * Checks if the amount is zero.
      */
     public boolean isZero() {
-        return amount.compareTo(BigDecimal.ZERO) == 0;
+        return minorUnits == 0;
     }
 
     /**
      * Checks if the amount is negative.
      */
     public boolean isNegative() {
-        return amount.compareTo(BigDecimal.ZERO) < 0;
+        return minorUnits < 0;
     }
 
     /**
-     * Gets the formatted string representation.
+     * Gets the formatted string representation, e.g. {@code "CLP 349.90"}.
      */
     public String format() {
-        return String.format("%s %s", 
-                           currency.getSymbol(), 
-                           amount.setScale(2, RoundingMode.HALF_UP));
+        String result = formatted;
+        if (result == null) {
+            long cents = minorUnits % MINOR_PER_UNIT;
+            StringBuilder builder = new StringBuilder(unit.prefix.length() + 24).append(unit.prefix)
+                    .append(minorUnits / MINOR_PER_UNIT).append('.');
+            if (cents < 10) {
+                builder.append('0');
+            }
+            result = builder.append(cents).toString();
+            formatted = result;
+        }
+        return result;
     }
 
     @Override
     protected void validate() {
+        Guard.notNull(unit, "Currency cannot be null");
+        Guard.isTrue(minorUnits >= 0,
+                    "Amount cannot be negative");
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
         Guard.notNull(amount, "Amount cannot be null");
-        Guard.notNull(currency, "Currency cannot be null");
-        Guard.isTrue(amount.compareTo(BigDecimal.ZERO) >= 0, 
+        Guard.isTrue(amount.signum() >= 0,
                     "Amount cannot be negative");
+        BigDecimal rounded = amount.setScale(SCALE, RoundingMode.HALF_UP);
+        // Fuera del rango de long sería un ArithmeticException (500); se rechaza como dato inválido
+        Guard.isTrue(rounded.compareTo(MAX_AMOUNT) <= 0,
+                    "Amount is too large");
+        return rounded.unscaledValue().longValueExact();
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder * 2 >= divisor) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    private static CurrencyUnit unit(String currencyCode) {
+        CurrencyUnit unit = UNITS.get(currencyCode);
+        return unit != null ? unit : UNITS.computeIfAbsent(currencyCode, CurrencyUnit::new);
     }
 
     @Override
@@ -143,17 +245,30 @@ public final class Money extends ValueObject {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         Money money = (Money) obj;
-        return amount.compareTo(money.amount) == 0 && 
-               Objects.equals(currency, money.currency);
+        return minorUnits == money.minorUnits && unit == money.unit;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(amount, currency);
+        return 31 * Long.hashCode(minorUnits) + unit.currency.hashCode();
     }
 
     @Override
     public String toString() {
         return format();
     }
+
+    /**
+     * One shared descriptor per currency, with its symbol looked up once.
+     */
+    private static final class CurrencyUnit {
+
+        private final Currency currency;
+        private final String prefix;
+
+        private CurrencyUnit(String currencyCode) {
+            this.currency = Currency.getInstance(currencyCode);
+            this.prefix = currency.getSymbol() + " ";
+        }
+    }
 }
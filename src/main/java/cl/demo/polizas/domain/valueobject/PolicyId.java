@@ -11,6 +11,18 @@ import java.util.UUID;
  */
 public final class PolicyId extends ValueObject {
 
+    /**
+     * How {@link #generate()} creates new identifiers.
+     */
+    public enum Strategy {
+        /** Random version 4 UUIDs. */
+        RANDOM,
+        /** Time-ordered version 7 UUIDs, monotonic within this JVM. */
+        TIME_ORDERED
+    }
+
+    private static volatile Strategy strategy = Strategy.RANDOM;
+
     private final UUID value;
 
     private PolicyId(UUID value) {
@@ -19,10 +31,18 @@ public final class PolicyId extends ValueObject {
     }
 
     /**
-     * Creates a new PolicyId with a random UUID.
+     * Creates a new PolicyId using the current {@link Strategy}.
      */
     public static PolicyId generate() {
-        return new PolicyId(UUID.randomUUID());
+        return new PolicyId(strategy == Strategy.TIME_ORDERED ? TimeOrderedUuid.generate() : UUID.randomUUID());
+    }
+
+    /**
+     * Selects how {@link #generate()} creates new identifiers from now on.
+     */
+    public static void useStrategy(Strategy newStrategy) {
+        Guard.notNull(newStrategy, "Policy ID strategy cannot be null");
+        strategy = newStrategy;
     }
 
     /**
@@ -3,43 +3,57 @@ package cl.demo.polizas.domain.valueobject;
 import cl.demo.polizas.seedwork.domain.Guard;
 import cl.demo.polizas.seedwork.domain.ValueObject;
 
-import java.util.regex.Pattern;
-
 /**
  * Value Object representing a Chilean RUT (Rol Único Tributario).
- * Immutable and validated RUT with verification digit calculation.
+ * Immutable and validated RUT with verification digit calculation. Stored as an {@code int} body plus its check
+ * character, so parsing and comparing never go through regular expressions or substrings.
  */
 public final class Rut extends ValueObject {
 
-    private static final Pattern RUT_PATTERN = Pattern.compile("^\\d{1,8}-[\\dkK]$");
+    private static final int MAX_BODY_DIGITS = 8;
     private static final int[] VERIFICATION_WEIGHTS = {2, 3, 4, 5, 6, 7, 2, 3};
 
-    private final String number;
-    private final String verificationDigit;
+    private final int body;
+    private final char verificationDigit;
     private final String fullRut;
 
-    private Rut(String number, String verificationDigit) {
-        this.number = number;
+    private Rut(int body, char verificationDigit) {
+        this.body = body;
         this.verificationDigit = verificationDigit;
-        this.fullRut = number + "-" + verificationDigit;
+        this.fullRut = Integer.toString(body) + '-' + verificationDigit;
         validate();
     }
 
     /**
-     * Creates a RUT from a full RUT string (e.g., "12345678-9").
+     * Creates a RUT from a full RUT string (e.g., "12345678-9"). Dots and dashes are ignored.
      */
     public static Rut from(String rut) {
         Guard.notNullOrEmpty(rut, "RUT cannot be null or empty");
-        
-        String cleanRut = rut.replaceAll("[.-]", "").toUpperCase();
-        if (cleanRut.length() < 2) {
+
+        // Una sola pasada: los dígitos van al cuerpo y el último carácter significativo es el dígito verificador
+        int body = 0;
+        int digits = 0;
+        char last = 0;
+        for (int i = 0; i < rut.length(); i++) {
+            char c = rut.charAt(i);
+            if (c == '.' || c == '-') {
+                continue;
+            }
+            if (last != 0) {
+                if (last < '0' || last > '9' || digits == MAX_BODY_DIGITS) {
+                    throw new IllegalArgumentException("Invalid RUT format: " + rut);
+                }
+                body = body * 10 + (last - '0');
+                digits++;
+            }
+            last = c;
+        }
+
+        if (digits == 0) {
             throw new IllegalArgumentException("RUT must have at least 2 characters");
         }
-        
-        String number = cleanRut.substring(0, cleanRut.length() - 1);
-        String verificationDigit = cleanRut.substring(cleanRut.length() - 1);
-        
-        return new Rut(number, verificationDigit);
+
+        return new Rut(body, checkCharacter(last, rut));
     }
 
     /**
@@ -48,21 +62,64 @@ public final class Rut extends ValueObject {
     public static Rut from(String number, String verificationDigit) {
         Guard.notNullOrEmpty(number, "RUT number cannot be null or empty");
         Guard.notNullOrEmpty(verificationDigit, "Verification digit cannot be null or empty");
-        
-        return new Rut(number, verificationDigit.toUpperCase());
+
+        if (number.length() > MAX_BODY_DIGITS || verificationDigit.length() != 1) {
+            throw new IllegalArgumentException("Invalid RUT format: " + number + "-" + verificationDigit);
+        }
+        int body = 0;
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid RUT format: " + number + "-" + verificationDigit);
+            }
+            body = body * 10 + (c - '0');
+        }
+
+        return new Rut(body, checkCharacter(verificationDigit.charAt(0), number + "-" + verificationDigit));
+    }
+
+    /**
+     * Creates a RUT from its numeric body and verification digit.
+     */
+    public static Rut of(int body, char verificationDigit) {
+        return new Rut(body, Character.toUpperCase(verificationDigit));
+    }
+
+    private static char checkCharacter(char c, String input) {
+        if (c >= '0' && c <= '9' || c == 'K') {
+            return c;
+        }
+        if (c == 'k') {
+            return 'K';
+        }
+        throw new IllegalArgumentException("Invalid RUT format: " + input);
+    }
+
+    /**
+     * Gets the numeric body of the RUT, without the verification digit.
+     */
+    public int getBody() {
+        return body;
     }
 
     /**
      * Gets the RUT number part.
      */
     public String getNumber() {
-        return number;
+        return Integer.toString(body);
     }
 
     /**
      * Gets the verification digit.
      */
     public String getVerificationDigit() {
+        return String.valueOf(verificationDigit);
+    }
+
+    /**
+     * Gets the verification digit as a character ('0'-'9' or 'K').
+     */
+    public char getVerificationChar() {
         return verificationDigit;
     }
 
@@ -77,55 +134,44 @@ public final class Rut extends ValueObject {
      * Gets the RUT without formatting.
      */
     public String getCleanRut() {
-        return number + verificationDigit;
+        return Integer.toString(body) + verificationDigit;
     }
 
     /**
-     * Validates the RUT format and verification digit.
+     * Validates the RUT body range and verification digit.
      */
     @Override
     protected void validate() {
-        // Validate format
-        if (!RUT_PATTERN.matcher(fullRut).matches()) {
-            throw new IllegalArgumentException("Invalid RUT format: " + fullRut);
-        }
-
-        // Validate number part
-        if (number.length() < 1 || number.length() > 8) {
+        if (body < 0 || body > 99_999_999) {
             throw new IllegalArgumentException("RUT number must be between 1 and 8 digits");
         }
 
-        // Validate verification digit
-        String calculatedDigit = calculateVerificationDigit(number);
-        if (!calculatedDigit.equals(verificationDigit)) {
-            throw new IllegalArgumentException("Invalid verification digit. Expected: " + 
+        char calculatedDigit = calculateVerificationDigit(body);
+        if (calculatedDigit != verificationDigit) {
+            throw new IllegalArgumentException("Invalid verification digit. Expected: " +
                                            calculatedDigit + ", Got: " + verificationDigit);
         }
     }
 
     /**
-     * Calculates the verification digit for a given RUT number.
+     * Calculates the verification digit (módulo 11) for a given RUT body.
      */
-    private String calculateVerificationDigit(String rutNumber) {
+    private static char calculateVerificationDigit(int rutBody) {
         int sum = 0;
         int weightIndex = 0;
-        
-        // Reverse the number for calculation
-        for (int i = rutNumber.length() - 1; i >= 0; i--) {
-            int digit = Character.getNumericValue(rutNumber.charAt(i));
-            sum += digit * VERIFICATION_WEIGHTS[weightIndex % VERIFICATION_WEIGHTS.length];
-            weightIndex++;
+
+        for (int remaining = rutBody; remaining > 0; remaining /= 10) {
+            sum += remaining % 10 * VERIFICATION_WEIGHTS[weightIndex++ % VERIFICATION_WEIGHTS.length];
         }
-        
-        int remainder = sum % 11;
-        int verificationDigit = 11 - remainder;
-        
+
+        int verificationDigit = 11 - sum % 11;
+
         if (verificationDigit == 11) {
-            return "0";
+            return '0';
         } else if (verificationDigit == 10) {
-            return "K";
+            return 'K';
         } else {
-            return String.valueOf(verificationDigit);
+            return (char) ('0' + verificationDigit);
         }
     }
 
@@ -146,12 +192,12 @@ public final class Rut extends ValueObject {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         Rut rut = (Rut) obj;
-        return fullRut.equals(rut.fullRut);
+        return body == rut.body && verificationDigit == rut.verificationDigit;
     }
 
     @Override
     public int hashCode() {
-        return fullRut.hashCode();
+        return 31 * body + verificationDigit;
     }
 
     @Override
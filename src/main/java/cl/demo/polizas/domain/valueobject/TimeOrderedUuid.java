@@ -0,0 +1,55 @@
+package cl.demo.polizas.domain.valueobject;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free generator of UUIDv7 values (RFC 9562): a 48-bit Unix millisecond timestamp, a 12-bit counter that keeps
+ * values monotonic within the same millisecond, and 62 random bits. Values created later sort after earlier ones, so
+ * inserts land at the right edge of a primary-key index instead of anywhere in it.
+ */
+final class TimeOrderedUuid {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    // Milisegundos desplazados 12 bits más el contador; un solo CAS mantiene el orden entre hilos
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private TimeOrderedUuid() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * Returns a new UUIDv7, greater than every value previously returned by this method in this JVM.
+     */
+    static UUID generate() {
+        return fromState(nextState(System.currentTimeMillis()), ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Advances the shared timestamp/counter state for the given wall-clock millisecond. If the counter runs out or the
+     * clock goes backwards, the state keeps counting from the last value, borrowing from the next millisecond.
+     */
+    static long nextState(long millis) {
+        long candidate = millis << COUNTER_BITS;
+        while (true) {
+            long last = LAST.get();
+            long next = candidate > last ? candidate : last + 1;
+            if (LAST.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Lays out a timestamp/counter state and random bits as a version 7, IETF variant UUID.
+     */
+    static UUID fromState(long state, long random) {
+        long millis = state >>> COUNTER_BITS;
+        long mostSignificant = millis << 16 | 0x7000L | (state & COUNTER_MASK);
+        long leastSignificant = random & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
@@ -4,7 +4,8 @@ import java.util.function.Predicate;
 
 /**
  * Specification pattern for creating complex filters and business rules. Allows combining multiple conditions in a
- * flexible and readable way.
+ * flexible and readable way. The combinators expose their operands so a repository can walk a specification and
+ * translate the parts it knows into a query.
  * 
  * @param <T> The type of the object being tested
  */
@@ -105,6 +106,14 @@ public interface Specification<T> {
         public boolean isSatisfiedBy(T obj) {
             return left.isSatisfiedBy(obj) && right.isSatisfiedBy(obj);
         }
+
+        public Specification<T> left() {
+            return left;
+        }
+
+        public Specification<T> right() {
+            return right;
+        }
     }
 
     /**
@@ -123,6 +132,14 @@ public interface Specification<T> {
         public boolean isSatisfiedBy(T obj) {
             return left.isSatisfiedBy(obj) || right.isSatisfiedBy(obj);
         }
+
+        public Specification<T> left() {
+            return left;
+        }
+
+        public Specification<T> right() {
+            return right;
+        }
     }
 
     /**
@@ -139,5 +156,9 @@ public interface Specification<T> {
         public boolean isSatisfiedBy(T obj) {
             return !specification.isSatisfiedBy(obj);
         }
+
+        public Specification<T> specification() {
+            return specification;
+        }
     }
 }
@@ -0,0 +1,3 @@
+-- Convierte policies.id de VARCHAR(36) al tipo UUID nativo de H2 (16 bytes).
+-- H2 convierte cada valor existente y reconstruye la clave primaria y el índice idx_created_at_id.
+ALTER TABLE policies ALTER COLUMN id SET DATA TYPE UUID;
@@ -0,0 +1,5 @@
+-- Agrega policies.client_rut_body (cuerpo numérico del RUT) y lo completa desde client_rut ("12345678-5").
+ALTER TABLE policies ADD COLUMN IF NOT EXISTS client_rut_body INTEGER;
+UPDATE policies SET client_rut_body = CAST(SUBSTRING(client_rut, 1, LOCATE('-', client_rut) - 1) AS INTEGER)
+    WHERE client_rut_body IS NULL;
+CREATE INDEX IF NOT EXISTS idx_client_rut_body ON policies (client_rut_body);
@@ -0,0 +1,2 @@
+-- Índice sobre end_date para que el barrido de vencimiento encuentre las pólizas vencidas sin recorrer la tabla.
+CREATE INDEX IF NOT EXISTS idx_end_date ON policies (end_date);
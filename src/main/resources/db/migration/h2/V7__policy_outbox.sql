@@ -0,0 +1,8 @@
+-- Crea la tabla policy_outbox para los eventos de dominio pendientes de publicar.
+CREATE TABLE IF NOT EXISTS policy_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload CLOB NOT NULL,
+    occurred_on TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
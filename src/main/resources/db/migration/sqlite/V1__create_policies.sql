@@ -0,0 +1,24 @@
+-- Esquema inicial de policies, con el id como texto; las versiones siguientes lo llevan al esquema actual.
+CREATE TABLE policies (
+    id VARCHAR(36) NOT NULL PRIMARY KEY,
+    policy_number VARCHAR(50) NOT NULL,
+    client_rut VARCHAR(12) NOT NULL,
+    client_name VARCHAR(100) NOT NULL,
+    client_email VARCHAR(100) NOT NULL,
+    premium_amount DECIMAL(15,2) NOT NULL,
+    premium_currency VARCHAR(3) NOT NULL,
+    coverage_amount DECIMAL(15,2) NOT NULL,
+    coverage_currency VARCHAR(3) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    description VARCHAR(500),
+    insurance_type VARCHAR(50),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX idx_policy_number ON policies (policy_number);
+CREATE INDEX idx_client_rut ON policies (client_rut);
+CREATE INDEX idx_status ON policies (status);
+CREATE INDEX idx_created_at ON policies (created_at);
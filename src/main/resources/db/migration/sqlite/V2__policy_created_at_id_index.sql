@@ -0,0 +1,3 @@
+-- Reemplaza idx_created_at por (created_at, id), el orden estable de la paginación por cursor.
+DROP INDEX IF EXISTS idx_created_at;
+CREATE INDEX IF NOT EXISTS idx_created_at_id ON policies (created_at, id);
@@ -0,0 +1,38 @@
+-- Convierte policies.id de texto (36 caracteres) a BLOB de 16 bytes en el orden que usa Hibernate
+-- (bits más significativos primero). Requiere SQLite 3.41 o superior por unhex().
+-- SQLite no permite cambiar el tipo de una columna, así que la tabla se copia y se reemplaza. La copia tiene las
+-- columnas de V1; client_rut_body y version llegan después, en V4 y V5. Flyway ya corre el script en una transacción.
+CREATE TABLE policies_uuid (
+    id BLOB NOT NULL PRIMARY KEY,
+    policy_number VARCHAR(50) NOT NULL,
+    client_rut VARCHAR(12) NOT NULL,
+    client_name VARCHAR(100) NOT NULL,
+    client_email VARCHAR(100) NOT NULL,
+    premium_amount DECIMAL(15,2) NOT NULL,
+    premium_currency VARCHAR(3) NOT NULL,
+    coverage_amount DECIMAL(15,2) NOT NULL,
+    coverage_currency VARCHAR(3) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    description VARCHAR(500),
+    insurance_type VARCHAR(50),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+INSERT INTO policies_uuid (id, policy_number, client_rut, client_name, client_email, premium_amount,
+        premium_currency, coverage_amount, coverage_currency, status, start_date, end_date, description,
+        insurance_type, created_at, updated_at)
+    SELECT unhex(replace(id, '-', '')), policy_number, client_rut, client_name, client_email, premium_amount,
+        premium_currency, coverage_amount, coverage_currency, status, start_date, end_date, description,
+        insurance_type, created_at, updated_at
+    FROM policies;
+
+DROP TABLE policies;
+ALTER TABLE policies_uuid RENAME TO policies;
+
+CREATE UNIQUE INDEX idx_policy_number ON policies (policy_number);
+CREATE INDEX idx_client_rut ON policies (client_rut);
+CREATE INDEX idx_status ON policies (status);
+CREATE INDEX idx_created_at_id ON policies (created_at, id);
@@ -0,0 +1,2 @@
+-- Agrega policies.version para el control de concurrencia optimista; las filas existentes parten en 0.
+ALTER TABLE policies ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,8 @@
+-- Crea la tabla policy_outbox para los eventos de dominio pendientes de publicar.
+CREATE TABLE IF NOT EXISTS policy_outbox (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    aggregate_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    occurred_on TIMESTAMP NOT NULL
+);
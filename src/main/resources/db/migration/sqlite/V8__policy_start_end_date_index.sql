@@ -0,0 +1,3 @@
+-- Índice compuesto (start_date, end_date) para listar las pólizas vigentes en una fecha: recorre el rango de
+-- start_date y descarta por end_date dentro del mismo índice, antes de leer las filas.
+CREATE INDEX IF NOT EXISTS idx_start_end_date ON policies (start_date, end_date);
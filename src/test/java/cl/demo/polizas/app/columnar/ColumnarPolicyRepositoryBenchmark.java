@@ -0,0 +1,153 @@
+package cl.demo.polizas.app.columnar;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Query latency of {@link ColumnarPolicyRepository} at 1M and 10M policies, ten per client, spread over all statuses.
+ * The setup prints the bytes per policy, both as estimated by {@link ColumnarPolicyRepository#footprintBytes()} and as
+ * measured from the heap after a GC (the latter includes the benchmark's own array of IDs, about 60 bytes per policy).
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(value = 1, jvmArgs = "-Xmx5g")
+public class ColumnarPolicyRepositoryBenchmark {
+
+    static final int POLICIES_PER_CLIENT = 10;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final PolicyStatus[] STATUSES = PolicyStatus.values();
+    private static final Currency CLP = Currency.getInstance("CLP");
+
+    @Param({ "1000000", "10000000" })
+    public int policies;
+
+    private ColumnarPolicyRepository repository;
+    private PolicyId[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        repository = new ColumnarPolicyRepository();
+        ids = populate(repository, policies);
+
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%n%d policies: %d bytes/policy estimated, %d bytes/policy measured%n", policies,
+                repository.footprintBytes() / policies, (after - before) / policies);
+    }
+
+    @Benchmark
+    public Optional<Policy> findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(policies)]);
+    }
+
+    @Benchmark
+    public Optional<Policy> findByPolicyNumber() {
+        return repository.findByPolicyNumber("POL-" + ThreadLocalRandom.current().nextInt(policies));
+    }
+
+    @Benchmark
+    public long countByStatus() {
+        return repository.count(PolicyStatus.ACTIVE, null);
+    }
+
+    @Benchmark
+    public long countByClientRut() {
+        return repository.count(null, rut(ThreadLocalRandom.current().nextInt(policies / POLICIES_PER_CLIENT)));
+    }
+
+    @Benchmark
+    public List<Policy> findAllFirstPage() {
+        return repository.findAll(0, 20, null, null);
+    }
+
+    @Benchmark
+    public List<Policy> findAllDeepPage() {
+        return repository.findAll(policies / 40, 20, null, null);
+    }
+
+    @Benchmark
+    public List<Policy> findAllByStatusDeepPage() {
+        // A mitad del estado: recorre la mitad del orden de creación
+        return repository.findAll(policies / STATUSES.length / 40, 20, PolicyStatus.ACTIVE, null);
+    }
+
+    @Benchmark
+    public List<Policy> findAllByClientRut() {
+        int client = ThreadLocalRandom.current().nextInt(policies / POLICIES_PER_CLIENT);
+        return repository.findAll(0, 20, null, rut(client));
+    }
+
+    /**
+     * Saves {@code count} synthetic policies and returns their IDs in creation order.
+     */
+    static PolicyId[] populate(ColumnarPolicyRepository repository, int count) {
+        PolicyId[] ids = new PolicyId[count];
+        List<Policy> batch = new ArrayList<>(10_000);
+        for (int seq = 0; seq < count; seq++) {
+            int client = seq % (count / POLICIES_PER_CLIENT);
+            LocalDateTime createdAt = BASE_TIME.plusNanos(seq * 1_000L);
+            Policy policy = Policy.reconstitute(PolicyId.from(UUID.randomUUID()), "POL-" + seq,
+                    Rut.of(10_000_000 + client, verificationDigit(10_000_000 + client)), "Cliente " + client,
+                    "cliente" + client + "@demo.cl", Money.ofMinor(34_990, CLP),
+                    Money.ofMinor(10_000_000, CLP), STATUSES[seq % STATUSES.length],
+                    LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1), "Póliza de prueba",
+                    seq % 2 == 0 ? "SALUD" : "VIDA", createdAt, createdAt, 0);
+            ids[seq] = policy.id();
+            batch.add(policy);
+            if (batch.size() == 10_000) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+        return ids;
+    }
+
+    static String rut(int client) {
+        int body = 10_000_000 + client;
+        return body + "-" + verificationDigit(body);
+    }
+
+    private static char verificationDigit(int body) {
+        int sum = 0;
+        for (int factor = 2; body > 0; body /= 10, factor = factor == 7 ? 2 : factor + 1) {
+            sum += (body % 10) * factor;
+        }
+        int digit = 11 - sum % 11;
+        return digit == 11 ? '0' : digit == 10 ? 'K' : (char) ('0' + digit);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ColumnarPolicyRepositoryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,201 @@
+package cl.demo.polizas.app.columnar;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository.ExpiredPolicy;
+import cl.demo.polizas.domain.specification.PolicySpecifications;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import cl.demo.polizas.seedwork.domain.Specification;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarPolicyRepositoryTest {
+
+    private static final String[] RUTS = { "12345678-5", "11111111-1", "22222222-2", "7654321-6" };
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void readsBackEveryColumn() {
+        ColumnarPolicyRepository repository = new ColumnarPolicyRepository();
+        Policy policy = Policy.reconstitute(PolicyId.generate(), "POL-COL-1", Rut.from("12.345.678-5"), "José Muñoz",
+                "jose@demo.cl", Money.of(new BigDecimal("34990.55")), Money.of(new BigDecimal("1000000"), "USD"),
+                PolicyStatus.ACTIVE, LocalDate.of(2025, 3, 1), LocalDate.of(2026, 3, 1), null, null,
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_456_789), LocalDateTime.of(2025, 1, 2, 3, 4, 6), 7);
+        repository.save(policy);
+
+        Policy loaded = repository.findById(policy.id()).orElseThrow();
+        assertEquals(policy.getPolicyNumber(), loaded.getPolicyNumber());
+        assertEquals(policy.getClientRut(), loaded.getClientRut());
+        assertEquals(policy.getClientName(), loaded.getClientName());
+        assertEquals(policy.getClientEmail(), loaded.getClientEmail());
+        assertEquals(policy.getPremium(), loaded.getPremium());
+        assertEquals(policy.getCoverage(), loaded.getCoverage());
+        assertEquals(policy.getStatus(), loaded.getStatus());
+        assertEquals(policy.getStartDate(), loaded.getStartDate());
+        assertEquals(policy.getEndDate(), loaded.getEndDate());
+        assertNull(loaded.getDescription());
+        assertNull(loaded.getInsuranceType());
+        assertEquals(policy.getCreatedAt(), loaded.getCreatedAt());
+        assertEquals(policy.getUpdatedAt(), loaded.getUpdatedAt());
+        assertEquals(7, loaded.getVersion());
+    }
+
+    @Test
+    void upsertKeepsCreationTimeAndReindexesChangedColumns() {
+        ColumnarPolicyRepository repository = new ColumnarPolicyRepository();
+        Policy original = policy(0, "12345678-5", PolicyStatus.PENDING);
+        repository.save(original);
+
+        Policy changed = Policy.reconstitute(original.id(), "POL-COL-RENAMED", Rut.from("11111111-1"), "Otro",
+                "otro@demo.cl", original.getPremium(), original.getCoverage(), PolicyStatus.ACTIVE,
+                original.getStartDate(), original.getEndDate(), "Cambiada", "VIDA", BASE_TIME.plusDays(5),
+                BASE_TIME.plusDays(5), original.getVersion());
+        repository.save(changed);
+
+        Policy loaded = repository.findByPolicyNumber("POL-COL-RENAMED").orElseThrow();
+        assertEquals(original.getCreatedAt(), loaded.getCreatedAt());
+        assertEquals(original.getVersion() + 1, loaded.getVersion());
+        assertFalse(repository.existsByPolicyNumber(original.getPolicyNumber()));
+        assertEquals(0, repository.countByClientRut("12345678-5"));
+        assertEquals(1, repository.count(PolicyStatus.ACTIVE, "11.111.111-1"));
+        assertEquals(0, repository.countByStatus(PolicyStatus.PENDING));
+    }
+
+    @Test
+    void rejectsDuplicatePolicyNumbersWithoutWritingTheBatch() {
+        ColumnarPolicyRepository repository = new ColumnarPolicyRepository();
+        repository.save(policy(0, "12345678-5", PolicyStatus.PENDING));
+
+        List<Policy> batch = List.of(policy(1, "12345678-5", PolicyStatus.PENDING),
+                policy(0, "12345678-5", PolicyStatus.PENDING));
+        assertThrows(IllegalStateException.class, () -> repository.saveAll(batch));
+        assertEquals(1, repository.size());
+    }
+
+    @Test
+    void expiresDuePoliciesInEndDateOrder() {
+        ColumnarPolicyRepository repository = new ColumnarPolicyRepository();
+        List<Policy> policies = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Policy policy = Policy.reconstitute(PolicyId.generate(), "POL-COL-EXP-" + i, Rut.from("12345678-5"),
+                    "Cliente", "cliente@demo.cl", Money.of(new BigDecimal("100")), Money.of(new BigDecimal("1000")),
+                    i == 4 ? PolicyStatus.CANCELLED : PolicyStatus.ACTIVE, LocalDate.of(2023, 1, 1),
+                    LocalDate.of(2024, 1, 10 - i), null, null, BASE_TIME, BASE_TIME, 0);
+            policies.add(policy);
+        }
+        repository.saveAll(policies);
+
+        List<ExpiredPolicy> first = repository.expireDue(LocalDate.of(2024, 6, 1), 2, BASE_TIME);
+        assertEquals(List.of("POL-COL-EXP-3", "POL-COL-EXP-2"),
+                first.stream().map(ExpiredPolicy::policyNumber).toList());
+        assertEquals(2, repository.expireDue(LocalDate.of(2024, 6, 1), 2, BASE_TIME).size());
+        assertEquals(List.of(), repository.expireDue(LocalDate.of(2024, 6, 1), 2, BASE_TIME));
+        assertEquals(4, repository.countByStatus(PolicyStatus.EXPIRED));
+    }
+
+    @Test
+    void findsPoliciesBySpecificationInCreationOrder() {
+        ColumnarPolicyRepository repository = new ColumnarPolicyRepository();
+        for (int seq = 0; seq < 8; seq++) {
+            repository.save(policy(seq, RUTS[seq % 3], seq < 6 ? PolicyStatus.ACTIVE : PolicyStatus.CANCELLED));
+        }
+
+        Specification<Policy> specification = PolicySpecifications.hasStatus(PolicyStatus.ACTIVE)
+                .and(PolicySpecifications.ofInsuranceType("SALUD").not()
+                        .or(PolicySpecifications.ofClient(Rut.from(RUTS[2]))));
+
+        // Activas y de VIDA (impares) o del tercer cliente: 1, 2, 3 y 5
+        assertEquals(List.of("POL-COL-1", "POL-COL-2", "POL-COL-3"), repository.findAll(specification, 0, 3).stream()
+                .map(Policy::getPolicyNumber).toList());
+        assertEquals(List.of("POL-COL-5"), repository.findAll(specification, 1, 3).stream()
+                .map(Policy::getPolicyNumber).toList());
+    }
+
+    @Test
+    void matchesANaiveModelUnderRandomWrites() {
+        ColumnarPolicyRepository repository = new ColumnarPolicyRepository();
+        Map<PolicyId, Policy> model = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int step = 0; step < 20_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 5 || model.isEmpty()) {
+                // Fechas de creación desordenadas para forzar inserciones en medio del orden de páginas
+                Policy policy = policy(step, RUTS[random.nextInt(RUTS.length)],
+                        PolicyStatus.values()[random.nextInt(PolicyStatus.values().length)],
+                        BASE_TIME.plusSeconds(random.nextInt(1_000)));
+                repository.save(policy);
+                model.put(policy.id(), policy);
+            } else if (action < 8) {
+                PolicyId policyId = pick(model, random);
+                PolicyStatus newStatus = PolicyStatus.values()[random.nextInt(PolicyStatus.values().length)];
+                repository.updateStatusByIds(List.of(policyId), Set.of(PolicyStatus.values()), newStatus, BASE_TIME);
+                Policy old = model.get(policyId);
+                model.put(policyId, Policy.reconstitute(policyId, old.getPolicyNumber(), old.getClientRut(),
+                        old.getClientName(), old.getClientEmail(), old.getPremium(), old.getCoverage(), newStatus,
+                        old.getStartDate(), old.getEndDate(), old.getDescription(), old.getInsuranceType(),
+                        old.getCreatedAt(), BASE_TIME, old.getVersion() + 1));
+            } else {
+                PolicyId policyId = pick(model, random);
+                repository.deleteById(policyId);
+                model.remove(policyId);
+            }
+        }
+
+        assertEquals(model.size(), repository.size());
+        List<PolicyStatus> statuses = new ArrayList<>(List.of(PolicyStatus.values()));
+        statuses.add(null);
+        for (PolicyStatus status : statuses) {
+            for (String rut : new String[] { null, RUTS[0], RUTS[3] }) {
+                List<Policy> expected = model.values().stream()
+                        .filter(p -> status == null || p.getStatus() == status)
+                        .filter(p -> rut == null || p.getClientRut().equals(Rut.from(rut)))
+                        .sorted(Comparator.comparing(Policy::getCreatedAt).thenComparing(p -> p.id().value()))
+                        .toList();
+                assertEquals(expected.size(), repository.count(status, rut));
+                for (int page = 0; page * 50 < expected.size(); page += 7) {
+                    List<Policy> actual = repository.findAll(page, 50, status, rut);
+                    List<Policy> slice = expected.subList(page * 50, Math.min(page * 50 + 50, expected.size()));
+                    assertEquals(slice.stream().map(Policy::id).toList(), actual.stream().map(Policy::id).toList());
+                    for (int i = 0; i < slice.size(); i++) {
+                        assertEquals(slice.get(i).getVersion(), actual.get(i).getVersion());
+                    }
+                }
+            }
+        }
+        List<Policy> all = repository.findAll(0, model.size(), null, null);
+        assertEquals(model.size(), all.size());
+        assertTrue(all.stream().allMatch(p -> model.get(p.id()).getPolicyNumber().equals(p.getPolicyNumber())));
+    }
+
+    private static PolicyId pick(Map<PolicyId, Policy> model, Random random) {
+        return model.keySet().stream().skip(random.nextInt(model.size())).findFirst().orElseThrow();
+    }
+
+    private static Policy policy(int seq, String clientRut, PolicyStatus status) {
+        return policy(seq, clientRut, status, BASE_TIME.plusSeconds(seq));
+    }
+
+    private static Policy policy(int seq, String clientRut, PolicyStatus status, LocalDateTime createdAt) {
+        return Policy.reconstitute(PolicyId.from(UUID.randomUUID()), "POL-COL-" + seq, Rut.from(clientRut),
+                "Cliente " + seq, "cliente" + seq + "@demo.cl", Money.of(new BigDecimal("34990")),
+                Money.of(new BigDecimal("10000000")), status, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1),
+                "Póliza " + seq, seq % 2 == 0 ? "SALUD" : "VIDA", createdAt, createdAt, 0);
+    }
+}
@@ -0,0 +1,107 @@
+package cl.demo.polizas.app.events;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import cl.demo.polizas.app.events.DomainEventBus.Backpressure;
+import cl.demo.polizas.app.events.DomainEventBus.WaitStrategy;
+import cl.demo.polizas.seedwork.domain.DomainEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The in-process event ring with 1, 2 and 4 consumers under each wait strategy. {@code throughput} publishes batches
+ * of events and reports events/sec once every consumer has processed them; {@code latency} publishes one event at a
+ * time and samples the time until the slowest consumer has handled it, i.e. end-to-end latency.
+ */
+@State(Scope.Benchmark) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1)
+public class DomainEventBusBenchmark {
+
+    private static final int EVENTS_PER_INVOCATION = 1_000;
+
+    @Param({ "1", "2", "4" })
+    public int consumers;
+
+    @Param({ "BLOCKING", "SLEEPING", "YIELDING", "BUSY_SPIN" })
+    public WaitStrategy waitStrategy;
+
+    @Param({ "8192" })
+    public int capacity;
+
+    private EventRing ring;
+    private List<EventSubscription> subscriptions;
+    private List<DomainEvent> batch;
+    private List<DomainEvent> single;
+    private long published;
+
+    private record BenchmarkEvent(String type, String aggregateId) implements DomainEvent {
+
+        @Override
+        public Instant occurredOn() {
+            return Instant.EPOCH;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ring = new EventRing(capacity, waitStrategy, Backpressure.BLOCK);
+        subscriptions = new ArrayList<>();
+        for (int i = 0; i < consumers; i++) {
+            long[] handled = new long[1];
+            subscriptions.add(ring.subscribe("bench-" + i, null, (event, endOfBatch) -> handled[0]++));
+        }
+
+        batch = new ArrayList<>(EVENTS_PER_INVOCATION);
+        for (int i = 0; i < EVENTS_PER_INVOCATION; i++) {
+            batch.add(new BenchmarkEvent(i % 2 == 0 ? "PolicyCreated" : "PolicyActivated", Integer.toString(i)));
+        }
+        single = List.of(batch.get(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        subscriptions.forEach(EventSubscription::close);
+    }
+
+    @Benchmark @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+    public void throughput() {
+        published += ring.publish(batch);
+        awaitConsumers();
+    }
+
+    @Benchmark @BenchmarkMode(Mode.SampleTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void latency() {
+        published += ring.publish(single);
+        awaitConsumers();
+    }
+
+    private void awaitConsumers() {
+        for (EventSubscription subscription : subscriptions) {
+            while (subscription.processed() < published) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DomainEventBusBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,147 @@
+package cl.demo.polizas.app.events;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import cl.demo.polizas.app.events.DomainEventBus.Backpressure;
+import cl.demo.polizas.app.events.DomainEventBus.WaitStrategy;
+import cl.demo.polizas.seedwork.domain.DomainEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRingTest {
+
+    record TestEvent(String type, int producer, long number) implements DomainEvent {
+
+        @Override
+        public Instant occurredOn() {
+            return Instant.EPOCH;
+        }
+
+        @Override
+        public String aggregateId() {
+            return Integer.toString(producer);
+        }
+    }
+
+    private static void awaitProcessed(List<EventSubscription> subscriptions, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        for (EventSubscription subscription : subscriptions) {
+            while (subscription.processed() < expected) {
+                assertTrue(System.nanoTime() < deadline, "timed out waiting for consumers");
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.class)
+    void deliversEveryEventInProducerOrder(WaitStrategy waitStrategy) throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        EventRing ring = new EventRing(256, waitStrategy, Backpressure.BLOCK);
+
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger filtered = new AtomicInteger();
+        long[] last = new long[producers];
+        Arrays.fill(last, -1);
+        List<EventSubscription> subscriptions = List.of(
+                ring.subscribe("all", null, (event, endOfBatch) -> {
+                    TestEvent e = (TestEvent) event;
+                    assertTrue(e.number() > last[e.producer()], "out of order");
+                    last[e.producer()] = e.number();
+                    delivered.incrementAndGet();
+                }),
+                ring.subscribe("even", Set.of("EVEN"), (event, endOfBatch) -> filtered.incrementAndGet()));
+
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads[p] = new Thread(() -> {
+                List<TestEvent> batch = new ArrayList<>();
+                for (int i = 0; i < perProducer; i++) {
+                    batch.add(new TestEvent(i % 2 == 0 ? "EVEN" : "ODD", producer, i));
+                    if (batch.size() == 16) {
+                        ring.publish(batch);
+                        batch.clear();
+                    }
+                }
+                ring.publish(batch);
+            });
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        awaitProcessed(subscriptions, (long) producers * perProducer);
+        subscriptions.forEach(EventSubscription::close);
+
+        assertEquals(producers * perProducer, delivered.get());
+        assertEquals(producers * perProducer / 2, filtered.get());
+        assertEquals(0, ring.backlog());
+    }
+
+    @Test
+    void dropsWhenTheSlowestConsumerIsAFullRingBehind() throws Exception {
+        EventRing ring = new EventRing(8, WaitStrategy.BLOCKING, Backpressure.DROP);
+        CountDownLatch release = new CountDownLatch(1);
+        EventSubscription slow = ring.subscribe("slow", null, (event, endOfBatch) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        List<TestEvent> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(new TestEvent("ANY", 0, i));
+        }
+
+        assertEquals(8, ring.publish(events));
+        release.countDown();
+        awaitProcessed(List.of(slow), 8);
+        assertEquals(8, ring.publish(events.subList(0, 8)));
+        slow.close();
+    }
+
+    @Test
+    void marksTheLastEventOfEachBatch() throws Exception {
+        EventRing ring = new EventRing(64, WaitStrategy.BLOCKING, Backpressure.BLOCK);
+        CountDownLatch firstEvent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Boolean> ends = new ArrayList<>();
+        EventSubscription subscription = ring.subscribe("batches", null, (event, endOfBatch) -> {
+            synchronized (ends) {
+                ends.add(endOfBatch);
+            }
+            firstEvent.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Mientras el consumidor procesa el primer evento se acumulan los demás en un solo lote
+        ring.publish(List.of(new TestEvent("ANY", 0, 0)));
+        assertTrue(firstEvent.await(10, TimeUnit.SECONDS));
+        ring.publish(List.of(new TestEvent("ANY", 0, 1), new TestEvent("ANY", 0, 2), new TestEvent("ANY", 0, 3)));
+        release.countDown();
+        awaitProcessed(List.of(subscription), 4);
+        subscription.close();
+
+        assertEquals(List.of(true, false, false, true), ends);
+    }
+}
@@ -0,0 +1,222 @@
+package cl.demo.polizas.app.eventstore;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSourcedPolicyRepositoryTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void findsWhatWasSavedAndChanged() {
+        try (EventSourcedPolicyRepository repository = open(0)) {
+            Policy policy = policy("POL-ES-1", "12345678-5");
+            repository.save(policy);
+
+            Policy loaded = repository.findById(policy.id()).orElseThrow();
+            assertPolicyEquals(policy, loaded);
+
+            Set<PolicyStatus> fromPending = Set.of(PolicyStatus.PENDING);
+            assertEquals(PolicyStatus.PENDING, repository
+                    .updateStatusFrom(policy.id(), fromPending, PolicyStatus.ACTIVE, LocalDateTime.now())
+                    .orElseThrow().previousStatus());
+            // Ya no está pendiente: otra escritura la cambió primero
+            assertTrue(repository.updateStatusFrom(policy.id(), fromPending, PolicyStatus.ACTIVE, LocalDateTime.now())
+                    .isEmpty());
+
+            Policy active = repository.findByPolicyNumber("POL-ES-1").orElseThrow();
+            assertEquals(PolicyStatus.ACTIVE, active.getStatus());
+            assertEquals(policy.getVersion() + 1, active.getVersion());
+            assertEquals(1, repository.count(PolicyStatus.ACTIVE, "12.345.678-5"));
+        }
+    }
+
+    @Test
+    void rejectsDuplicatePolicyNumbersWithoutWritingTheBatch() {
+        try (EventSourcedPolicyRepository repository = open(0)) {
+            repository.save(policy("POL-ES-DUP", "12345678-5"));
+
+            List<Policy> batch = List.of(policy("POL-ES-NEW", "12345678-5"), policy("POL-ES-DUP", "12345678-5"));
+            assertThrows(IllegalStateException.class, () -> repository.saveAll(batch));
+            assertFalse(repository.existsByPolicyNumber("POL-ES-NEW"));
+        }
+    }
+
+    @Test
+    void recoversFromTheLogAlone() {
+        List<Policy> saved = new ArrayList<>();
+        try (EventSourcedPolicyRepository repository = open(0)) {
+            writeHistory(repository, saved);
+        }
+        deleteSnapshot();
+
+        try (EventSourcedPolicyRepository repository = open(0)) {
+            assertHistory(repository, saved);
+        }
+    }
+
+    @Test
+    void recoversFromSnapshotPlusTail() {
+        List<Policy> saved = new ArrayList<>();
+        // Snapshots intermedios cada 7 eventos: la recuperación carga el último y reaplica solo la cola
+        EventSourcedPolicyRepository repository = open(7);
+        writeHistory(repository, saved);
+        // Sin close(): no hay snapshot final, solo los periódicos y el log ya mapeado
+
+        try (EventSourcedPolicyRepository recovered = open(7)) {
+            assertHistory(recovered, saved);
+        }
+    }
+
+    @Test
+    void recoversAcrossSegments() {
+        List<String> numbers = new ArrayList<>();
+        try (EventSourcedPolicyRepository repository = open(0)) {
+            // Unos 190 bytes por póliza: 1.000 pólizas ocupan tres segmentos de 64 KiB
+            for (int i = 0; i < 1_000; i++) {
+                Policy policy = policy("POL-ES-SEG-" + i, "12345678-5");
+                repository.save(policy);
+                numbers.add(policy.getPolicyNumber());
+            }
+        }
+        deleteSnapshot();
+
+        try (EventSourcedPolicyRepository repository = open(0)) {
+            assertEquals(1_000, repository.count(null, null));
+            assertEquals(Set.copyOf(numbers), repository.findExistingPolicyNumbers(numbers));
+            assertTrue(repository.findByPolicyNumber("POL-ES-SEG-999").isPresent());
+        }
+    }
+
+    @Test
+    void discardsATornTailAndKeepsAppending() throws IOException {
+        Policy first = policy("POL-ES-OK", "12345678-5");
+        try (EventSourcedPolicyRepository repository = open(0)) {
+            repository.save(first);
+            repository.save(policy("POL-ES-TORN", "12345678-5"));
+        }
+        deleteSnapshot();
+
+        // Corromper un byte del segundo registro, como una escritura que no alcanzó a llegar al disco
+        try (RandomAccessFile segment = new RandomAccessFile(directory.resolve("0000000000.log").toFile(), "rw")) {
+            int firstLength = segment.readInt();
+            long secondRecord = SegmentedLog.HEADER_BYTES + firstLength;
+            segment.seek(secondRecord + SegmentedLog.HEADER_BYTES + 20);
+            segment.writeByte(0x7F);
+        }
+
+        try (EventSourcedPolicyRepository repository = open(0)) {
+            assertTrue(repository.existsById(first.id()));
+            assertFalse(repository.existsByPolicyNumber("POL-ES-TORN"));
+
+            repository.save(policy("POL-ES-AFTER", "12345678-5"));
+        }
+        deleteSnapshot();
+
+        try (EventSourcedPolicyRepository repository = open(0)) {
+            assertEquals(2, repository.count(null, null));
+            assertTrue(repository.existsByPolicyNumber("POL-ES-AFTER"));
+        }
+    }
+
+    /**
+     * Creates, updates, changes the status of and deletes policies, leaving the expected survivors in {@code saved}.
+     */
+    private void writeHistory(EventSourcedPolicyRepository repository, List<Policy> saved) {
+        List<Policy> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(policy("POL-ES-H-" + i, i % 2 == 0 ? "12345678-5" : "11111111-1"));
+        }
+        repository.saveAll(batch);
+
+        Policy renamed = repository.findById(batch.get(0).id()).orElseThrow();
+        Policy updated = Policy.reconstitute(renamed.id(), "POL-ES-H-RENAMED", renamed.getClientRut(),
+                "Nombre Nuevo", renamed.getClientEmail(), renamed.getPremium(), renamed.getCoverage(),
+                renamed.getStatus(), renamed.getStartDate(), renamed.getEndDate(), "Actualizada",
+                renamed.getInsuranceType(), renamed.getCreatedAt(), LocalDateTime.now(), renamed.getVersion());
+        repository.save(updated);
+
+        assertEquals(5, repository.updateStatusByIds(batch.subList(1, 6).stream().map(Policy::id).toList(),
+                Set.of(PolicyStatus.PENDING), PolicyStatus.ACTIVE, LocalDateTime.now()));
+        assertEquals(2, repository.updateStatusByFilter("11.111.111-1", null, Set.of(PolicyStatus.ACTIVE),
+                PolicyStatus.INACTIVE, LocalDateTime.now(), 2));
+        repository.deleteById(batch.get(9).id());
+        repository.deleteByPolicyNumber("POL-ES-H-8");
+
+        for (int i = 0; i < 8; i++) {
+            saved.add(repository.findById(batch.get(i).id()).orElseThrow());
+        }
+    }
+
+    private void assertHistory(EventSourcedPolicyRepository repository, List<Policy> saved) {
+        assertEquals(saved.size(), repository.count(null, null));
+        for (Policy expected : saved) {
+            assertPolicyEquals(expected, repository.findById(expected.id()).orElseThrow());
+        }
+        assertFalse(repository.existsByPolicyNumber("POL-ES-H-0"));
+        assertTrue(repository.existsByPolicyNumber("POL-ES-H-RENAMED"));
+        assertFalse(repository.existsByPolicyNumber("POL-ES-H-8"));
+        assertFalse(repository.existsByPolicyNumber("POL-ES-H-9"));
+        assertEquals(2, repository.countByStatus(PolicyStatus.INACTIVE));
+        assertEquals(3, repository.countByStatus(PolicyStatus.ACTIVE));
+        assertEquals(3, repository.findPendingActivations().size());
+        assertEquals(saved.size(), repository.findAll(0, 100, null, null).size());
+    }
+
+    private static void assertPolicyEquals(Policy expected, Policy actual) {
+        assertEquals(expected.id(), actual.id());
+        assertEquals(expected.getPolicyNumber(), actual.getPolicyNumber());
+        assertEquals(expected.getClientRut(), actual.getClientRut());
+        assertEquals(expected.getClientName(), actual.getClientName());
+        assertEquals(expected.getClientEmail(), actual.getClientEmail());
+        assertEquals(expected.getPremium(), actual.getPremium());
+        assertEquals(expected.getCoverage(), actual.getCoverage());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getStartDate(), actual.getStartDate());
+        assertEquals(expected.getEndDate(), actual.getEndDate());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getInsuranceType(), actual.getInsuranceType());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+        assertEquals(expected.getVersion(), actual.getVersion());
+    }
+
+    private EventSourcedPolicyRepository open(int snapshotEvery) {
+        return new EventSourcedPolicyRepository(directory, SEGMENT_SIZE, snapshotEvery, false);
+    }
+
+    private void deleteSnapshot() {
+        try {
+            Files.deleteIfExists(directory.resolve("snapshot.bin"));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static Policy policy(String policyNumber, String clientRut) {
+        return Policy.create(policyNumber, Rut.from(clientRut), "Cliente Event Log", "eventlog@demo.cl",
+                Money.of(new BigDecimal("34990.50")), Money.of(new BigDecimal("10000000")),
+                LocalDate.now().plusDays(1), LocalDate.now().plusYears(1), "Póliza del event log", "SALUD");
+    }
+}
@@ -0,0 +1,151 @@
+package cl.demo.polizas.app.persistence;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Plain JDBC fixture shared by the persistence benchmarks. Mirrors the {@code policies} table generated from
+ * {@link PolicyEntity} so the statement patterns can be measured without booting Quarkus.
+ */
+final class BenchmarkDatabase {
+
+    static final String[] CREATE_INDEXES = {
+            "create unique index idx_policy_number on policies (policy_number)",
+            "create index idx_client_rut on policies (client_rut)",
+            "create index idx_client_rut_body on policies (client_rut_body)",
+            "create index idx_status on policies (status)",
+            "create index idx_created_at_id on policies (created_at, id)" };
+
+    static final String INSERT_POLICY = "insert into policies (id, policy_number, client_rut, client_name, "
+            + "client_email, premium_amount, premium_currency, coverage_amount, coverage_currency, status, "
+            + "start_date, end_date, description, insurance_type, created_at, updated_at, client_rut_body, version) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private BenchmarkDatabase() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * DDL of the policies table with the given SQL type for the {@code id} column.
+     */
+    static String createPolicies(String idType) {
+        return "create table policies (id " + idType + " not null primary key, "
+                + "policy_number varchar(50) not null, client_rut varchar(12) not null, "
+                + "client_name varchar(100) not null, client_email varchar(100) not null, "
+                + "premium_amount decimal(15,2) not null, premium_currency varchar(3) not null, "
+                + "coverage_amount decimal(15,2) not null, coverage_currency varchar(3) not null, "
+                + "status varchar(20) not null, start_date date not null, end_date date not null, "
+                + "description varchar(500), insurance_type varchar(50), created_at timestamp not null, "
+                + "updated_at timestamp not null, client_rut_body integer, version bigint not null)";
+    }
+
+    /**
+     * Opens a connection to a fresh, private H2 in-memory database with the policies schema.
+     */
+    static Connection h2() throws SQLException {
+        return h2("mem");
+    }
+
+    /**
+     * Opens a fresh H2 database with the policies schema, either in memory ({@code mem}) or in a temporary file
+     * ({@code file}) so commits pay for durable writes.
+     */
+    static Connection h2(String storage) throws SQLException {
+        return h2(storage, "varchar(36)");
+    }
+
+    /**
+     * Same as {@link #h2(String)}, with the given SQL type for the {@code id} column.
+     */
+    static Connection h2(String storage, String idType) throws SQLException {
+        String name = "bench_" + UUID.randomUUID();
+        // Sin reutilizar resultados: H2 devolvería la consulta repetida desde caché y ocultaría su costo real
+        String url = ("file".equals(storage)
+                ? "jdbc:h2:file:" + System.getProperty("java.io.tmpdir") + "/" + name
+                : "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1") + ";OPTIMIZE_REUSE_RESULTS=FALSE";
+        Connection connection = DriverManager.getConnection(url, "sa", "");
+        createSchema(connection, idType);
+        return connection;
+    }
+
+    /**
+     * Opens a fresh SQLite database file with the policies schema, matching the {@code sqlite} profile.
+     */
+    static Connection sqlite() throws SQLException {
+        String url = "jdbc:sqlite:" + System.getProperty("java.io.tmpdir") + "/bench_" + UUID.randomUUID() + ".db";
+        Connection connection = DriverManager.getConnection(url);
+        createSchema(connection);
+        return connection;
+    }
+
+    static void createSchema(Connection connection) throws SQLException {
+        createSchema(connection, "varchar(36)");
+    }
+
+    static void createSchema(Connection connection, String idType) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createPolicies(idType));
+            for (String index : CREATE_INDEXES) {
+                statement.execute(index);
+            }
+        }
+    }
+
+    /**
+     * Binds the columns of {@link #INSERT_POLICY} for the synthetic policy number {@code seq}.
+     */
+    static void bindPolicy(PreparedStatement statement, String id, long seq) throws SQLException {
+        LocalDateTime createdAt = BASE_TIME.plusNanos(seq * 1_000L);
+        statement.setString(1, id);
+        statement.setString(2, "POL-" + seq);
+        statement.setString(3, "12345678-5");
+        statement.setString(4, "Cliente " + seq);
+        statement.setString(5, "cliente" + seq + "@demo.cl");
+        statement.setBigDecimal(6, BigDecimal.valueOf(34990, 2));
+        statement.setString(7, "CLP");
+        statement.setBigDecimal(8, BigDecimal.valueOf(10_000_000, 2));
+        statement.setString(9, "CLP");
+        statement.setString(10, "PENDING");
+        statement.setDate(11, Date.valueOf(LocalDate.of(2025, 1, 1)));
+        statement.setDate(12, Date.valueOf(LocalDate.of(2026, 1, 1)));
+        statement.setString(13, "Póliza de prueba");
+        statement.setString(14, "SALUD");
+        statement.setTimestamp(15, Timestamp.valueOf(createdAt));
+        statement.setTimestamp(16, Timestamp.valueOf(createdAt));
+        statement.setInt(17, 12345678);
+        statement.setLong(18, 0);
+    }
+
+    /**
+     * Loads {@code rows} synthetic policies using batched inserts.
+     */
+    static void populate(Connection connection, int rows) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_POLICY)) {
+            for (int seq = 0; seq < rows; seq++) {
+                bindPolicy(insert, UUID.randomUUID().toString(), seq);
+                insert.addBatch();
+                if (seq % 1_000 == 999) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
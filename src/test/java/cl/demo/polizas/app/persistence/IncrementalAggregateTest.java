@@ -0,0 +1,154 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalAggregateTest {
+
+    private static final int CLIENT = 12345678;
+    private static final int OTHER_CLIENT = 7654321;
+    private static final int WIDTH = PolicyStatus.values().length;
+
+    @Test
+    void answersOnlyAfterAFullReconciliation() {
+        IncrementalAggregate<Integer> aggregate = new IncrementalAggregate<>(WIDTH);
+        assertEquals(Optional.empty(), aggregate.totals());
+        assertEquals(Optional.empty(), aggregate.row(CLIENT));
+        assertEquals(Optional.empty(), aggregate.rows());
+
+        IncrementalAggregate.Reconciliation loaded = aggregate.reconcile(() -> table(CLIENT, PolicyStatus.ACTIVE, 3,
+                OTHER_CLIENT, PolicyStatus.PENDING, 2));
+
+        assertEquals(new IncrementalAggregate.Reconciliation(2, 0, 2, 5), loaded);
+        assertEquals(3, aggregate.totals().get()[PolicyStatus.ACTIVE.ordinal()]);
+        assertEquals(2, aggregate.totals().get()[PolicyStatus.PENDING.ordinal()]);
+        assertEquals(3, aggregate.row(CLIENT).get()[PolicyStatus.ACTIVE.ordinal()]);
+        assertEquals(0, aggregate.row(CLIENT).get()[PolicyStatus.PENDING.ordinal()]);
+        assertArrayEquals(new long[WIDTH], aggregate.row(1).get());
+        assertEquals(2, aggregate.rows().get().size());
+    }
+
+    @Test
+    void appliesDeltasOnlyWhenTheirTransactionCommits() {
+        IncrementalAggregate<Integer> aggregate = new IncrementalAggregate<>(WIDTH);
+        aggregate.reconcile(HashMap::new);
+
+        IncrementalAggregate.Delta<Integer> created = new IncrementalAggregate.Delta<>(WIDTH);
+        created.add(CLIENT, PolicyStatus.PENDING.ordinal(), 2);
+        aggregate.begin(created);
+        aggregate.complete(created, true);
+
+        IncrementalAggregate.Delta<Integer> rolledBack = move(CLIENT, PolicyStatus.PENDING, PolicyStatus.ACTIVE);
+        aggregate.begin(rolledBack);
+        aggregate.complete(rolledBack, false);
+
+        IncrementalAggregate.Delta<Integer> activated = move(CLIENT, PolicyStatus.PENDING, PolicyStatus.ACTIVE);
+        aggregate.begin(activated);
+        aggregate.complete(activated, true);
+
+        assertEquals(1, aggregate.row(CLIENT).get()[PolicyStatus.PENDING.ordinal()]);
+        assertEquals(1, aggregate.totals().get()[PolicyStatus.ACTIVE.ordinal()]);
+        assertEquals(new IncrementalAggregate.Reconciliation(1, 0, 0, 0),
+                aggregate.reconcile(() -> table(CLIENT, PolicyStatus.PENDING, 1, CLIENT, PolicyStatus.ACTIVE, 1)));
+    }
+
+    @Test
+    void repairsDriftOnKeysWithoutWritesInProgress() {
+        IncrementalAggregate<Integer> aggregate = new IncrementalAggregate<>(WIDTH);
+        aggregate.reconcile(() -> table(CLIENT, PolicyStatus.ACTIVE, 3, OTHER_CLIENT, PolicyStatus.ACTIVE, 1));
+
+        // Filas borradas fuera del repositorio: la tabla ya no tiene al otro cliente
+        IncrementalAggregate.Reconciliation result = aggregate.reconcile(() -> table(CLIENT, PolicyStatus.ACTIVE, 4));
+
+        assertEquals(new IncrementalAggregate.Reconciliation(2, 0, 2, 2), result);
+        assertEquals(4, aggregate.totals().get()[PolicyStatus.ACTIVE.ordinal()]);
+        assertArrayEquals(new long[WIDTH], aggregate.row(OTHER_CLIENT).get());
+        assertFalse(aggregate.rows().get().containsKey(OTHER_CLIENT));
+        assertEquals(new IncrementalAggregate.Reconciliation(2, 0, 0, 0),
+                aggregate.reconcile(() -> table(CLIENT, PolicyStatus.ACTIVE, 4)));
+    }
+
+    @Test
+    void leavesKeysWrittenDuringTheReadForTheNextPass() {
+        IncrementalAggregate<Integer> aggregate = new IncrementalAggregate<>(WIDTH);
+        aggregate.reconcile(() -> table(CLIENT, PolicyStatus.ACTIVE, 1));
+
+        IncrementalAggregate.Delta<Integer> inFlight = new IncrementalAggregate.Delta<>(WIDTH);
+        inFlight.add(OTHER_CLIENT, PolicyStatus.ACTIVE.ordinal(), 1);
+        aggregate.begin(inFlight);
+
+        IncrementalAggregate.Reconciliation result = aggregate.reconcile(() -> {
+            // Confirmada mientras se lee la tabla: la lectura puede o no incluirla
+            IncrementalAggregate.Delta<Integer> committed = new IncrementalAggregate.Delta<>(WIDTH);
+            committed.add(CLIENT, PolicyStatus.ACTIVE.ordinal(), 1);
+            aggregate.begin(committed);
+            aggregate.complete(committed, true);
+            return table(CLIENT, PolicyStatus.ACTIVE, 1);
+        });
+        aggregate.complete(inFlight, true);
+
+        assertEquals(new IncrementalAggregate.Reconciliation(0, 2, 0, 0), result);
+        assertEquals(2, aggregate.row(CLIENT).get()[PolicyStatus.ACTIVE.ordinal()]);
+        assertEquals(1, aggregate.row(OTHER_CLIENT).get()[PolicyStatus.ACTIVE.ordinal()]);
+        assertEquals(new IncrementalAggregate.Reconciliation(2, 0, 0, 0), aggregate
+                .reconcile(() -> table(CLIENT, PolicyStatus.ACTIVE, 2, OTHER_CLIENT, PolicyStatus.ACTIVE, 1)));
+    }
+
+    @Test
+    void staysUnavailableWhileTheFirstPassSkipsKeys() {
+        IncrementalAggregate<Integer> aggregate = new IncrementalAggregate<>(WIDTH);
+        IncrementalAggregate.Delta<Integer> inFlight = new IncrementalAggregate.Delta<>(WIDTH);
+        inFlight.add(CLIENT, PolicyStatus.PENDING.ordinal(), 1);
+        aggregate.begin(inFlight);
+
+        assertEquals(1, aggregate.reconcile(HashMap::new).skipped());
+        assertEquals(Optional.empty(), aggregate.totals());
+
+        aggregate.complete(inFlight, true);
+        aggregate.reconcile(() -> table(CLIENT, PolicyStatus.PENDING, 1));
+        assertEquals(1, aggregate.totals().get()[PolicyStatus.PENDING.ordinal()]);
+    }
+
+    @Test
+    void keepsEveryColumnOfAKeyInStep() {
+        // Cifras de una póliza: cantidad, prima y cobertura en centésimas
+        IncrementalAggregate<String> aggregate = new IncrementalAggregate<>(3);
+        aggregate.reconcile(() -> Map.of("AUTO", new long[] {1, 10_000, 500_000}));
+
+        IncrementalAggregate.Delta<String> sold = new IncrementalAggregate.Delta<>(3);
+        sold.add("AUTO", 0, 1);
+        sold.add("AUTO", 1, 25_050);
+        sold.add("AUTO", 2, 1_000_000);
+        aggregate.begin(sold);
+        aggregate.complete(sold, true);
+
+        assertArrayEquals(new long[] {2, 35_050, 1_500_000}, aggregate.row("AUTO").get());
+        IncrementalAggregate.Reconciliation result = aggregate
+                .reconcile(() -> Map.of("AUTO", new long[] {2, 35_000, 1_500_000}));
+        assertEquals(new IncrementalAggregate.Reconciliation(1, 0, 1, 50), result);
+        assertArrayEquals(new long[] {2, 35_000, 1_500_000}, aggregate.totals().get());
+    }
+
+    private static IncrementalAggregate.Delta<Integer> move(int client, PolicyStatus from, PolicyStatus to) {
+        IncrementalAggregate.Delta<Integer> delta = new IncrementalAggregate.Delta<>(WIDTH);
+        delta.add(client, from.ordinal(), -1);
+        delta.add(client, to.ordinal(), 1);
+        return delta;
+    }
+
+    private static Map<Integer, long[]> table(Object... clientStatusCount) {
+        Map<Integer, long[]> table = new HashMap<>();
+        for (int i = 0; i < clientStatusCount.length; i += 3) {
+            long[] counts = table.computeIfAbsent((Integer) clientStatusCount[i], client -> new long[WIDTH]);
+            counts[((PolicyStatus) clientStatusCount[i + 1]).ordinal()] += (Integer) clientStatusCount[i + 2];
+        }
+        return table;
+    }
+}
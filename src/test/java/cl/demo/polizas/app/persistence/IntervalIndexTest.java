@@ -0,0 +1,115 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalIndexTest {
+
+    private static final int ANY = Integer.MAX_VALUE;
+
+    private static final UUID FIRST = new UUID(0, 1);
+    private static final UUID SECOND = new UUID(0, 2);
+    private static final UUID THIRD = new UUID(0, 3);
+
+    @Test
+    void findsPoliciesInForceOnADateInCreationOrder() {
+        IntervalIndex index = index();
+
+        // Vigentes el día 15: la primera (10-20) y la tercera (15-40)
+        assertEquals(new IntervalIndex.Matches(List.of(FIRST, THIRD), 2), index.find(15, 15, ANY, null, 0, 10));
+        assertEquals(new IntervalIndex.Matches(List.of(THIRD), 2), index.find(15, 15, ANY, null, 1, 10));
+        assertEquals(new IntervalIndex.Matches(List.of(FIRST), 2), index.find(15, 15, ANY, null, 0, 1));
+        assertEquals(new IntervalIndex.Matches(List.of(), 0), index.find(5, 5, ANY, null, 0, 10));
+        // Los extremos cuentan
+        assertEquals(List.of(FIRST, SECOND), index.find(20, 20, ANY, null, 0, 10).ids().subList(0, 2));
+    }
+
+    @Test
+    void findsPoliciesEndingWithinARangeAndContinuesAfterAPosition() {
+        IntervalIndex index = index();
+
+        assertEquals(new IntervalIndex.Matches(List.of(FIRST, SECOND), 2), index.find(ANY, 20, 30, null, 0, 10));
+        assertEquals(new IntervalIndex.Matches(List.of(SECOND), 2),
+                index.find(ANY, 20, 30, new IntervalIndex.Position(100, FIRST), 0, 10));
+        // Vigentes el 25 y terminando hasta el 30
+        assertEquals(new IntervalIndex.Matches(List.of(SECOND), 1), index.find(25, 25, 30, null, 0, 10));
+    }
+
+    @Test
+    void replacesAndRemovesPolicies() {
+        IntervalIndex index = index();
+
+        index.put(FIRST, 50, 60, 100);
+        index.remove(THIRD);
+        assertEquals(new IntervalIndex.Matches(List.of(), 0), index.find(15, 15, ANY, null, 0, 10));
+        assertEquals(List.of(FIRST), index.find(55, 55, ANY, null, 0, 10).ids());
+        assertEquals(2, index.size());
+
+        assertFalse(index.putIfAbsent(FIRST, 10, 20, 100));
+        index.rebuild();
+        assertEquals(List.of(FIRST), index.find(55, 55, ANY, null, 0, 10).ids());
+    }
+
+    @Test
+    void agreesWithAScanUnderRandomChanges() {
+        IntervalIndex index = new IntervalIndex();
+        Map<UUID, int[]> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(11);
+        // Suficientes cambios para forzar varias reconstrucciones y compactaciones
+        for (int i = 0; i < 30_000; i++) {
+            UUID id = new UUID(0, random.nextInt(6_000));
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                int start = random.nextInt(1_000);
+                int[] interval = { start, start + random.nextInt(400), random.nextInt(50) };
+                index.put(id, interval[0], interval[1], interval[2]);
+                expected.put(id, interval);
+            }
+            if (i % 1_009 == 0) {
+                int day = random.nextInt(1_400);
+                assertMatches(expected, index, day, day, ANY);
+                assertMatches(expected, index, ANY, day, day + 30);
+                assertMatches(expected, index, day, day, day + 60);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+    }
+
+    private static void assertMatches(Map<UUID, int[]> policies, IntervalIndex index, int maxStart, int minEnd,
+            int maxEnd) {
+        List<UUID> matching = new ArrayList<>();
+        policies.forEach((id, interval) -> {
+            if (interval[0] <= maxStart && interval[1] >= minEnd && interval[1] <= maxEnd) {
+                matching.add(id);
+            }
+        });
+        matching.sort(Comparator.<UUID>comparingInt(id -> policies.get(id)[2]).thenComparing(UUID::compareTo));
+
+        assertEquals(new IntervalIndex.Matches(matching.subList(0, Math.min(25, matching.size())), matching.size()),
+                index.find(maxStart, minEnd, maxEnd, null, 0, 25));
+        if (matching.size() > 30) {
+            UUID fifth = matching.get(4);
+            assertEquals(matching.subList(5, 30), index.find(maxStart, minEnd, maxEnd,
+                    new IntervalIndex.Position(policies.get(fifth)[2], fifth), 0, 25).ids());
+        }
+    }
+
+    private static IntervalIndex index() {
+        IntervalIndex index = new IntervalIndex();
+        index.put(FIRST, 10, 20, 100);
+        index.put(SECOND, 20, 30, 200);
+        index.put(THIRD, 15, 40, 300);
+        return index;
+    }
+}
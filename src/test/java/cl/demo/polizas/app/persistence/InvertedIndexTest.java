@@ -0,0 +1,72 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private static final UUID MARIA = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID JOSE = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID ANA = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @Test
+    void foldsCaseAndAccentsAndDropsParticles() {
+        assertEquals(List.of("maria", "jose", "nunez", "fuente"), InvertedIndex.words("María José Núñez de la Fuente"));
+        assertEquals(List.of("seguro", "automotriz", "2024"), InvertedIndex.words("Seguro automotriz, 2024."));
+        assertEquals(List.of(), InvertedIndex.words(null));
+    }
+
+    @Test
+    void findsPoliciesByWholeWordsAndPrefixesOfEitherField() {
+        InvertedIndex index = index();
+
+        assertEquals(List.of(MARIA), index.search("nunez", 0, 10).ids());
+        assertEquals(List.of(MARIA), index.search("NÚÑ", 0, 10).ids());
+        assertEquals(List.of(JOSE), index.search("camioneta", 0, 10).ids());
+        assertEquals(List.of(MARIA), index.search("maria hogar", 0, 10).ids());
+        assertEquals(new InvertedIndex.Matches(List.of(), 0), index.search("maria camioneta", 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("de la", 0, 10));
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatchesAndPaginates() {
+        InvertedIndex index = index();
+
+        // "gonzalez" es el apellido de Ana y aparece en la descripción de José
+        InvertedIndex.Matches matches = index.search("gonzalez", 0, 10);
+        assertEquals(List.of(ANA, JOSE), matches.ids());
+        assertEquals(2, matches.total());
+
+        assertEquals(List.of(ANA), index.search("gonzalez", 0, 1).ids());
+        assertEquals(new InvertedIndex.Matches(List.of(JOSE), 2), index.search("gonzalez", 1, 1));
+        assertEquals(new InvertedIndex.Matches(List.of(), 2), index.search("gonzalez", 2, 1));
+    }
+
+    @Test
+    void replacesAndRemovesPolicies() {
+        InvertedIndex index = index();
+
+        index.put(ANA, "Ana Pérez", "Seguro de salud");
+        assertEquals(List.of(JOSE), index.search("gonzalez", 0, 10).ids());
+        assertEquals(List.of(ANA), index.search("perez", 0, 10).ids());
+
+        index.remove(JOSE);
+        assertEquals(0, index.search("gonzalez", 0, 10).total());
+        assertEquals(2, index.size());
+
+        assertFalse(index.putIfAbsent(ANA, "Ana González", null));
+        assertEquals(List.of(ANA), index.search("perez", 0, 10).ids());
+    }
+
+    private static InvertedIndex index() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(MARIA, "María José Núñez", "Seguro de hogar");
+        index.put(JOSE, "José Rojas", "Camioneta comprada a Pedro González");
+        index.put(ANA, "Ana González", "Seguro de vida");
+        return index;
+    }
+}
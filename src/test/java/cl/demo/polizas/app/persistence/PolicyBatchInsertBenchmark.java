@@ -0,0 +1,116 @@
+package cl.demo.polizas.app.persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares policies/sec of the single-item create path (one transaction, a lookup and an insert per policy) against
+ * the batch path (one existence query and JDBC-batched inserts per chunk, one transaction per chunk).
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.SECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1)
+public class PolicyBatchInsertBenchmark {
+
+    private static final int POLICIES_PER_INVOCATION = 1_000;
+    private static final int CHUNK_SIZE = 500;
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    @Param({ "mem", "file" })
+    public String storage;
+
+    private Connection connection;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = BenchmarkDatabase.h2(storage);
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark @OperationsPerInvocation(POLICIES_PER_INVOCATION)
+    public void singleItem() throws SQLException {
+        try (PreparedStatement find = connection.prepareStatement("select id from policies where id = ?");
+                PreparedStatement insert = connection.prepareStatement(BenchmarkDatabase.INSERT_POLICY)) {
+            for (int i = 0; i < POLICIES_PER_INVOCATION; i++) {
+                String id = UUID.randomUUID().toString();
+                find.setString(1, id);
+                try (ResultSet ignored = find.executeQuery()) {
+                    // Mismo patrón que save(): buscar antes de insertar
+                }
+                BenchmarkDatabase.bindPolicy(insert, id, sequence++);
+                insert.executeUpdate();
+                connection.commit();
+            }
+        }
+    }
+
+    @Benchmark @OperationsPerInvocation(POLICIES_PER_INVOCATION)
+    public void batched() throws SQLException {
+        for (int chunkStart = 0; chunkStart < POLICIES_PER_INVOCATION; chunkStart += CHUNK_SIZE) {
+            List<Long> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                chunk.add(sequence++);
+            }
+
+            // Una consulta de existencia por chunk
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            try (PreparedStatement exists = connection
+                    .prepareStatement("select policy_number from policies where policy_number in (" + placeholders
+                            + ")")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    exists.setString(i + 1, "POL-" + chunk.get(i));
+                }
+                try (ResultSet ignored = exists.executeQuery()) {
+                    // Sin duplicados en este escenario
+                }
+            }
+
+            try (PreparedStatement insert = connection.prepareStatement(BenchmarkDatabase.INSERT_POLICY)) {
+                int pending = 0;
+                for (long seq : chunk) {
+                    BenchmarkDatabase.bindPolicy(insert, UUID.randomUUID().toString(), seq);
+                    insert.addBatch();
+                    if (++pending == JDBC_BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PolicyBatchInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
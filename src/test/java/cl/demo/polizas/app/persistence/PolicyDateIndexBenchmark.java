@@ -0,0 +1,131 @@
+package cl.demo.polizas.app.persistence;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import cl.demo.polizas.domain.repository.PolicyRepository.DateFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * First page of 20 and total of the date-filtered listings over 1M policies starting on any day of 2020-2024 and
+ * lasting one to three years, created in order: {@link IntervalIndex} against a naive scan of every policy, which is
+ * what loading the whole portfolio and filtering in memory amounts to. "In force on a date" matches about a third of
+ * the policies; "ending within the next 30 days" about 2%.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(value = 1, jvmArgs = "-Xmx4g")
+public class PolicyDateIndexBenchmark {
+
+    static final LocalDate FIRST_START = LocalDate.of(2020, 1, 1);
+    static final int START_DAYS = 5 * 365;
+
+    @Param({ "1000000" })
+    public int policies;
+
+    private IntervalIndex index;
+    private List<PolicyDates> portfolio;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        portfolio = portfolio(policies);
+        index = new IntervalIndex();
+        for (PolicyDates policy : portfolio) {
+            index.putIfAbsent(policy.id(), (int) policy.startDate().toEpochDay(), (int) policy.endDate().toEpochDay(),
+                    policy.createdAt());
+        }
+        index.rebuild();
+    }
+
+    @Benchmark
+    public IntervalIndex.Matches activeOnIndex() {
+        int day = (int) randomDay().toEpochDay();
+        return index.find(day, day, Integer.MAX_VALUE, null, 0, 20);
+    }
+
+    @Benchmark
+    public Page activeOnScan() {
+        return scan(new DateFilter(randomDay(), null, null));
+    }
+
+    @Benchmark
+    public IntervalIndex.Matches endingSoonIndex() {
+        int day = (int) randomDay().toEpochDay();
+        return index.find(Integer.MAX_VALUE, day, day + 30, null, 0, 20);
+    }
+
+    @Benchmark
+    public Page endingSoonScan() {
+        LocalDate day = randomDay();
+        return scan(new DateFilter(null, day, day.plusDays(30)));
+    }
+
+    @Benchmark
+    public IntervalIndex.Matches activeAndEndingSoonIndex() {
+        int day = (int) randomDay().toEpochDay();
+        return index.find(day, day, day + 30, null, 0, 20);
+    }
+
+    @Benchmark
+    public Page activeAndEndingSoonScan() {
+        LocalDate day = randomDay();
+        return scan(new DateFilter(day, day, day.plusDays(30)));
+    }
+
+    /**
+     * The portfolio is in creation order, so the first 20 matches found are the first page.
+     */
+    private Page scan(DateFilter dates) {
+        List<UUID> page = new ArrayList<>(20);
+        int total = 0;
+        for (PolicyDates policy : portfolio) {
+            if (dates.matches(policy.startDate(), policy.endDate())) {
+                if (total++ < 20) {
+                    page.add(policy.id());
+                }
+            }
+        }
+        return new Page(page, total);
+    }
+
+    private static LocalDate randomDay() {
+        return FIRST_START.plusDays(ThreadLocalRandom.current().nextInt(START_DAYS + 365));
+    }
+
+    static List<PolicyDates> portfolio(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<PolicyDates> portfolio = new ArrayList<>(count);
+        for (int seq = 0; seq < count; seq++) {
+            LocalDate start = FIRST_START.plusDays(random.nextInt(START_DAYS));
+            portfolio.add(new PolicyDates(new UUID(0, seq), start, start.plusYears(1 + random.nextInt(3)), seq));
+        }
+        return portfolio;
+    }
+
+    record PolicyDates(UUID id, LocalDate startDate, LocalDate endDate, long createdAt) {
+    }
+
+    public record Page(List<UUID> ids, int total) {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PolicyDateIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
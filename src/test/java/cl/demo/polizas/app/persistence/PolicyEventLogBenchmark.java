@@ -0,0 +1,212 @@
+package cl.demo.polizas.app.persistence;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import cl.demo.polizas.app.eventstore.EventSourcedPolicyRepository;
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares operations/sec of the {@link EventSourcedPolicyRepository} against the statements
+ * {@link PolicyRepositoryImpl} runs for the same operations (upsert, select by id into a {@link Policy}, single-row
+ * status update), each committed on its own, on file-backed H2 and SQLite. {@code event-log-sync} forces every append
+ * to disk; {@code event-log} leaves it to the page cache, like H2's default commit.
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.SECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1)
+public class PolicyEventLogBenchmark {
+
+    private static final int PRELOADED_POLICIES = 10_000;
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final Set<PolicyStatus> ANY_STATUS = EnumSet.allOf(PolicyStatus.class);
+
+    @Param({ "event-log", "event-log-sync", "h2", "sqlite" })
+    public String store;
+
+    private Path directory;
+    private EventSourcedPolicyRepository eventLog;
+    private Connection connection;
+    private PreparedStatement upsert;
+    private PreparedStatement select;
+    private PreparedStatement updateStatus;
+    private final List<UUID> ids = new ArrayList<>();
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        List<Policy> preloaded = new ArrayList<>(PRELOADED_POLICIES);
+        for (int i = 0; i < PRELOADED_POLICIES; i++) {
+            preloaded.add(nextPolicy());
+        }
+        preloaded.forEach(policy -> ids.add(policy.id().value()));
+
+        if (store.startsWith("event-log")) {
+            directory = Files.createTempDirectory("bench_event_log");
+            eventLog = new EventSourcedPolicyRepository(directory, SEGMENT_SIZE, 100_000,
+                    "event-log-sync".equals(store));
+            eventLog.saveAll(preloaded);
+            return;
+        }
+
+        connection = "sqlite".equals(store) ? BenchmarkDatabase.sqlite() : BenchmarkDatabase.h2("file");
+        connection.setAutoCommit(false);
+        upsert = connection.prepareStatement(
+                "sqlite".equals(store) ? PolicyUpsertStatements.SQLITE : PolicyUpsertStatements.H2);
+        for (Policy policy : preloaded) {
+            bindUpsert(policy);
+            upsert.addBatch();
+        }
+        upsert.executeBatch();
+        connection.commit();
+
+        select = connection.prepareStatement(
+                "select " + PolicyUpsertStatements.COLUMNS + " from policies where id = ?");
+        updateStatus = connection.prepareStatement(
+                "update policies set status = ?, version = version + 1, updated_at = ? where id = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        if (eventLog != null) {
+            eventLog.close();
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        } else {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int save() throws SQLException {
+        Policy policy = nextPolicy();
+        if (eventLog != null) {
+            eventLog.save(policy);
+            return 1;
+        }
+        bindUpsert(policy);
+        int updated = upsert.executeUpdate();
+        connection.commit();
+        return updated;
+    }
+
+    @Benchmark
+    public Optional<Policy> findById() throws SQLException {
+        UUID id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        if (eventLog != null) {
+            return eventLog.findById(PolicyId.from(id));
+        }
+        select.setString(1, id.toString());
+        try (ResultSet row = select.executeQuery()) {
+            Optional<Policy> policy = row.next() ? Optional.of(toPolicy(row)) : Optional.empty();
+            connection.commit();
+            return policy;
+        }
+    }
+
+    @Benchmark
+    public int updateStatus() throws SQLException {
+        UUID id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        PolicyStatus status = (sequence++ & 1) == 0 ? PolicyStatus.ACTIVE : PolicyStatus.INACTIVE;
+        if (eventLog != null) {
+            return eventLog.updateStatusByIds(List.of(PolicyId.from(id)), ANY_STATUS, status, LocalDateTime.now());
+        }
+        updateStatus.setString(1, status.name());
+        updateStatus.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+        updateStatus.setString(3, id.toString());
+        int updated = updateStatus.executeUpdate();
+        connection.commit();
+        return updated;
+    }
+
+    private Policy nextPolicy() {
+        long seq = sequence++;
+        LocalDateTime now = LocalDateTime.now();
+        return Policy.reconstitute(PolicyId.from(UUID.randomUUID()), "POL-" + seq, Rut.of(12345678, '5'),
+                "Cliente " + seq, "cliente" + seq + "@demo.cl", Money.of(new BigDecimal("349.90")),
+                Money.of(new BigDecimal("100000.00")), PolicyStatus.PENDING, LocalDate.of(2025, 1, 1),
+                LocalDate.of(2026, 1, 1), "Póliza de prueba", "SALUD", now, now, 0);
+    }
+
+    /**
+     * Binds the columns of {@link PolicyUpsertStatements#COLUMNS} the way {@code PolicyRepositoryImpl.save} does.
+     */
+    private void bindUpsert(Policy policy) throws SQLException {
+        upsert.setString(1, policy.id().toString());
+        upsert.setString(2, policy.getPolicyNumber());
+        upsert.setString(3, policy.getClientRut().getFullRut());
+        upsert.setString(4, policy.getClientName());
+        upsert.setString(5, policy.getClientEmail());
+        upsert.setBigDecimal(6, policy.getPremium().amount());
+        upsert.setString(7, policy.getPremium().currency().getCurrencyCode());
+        upsert.setBigDecimal(8, policy.getCoverage().amount());
+        upsert.setString(9, policy.getCoverage().currency().getCurrencyCode());
+        upsert.setString(10, policy.getStatus().name());
+        upsert.setDate(11, Date.valueOf(policy.getStartDate()));
+        upsert.setDate(12, Date.valueOf(policy.getEndDate()));
+        upsert.setString(13, policy.getDescription());
+        upsert.setString(14, policy.getInsuranceType());
+        upsert.setTimestamp(15, Timestamp.valueOf(policy.getCreatedAt()));
+        upsert.setTimestamp(16, Timestamp.valueOf(policy.getUpdatedAt()));
+        upsert.setInt(17, policy.getClientRut().getBody());
+        upsert.setLong(18, policy.getVersion());
+    }
+
+    /**
+     * Maps a row the way {@code PolicyEntity.toDomain} does.
+     */
+    private static Policy toPolicy(ResultSet row) throws SQLException {
+        return Policy.reconstitute(PolicyId.from(row.getString(1)), row.getString(2), Rut.from(row.getString(3)),
+                row.getString(4), row.getString(5),
+                Money.of(row.getBigDecimal(6), Currency.getInstance(row.getString(7))),
+                Money.of(row.getBigDecimal(8), Currency.getInstance(row.getString(9))),
+                PolicyStatus.valueOf(row.getString(10)), row.getDate(11).toLocalDate(),
+                row.getDate(12).toLocalDate(), row.getString(13), row.getString(14),
+                row.getTimestamp(15).toLocalDateTime(), row.getTimestamp(16).toLocalDateTime(), row.getLong(18));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PolicyEventLogBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,94 @@
+package cl.demo.polizas.app.persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Inserts/sec into a file-backed H2 table with a native {@code uuid} primary key, with IDs from
+ * {@link PolicyId#generate()} under each {@link PolicyId.Strategy}. The table starts with existing rows so random IDs
+ * land inside a deep index. After the run, the on-disk size of the table and its indexes per stored row is printed as
+ * a proxy for fragmentation: page splits in the middle of the index leave half-empty pages behind.
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.SECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1)
+public class PolicyIdOrderingBenchmark {
+
+    private static final int POLICIES_PER_INVOCATION = 1_000;
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    @Param({ "RANDOM", "TIME_ORDERED" })
+    public PolicyId.Strategy strategy;
+
+    @Param({ "500000" })
+    public int initialRows;
+
+    private Connection connection;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        PolicyId.useStrategy(strategy);
+        connection = BenchmarkDatabase.h2("file", "uuid");
+        connection.setAutoCommit(false);
+        insert(initialRows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("checkpoint sync");
+            try (ResultSet size = statement.executeQuery("call disk_space_used('POLICIES')")) {
+                size.next();
+                System.out.printf("%n%s ids, %d rows: %.1f MB, %.1f bytes per row%n", strategy, sequence,
+                        size.getLong(1) / (1024.0 * 1024.0), (double) size.getLong(1) / sequence);
+            }
+        }
+        connection.close();
+    }
+
+    @Benchmark @OperationsPerInvocation(POLICIES_PER_INVOCATION)
+    public void insertBatch() throws SQLException {
+        insert(POLICIES_PER_INVOCATION);
+    }
+
+    private void insert(int count) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(BenchmarkDatabase.INSERT_POLICY)) {
+            for (int i = 0; i < count; i++) {
+                BenchmarkDatabase.bindPolicy(insert, PolicyId.generate().toString(), sequence++);
+                insert.addBatch();
+                if (i % JDBC_BATCH_SIZE == JDBC_BATCH_SIZE - 1) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PolicyIdOrderingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
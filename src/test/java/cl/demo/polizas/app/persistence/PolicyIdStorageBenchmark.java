@@ -0,0 +1,92 @@
+package cl.demo.polizas.app.persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Point lookups by primary key on a file-backed H2 table with millions of policies, with the id stored as the legacy
+ * {@code varchar(36)} or as the native 16-byte {@code uuid}. The on-disk size of the table and its indexes is printed
+ * after loading, since JMH only reports time.
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1)
+public class PolicyIdStorageBenchmark {
+
+    private static final int SAMPLED_IDS = 10_000;
+
+    @Param({ "varchar(36)", "uuid" })
+    public String idType;
+
+    @Param({ "2000000" })
+    public int rows;
+
+    private Connection connection;
+    private PreparedStatement lookup;
+    private final List<Object> ids = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = BenchmarkDatabase.h2("file", idType);
+        BenchmarkDatabase.populate(connection, rows);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("checkpoint sync");
+            try (ResultSet size = statement.executeQuery("call disk_space_used('POLICIES')")) {
+                size.next();
+                System.out.printf("%n%s id, %d rows: policies table and indexes use %.1f MB%n", idType, rows,
+                        size.getLong(1) / (1024.0 * 1024.0));
+            }
+            try (ResultSet sample = statement
+                    .executeQuery("select id from policies order by rand() limit " + SAMPLED_IDS)) {
+                while (sample.next()) {
+                    // Igual que la aplicación: String para varchar, UUID para la columna nativa
+                    ids.add("uuid".equals(idType) ? sample.getObject(1, UUID.class) : sample.getString(1));
+                }
+            }
+        }
+
+        lookup = connection.prepareStatement("select policy_number, status from policies where id = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public String pointLookup() throws SQLException {
+        lookup.setObject(1, ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+        try (ResultSet row = lookup.executeQuery()) {
+            row.next();
+            return row.getString(1);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PolicyIdStorageBenchmark.class.getSimpleName()).build()).run();
+    }
+}
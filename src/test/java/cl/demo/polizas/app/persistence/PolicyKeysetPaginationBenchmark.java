@@ -0,0 +1,111 @@
+package cl.demo.polizas.app.persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Page latency at increasing depths for OFFSET paging versus keyset paging on (created_at, id). Offset latency grows
+ * with the depth while keyset latency should stay flat.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1)
+public class PolicyKeysetPaginationBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String COLUMNS = "select id, policy_number, client_name, client_rut, premium_amount, "
+            + "coverage_amount, status, start_date, end_date, insurance_type, created_at from policies ";
+
+    @Param({ "0", "1000", "10000", "100000", "199000" })
+    public int depth;
+
+    private Connection connection;
+    private PreparedStatement offsetPage;
+    private PreparedStatement keysetPage;
+    private Timestamp afterCreatedAt;
+    private String afterId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = BenchmarkDatabase.h2();
+        BenchmarkDatabase.populate(connection, ROWS);
+
+        offsetPage = connection.prepareStatement(COLUMNS + "order by created_at, id limit ? offset ?");
+        keysetPage = connection.prepareStatement(COLUMNS
+                + "where created_at >= ? and (created_at > ? or id > ?) order by created_at, id limit ?");
+
+        // La última fila de la página anterior, equivalente al cursor 'next' que recibe el cliente
+        if (depth > 0) {
+            try (PreparedStatement boundary = connection
+                    .prepareStatement("select created_at, id from policies order by created_at, id limit 1 offset ?")) {
+                boundary.setInt(1, depth - 1);
+                try (ResultSet rs = boundary.executeQuery()) {
+                    rs.next();
+                    afterCreatedAt = rs.getTimestamp(1);
+                    afterId = rs.getString(2);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void offset(Blackhole blackhole) throws SQLException {
+        offsetPage.setInt(1, PAGE_SIZE);
+        offsetPage.setInt(2, depth);
+        consume(offsetPage, blackhole);
+    }
+
+    @Benchmark
+    public void keyset(Blackhole blackhole) throws SQLException {
+        if (depth == 0) {
+            offsetPage.setInt(1, PAGE_SIZE);
+            offsetPage.setInt(2, 0);
+            consume(offsetPage, blackhole);
+            return;
+        }
+        keysetPage.setTimestamp(1, afterCreatedAt);
+        keysetPage.setTimestamp(2, afterCreatedAt);
+        keysetPage.setString(3, afterId);
+        keysetPage.setInt(4, PAGE_SIZE);
+        consume(keysetPage, blackhole);
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getString(1));
+                blackhole.consume(rs.getTimestamp(11));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PolicyKeysetPaginationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,106 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Latency distribution of {@link PrefixIndex} over 1M policy numbers like {@code POL-2023-004217}, five years of 200k
+ * each, asking for the first 10 suggestions. The last 1/32 of the numbers are added one by one after the bulk load and
+ * stay pending, so lookups also merge pending additions, as between two merges in production. Sample time mode reports p50,
+ * p99 and p99.9; the setup prints the bytes used per key.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.SampleTime) @OutputTimeUnit(TimeUnit.MICROSECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PolicyNumberSuggestBenchmark {
+
+    static final int FIRST_YEAR = 2020;
+    static final int YEARS = 5;
+
+    @Param({ "1000000" })
+    public int policies;
+
+    private PrefixIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        index = populate(policies);
+
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%n%d policy numbers: run %.1f bytes/key, heap %.1f bytes/key%n", index.size(),
+                (double) index.runSizeInBytes() / index.size(), (double) (after - before) / index.size());
+    }
+
+    @Benchmark
+    public List<String> yearPrefix() {
+        // "POL-2023-": 200.000 coincidencias, se devuelven las 10 primeras
+        return index.startingWith("POL-" + (FIRST_YEAR + ThreadLocalRandom.current().nextInt(YEARS)) + "-", 10);
+    }
+
+    @Benchmark
+    public List<String> partialNumber() {
+        // "POL-2023-0042": 100 coincidencias
+        return index.startingWith(number(ThreadLocalRandom.current().nextInt(policies)).substring(0, 13), 10);
+    }
+
+    @Benchmark
+    public List<String> wholeNumber() {
+        return index.startingWith(number(ThreadLocalRandom.current().nextInt(policies)), 10);
+    }
+
+    @Benchmark
+    public List<String> noMatch() {
+        return index.startingWith("POL-1999-" + ThreadLocalRandom.current().nextInt(10), 10);
+    }
+
+    /**
+     * Indexes {@code count} policy numbers: most of them in one bulk load and the rest one by one, leaving them
+     * pending.
+     */
+    static PrefixIndex populate(int count) {
+        PrefixIndex index = new PrefixIndex();
+        int bulk = count - count / 32;
+        List<String> numbers = new ArrayList<>(bulk);
+        for (int seq = 0; seq < bulk; seq++) {
+            numbers.add(number(seq));
+        }
+        index.addAll(numbers);
+        // Por debajo del umbral de mezcla (1/16 del run): quedan pendientes
+        for (int seq = bulk; seq < count; seq++) {
+            index.add(number(seq));
+        }
+        return index;
+    }
+
+    /**
+     * The policy number of sequence {@code seq}, spreading the sequence over the years.
+     */
+    static String number(int seq) {
+        return String.format("POL-%d-%06d", FIRST_YEAR + seq % YEARS, seq / YEARS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PolicyNumberSuggestBenchmark.class.getSimpleName()).build()).run();
+    }
+}
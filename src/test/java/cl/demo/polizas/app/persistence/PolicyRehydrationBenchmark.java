@@ -0,0 +1,79 @@
+package cl.demo.polizas.app.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of turning a loaded {@link PolicyEntity} into a {@link Policy}: the previous path rebuilt it
+ * through {@code Policy.create} (validation, two ID generations, clock reads and a creation event), the current one
+ * uses {@code Policy.reconstitute}.
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1)
+public class PolicyRehydrationBenchmark {
+
+    private PolicyEntity entity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        entity = new PolicyEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setPolicyNumber("POL-2024-001");
+        entity.setClientRut("12345678-5");
+        entity.setClientName("Juan Pérez");
+        entity.setClientEmail("juan@demo.cl");
+        entity.setPremiumAmount(new BigDecimal("34990.00"));
+        entity.setPremiumCurrency("CLP");
+        entity.setCoverageAmount(new BigDecimal("10000000.00"));
+        entity.setCoverageCurrency("CLP");
+        entity.setStatus(PolicyStatus.ACTIVE);
+        // Fecha futura para que la validación de Policy.create no rechace la fila
+        entity.setStartDate(LocalDate.now().plusDays(1));
+        entity.setEndDate(LocalDate.now().plusYears(1));
+        entity.setDescription("Póliza de prueba");
+        entity.setInsuranceType("SALUD");
+        entity.setCreatedAt(createdAt);
+        entity.setUpdatedAt(createdAt);
+    }
+
+    @Benchmark
+    public Policy create() {
+        return Policy.create(entity.getPolicyNumber(), Rut.from(entity.getClientRut()), entity.getClientName(),
+                entity.getClientEmail(),
+                Money.of(entity.getPremiumAmount(), Currency.getInstance(entity.getPremiumCurrency())),
+                Money.of(entity.getCoverageAmount(), Currency.getInstance(entity.getCoverageCurrency())),
+                entity.getStartDate(), entity.getEndDate(), entity.getDescription(), entity.getInsuranceType());
+    }
+
+    @Benchmark
+    public Policy reconstitute() {
+        return entity.toDomain();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PolicyRehydrationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,58 @@
+package cl.demo.polizas.app.persistence;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+class PolicyRepositorySaveTest {
+
+    // RUT propio para que los contadores por cliente solo vean estas pólizas
+    private static final String CLIENT_RUT = "15151515-0";
+
+    @Inject
+    PolicyRepository policyRepository;
+
+    @Test
+    void savesMoveTheCountsAndRejectStaleVersions() {
+        Policy policy = Policy.create("SAVE-001", Rut.from(CLIENT_RUT), "Ana Rojas", "save@demo.cl",
+                Money.of(new BigDecimal("1000.00")), Money.of(new BigDecimal("50000.00")), LocalDate.now().plusDays(1),
+                LocalDate.now().plusYears(1), null, null);
+        policyRepository.save(policy);
+
+        assertEquals(0, policy.getVersion());
+        assertEquals(1, policyRepository.count(PolicyStatus.PENDING, CLIENT_RUT));
+
+        // Segundo guardado de la misma póliza: actualiza la fila y mueve el contador sin leerla
+        policy.activate();
+        policyRepository.save(policy);
+
+        assertEquals(1, policy.getVersion());
+        assertEquals(0, policyRepository.count(PolicyStatus.PENDING, CLIENT_RUT));
+        assertEquals(1, policyRepository.count(PolicyStatus.ACTIVE, CLIENT_RUT));
+
+        Policy stale = policyRepository.findById(policy.id()).orElseThrow();
+        policy.cancel();
+        policyRepository.save(policy);
+
+        // La copia leída antes quedó una versión atrás: no pisa la cancelación
+        stale.updateStatus(PolicyStatus.INACTIVE);
+        assertThrows(IllegalStateException.class, () -> policyRepository.save(stale));
+
+        assertEquals(PolicyStatus.CANCELLED, policyRepository.findById(policy.id()).orElseThrow().getStatus());
+        assertEquals(1, policyRepository.count(PolicyStatus.CANCELLED, CLIENT_RUT));
+        assertEquals(0, policyRepository.count(PolicyStatus.INACTIVE, CLIENT_RUT));
+        assertEquals(1, policyRepository.count(null, CLIENT_RUT));
+    }
+}
@@ -0,0 +1,74 @@
+package cl.demo.polizas.app.persistence;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import cl.demo.polizas.seedwork.domain.Specification;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static cl.demo.polizas.domain.specification.PolicySpecifications.activeOn;
+import static cl.demo.polizas.domain.specification.PolicySpecifications.hasStatus;
+import static cl.demo.polizas.domain.specification.PolicySpecifications.ofInsuranceType;
+import static cl.demo.polizas.domain.specification.PolicySpecifications.premiumAtLeast;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class PolicyRepositorySpecificationTest {
+
+    // Tipo de seguro propio para no coincidir con las pólizas de otras pruebas
+    private static final String TYPE = "SPEC-TEST";
+    private static final LocalDate DAY = LocalDate.of(2095, 6, 1);
+
+    @Inject
+    PolicyRepository policyRepository;
+
+    @BeforeEach
+    void createPolicies() {
+        if (policyRepository.existsByPolicyNumber("SPEC-001")) {
+            return;
+        }
+        save("SPEC-001", "Rosa Vidal", "900.00", DAY.minusMonths(6), DAY.plusMonths(6));
+        save("SPEC-002", "Tomás Lagos", "1500.00", DAY.minusMonths(1), DAY.plusYears(1));
+        save("SPEC-003", "Rocío Vera", "2500.00", DAY.plusDays(1), DAY.plusYears(1));
+        save("SPEC-004", "Raúl Soto", "3000.00", DAY.minusYears(1), DAY.minusDays(1));
+    }
+
+    private void save(String policyNumber, String clientName, String premium, LocalDate start, LocalDate end) {
+        policyRepository.save(Policy.create(policyNumber, Rut.from("77777777-7"), clientName, "spec@demo.cl",
+                Money.of(new BigDecimal(premium)), Money.of(new BigDecimal("50000.00")), start, end, null, TYPE));
+    }
+
+    @Test
+    void runsTranslatedSpecificationsInTheDatabase() {
+        assertEquals(List.of("SPEC-001", "SPEC-002"), policyNumbers(ofInsuranceType(TYPE).and(activeOn(DAY)), 0, 10));
+        assertEquals(List.of("SPEC-003", "SPEC-004"), policyNumbers(ofInsuranceType(TYPE).and(activeOn(DAY).not()),
+                0, 10));
+        assertEquals(List.of("SPEC-003"), policyNumbers(ofInsuranceType(TYPE)
+                .and(premiumAtLeast(Money.of(new BigDecimal("2000.00"))).and(hasStatus(PolicyStatus.PENDING))), 0, 1));
+        assertEquals(List.of("SPEC-002"), policyNumbers(ofInsuranceType(TYPE).and(activeOn(DAY)), 1, 1));
+    }
+
+    @Test
+    void evaluatesUntranslatableSpecificationsInMemory() {
+        Specification<Policy> startsWithR = Specification.from(policy -> policy.getClientName().startsWith("R"));
+
+        assertEquals(List.of("SPEC-001", "SPEC-003", "SPEC-004"), policyNumbers(ofInsuranceType(TYPE).and(startsWithR),
+                0, 10));
+        assertEquals(List.of("SPEC-003"), policyNumbers(ofInsuranceType(TYPE).and(startsWithR), 1, 1));
+        assertEquals(List.of("SPEC-001", "SPEC-002", "SPEC-004"), policyNumbers(ofInsuranceType(TYPE)
+                .and(activeOn(DAY).or(startsWithR.and(premiumAtLeast(Money.of(new BigDecimal("2800.00")))))), 0, 10));
+    }
+
+    private List<String> policyNumbers(Specification<Policy> specification, int page, int size) {
+        return policyRepository.findAll(specification, page, size).stream().map(Policy::getPolicyNumber).toList();
+    }
+}
@@ -0,0 +1,140 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Query latency of {@link InvertedIndex} over 1M policies with Spanish client names (two given names out of 40, two
+ * surnames out of 60) and short descriptions naming a city and, for vehicles, a unique plate. Each query asks for the
+ * first page of 20. The setup prints the heap used per indexed policy.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(value = 1, jvmArgs = "-Xmx4g")
+public class PolicySearchBenchmark {
+
+    static final String[] GIVEN_NAMES = { "María", "José", "Juan", "Ana", "Luis", "Carmen", "Francisco", "Rosa",
+            "Pedro", "Isabel", "Jorge", "Patricia", "Manuel", "Claudia", "Sergio", "Verónica", "Andrés", "Paulina",
+            "Cristián", "Ximena", "Matías", "Sofía", "Benjamín", "Valentina", "Tomás", "Javiera", "Sebastián", "Camila",
+            "Ignacio", "Fernanda", "Joaquín", "Catalina", "Raúl", "Gabriela", "Héctor", "Daniela", "Álvaro",
+            "Constanza", "Nicolás", "Antonia" };
+    static final String[] SURNAMES = { "González", "Muñoz", "Rojas", "Díaz", "Pérez", "Soto", "Contreras", "Silva",
+            "Martínez", "Sepúlveda", "Morales", "Rodríguez", "López", "Fuentes", "Hernández", "Torres", "Araya",
+            "Flores", "Espinoza", "Valenzuela", "Castillo", "Tapia", "Reyes", "Gutiérrez", "Castro", "Pizarro",
+            "Álvarez", "Vásquez", "Sánchez", "Fernández", "Ramírez", "Carrasco", "Gómez", "Cortés", "Herrera", "Núñez",
+            "Jara", "Vergara", "Rivera", "Figueroa", "Riquelme", "García", "Miranda", "Bravo", "Vera", "Molina",
+            "Vega", "Campos", "Sandoval", "Orellana", "Cárdenas", "Olivares", "Alarcón", "Gallardo", "Ortiz", "Garrido",
+            "Salazar", "Guzmán", "Henríquez", "Saavedra" };
+    static final String[] CITIES = { "Santiago", "Valparaíso", "Concepción", "La Serena", "Antofagasta", "Temuco",
+            "Rancagua", "Talca", "Arica", "Iquique", "Puerto Montt", "Chillán", "Los Ángeles", "Calama", "Osorno",
+            "Valdivia", "Punta Arenas", "Coyhaique", "Copiapó", "Curicó" };
+    static final String[] COVERAGES = { "Seguro de hogar", "Seguro de vida", "Seguro de salud", "Vehículo" };
+
+    @Param({ "1000000" })
+    public int policies;
+
+    private InvertedIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        index = populate(policies);
+
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%n%d policies, %d distinct words: %d bytes/policy%n", policies, index.wordCount(),
+                (after - before) / policies);
+    }
+
+    @Benchmark
+    public InvertedIndex.Matches surname() {
+        // Cerca de 33.000 coincidencias por apellido
+        return index.search(SURNAMES[ThreadLocalRandom.current().nextInt(SURNAMES.length)], 0, 20);
+    }
+
+    @Benchmark
+    public InvertedIndex.Matches givenNameAndSurname() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.search(GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)] + " "
+                + SURNAMES[random.nextInt(SURNAMES.length)], 0, 20);
+    }
+
+    @Benchmark
+    public InvertedIndex.Matches fullName() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.search(GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)] + " "
+                + SURNAMES[random.nextInt(SURNAMES.length)] + " " + SURNAMES[random.nextInt(SURNAMES.length)], 0, 20);
+    }
+
+    @Benchmark
+    public InvertedIndex.Matches surnamePrefix() {
+        // "gonz", "muno", "roja"...: expande a las palabras que empiezan así
+        String surname = InvertedIndex.words(SURNAMES[ThreadLocalRandom.current().nextInt(SURNAMES.length)]).get(0);
+        return index.search(surname.substring(0, 4), 0, 20);
+    }
+
+    @Benchmark
+    public InvertedIndex.Matches shortPrefix() {
+        // Peor caso: "ma" abarca María, Manuel, Matías y Martínez, entre otras
+        return index.search("ma", 0, 20);
+    }
+
+    @Benchmark
+    public InvertedIndex.Matches surnameAndCity() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.search(SURNAMES[random.nextInt(SURNAMES.length)] + " "
+                + CITIES[random.nextInt(CITIES.length)], 0, 20);
+    }
+
+    @Benchmark
+    public InvertedIndex.Matches plate() {
+        return index.search(plate(ThreadLocalRandom.current().nextInt(policies / COVERAGES.length)), 0, 20);
+    }
+
+    /**
+     * Indexes {@code count} synthetic policies. Every fourth one is a vehicle with a unique plate.
+     */
+    static InvertedIndex populate(int count) {
+        InvertedIndex index = new InvertedIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int seq = 0; seq < count; seq++) {
+            String clientName = GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)] + " "
+                    + GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)] + " " + SURNAMES[random.nextInt(SURNAMES.length)]
+                    + " " + SURNAMES[random.nextInt(SURNAMES.length)];
+            String coverage = COVERAGES[seq % COVERAGES.length];
+            String description = coverage + " en " + CITIES[random.nextInt(CITIES.length)]
+                    + (seq % COVERAGES.length == COVERAGES.length - 1 ? ", patente " + plate(seq / COVERAGES.length)
+                            : "");
+            index.put(new UUID(0, seq), clientName, description);
+        }
+        return index;
+    }
+
+    static String plate(int vehicle) {
+        return "" + (char) ('B' + vehicle % 20) + (char) ('B' + vehicle / 20 % 20) + (char) ('B' + vehicle / 400 % 20)
+                + (char) ('B' + vehicle / 8_000 % 20) + (vehicle / 160_000 % 10) + (vehicle % 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PolicySearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
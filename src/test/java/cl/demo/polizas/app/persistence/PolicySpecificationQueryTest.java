@@ -0,0 +1,91 @@
+package cl.demo.polizas.app.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import cl.demo.polizas.seedwork.domain.Specification;
+import org.junit.jupiter.api.Test;
+
+import static cl.demo.polizas.domain.specification.PolicySpecifications.activeOn;
+import static cl.demo.polizas.domain.specification.PolicySpecifications.endsBetween;
+import static cl.demo.polizas.domain.specification.PolicySpecifications.hasStatus;
+import static cl.demo.polizas.domain.specification.PolicySpecifications.ofClient;
+import static cl.demo.polizas.domain.specification.PolicySpecifications.ofInsuranceType;
+import static cl.demo.polizas.domain.specification.PolicySpecifications.premiumAtLeast;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicySpecificationQueryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 1);
+
+    @Test
+    void translatesCombinationsOfKnownSpecifications() {
+        Specification<Policy> specification = hasStatus(PolicyStatus.ACTIVE, PolicyStatus.PENDING)
+                .and(activeOn(DAY).or(endsBetween(DAY, DAY.plusDays(30))))
+                .and(ofInsuranceType("AUTO").not());
+
+        PolicySpecificationQuery.Translation translation = PolicySpecificationQuery.translate(specification, true);
+
+        assertTrue(translation.isComplete());
+        assertEquals("status in :spec0 and ((startDate <= :spec1 and endDate >= :spec1) or "
+                + "(endDate >= :spec2 and endDate <= :spec3)) and "
+                + "not ((insuranceType is not null and insuranceType = :spec4))", translation.where());
+        assertEquals(Map.of("spec0", Set.of(PolicyStatus.ACTIVE, PolicyStatus.PENDING), "spec1", DAY, "spec2", DAY,
+                "spec3", DAY.plusDays(30), "spec4", "AUTO"), translation.parameters());
+    }
+
+    @Test
+    void comparesClientsByRutBodyOrByText() {
+        Rut rut = Rut.from("12.345.678-5");
+
+        PolicySpecificationQuery.Translation numeric = PolicySpecificationQuery.translate(ofClient(rut), true);
+        assertEquals("(clientRutBody is not null and clientRutBody = :spec0)", numeric.where());
+        assertEquals(Map.of("spec0", 12345678), numeric.parameters());
+
+        PolicySpecificationQuery.Translation text = PolicySpecificationQuery.translate(ofClient(rut), false);
+        assertEquals("clientRut = :spec0", text.where());
+        assertEquals(Map.of("spec0", rut.getFullRut()), text.parameters());
+    }
+
+    @Test
+    void translatesPremiumWithItsCurrency() {
+        PolicySpecificationQuery.Translation translation = PolicySpecificationQuery.translate(
+                premiumAtLeast(Money.of("1500.50")), true);
+
+        assertEquals("(premiumCurrency = :spec0 and premiumAmount >= :spec1)", translation.where());
+        assertEquals("CLP", translation.parameters().get("spec0"));
+        assertEquals(0, new BigDecimal("1500.50").compareTo((BigDecimal) translation.parameters().get("spec1")));
+    }
+
+    @Test
+    void leavesUntranslatableConjunctsInTheResidual() {
+        Specification<Policy> custom = Specification.from(policy -> policy.getClientName().startsWith("A"));
+        Specification<Policy> specification = hasStatus(PolicyStatus.ACTIVE).and(custom)
+                .and(activeOn(DAY).or(custom));
+
+        PolicySpecificationQuery.Translation translation = PolicySpecificationQuery.translate(specification, true);
+
+        assertFalse(translation.isComplete());
+        assertEquals("status in :spec0", translation.where());
+        // Los parámetros del "or" descartado no quedan en la consulta
+        assertEquals(Set.of("spec0"), translation.parameters().keySet());
+        assertNotNull(translation.residual());
+    }
+
+    @Test
+    void leavesEverythingInMemoryWhenNothingTranslates() {
+        Specification<Policy> custom = Specification.from(policy -> policy.getPremium().isPositive());
+
+        PolicySpecificationQuery.Translation translation = PolicySpecificationQuery.translate(custom.not(), true);
+
+        assertFalse(translation.isComplete());
+        assertEquals("", translation.where());
+        assertTrue(translation.parameters().isEmpty());
+    }
+}
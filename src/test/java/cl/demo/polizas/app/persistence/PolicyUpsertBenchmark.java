@@ -0,0 +1,164 @@
+package cl.demo.polizas.app.persistence;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares saves/sec of the lookup-then-write save (SELECT by id, then INSERT or UPDATE) against the single-statement
+ * upsert from {@link PolicyUpsertStatements}, on the H2 and SQLite profiles. Half of the saves create a policy and
+ * half rewrite an existing one, each in its own transaction like {@code PolicyRepositoryImpl.save}.
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.SECONDS) @Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1)
+public class PolicyUpsertBenchmark {
+
+    private static final int PRELOADED_ROWS = 10_000;
+
+    private static final String UPDATE_POLICY = "update policies set policy_number = ?, client_rut = ?, "
+            + "client_name = ?, client_email = ?, premium_amount = ?, premium_currency = ?, coverage_amount = ?, "
+            + "coverage_currency = ?, status = ?, start_date = ?, end_date = ?, description = ?, "
+            + "insurance_type = ?, created_at = ?, updated_at = ?, client_rut_body = ?, "
+            + "version = version + 1 where id = ?";
+
+    @Param({ "h2", "sqlite" })
+    public String database;
+
+    private Connection connection;
+    private PreparedStatement find;
+    private PreparedStatement insert;
+    private PreparedStatement update;
+    private PreparedStatement upsert;
+    private final List<String> ids = new ArrayList<>();
+    private final Map<String, Long> versions = new HashMap<>();
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = "sqlite".equals(database) ? BenchmarkDatabase.sqlite() : BenchmarkDatabase.h2();
+        connection.setAutoCommit(false);
+        try (PreparedStatement preload = connection.prepareStatement(BenchmarkDatabase.INSERT_POLICY)) {
+            for (; sequence < PRELOADED_ROWS; sequence++) {
+                String id = UUID.randomUUID().toString();
+                BenchmarkDatabase.bindPolicy(preload, id, sequence);
+                preload.addBatch();
+                ids.add(id);
+                versions.put(id, 0L);
+            }
+            preload.executeBatch();
+        }
+        connection.commit();
+
+        find = connection.prepareStatement("select id from policies where id = ?");
+        insert = connection.prepareStatement(BenchmarkDatabase.INSERT_POLICY);
+        update = connection.prepareStatement(UPDATE_POLICY);
+        upsert = connection.prepareStatement(
+                "sqlite".equals(database) ? PolicyUpsertStatements.SQLITE : PolicyUpsertStatements.H2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int lookupThenWrite() throws SQLException {
+        String id = nextId();
+        find.setString(1, id);
+        boolean exists;
+        try (ResultSet row = find.executeQuery()) {
+            exists = row.next();
+        }
+
+        int updated;
+        if (exists) {
+            bindUpdate(id);
+            updated = update.executeUpdate();
+        } else {
+            BenchmarkDatabase.bindPolicy(insert, id, sequence);
+            updated = insert.executeUpdate();
+        }
+        connection.commit();
+        return updated;
+    }
+
+    @Benchmark
+    public int upsert() throws SQLException {
+        String id = nextId();
+        BenchmarkDatabase.bindPolicy(upsert, id, sequence);
+        // El upsert solo reescribe la fila en la versión guardada, como un save sin conflicto
+        upsert.setLong(18, versions.getOrDefault(id, 0L));
+        int updated = upsert.executeUpdate();
+        connection.commit();
+        versions.compute(id, (key, version) -> version == null ? 0L : version + 1);
+        return updated;
+    }
+
+    /**
+     * Alternates between a brand-new policy and an already stored one.
+     */
+    private String nextId() {
+        long seq = sequence++;
+        if ((seq & 1) == 0) {
+            String id = UUID.randomUUID().toString();
+            ids.add(id);
+            return id;
+        }
+        return ids.get((int) (seq % ids.size()));
+    }
+
+    /**
+     * Binds the same values as {@link BenchmarkDatabase#bindPolicy}, with the id moved to the WHERE clause.
+     */
+    private void bindUpdate(String id) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        update.setString(1, "POL-" + sequence);
+        update.setString(2, "12345678-5");
+        update.setString(3, "Cliente " + sequence);
+        update.setString(4, "cliente" + sequence + "@demo.cl");
+        update.setBigDecimal(5, BigDecimal.valueOf(34990, 2));
+        update.setString(6, "CLP");
+        update.setBigDecimal(7, BigDecimal.valueOf(10_000_000, 2));
+        update.setString(8, "CLP");
+        update.setString(9, "ACTIVE");
+        update.setDate(10, Date.valueOf("2025-01-01"));
+        update.setDate(11, Date.valueOf("2026-01-01"));
+        update.setString(12, "Póliza de prueba");
+        update.setString(13, "SALUD");
+        update.setTimestamp(14, Timestamp.valueOf(now));
+        update.setTimestamp(15, Timestamp.valueOf(now));
+        update.setInt(16, 12345678);
+        update.setString(17, id);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PolicyUpsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
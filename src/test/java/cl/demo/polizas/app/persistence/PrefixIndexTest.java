@@ -0,0 +1,86 @@
+package cl.demo.polizas.app.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    @Test
+    void returnsKeysStartingWithThePrefixInOrder() {
+        PrefixIndex index = new PrefixIndex();
+        index.addAll(List.of("POL-0010", "POL-0002", "AUTO-1", "POL-0001", "POL-0002"));
+        index.add("POL-0003");
+
+        assertEquals(List.of("POL-0001", "POL-0002", "POL-0003", "POL-0010"), index.startingWith("POL-", 10));
+        assertEquals(List.of("POL-0001", "POL-0002"), index.startingWith("POL-000", 2));
+        assertEquals(List.of("AUTO-1"), index.startingWith("", 1));
+        assertEquals(List.of(), index.startingWith("pol", 10));
+        assertEquals(List.of(), index.startingWith("POL-00100", 10));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void mergesPendingAdditionsAndRemovalsWithTheRun() {
+        PrefixIndex index = new PrefixIndex();
+        index.addAll(List.of("A-1", "A-3", "A-5"));
+
+        index.add("A-2");
+        index.add("A-3");
+        index.remove("A-5");
+        index.remove("A-9");
+        assertEquals(List.of("A-1", "A-2", "A-3"), index.startingWith("A-", 10));
+        assertEquals(3, index.size());
+
+        index.add("A-5");
+        index.remove("A-2");
+        assertEquals(List.of("A-1", "A-3", "A-5"), index.startingWith("A-", 10));
+
+        index.addAll(List.of("A-4", "A-2"));
+        assertEquals(List.of("A-1", "A-2", "A-3", "A-4", "A-5"), index.startingWith("A-", 10));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void ordersByCodePointAcrossMerges() {
+        PrefixIndex index = new PrefixIndex();
+        index.addAll(List.of("PÓL-2", "POL-2", "PZL-1"));
+        index.add("PÓL-1");
+
+        assertEquals(List.of("POL-2", "PZL-1", "PÓL-1", "PÓL-2"), index.startingWith("P", 10));
+        assertEquals(List.of("PÓL-1", "PÓL-2"), index.startingWith("PÓ", 10));
+    }
+
+    @Test
+    void agreesWithASortedSetUnderRandomChanges() {
+        PrefixIndex index = new PrefixIndex();
+        TreeSet<String> expected = new TreeSet<>();
+        SplittableRandom random = new SplittableRandom(7);
+        // Suficientes cambios para forzar varias mezclas del run
+        for (int i = 0; i < 20_000; i++) {
+            String key = String.format("POL-%04d", random.nextInt(5_000));
+            if (random.nextInt(3) == 0) {
+                index.remove(key);
+                expected.remove(key);
+            } else {
+                index.add(key);
+                expected.add(key);
+            }
+            if (i % 997 == 0) {
+                String prefix = key.substring(0, 1 + random.nextInt(key.length()));
+                assertEquals(first(expected, prefix, 25), index.startingWith(prefix, 25));
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        assertEquals(new ArrayList<>(expected), index.startingWith("", Integer.MAX_VALUE));
+    }
+
+    private static List<String> first(TreeSet<String> keys, String prefix, int limit) {
+        return keys.tailSet(prefix).stream().takeWhile(key -> key.startsWith(prefix)).limit(limit).toList();
+    }
+}
@@ -0,0 +1,139 @@
+package cl.demo.polizas.app.rest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * JSON bodies for the policy endpoints, shared by the REST tests so a change to the request DTOs is made in one place.
+ * A policy starts tomorrow and lasts one year unless the test sets its dates.
+ */
+final class PolicyFixtures {
+
+    private PolicyFixtures() {
+    }
+
+    /**
+     * A policy with default client, amounts and dates, to adjust before calling {@link PolicyJson#json()}.
+     */
+    static PolicyJson policy(String policyNumber) {
+        return new PolicyJson(policyNumber);
+    }
+
+    /**
+     * JSON of a policy with the defaults of {@link #policy(String)}.
+     */
+    static String json(String policyNumber) {
+        return policy(policyNumber).json();
+    }
+
+    /**
+     * Body of {@code POST /api/policies/batch} with the given policy JSONs.
+     */
+    static String batch(String... policies) {
+        return "{\"policies\": [" + String.join(", ", policies) + "]}";
+    }
+
+    /**
+     * Creates the policies in one batch and checks that all of them were created.
+     */
+    static void createBatch(String... policies) {
+        given()
+            .contentType("application/json")
+            .body(batch(policies))
+        .when()
+            .post("/api/policies/batch")
+        .then()
+            .statusCode(200)
+            .body("created", is(policies.length));
+    }
+
+    static final class PolicyJson {
+
+        private final String policyNumber;
+        private String clientRut = "10000000-8";
+        private String clientName = "Ana Rojas";
+        private String clientEmail = "cliente@demo.cl";
+        private String premium = "1000.00";
+        private String coverage = "50000.00";
+        private LocalDate startDate = LocalDate.now().plusDays(1);
+        private LocalDate endDate = startDate.plusYears(1);
+        private String description;
+        private String insuranceType;
+
+        private PolicyJson(String policyNumber) {
+            this.policyNumber = policyNumber;
+        }
+
+        PolicyJson clientRut(String clientRut) {
+            this.clientRut = clientRut;
+            return this;
+        }
+
+        PolicyJson clientName(String clientName) {
+            this.clientName = clientName;
+            return this;
+        }
+
+        PolicyJson clientEmail(String clientEmail) {
+            this.clientEmail = clientEmail;
+            return this;
+        }
+
+        PolicyJson premium(String premium) {
+            this.premium = premium;
+            return this;
+        }
+
+        PolicyJson coverage(String coverage) {
+            this.coverage = coverage;
+            return this;
+        }
+
+        PolicyJson dates(String startDate, String endDate) {
+            return dates(LocalDate.parse(startDate), LocalDate.parse(endDate));
+        }
+
+        PolicyJson dates(LocalDate startDate, LocalDate endDate) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            return this;
+        }
+
+        PolicyJson description(String description) {
+            this.description = description;
+            return this;
+        }
+
+        PolicyJson insuranceType(String insuranceType) {
+            this.insuranceType = insuranceType;
+            return this;
+        }
+
+        String json() {
+            List<String> fields = new ArrayList<>();
+            fields.add(text("policyNumber", policyNumber));
+            fields.add(text("clientRut", clientRut));
+            fields.add(text("clientName", clientName));
+            fields.add(text("clientEmail", clientEmail));
+            fields.add("\"premium\": " + premium);
+            fields.add("\"coverage\": " + coverage);
+            fields.add(text("startDate", startDate.toString()));
+            fields.add(text("endDate", endDate.toString()));
+            if (description != null) {
+                fields.add(text("description", description));
+            }
+            if (insuranceType != null) {
+                fields.add(text("insuranceType", insuranceType));
+            }
+            return "{" + String.join(", ", fields) + "}";
+        }
+
+        private static String text(String name, String value) {
+            return "\"" + name + "\": \"" + value + "\"";
+        }
+    }
+}
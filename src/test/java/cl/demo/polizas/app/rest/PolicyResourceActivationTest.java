@@ -0,0 +1,72 @@
+package cl.demo.polizas.app.rest;
+
+import cl.demo.polizas.application.usecase.ActivatePoliciesUseCase;
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class PolicyResourceActivationTest {
+
+    @Inject
+    PolicyRepository policyRepository;
+
+    @Inject
+    ActivatePoliciesUseCase activatePoliciesUseCase;
+
+    private PolicyId store(String policyNumber, PolicyStatus status) {
+        LocalDate start = LocalDate.now().plusDays(3);
+        LocalDateTime now = LocalDateTime.now();
+        Policy policy = Policy.reconstitute(PolicyId.generate(), policyNumber, Rut.from("88888888-8"), "Luis Soto",
+                "luis@demo.cl", Money.of(new BigDecimal("700.00")), Money.of(new BigDecimal("35000.00")), status,
+                start, start.plusYears(1), null, "AUTO", now, now, 0);
+        policyRepository.save(policy);
+        return policy.id();
+    }
+
+    @Test
+    void activatesOnlyPoliciesStillPending() {
+        PolicyId pending = store("ACT-PENDING-001", PolicyStatus.PENDING);
+        PolicyId cancelled = store("ACT-CANCELLED-001", PolicyStatus.CANCELLED);
+
+        long activated = activatePoliciesUseCase
+                .handle(new ActivatePoliciesUseCase.ActivatePoliciesRequest(List.of(pending, cancelled, pending)))
+                .activated();
+
+        assertEquals(1, activated);
+        assertEquals(PolicyStatus.ACTIVE, policyRepository.findById(pending).orElseThrow().getStatus());
+        assertEquals(1, policyRepository.findById(pending).orElseThrow().getVersion());
+        assertEquals(PolicyStatus.CANCELLED, policyRepository.findById(cancelled).orElseThrow().getStatus());
+
+        given()
+            .when()
+                .get("/api/policies/" + pending)
+            .then()
+                .statusCode(200)
+                .body("status", is(PolicyStatus.ACTIVE.getDisplayName()));
+    }
+
+    @Test
+    void loadsPendingStartDates() {
+        PolicyId pending = store("ACT-PENDING-002", PolicyStatus.PENDING);
+
+        assertTrue(policyRepository.findPendingActivations().stream()
+                .anyMatch(activation -> activation.policyId().equals(pending)
+                        && activation.startDate().equals(LocalDate.now().plusDays(3))));
+    }
+}
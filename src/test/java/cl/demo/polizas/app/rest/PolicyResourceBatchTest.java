@@ -0,0 +1,101 @@
+package cl.demo.polizas.app.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.batch;
+import static cl.demo.polizas.app.rest.PolicyFixtures.policy;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class PolicyResourceBatchTest {
+
+    @Test
+    void createsValidItemsAndReportsFailuresPerItem() {
+        final String payload = batch(policy("BATCH-001").clientRut("12.345.678-5").json(),
+                policy("BATCH-002").clientRut("12.345.678-4").json(),
+                policy("BATCH-001").clientRut("12.345.678-5").json(),
+                policy("BATCH-003").clientRut("12345678-5").json());
+
+        given()
+            .contentType("application/json")
+            .body(payload)
+        .when()
+            .post("/api/policies/batch")
+        .then()
+            .statusCode(200)
+            .body("total", is(4))
+            .body("created", is(2))
+            .body("failed", is(2))
+            .body("results.index", contains(0, 1, 2, 3))
+            .body("results[0].created", is(true))
+            .body("results[0].policyId", notNullValue())
+            .body("results[1].created", is(false))
+            .body("results[1].error", containsString("verification digit"))
+            .body("results[2].error", is("Duplicate policy number in batch"))
+            .body("results[3].created", is(true));
+
+        given()
+            .contentType("application/json")
+            .body(batch(policy("BATCH-003").clientRut("12345678-5").json()))
+        .when()
+            .post("/api/policies/batch")
+        .then()
+            .statusCode(200)
+            .body("created", is(0))
+            .body("results[0].error", is("Policy number already exists"));
+    }
+
+    @Test
+    void appliesTheRequestConstraintsToEachItem() {
+        final String payload = batch(policy("BATCH-VAL-001").clientRut("12345678-5").json(),
+                policy("BATCH-VAL-002").clientRut("12345678-5").clientEmail("no-es-un-email").json(),
+                policy("BATCH-VAL-003").clientRut("12345678-5").premium("0.001").json());
+
+        given()
+            .contentType("application/json")
+            .body(payload)
+        .when()
+            .post("/api/policies/batch")
+        .then()
+            .statusCode(200)
+            .body("created", is(1))
+            .body("failed", is(2))
+            .body("results.index", contains(0, 1, 2))
+            .body("results[0].created", is(true))
+            .body("results[1].error", is("Invalid email format"))
+            .body("results[2].error", is("Premium must be greater than zero"));
+    }
+
+    @Test
+    void singleCreateRejectsExistingPolicyNumber() {
+        given()
+            .contentType("application/json")
+            .body(policy("SINGLE-001").clientRut("12345678-5").json())
+        .when()
+            .post("/api/policies")
+        .then()
+            .statusCode(201);
+
+        given()
+            .contentType("application/json")
+            .body(policy("SINGLE-001").clientRut("12345678-5").json())
+        .when()
+            .post("/api/policies")
+        .then()
+            .statusCode(400)
+            .body("detail", is("Policy number already exists"));
+    }
+
+    @Test
+    void rejectsEmptyBatch() {
+        given()
+            .contentType("application/json")
+            .body(batch())
+        .when()
+            .post("/api/policies/batch")
+        .then()
+            .statusCode(400);
+    }
+}
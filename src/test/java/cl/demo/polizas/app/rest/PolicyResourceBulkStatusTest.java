@@ -0,0 +1,126 @@
+package cl.demo.polizas.app.rest;
+
+import cl.demo.polizas.app.outbox.InMemoryOutboxPublisher;
+import cl.demo.polizas.app.outbox.OutboxMessage;
+import cl.demo.polizas.app.outbox.OutboxRelay;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.batch;
+import static cl.demo.polizas.app.rest.PolicyFixtures.policy;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class PolicyResourceBulkStatusTest {
+
+    @Inject
+    OutboxRelay relay;
+
+    @Inject
+    InMemoryOutboxPublisher publisher;
+
+    private List<String> statusUpdates(String policyId) {
+        return publisher.messages().stream().filter(message -> message.aggregateId().equals(policyId))
+                .filter(message -> message.type().equals("PolicyStatusUpdated")).map(OutboxMessage::payload).toList();
+    }
+
+    @Test
+    void movesOnlyPoliciesWhoseStatusAllowsTheTransition() {
+        final List<String> ids =
+            given()
+                .contentType("application/json")
+                .body(batch(policy("BULK-001").insuranceType("BULK").json(),
+                        policy("BULK-002").insuranceType("BULK").json(),
+                        policy("BULK-003").insuranceType("BULK").json()))
+            .when()
+                .post("/api/policies/batch")
+            .then()
+                .statusCode(200)
+                .body("created", is(3))
+                .extract().path("results.policyId");
+
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"ACTIVE\", \"policyIds\": [\"" + ids.get(0) + "\", \"" + ids.get(1) + "\"]}")
+        .when()
+            .put("/api/policies/status")
+        .then()
+            .statusCode(200)
+            .body("updated", is(2));
+
+        // PENDING no puede pasar a INACTIVE: solo cambian las dos activas
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"INACTIVE\", \"insuranceType\": \"BULK\"}")
+        .when()
+            .put("/api/policies/status")
+        .then()
+            .statusCode(200)
+            .body("updated", is(2));
+
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"CANCELLED\", \"policyIds\": [\"" + ids.get(0) + "\", \"" + ids.get(1) + "\", \""
+                    + ids.get(2) + "\", \"" + UUID.randomUUID() + "\"]}")
+        .when()
+            .put("/api/policies/status")
+        .then()
+            .statusCode(200)
+            .body("updated", is(3));
+
+        given()
+        .when()
+            .get("/api/policies/" + ids.get(2))
+        .then()
+            .statusCode(200)
+            .body("status", is("Anulada"));
+
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"ACTIVE\", \"insuranceType\": \"BULK\"}")
+        .when()
+            .put("/api/policies/status")
+        .then()
+            .statusCode(200)
+            .body("updated", is(0));
+
+        // Cada fila que cambió publica su propio evento, con el estado que tenía
+        relay.drain();
+        List<String> first = statusUpdates(ids.get(0));
+        assertEquals(3, first.size());
+        assertThat(first.get(1), allOf(containsString("\"oldStatus\":\"ACTIVE\""),
+                containsString("\"newStatus\":\"INACTIVE\"")));
+        List<String> third = statusUpdates(ids.get(2));
+        assertEquals(1, third.size());
+        assertThat(third.get(0), allOf(containsString("\"oldStatus\":\"PENDING\""),
+                containsString("\"newStatus\":\"CANCELLED\"")));
+    }
+
+    @Test
+    void rejectsRequestsWithBothOrNeitherSelection() {
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"CANCELLED\"}")
+        .when()
+            .put("/api/policies/status")
+        .then()
+            .statusCode(400);
+
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"CANCELLED\", \"policyIds\": [\"" + UUID.randomUUID()
+                    + "\"], \"clientRut\": \"77777777-7\"}")
+        .when()
+            .put("/api/policies/status")
+        .then()
+            .statusCode(400)
+            .body("detail", containsString("either"));
+    }
+}
@@ -0,0 +1,106 @@
+package cl.demo.polizas.app.rest;
+
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.Rut;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.batch;
+import static cl.demo.polizas.app.rest.PolicyFixtures.json;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class PolicyResourceCacheTest {
+
+    @Inject @CacheName("policy-details")
+    Cache detailsCache;
+
+    @Inject
+    PolicyRepository policyRepository;
+
+    @Test
+    void cachesDetailsAndEvictsThemOnStatusUpdate() {
+        final String policyId =
+            given()
+                .contentType("application/json")
+                .body(batch(json("CACHE-001")))
+            .when()
+                .post("/api/policies/batch")
+            .then()
+                .statusCode(200)
+                .extract().path("results[0].policyId");
+
+        given()
+        .when()
+            .get("/api/policies/" + policyId)
+        .then()
+            .statusCode(200)
+            .body("status", is("Pendiente"));
+
+        assertThat(detailsCache.as(CaffeineCache.class).keySet(), hasItem(PolicyId.from(policyId)));
+
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"ACTIVE\"}")
+        .when()
+            .put("/api/policies/" + policyId + "/status")
+        .then()
+            .statusCode(200);
+
+        assertThat(detailsCache.as(CaffeineCache.class).keySet(), not(hasItem(PolicyId.from(policyId))));
+
+        given()
+        .when()
+            .get("/api/policies/" + policyId)
+        .then()
+            .statusCode(200)
+            .body("status", is("Activa"));
+    }
+
+    @Test
+    void savingAPolicyEvictsItsCachedMiss() {
+        Policy single = policy("CACHE-MISS-001");
+        Policy batched = policy("CACHE-MISS-002");
+
+        // Consultar antes de que existan deja en caché el Optional vacío de cada una
+        for (Policy policy : List.of(single, batched)) {
+            given()
+            .when()
+                .get("/api/policies/" + policy.id().value())
+            .then()
+                .statusCode(404);
+        }
+        assertThat(detailsCache.as(CaffeineCache.class).keySet(), hasItems(single.id(), batched.id()));
+
+        policyRepository.save(single);
+        policyRepository.saveAll(List.of(batched));
+
+        for (Policy policy : List.of(single, batched)) {
+            given()
+            .when()
+                .get("/api/policies/" + policy.id().value())
+            .then()
+                .statusCode(200)
+                .body("policyNumber", is(policy.getPolicyNumber()));
+        }
+    }
+
+    private static Policy policy(String policyNumber) {
+        return Policy.create(policyNumber, Rut.from("10000000-8"), "Ana Rojas", "cliente@demo.cl",
+                Money.of(new BigDecimal("1000.00")), Money.of(new BigDecimal("50000.00")), LocalDate.now().plusDays(1),
+                LocalDate.now().plusYears(1), null, null);
+    }
+}
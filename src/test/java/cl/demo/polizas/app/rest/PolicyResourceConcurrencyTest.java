@@ -0,0 +1,108 @@
+package cl.demo.polizas.app.rest;
+
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.batch;
+import static cl.demo.polizas.app.rest.PolicyFixtures.json;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class PolicyResourceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 20;
+
+    @Inject
+    PolicyRepository policyRepository;
+
+    private static String create(String policyNumber) {
+        return given()
+                .contentType("application/json")
+                .body(batch(json(policyNumber)))
+            .when()
+                .post("/api/policies/batch")
+            .then()
+                .statusCode(200)
+                .extract().path("results[0].policyId");
+    }
+
+    private static Response put(String policyId, String status) {
+        return given()
+                .contentType("application/json")
+                .body("{\"status\": \"" + status + "\"}")
+            .when()
+                .put("/api/policies/" + policyId + "/status");
+    }
+
+    /**
+     * Runs the task on every thread at once and returns how many real transitions (old status differs from the new
+     * one) were acknowledged with 200. Every other response must be a 409.
+     */
+    private static int transitionsAcknowledged(Callable<List<Response>> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<Response>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(task));
+            }
+
+            int transitions = 0;
+            for (Future<List<Response>> future : futures) {
+                for (Response response : future.get()) {
+                    if (response.statusCode() == 200) {
+                        String oldStatus = response.path("oldStatus");
+                        if (!oldStatus.equals(response.path("newStatus"))) {
+                            transitions++;
+                        }
+                    } else {
+                        assertEquals(409, response.statusCode(), response.asString());
+                    }
+                }
+            }
+            return transitions;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void onlyOneConcurrentCancellationWins() throws Exception {
+        final String policyId = create("CONCURRENT-001");
+
+        int transitions = transitionsAcknowledged(() -> List.of(put(policyId, "CANCELLED")));
+
+        assertEquals(1, transitions);
+        assertEquals(1, policyRepository.findById(PolicyId.from(policyId)).orElseThrow().getVersion());
+    }
+
+    @Test
+    void everyAcknowledgedTransitionIsStored() throws Exception {
+        final String policyId = create("CONCURRENT-002");
+        put(policyId, "ACTIVE").then().statusCode(200);
+
+        int transitions = transitionsAcknowledged(() -> {
+            List<Response> responses = new ArrayList<>(REQUESTS_PER_THREAD);
+            for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                responses.add(put(policyId, i % 2 == 0 ? "INACTIVE" : "ACTIVE"));
+            }
+            return responses;
+        });
+
+        // Cada transición confirmada incrementó la versión exactamente una vez: ninguna se perdió
+        assertTrue(transitions > 0);
+        assertEquals(1 + transitions, policyRepository.findById(PolicyId.from(policyId)).orElseThrow().getVersion());
+    }
+}
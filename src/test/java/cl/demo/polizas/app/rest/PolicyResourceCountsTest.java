@@ -0,0 +1,96 @@
+package cl.demo.polizas.app.rest;
+
+import cl.demo.polizas.app.persistence.PolicyCounts;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.createBatch;
+import static cl.demo.polizas.app.rest.PolicyFixtures.policy;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class PolicyResourceCountsTest {
+
+    @Inject
+    PolicyRepository policyRepository;
+
+    @Inject
+    PolicyCounts policyCounts;
+
+    @Inject
+    EntityManager entityManager;
+
+    private static void assertTotal(String clientRut, String status, int total) {
+        var request = given().queryParam("clientRut", clientRut);
+        if (status != null) {
+            request.queryParam("status", status);
+        }
+        request
+        .when()
+            .get("/api/policies")
+        .then()
+            .statusCode(200)
+            .body("total", is(total));
+    }
+
+    @Test
+    void keepsListTotalsInStepWithWrites() {
+        createBatch(policy("COUNT-001").clientRut("66666666-6").json(),
+                policy("COUNT-002").clientRut("66666666-6").json(),
+                policy("COUNT-003").clientRut("66666666-6").json());
+        assertTotal("66666666-6", null, 3);
+        assertTotal("66.666.666-6", "PENDING", 3);
+
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"ACTIVE\", \"clientRut\": \"66666666-6\"}")
+        .when()
+            .put("/api/policies/status")
+        .then()
+            .statusCode(200)
+            .body("updated", is(3));
+        assertTotal("66666666-6", "ACTIVE", 3);
+        assertTotal("66666666-6", "PENDING", 0);
+
+        given()
+            .contentType("application/json")
+            .body(policy("COUNT-004").clientRut("66666666-6").json())
+        .when()
+            .post("/api/policies")
+        .then()
+            .statusCode(201);
+        assertTotal("66666666-6", "PENDING", 1);
+
+        policyRepository.deleteByPolicyNumber("COUNT-001");
+        assertTotal("66666666-6", null, 3);
+        assertEquals(3, policyRepository.countByClientRut("66666666-6"));
+        assertEquals(0, policyRepository.countByClientRut("66.666.666-6"));
+        assertEquals(0, policyCounts.reconcile());
+    }
+
+    @Test
+    void reconciliationRepairsCountsChangedOutsideTheRepository() {
+        createBatch(policy("COUNT-DRIFT-001").clientRut("99999999-9").json(),
+                policy("COUNT-DRIFT-002").clientRut("99999999-9").json());
+        long pending = policyRepository.countByStatus(PolicyStatus.PENDING);
+
+        // Cambio directo en la tabla: los contadores no se enteran hasta reconciliar
+        QuarkusTransaction.requiringNew().run(() -> entityManager
+                .createQuery("update PolicyEntity set status = :status where clientRutBody = :clientRutBody")
+                .setParameter("status", PolicyStatus.CANCELLED).setParameter("clientRutBody", 99999999)
+                .executeUpdate());
+        assertTotal("99999999-9", "PENDING", 2);
+
+        assertEquals(4, policyCounts.reconcile());
+        assertTotal("99999999-9", "PENDING", 0);
+        assertTotal("99999999-9", "CANCELLED", 2);
+        assertEquals(pending - 2, policyRepository.countByStatus(PolicyStatus.PENDING));
+    }
+}
@@ -0,0 +1,94 @@
+package cl.demo.polizas.app.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.createBatch;
+import static cl.demo.polizas.app.rest.PolicyFixtures.policy;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+@QuarkusTest
+class PolicyResourceDateFilterTest {
+
+    @Test
+    void listsPoliciesInForceOnADateAcrossPages() {
+        // Fechas y RUT propios para no coincidir con las pólizas de otras pruebas
+        createBatch(policy("DATES-001").clientRut("12121212-9").dates("2091-01-01", "2091-12-31").json(),
+                policy("DATES-002").clientRut("12121212-9").dates("2091-06-01", "2092-05-31").json(),
+                policy("DATES-003").clientRut("12121212-9").dates("2091-06-02", "2092-06-01").json(),
+                policy("DATES-004").clientRut("12121212-9").dates("2090-01-01", "2091-05-31").json(),
+                policy("DATES-005").clientRut("13131313-6").dates("2091-03-01", "2091-06-01").json());
+
+        final String next =
+            given()
+                .queryParam("activeOn", "2091-06-01")
+                .queryParam("size", 2)
+            .when()
+                .get("/api/policies")
+            .then()
+                .statusCode(200)
+                .body("total", is(3))
+                .body("policies.size()", is(2))
+                .body("next", notNullValue())
+                .extract().path("next");
+
+        given()
+            .queryParam("activeOn", "2091-06-01")
+            .queryParam("size", 2)
+            .queryParam("cursor", next)
+        .when()
+            .get("/api/policies")
+        .then()
+            .statusCode(200)
+            .body("policies.size()", is(1))
+            .body("next", nullValue());
+
+        given()
+            .queryParam("activeOn", "2091-06-01")
+            .queryParam("clientRut", "12121212-9")
+        .when()
+            .get("/api/policies")
+        .then()
+            .statusCode(200)
+            .body("total", is(2))
+            .body("policies.policyNumber", containsInAnyOrder("DATES-001", "DATES-002"));
+    }
+
+    @Test
+    void listsPoliciesEndingWithinARange() {
+        createBatch(policy("DATES-END-001").clientRut("14141414-3").dates("2093-01-01", "2093-12-31").json(),
+                policy("DATES-END-002").clientRut("14141414-3").dates("2093-02-01", "2094-01-15").json(),
+                policy("DATES-END-003").clientRut("14141414-3").dates("2093-03-01", "2094-02-01").json());
+
+        given()
+            .queryParam("endBetween", "2093-12-31,2094-01-31")
+        .when()
+            .get("/api/policies")
+        .then()
+            .statusCode(200)
+            .body("total", is(2))
+            .body("policies.policyNumber", containsInAnyOrder("DATES-END-001", "DATES-END-002"));
+
+        given()
+            .queryParam("activeOn", "2094-01-01")
+            .queryParam("endBetween", "2093-12-31,2094-01-31")
+        .when()
+            .get("/api/policies")
+        .then()
+            .statusCode(200)
+            .body("total", is(1))
+            .body("policies.policyNumber", contains("DATES-END-002"));
+    }
+
+    @Test
+    void rejectsMalformedDateFilters() {
+        given().queryParam("activeOn", "01-06-2091").when().get("/api/policies").then().statusCode(400);
+        given().queryParam("endBetween", "2091-06-01").when().get("/api/policies").then().statusCode(400);
+        given().queryParam("endBetween", "2091-06-30,2091-06-01").when().get("/api/policies").then().statusCode(400);
+    }
+}
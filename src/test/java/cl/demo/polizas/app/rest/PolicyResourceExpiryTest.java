@@ -0,0 +1,87 @@
+package cl.demo.polizas.app.rest;
+
+import cl.demo.polizas.application.usecase.ExpirePoliciesUseCase;
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.PolicyId;
+import cl.demo.polizas.domain.valueobject.PolicyStatus;
+import cl.demo.polizas.domain.valueobject.Rut;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class PolicyResourceExpiryTest {
+
+    @Inject
+    PolicyRepository policyRepository;
+
+    @Inject
+    ExpirePoliciesUseCase expirePoliciesUseCase;
+
+    private PolicyId store(String policyNumber, PolicyStatus status, LocalDate endDate) {
+        LocalDateTime now = LocalDateTime.now();
+        Policy policy = Policy.reconstitute(PolicyId.generate(), policyNumber, Rut.from("77777777-7"), "Rosa Díaz",
+                "rosa@demo.cl", Money.of(new BigDecimal("900.00")), Money.of(new BigDecimal("45000.00")), status,
+                endDate.minusYears(1), endDate, null, "AUTO", now, now, 0);
+        policyRepository.save(policy);
+        return policy.id();
+    }
+
+    private PolicyStatus statusOf(PolicyId policyId) {
+        return policyRepository.findById(policyId).orElseThrow().getStatus();
+    }
+
+    @Test
+    void expiresPoliciesPastTheirEndDate() {
+        LocalDate today = LocalDate.now();
+        PolicyId active = store("EXP-ACTIVE-001", PolicyStatus.ACTIVE, today.minusDays(1));
+        PolicyId pending = store("EXP-PENDING-001", PolicyStatus.PENDING, today.minusDays(30));
+        PolicyId endsToday = store("EXP-TODAY-001", PolicyStatus.ACTIVE, today);
+        PolicyId cancelled = store("EXP-CANCELLED-001", PolicyStatus.CANCELLED, today.minusDays(1));
+
+        // Dejar el detalle en caché antes del barrido
+        given()
+            .when()
+                .get("/api/policies/" + active)
+            .then()
+                .statusCode(200)
+                .body("status", is(PolicyStatus.ACTIVE.getDisplayName()));
+
+        long expired = expirePoliciesUseCase.handle(new ExpirePoliciesUseCase.ExpirePoliciesRequest(today)).expired();
+
+        assertTrue(expired >= 2, "expired " + expired);
+        assertEquals(PolicyStatus.EXPIRED, statusOf(active));
+        assertEquals(PolicyStatus.EXPIRED, statusOf(pending));
+        assertEquals(PolicyStatus.ACTIVE, statusOf(endsToday));
+        assertEquals(PolicyStatus.CANCELLED, statusOf(cancelled));
+        assertEquals(1, policyRepository.findById(active).orElseThrow().getVersion());
+
+        // El detalle en caché no debe seguir mostrando el estado anterior
+        given()
+            .when()
+                .get("/api/policies/" + active)
+            .then()
+                .statusCode(200)
+                .body("status", is(PolicyStatus.EXPIRED.getDisplayName()));
+    }
+
+    @Test
+    void secondSweepFindsNothingLeft() {
+        LocalDate today = LocalDate.now();
+        store("EXP-AGAIN-001", PolicyStatus.INACTIVE, today.minusDays(1));
+
+        expirePoliciesUseCase.handle(new ExpirePoliciesUseCase.ExpirePoliciesRequest(today));
+
+        assertEquals(0, expirePoliciesUseCase.handle(new ExpirePoliciesUseCase.ExpirePoliciesRequest(today)).expired());
+    }
+}
@@ -0,0 +1,139 @@
+package cl.demo.polizas.app.rest;
+
+import cl.demo.polizas.app.outbox.InMemoryOutboxPublisher;
+import cl.demo.polizas.app.outbox.OutboxMessage;
+import cl.demo.polizas.app.outbox.OutboxRelay;
+import cl.demo.polizas.app.persistence.PolicyEntity;
+import cl.demo.polizas.app.persistence.PolicyOutbox;
+import cl.demo.polizas.domain.model.Policy;
+import cl.demo.polizas.domain.valueobject.Money;
+import cl.demo.polizas.domain.valueobject.Rut;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.batch;
+import static cl.demo.polizas.app.rest.PolicyFixtures.json;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class PolicyResourceOutboxTest {
+
+    @Inject
+    OutboxRelay relay;
+
+    @Inject
+    PolicyOutbox outbox;
+
+    @Inject
+    InMemoryOutboxPublisher publisher;
+
+    @Inject
+    EntityManager entityManager;
+
+    private List<OutboxMessage> publishedFor(String policyId) {
+        return publisher.messages().stream().filter(message -> message.aggregateId().equals(policyId)).toList();
+    }
+
+    @Test
+    void publishesCommittedEventsInOrder() {
+        final String policyId =
+            given()
+                .contentType("application/json")
+                .body(json("OUTBOX-001"))
+            .when()
+                .post("/api/policies")
+            .then()
+                .statusCode(201)
+                .extract().path("policyId");
+
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"ACTIVE\"}")
+        .when()
+            .put("/api/policies/" + policyId + "/status")
+        .then()
+            .statusCode(200);
+
+        assertTrue(relay.drain() >= 2);
+        assertTrue(outbox.oldestPending().isEmpty());
+
+        List<OutboxMessage> messages = publishedFor(policyId);
+        assertEquals(List.of("PolicyCreated", "PolicyStatusUpdated"),
+                messages.stream().map(OutboxMessage::type).toList());
+        assertThat(messages.get(0).payload(), containsString("\"policyNumber\":\"OUTBOX-001\""));
+        assertThat(messages.get(1).payload(), containsString("\"oldStatus\":\"PENDING\""));
+        assertTrue(messages.get(0).id() < messages.get(1).id());
+    }
+
+    @Test
+    void rejectedChangesLeaveNoEvents() {
+        final String policyId =
+            given()
+                .contentType("application/json")
+                .body(json("OUTBOX-002"))
+            .when()
+                .post("/api/policies")
+            .then()
+                .statusCode(201)
+                .extract().path("policyId");
+
+        // Una transición inválida no escribe la póliza ni su evento
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"INACTIVE\"}")
+        .when()
+            .put("/api/policies/" + policyId + "/status")
+        .then()
+            .statusCode(anyOf(is(400), is(409)));
+
+        relay.drain();
+
+        assertEquals(List.of("PolicyCreated"), publishedFor(policyId).stream().map(OutboxMessage::type).toList());
+    }
+
+    @Test
+    void itemsRetriedAfterARejectedChunkKeepTheirEvents() {
+        // Fila escrita fuera del repositorio: el filtro de números no la conoce y el chunk choca con el índice único
+        Policy existing = Policy.create("OUTBOX-DUP-001", Rut.from("10000000-8"), "Ana Rojas", "cliente@demo.cl",
+                Money.of(new BigDecimal("1000.00")), Money.of(new BigDecimal("50000.00")),
+                LocalDate.now().plusDays(1), LocalDate.now().plusYears(1), null, null);
+        QuarkusTransaction.requiringNew().run(() -> entityManager.persist(PolicyEntity.fromDomain(existing)));
+
+        final List<String> policyIds;
+        try {
+            policyIds =
+                given()
+                    .contentType("application/json")
+                    .body(batch(json("OUTBOX-DUP-001"), json("OUTBOX-DUP-002"), json("OUTBOX-DUP-003")))
+                .when()
+                    .post("/api/policies/batch")
+                .then()
+                    .statusCode(200)
+                    .body("created", is(2))
+                    .body("results[0].created", is(false))
+                    .extract().path("results.findAll { it.created }.policyId");
+        } finally {
+            // Sin la fila ajena, contadores y estadísticas vuelven a cuadrar con la tabla
+            QuarkusTransaction.requiringNew().run(() -> entityManager
+                    .createQuery("delete from PolicyEntity where id = :id")
+                    .setParameter("id", existing.id().value()).executeUpdate());
+        }
+
+        relay.drain();
+
+        assertEquals(2, policyIds.size());
+        for (String policyId : policyIds) {
+            assertEquals(List.of("PolicyCreated"), publishedFor(policyId).stream().map(OutboxMessage::type).toList());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package cl.demo.polizas.app.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.batch;
+import static cl.demo.polizas.app.rest.PolicyFixtures.policy;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class PolicyResourcePaginationTest {
+
+    private static final String CLIENT_RUT = "11111111-1";
+
+    @Test
+    void followsNextCursorUntilTheLastPage() {
+        given()
+            .contentType("application/json")
+            .body(batch(policy("PAGE-001").clientRut(CLIENT_RUT).json(),
+                    policy("PAGE-002").clientRut(CLIENT_RUT).json(),
+                    policy("PAGE-003").clientRut(CLIENT_RUT).json()))
+        .when()
+            .post("/api/policies/batch")
+        .then()
+            .statusCode(200)
+            .body("created", is(3));
+
+        final String next =
+            given()
+                .queryParam("clientRut", CLIENT_RUT)
+                .queryParam("size", 2)
+            .when()
+                .get("/api/policies")
+            .then()
+                .statusCode(200)
+                .body("policies.size()", is(2))
+                .body("total", is(3))
+                .body("next", notNullValue())
+                .extract().path("next");
+
+        given()
+            .queryParam("clientRut", CLIENT_RUT)
+            .queryParam("size", 2)
+            .queryParam("cursor", next)
+        .when()
+            .get("/api/policies")
+        .then()
+            .statusCode(200)
+            .body("policies.size()", is(1))
+            .body("next", nullValue());
+    }
+
+    @Test
+    void filtersByClientRutRegardlessOfFormatting() {
+        given()
+            .contentType("application/json")
+            .body(batch(policy("PAGE-RUT-001").clientRut("55555555-5").json()))
+        .when()
+            .post("/api/policies/batch")
+        .then()
+            .statusCode(200)
+            .body("created", is(1));
+
+        given()
+            .queryParam("clientRut", "55.555.555-5")
+        .when()
+            .get("/api/policies")
+        .then()
+            .statusCode(200)
+            .body("total", is(1))
+            .body("policies[0].clientRut", is("55555555-5"));
+    }
+
+    @Test
+    void getsTheStoredPolicyById() {
+        final String policyId =
+            given()
+                .contentType("application/json")
+                .body(batch(policy("PAGE-GET-001").clientRut("22222222-2").json()))
+            .when()
+                .post("/api/policies/batch")
+            .then()
+                .statusCode(200)
+                .extract().path("results[0].policyId");
+
+        given()
+        .when()
+            .get("/api/policies/" + policyId)
+        .then()
+            .statusCode(200)
+            .body("policyId", is(policyId))
+            .body("policyNumber", is("PAGE-GET-001"))
+            .body("clientRut", is("22222222-2"))
+            .body("clientEmail", is("cliente@demo.cl"));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        given()
+            .queryParam("cursor", "not-a-cursor")
+        .when()
+            .get("/api/policies")
+        .then()
+            .statusCode(400);
+    }
+}
@@ -0,0 +1,82 @@
+package cl.demo.polizas.app.rest;
+
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.createBatch;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@QuarkusTest
+class PolicyResourceSearchTest {
+
+    @Inject
+    PolicyRepository policyRepository;
+
+    private static String policy(String policyNumber, String clientName, String description) {
+        return PolicyFixtures.policy(policyNumber).clientName(clientName).description(description).json();
+    }
+
+    @Test
+    void findsPoliciesByPartialNameIgnoringAccentsBestMatchFirst() {
+        createBatch(policy("SEARCH-001", "Xiomara Quiñónez Ibáñez", "Seguro de hogar en Valdivia"),
+                policy("SEARCH-002", "Rodrigo Tapia", "Beneficiaria: Xiomara Quiñónez"),
+                policy("SEARCH-003", "Xiomara Fuentealba", "Seguro de vida"));
+
+        given()
+            .queryParam("q", "xiomara quinonez")
+        .when()
+            .get("/api/policies/search")
+        .then()
+            .statusCode(200)
+            .body("total", is(2))
+            .body("policies.policyNumber", contains("SEARCH-001", "SEARCH-002"));
+
+        given()
+            .queryParam("q", "QUIÑO")
+            .queryParam("size", 1)
+            .queryParam("page", 1)
+        .when()
+            .get("/api/policies/search")
+        .then()
+            .statusCode(200)
+            .body("total", is(2))
+            .body("totalPages", is(2))
+            .body("policies.policyNumber", contains("SEARCH-002"));
+
+        given()
+            .queryParam("q", "valdivia")
+        .when()
+            .get("/api/policies/search")
+        .then()
+            .statusCode(200)
+            .body("policies.clientName", contains("Xiomara Quiñónez Ibáñez"));
+    }
+
+    @Test
+    void keepsTheIndexInStepWithDeletes() {
+        createBatch(policy("SEARCH-DEL-001", "Wenceslao Urrutia", "Camioneta"));
+        given().queryParam("q", "wenceslao").when().get("/api/policies/search").then().body("total", is(1));
+
+        policyRepository.deleteByPolicyNumber("SEARCH-DEL-001");
+
+        given()
+            .queryParam("q", "wenceslao")
+        .when()
+            .get("/api/policies/search")
+        .then()
+            .statusCode(200)
+            .body("total", is(0))
+            .body("policies", hasSize(0));
+    }
+
+    @Test
+    void rejectsQueriesWithoutSearchableWords() {
+        given().when().get("/api/policies/search").then().statusCode(400);
+        given().queryParam("q", "de la").when().get("/api/policies/search").then().statusCode(400);
+    }
+}
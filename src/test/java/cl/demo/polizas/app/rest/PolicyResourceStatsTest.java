@@ -0,0 +1,105 @@
+package cl.demo.polizas.app.rest;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.createBatch;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@QuarkusTest
+class PolicyResourceStatsTest {
+
+    @Inject
+    EntityManager entityManager;
+
+    private static String policy(String policyNumber, String premium, String insuranceType) {
+        return PolicyFixtures.policy(policyNumber).premium(premium).coverage("30000.00").insuranceType(insuranceType)
+                .json();
+    }
+
+    private static String group(String status, String insuranceType) {
+        return "groups.find { it.status == '" + status + "' && it.insuranceType == '" + insuranceType
+                + "' && it.currency == 'CLP' }";
+    }
+
+    @Test
+    void keepsStatsInStepWithWrites() {
+        // Partir de cifras verificadas, sin importar lo que hayan hecho otros tests
+        given().queryParam("recompute", true).when().get("/api/policies/stats").then().statusCode(200);
+
+        createBatch(policy("STATS-001", "700.00", "STATS-HOGAR"), policy("STATS-002", "350.50", "STATS-HOGAR"));
+        given()
+        .when()
+            .get("/api/policies/stats")
+        .then()
+            .statusCode(200)
+            .body("recomputed", is(false))
+            .body("drift", nullValue())
+            .body(group("PENDING", "STATS-HOGAR") + ".policies", is(2))
+            .body(group("PENDING", "STATS-HOGAR") + ".premium", is(1050.5f))
+            .body(group("PENDING", "STATS-HOGAR") + ".coverage", is(60000.0f));
+
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"ACTIVE\", \"insuranceType\": \"STATS-HOGAR\"}")
+        .when()
+            .put("/api/policies/status")
+        .then()
+            .statusCode(200)
+            .body("updated", is(2));
+
+        given()
+            .queryParam("recompute", true)
+        .when()
+            .get("/api/policies/stats")
+        .then()
+            .statusCode(200)
+            .body("recomputed", is(true))
+            .body("drift", is(0))
+            .body(group("PENDING", "STATS-HOGAR"), nullValue())
+            .body(group("ACTIVE", "STATS-HOGAR") + ".policies", is(2))
+            .body(group("ACTIVE", "STATS-HOGAR") + ".premium", is(1050.5f));
+    }
+
+    @Test
+    void recomputeRepairsStatsChangedOutsideTheRepository() {
+        createBatch(policy("STATS-DRIFT-001", "500.00", "STATS-DRIFT"));
+
+        // Cambio directo en la tabla: las cifras mantenidas no se enteran hasta recalcular
+        QuarkusTransaction.requiringNew().run(() -> entityManager
+                .createQuery("update PolicyEntity set premiumAmount = :premium where insuranceType = :insuranceType")
+                .setParameter("premium", new BigDecimal("800.00")).setParameter("insuranceType", "STATS-DRIFT")
+                .executeUpdate());
+        given()
+        .when()
+            .get("/api/policies/stats")
+        .then()
+            .statusCode(200)
+            .body(group("PENDING", "STATS-DRIFT") + ".premium", is(500.0f));
+
+        given()
+            .queryParam("recompute", true)
+        .when()
+            .get("/api/policies/stats")
+        .then()
+            .statusCode(200)
+            .body("drift", greaterThan(0))
+            .body(group("PENDING", "STATS-DRIFT") + ".premium", is(800.0f));
+
+        given()
+        .when()
+            .get("/api/policies/stats")
+        .then()
+            .statusCode(200)
+            .body(group("PENDING", "STATS-DRIFT") + ".policies", is(1))
+            .body(group("PENDING", "STATS-DRIFT") + ".premium", is(800.0f));
+    }
+}
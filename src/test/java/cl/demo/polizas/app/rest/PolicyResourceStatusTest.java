@@ -0,0 +1,59 @@
+package cl.demo.polizas.app.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.batch;
+import static cl.demo.polizas.app.rest.PolicyFixtures.policy;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class PolicyResourceStatusTest {
+
+    @Test
+    void updatesTheStoredRowInPlace() {
+        final String policyId =
+            given()
+                .contentType("application/json")
+                .body(batch(policy("STATUS-001").clientRut("33333333-3").json()))
+            .when()
+                .post("/api/policies/batch")
+            .then()
+                .statusCode(200)
+                .extract().path("results[0].policyId");
+
+        final String createdAt =
+            given()
+            .when()
+                .get("/api/policies/" + policyId)
+            .then()
+                .statusCode(200)
+                .extract().path("createdAt");
+
+        given()
+            .contentType("application/json")
+            .body("{\"status\": \"ACTIVE\"}")
+        .when()
+            .put("/api/policies/" + policyId + "/status")
+        .then()
+            .statusCode(200)
+            .body("policyId", is(policyId));
+
+        given()
+        .when()
+            .get("/api/policies/" + policyId)
+        .then()
+            .statusCode(200)
+            .body("status", is("Activa"))
+            .body("createdAt", is(createdAt));
+
+        given()
+            .queryParam("clientRut", "33333333-3")
+        .when()
+            .get("/api/policies")
+        .then()
+            .statusCode(200)
+            .body("total", is(1));
+    }
+}
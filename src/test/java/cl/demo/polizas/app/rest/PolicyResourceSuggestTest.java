@@ -0,0 +1,67 @@
+package cl.demo.polizas.app.rest;
+
+import cl.demo.polizas.domain.repository.PolicyRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static cl.demo.polizas.app.rest.PolicyFixtures.createBatch;
+import static cl.demo.polizas.app.rest.PolicyFixtures.json;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@QuarkusTest
+class PolicyResourceSuggestTest {
+
+    @Inject
+    PolicyRepository policyRepository;
+
+    @Test
+    void suggestsPolicyNumbersStartingWithThePrefixInOrder() {
+        createBatch(json("SUGGEST-0103"), json("SUGGEST-0101"), json("SUGGEST-0210"), json("SUGGEST-0102"));
+
+        given()
+            .queryParam("prefix", "SUGGEST-01")
+        .when()
+            .get("/api/policies/suggest")
+        .then()
+            .statusCode(200)
+            .body("prefix", is("SUGGEST-01"))
+            .body("suggestions", contains("SUGGEST-0101", "SUGGEST-0102", "SUGGEST-0103"));
+
+        given()
+            .queryParam("prefix", "SUGGEST-")
+            .queryParam("limit", 2)
+        .when()
+            .get("/api/policies/suggest")
+        .then()
+            .statusCode(200)
+            .body("suggestions", contains("SUGGEST-0101", "SUGGEST-0102"));
+    }
+
+    @Test
+    void keepsTheIndexInStepWithDeletes() {
+        createBatch(json("SUGGEST-DEL-001"), json("SUGGEST-DEL-002"));
+
+        policyRepository.deleteByPolicyNumber("SUGGEST-DEL-001");
+
+        given()
+            .queryParam("prefix", "SUGGEST-DEL-")
+        .when()
+            .get("/api/policies/suggest")
+        .then()
+            .statusCode(200)
+            .body("suggestions", contains("SUGGEST-DEL-002"));
+    }
+
+    @Test
+    void rejectsMissingPrefixAndOutOfRangeLimits() {
+        given().when().get("/api/policies/suggest").then().statusCode(400);
+        given().queryParam("prefix", "SUGGEST-").queryParam("limit", 51).when().get("/api/policies/suggest").then()
+                .statusCode(400);
+        given().queryParam("prefix", "NO-EXISTE-").when().get("/api/policies/suggest").then().statusCode(200)
+                .body("suggestions", hasSize(0));
+    }
+}
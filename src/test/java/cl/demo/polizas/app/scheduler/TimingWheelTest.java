@@ -0,0 +1,76 @@
+package cl.demo.polizas.app.scheduler;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final long START = 1_700_000_000_000L;
+    private static final long DAY = 86_400_000L;
+
+    @Test
+    void firesOnlyOnceTheDeadlineIsReached() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        wheel.schedule("a", START + 5 * TICK);
+
+        assertEquals(List.of(), wheel.advance(START + 4 * TICK));
+        assertEquals(List.of("a"), wheel.advance(START + 5 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        wheel.schedule("late", START - DAY);
+
+        assertEquals(List.of("late"), wheel.advance(START + TICK));
+    }
+
+    @Test
+    void cancelledAndReplacedTimersDoNotFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        wheel.schedule("cancelled", START + 10 * DAY);
+        wheel.schedule("moved", START + 10 * DAY);
+        wheel.schedule("moved", START + 20 * DAY);
+
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+        assertEquals(List.of(), wheel.advance(START + 15 * DAY));
+        assertEquals(List.of("moved"), wheel.advance(START + 20 * DAY));
+    }
+
+    @Test
+    void cascadesFarDeadlinesInOrder() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, START);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = START + (long) (random.nextDouble() * 400 * DAY);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        long now = START;
+        long lastDeadline = 0;
+        int fired = 0;
+        while (now < START + 401 * DAY) {
+            now += 3_600_000;
+            for (int key : wheel.advance(now)) {
+                long deadline = deadlines.get(key);
+                assertTrue(deadline <= now, "fired early: " + key);
+                assertTrue(deadline > now - 3_600_000 - TICK, "fired late: " + key);
+                assertTrue(deadline >= lastDeadline - TICK, "fired out of order: " + key);
+                lastDeadline = Math.max(lastDeadline, deadline);
+                fired++;
+            }
+        }
+        assertEquals(deadlines.size(), fired);
+    }
+}
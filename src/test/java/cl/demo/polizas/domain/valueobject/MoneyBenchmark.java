@@ -0,0 +1,79 @@
+package cl.demo.polizas.domain.valueobject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the fixed-point {@link Money} against the BigDecimal operations it replaced for {@code add},
+ * {@code multiply} and {@code format}. Format benchmarks build a new Money per call, as a listing row does.
+ */
+@State(Scope.Thread) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS) @Warmup(iterations = 3, time = 1) @Measurement(iterations = 5, time = 1) @Fork(1)
+public class MoneyBenchmark {
+
+    private static final Currency CLP = Currency.getInstance("CLP");
+    private static final BigDecimal FACTOR = new BigDecimal("1.19");
+
+    private BigDecimal premiumAmount;
+    private BigDecimal coverageAmount;
+    private Money premium;
+    private Money coverage;
+
+    @Setup
+    public void setUp() {
+        premiumAmount = new BigDecimal("34990.50");
+        coverageAmount = new BigDecimal("10000000.00");
+        premium = Money.of(premiumAmount, CLP);
+        coverage = Money.of(coverageAmount, CLP);
+    }
+
+    @Benchmark
+    public Money add() {
+        return premium.add(coverage);
+    }
+
+    @Benchmark
+    public BigDecimal addBigDecimal() {
+        return premiumAmount.add(coverageAmount);
+    }
+
+    @Benchmark
+    public Money multiply() {
+        return premium.multiply(FACTOR);
+    }
+
+    @Benchmark
+    public BigDecimal multiplyBigDecimal() {
+        return premiumAmount.multiply(FACTOR).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public String format() {
+        return Money.of(premiumAmount, "CLP").format();
+    }
+
+    @Benchmark
+    public String formatBigDecimal() {
+        return String.format("%s %s", Currency.getInstance("CLP").getSymbol(),
+                premiumAmount.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MoneyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,54 @@
+package cl.demo.polizas.domain.valueobject;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private static final Currency CLP = Currency.getInstance("CLP");
+
+    @Test
+    void formatsWithTwoDecimalsLikeTheBigDecimalVersion() {
+        assertEquals(String.format("%s %s", CLP.getSymbol(), "349.90"), Money.of(new BigDecimal("349.9")).format());
+        assertEquals(CLP.getSymbol() + " 0.05", Money.of(new BigDecimal("0.05"), CLP).format());
+        assertEquals(CLP.getSymbol() + " 1.01", Money.of(new BigDecimal("1.005"), "CLP").format());
+        assertEquals(CLP.getSymbol() + " 999999999999.99", Money.of("999999999999.99").format());
+    }
+
+    @Test
+    void addsSubtractsAndComparesInMinorUnits() {
+        Money premium = Money.of(new BigDecimal("100.25"));
+        Money fee = Money.ofMinor(75, CLP);
+
+        assertEquals(10_100, premium.add(fee).minorUnits());
+        assertEquals(new BigDecimal("99.50"), premium.subtract(fee).amount());
+        assertTrue(premium.compareTo(fee) > 0);
+        assertEquals(premium, Money.of(new BigDecimal("100.250")));
+        assertEquals(premium.hashCode(), Money.of(new BigDecimal("100.250")).hashCode());
+    }
+
+    @Test
+    void multipliesRoundingHalfUp() {
+        Money premium = Money.of(new BigDecimal("100.25"));
+
+        assertEquals(new BigDecimal("119.30"), premium.multiply(new BigDecimal("1.19")).amount());
+        assertEquals(new BigDecimal("50.13"), premium.multiply(new BigDecimal("0.5")).amount());
+        assertEquals(new BigDecimal("300.75"), premium.multiply(3).amount());
+        assertEquals(new BigDecimal("0.00"), premium.multiply(new BigDecimal("1E-20")).amount());
+    }
+
+    @Test
+    void rejectsNegativeAmountsAndMixedCurrencies() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("-0.01")));
+        assertThrows(IllegalArgumentException.class, () -> Money.zero().subtract(Money.ofMinor(1, CLP)));
+        assertThrows(IllegalArgumentException.class,
+                () -> Money.zero().add(Money.ofMinor(1, Currency.getInstance("USD"))));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("abc"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("1E+17")));
+        assertEquals(Long.MAX_VALUE, Money.of(BigDecimal.valueOf(Long.MAX_VALUE, 2)).minorUnits());
+    }
+}
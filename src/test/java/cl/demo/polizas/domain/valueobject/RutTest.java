@@ -1,18 +1,39 @@
-// package cl.demo.polizas.domain.valueobject;
-
-// import org.junit.jupiter.api.Test;
-// import static org.junit.jupiter.api.Assertions.*;
-
-// class RutTest {
-// @Test
-// void acceptsValidRut() {
-// assertTrue(Rut.isValid("12.345.678-5"));
-// assertDoesNotThrow(() -> Rut.of("12345678-5"));
-// }
-
-// @Test
-// void rejectsInvalidRut() {
-// assertFalse(Rut.isValid("12.345.678-4"));
-// assertThrows(IllegalArgumentException.class, () -> Rut.of("ABC"));
-// }
-// }
+package cl.demo.polizas.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RutTest {
+
+    @Test
+    void parsesAnyDotAndDashFormatting() {
+        Rut plain = Rut.from("12345678-5");
+
+        assertEquals(12345678, plain.getBody());
+        assertEquals('5', plain.getVerificationChar());
+        assertEquals("12345678-5", plain.getFullRut());
+        assertEquals(plain, Rut.from("12.345.678-5"));
+        assertEquals(plain, Rut.from("123456785"));
+        assertEquals(plain, Rut.from("12345678", "5"));
+        assertEquals(plain, Rut.of(12345678, '5'));
+    }
+
+    @Test
+    void acceptsLowerCaseK() {
+        Rut rut = Rut.from("10.000.013-k");
+
+        assertEquals('K', rut.getVerificationChar());
+        assertEquals("10000013-K", rut.getFullRut());
+    }
+
+    @Test
+    void rejectsInvalidRut() {
+        assertThrows(IllegalArgumentException.class, () -> Rut.from("12.345.678-4"));
+        assertThrows(IllegalArgumentException.class, () -> Rut.from("ABC"));
+        assertThrows(IllegalArgumentException.class, () -> Rut.from("12a45678-5"));
+        assertThrows(IllegalArgumentException.class, () -> Rut.from("123456789-5"));
+        assertThrows(IllegalArgumentException.class, () -> Rut.from("5"));
+        assertThrows(IllegalArgumentException.class, () -> Rut.from("12345678", "55"));
+    }
+}
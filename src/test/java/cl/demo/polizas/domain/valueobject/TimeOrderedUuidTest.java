@@ -0,0 +1,83 @@
+package cl.demo.polizas.domain.valueobject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidTest {
+
+    @Test
+    void setsVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = TimeOrderedUuid.generate();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue((uuid.getMostSignificantBits() >>> 16) >= before);
+    }
+
+    @Test
+    void increasesWithinTheSameMillisecond() {
+        UUID previous = TimeOrderedUuid.generate();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = TimeOrderedUuid.generate();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void carriesCounterOverflowIntoTheTimestamp() {
+        UUID uuid = TimeOrderedUuid.fromState((1_000L << 12) | 0xFFF, 0);
+        UUID next = TimeOrderedUuid.fromState(((1_000L << 12) | 0xFFF) + 1, 0);
+
+        assertEquals(1_000L, uuid.getMostSignificantBits() >>> 16);
+        assertEquals(1_001L, next.getMostSignificantBits() >>> 16);
+        assertEquals(7, next.version());
+    }
+
+    @Test
+    void staysUniqueAcrossThreads() throws Exception {
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        seen.add(TimeOrderedUuid.generate());
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(400_000, seen.size());
+    }
+
+    @Test
+    void policyIdUsesTheSelectedStrategy() {
+        try {
+            PolicyId.useStrategy(PolicyId.Strategy.TIME_ORDERED);
+            assertEquals(7, PolicyId.generate().value().version());
+
+            PolicyId.useStrategy(PolicyId.Strategy.RANDOM);
+            assertEquals(4, PolicyId.generate().value().version());
+        } finally {
+            PolicyId.useStrategy(PolicyId.Strategy.TIME_ORDERED);
+        }
+    }
+}